@@ -0,0 +1,103 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.BalanceMovementDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.service.AccountBalanceService;
+import com.bank.account.service.AccountStripingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер списаний и зачислений на {@link AccountDetailsEntity}
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/details")
+public class AccountBalanceController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final AccountBalanceService service;
+    private final AccountStripingService stripingService;
+
+    /**
+     * @param id        технический идентификатор {@link AccountDetailsEntity}
+     * @param reference идентификатор операции, повтор с ним не списывает деньги второй раз
+     * @param movement  {@link BalanceMovementDto} с суммой списания
+     * @return {@link ResponseEntity<BalanceDto>}, 409 если средств не хватает или операция отменена
+     */
+    @PostMapping("/{id}/debit")
+    public ResponseEntity<BalanceDto> debit(@PathVariable Long id,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String reference,
+                                            @RequestBody BalanceMovementDto movement) {
+        return ResponseEntity.ok(reference == null ? service.debit(id, movement.getAmount()) :
+                service.debit(id, movement.getAmount(), reference));
+    }
+
+    /**
+     * Возвращает деньги по списанию с тем же идентификатором операции, повтор ничего не меняет.
+     *
+     * @param id        технический идентификатор {@link AccountDetailsEntity}
+     * @param reference идентификатор отменяемой операции
+     * @param movement  {@link BalanceMovementDto} с суммой отменяемого списания
+     * @return {@link ResponseEntity<BalanceDto>}, 422 если операция была с другим счётом или суммой
+     */
+    @PostMapping("/{id}/debit/cancel")
+    public ResponseEntity<BalanceDto> cancelDebit(@PathVariable Long id,
+                                                  @RequestHeader(IDEMPOTENCY_KEY) String reference,
+                                                  @RequestBody BalanceMovementDto movement) {
+        return ResponseEntity.ok(service.cancel(id, movement.getAmount(), reference));
+    }
+
+    /**
+     * @param id       технический идентификатор {@link AccountDetailsEntity}
+     * @param movement {@link BalanceMovementDto} с суммой зачисления
+     * @return {@link ResponseEntity<BalanceDto>}
+     */
+    @PostMapping("/{id}/credit")
+    public ResponseEntity<BalanceDto> credit(@PathVariable Long id, @RequestBody BalanceMovementDto movement) {
+        return ResponseEntity.ok(service.credit(id, movement.getAmount()));
+    }
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link ResponseEntity<BalanceDto>} с остатком вместе с полосами
+     */
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<BalanceDto> balance(@PathVariable Long id) {
+        return ResponseEntity.ok(stripingService.balance(id));
+    }
+
+    /**
+     * Включает режим полос для счёта с частыми зачислениями.
+     *
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link ResponseEntity}
+     */
+    @PostMapping("/{id}/striping")
+    public ResponseEntity<Void> enableStriping(@PathVariable Long id) {
+        stripingService.enable(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Выключает режим полос, остаток полос переносится на счёт.
+     *
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link ResponseEntity}
+     */
+    @DeleteMapping("/{id}/striping")
+    public ResponseEntity<Void> disableStriping(@PathVariable Long id) {
+        stripingService.disable(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerRebuildDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.entity.LedgerTransactionEntity;
+import com.bank.account.service.LedgerRebuildService;
+import com.bank.account.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер главной книги для {@link AccountDetailsEntity}
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/ledger")
+public class LedgerController {
+
+    private final LedgerService service;
+    private final LedgerRebuildService rebuildService;
+
+    /**
+     * @param transaction {@link LedgerTransactionDto} с записями, сумма которых равна нулю
+     * @return {@link ResponseEntity<LedgerTransactionDto>}, 422 если проводка не сбалансирована
+     */
+    @PostMapping("/transactions")
+    public ResponseEntity<LedgerTransactionDto> post(@RequestBody LedgerTransactionDto transaction) {
+        return ResponseEntity.ok(service.post(transaction));
+    }
+
+    /**
+     * @param id технический идентификатор {@link LedgerTransactionEntity}
+     * @return {@link ResponseEntity<LedgerTransactionDto>}
+     */
+    @GetMapping("/transactions/{id}")
+    public ResponseEntity<LedgerTransactionDto> read(@PathVariable Long id) {
+        return ResponseEntity.ok(service.read(id));
+    }
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link ResponseEntity<BalanceDto>} с остатком по главной книге
+     */
+    @GetMapping("/accounts/{id}/balance")
+    public ResponseEntity<BalanceDto> balance(@PathVariable Long id) {
+        return ResponseEntity.ok(service.balance(id));
+    }
+
+    /**
+     * Пересчитывает снимки остатков по всем записям книги.
+     *
+     * @param partitions на сколько диапазонов счетов делить пересчет
+     * @return {@link ResponseEntity<LedgerRebuildDto>}
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<LedgerRebuildDto> rebuild(@RequestParam(defaultValue = "8") int partitions) {
+        return ResponseEntity.ok(rebuildService.rebuild(partitions));
+    }
+}
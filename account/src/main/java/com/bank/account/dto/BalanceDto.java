@@ -0,0 +1,26 @@
+package com.bank.account.dto;
+
+import com.bank.account.entity.AccountDetailsEntity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * Остаток на счёте {@link AccountDetailsEntity} после операции.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BalanceDto {
+    Long id;
+    BigDecimal money;
+}
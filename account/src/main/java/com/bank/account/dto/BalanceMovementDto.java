@@ -0,0 +1,26 @@
+package com.bank.account.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO списания или зачисления на счёт.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BalanceMovementDto {
+
+    /**
+     * Сумма операции, всегда больше нуля, не больше двух знаков после запятой.
+     */
+    BigDecimal amount;
+}
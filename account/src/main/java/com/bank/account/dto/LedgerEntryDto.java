@@ -0,0 +1,31 @@
+package com.bank.account.dto;
+
+import com.bank.account.entity.LedgerEntryEntity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO сущности {@link LedgerEntryEntity}
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerEntryDto {
+    Long id;
+    Long accountDetailsId;
+
+    /**
+     * Больше нуля для зачисления на счёт, меньше нуля для списания, не больше двух знаков после запятой.
+     */
+    BigDecimal amount;
+}
@@ -0,0 +1,30 @@
+package com.bank.account.dto;
+
+import com.bank.account.entity.LedgerTransactionEntity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * DTO сущности {@link LedgerTransactionEntity} вместе с ее записями.
+ * Записей не меньше двух, их сумма равна нулю.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerTransactionDto {
+    Long id;
+    String description;
+    Timestamp createdAt;
+    List<LedgerEntryDto> entries;
+}
@@ -0,0 +1,67 @@
+package com.bank.account.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы balance_operation.
+ * Строка на каждый идентификатор внешней операции: повтор списания с тем же идентификатором
+ * не списывает деньги второй раз, а отмена возвращает их ровно один раз.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "balance_operation", schema = "account")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BalanceOperationEntity {
+
+    @Id
+    @Column(name = "reference")
+    String reference;
+
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Column(name = "amount")
+    BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    BalanceOperationStatus status;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    Timestamp createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final BalanceOperationEntity operation = (BalanceOperationEntity) o;
+        return Objects.equals(reference, operation.reference);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(reference);
+    }
+}
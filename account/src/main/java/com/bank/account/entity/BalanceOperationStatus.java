@@ -0,0 +1,10 @@
+package com.bank.account.entity;
+
+/**
+ * Состояние внешней операции в {@link BalanceOperationEntity}
+ */
+public enum BalanceOperationStatus {
+
+    APPLIED,
+    CANCELLED
+}
@@ -0,0 +1,60 @@
+package com.bank.account.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы balance_stripe.
+ * Остаток счёта в режиме полос равен money из account_details плюс сумма money всех его полос.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(BalanceStripeId.class)
+@Table(name = "balance_stripe", schema = "account")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BalanceStripeEntity {
+
+    @Id
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Id
+    @Column(name = "stripe")
+    Short stripe;
+
+    @Column(name = "money")
+    BigDecimal money;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final BalanceStripeEntity balanceStripe = (BalanceStripeEntity) o;
+        return Objects.equals(accountDetailsId, balanceStripe.accountDetailsId) &&
+                Objects.equals(stripe, balanceStripe.stripe);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountDetailsId, stripe);
+    }
+}
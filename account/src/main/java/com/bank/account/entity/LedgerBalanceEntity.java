@@ -0,0 +1,60 @@
+package com.bank.account.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы ledger_balance.
+ * Остаток счёта по главной книге равен balance плюс сумма записей счёта с id больше lastEntryId.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ledger_balance", schema = "account")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerBalanceEntity {
+
+    @Id
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Column(name = "balance")
+    BigDecimal balance;
+
+    @Column(name = "last_entry_id")
+    Long lastEntryId;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    Timestamp updatedAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final LedgerBalanceEntity ledgerBalance = (LedgerBalanceEntity) o;
+        return Objects.equals(accountDetailsId, ledgerBalance.accountDetailsId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountDetailsId);
+    }
+}
@@ -0,0 +1,65 @@
+package com.bank.account.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы ledger_entry.
+ * Зачисление на счёт записывается положительной суммой, списание отрицательной,
+ * сумма записей одной проводки равна нулю.
+ */
+@Entity
+@Getter
+@Setter
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ledger_entry", schema = "account")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    Long id;
+
+    @Column(name = "ledger_transaction_id")
+    Long ledgerTransactionId;
+
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Column(name = "amount")
+    BigDecimal amount;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final LedgerEntryEntity ledgerEntry = (LedgerEntryEntity) o;
+        return Objects.equals(id, ledgerEntry.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
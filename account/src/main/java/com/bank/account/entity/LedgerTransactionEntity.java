@@ -0,0 +1,61 @@
+package com.bank.account.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы ledger_transaction.
+ * Проводка только добавляется, изменение и удаление запрещены триггером.
+ */
+@Entity
+@Getter
+@Setter
+@Immutable
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ledger_transaction", schema = "account")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LedgerTransactionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    Long id;
+
+    @Column(name = "description")
+    String description;
+
+    @Column(name = "created_at", updatable = false)
+    Timestamp createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final LedgerTransactionEntity ledgerTransaction = (LedgerTransactionEntity) o;
+        return Objects.equals(id, ledgerTransaction.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -4,6 +4,8 @@ import com.bank.account.dto.AuditDto;
 import com.bank.account.entity.AuditEntity;
 import org.mapstruct.Mapper;
 
+import java.util.List;
+
 /**
  * Mapper для {@link AuditEntity} и {@link AuditDto}
  */
@@ -15,4 +17,10 @@ public interface AccountAuditMapper {
      * @return {@link AuditDto}
      */
     AuditDto toDto(AuditEntity audit);
+
+    /**
+     * @param audits список {@link AuditEntity}
+     * @return список {@link AuditDto}
+     */
+    List<AuditDto> toDtoList(List<AuditEntity> audits);
 }
@@ -2,9 +2,91 @@ package com.bank.account.repository;
 
 import com.bank.account.entity.AccountDetailsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Optional;
 
 /**
  * Репозиторий для {@link AccountDetailsEntity}
  */
 public interface AccountDetailsRepository extends JpaRepository<AccountDetailsEntity, Long> {
+
+    /**
+     * Изменяет остаток одним UPDATE, без чтения строки в приложение, поэтому параллельные операции
+     * по одному счёту не перетирают друг друга. Списание в минус разрешено только при negative_balance,
+     * зачисление проходит всегда, в том числе на счёт, который уже в минусе.
+     * Должен вызываться в транзакции на запись.
+     * Для счёта в режиме полос проверяется только строка счёта, полосы прибавляются к возвращаемому остатку.
+     *
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount положительная сумма для зачисления, отрицательная для списания
+     * @return новый остаток или пустой Optional, если счёт не найден или средств не хватает
+     */
+    @Query(value = "UPDATE account.account_details d SET money = d.money + :amount " +
+            "WHERE d.id = :id AND (:amount >= 0 OR d.negative_balance OR d.money + :amount >= 0) " +
+            "RETURNING d.money + COALESCE((SELECT SUM(s.money) FROM account.balance_stripe s " +
+            "WHERE s.account_details_id = d.id), 0)", nativeQuery = true)
+    Optional<BigDecimal> addMoney(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Зачисляет сумму в полосу счёта, если счёт переведен в режим полос, иначе в строку счёта.
+     * Для счёта с полосами строка account_details не блокируется, поэтому параллельные зачисления
+     * в разные полосы не ждут друг друга. Остаток в ответе читается без блокировок.
+     * Зачисление не проверяет остаток, поэтому проходит и на счёт в минусе без negative_balance.
+     *
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param stripe номер полосы, выбирается случайно
+     * @param amount сумма зачисления
+     * @return остаток после зачисления или пустой Optional, если счёт не найден
+     */
+    @Query(value = "WITH stripe AS (" +
+            "    UPDATE account.balance_stripe SET money = money + :amount " +
+            "    WHERE account_details_id = :id AND stripe = :stripe RETURNING money), " +
+            "base AS (" +
+            "    UPDATE account.account_details SET money = money + :amount " +
+            "    WHERE id = :id AND NOT EXISTS (SELECT 1 FROM stripe) RETURNING money) " +
+            "SELECT money FROM base " +
+            "UNION ALL " +
+            "SELECT d.money + :amount + COALESCE((SELECT SUM(s.money) FROM account.balance_stripe s " +
+            "    WHERE s.account_details_id = d.id), 0) " +
+            "FROM account.account_details d WHERE d.id = :id AND EXISTS (SELECT 1 FROM stripe)", nativeQuery = true)
+    Optional<BigDecimal> credit(@Param("id") Long id, @Param("stripe") int stripe, @Param("amount") BigDecimal amount);
+
+    /**
+     * Блокирует строку счёта до конца транзакции. Перенос полос сначала берет эту блокировку,
+     * поэтому все операции со счётом в режиме полос блокируют строку счёта раньше полос.
+     *
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return id счёта или пустой Optional, если счёт не найден
+     */
+    @Query(value = "SELECT id FROM account.account_details WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Блокирует счета проводки до конца транзакции в режиме FOR KEY SHARE, который не мешает
+     * изменению остатка, но не пускает снимок остатка по главной книге, пока запись проводки не закоммичена.
+     * Записи проводки должны вставляться после этой блокировки.
+     *
+     * @param ids технические идентификаторы {@link AccountDetailsEntity}
+     * @return количество найденных счетов
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT id FROM account.account_details WHERE id IN (:ids) " +
+            "ORDER BY id FOR KEY SHARE) locked", nativeQuery = true)
+    long lockForPosting(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Блокирует счета диапазона, у которых есть записи в главной книге, дожидаясь незакоммиченных проводок.
+     *
+     * @param from начало диапазона id включительно
+     * @param to   конец диапазона id не включительно
+     * @return количество заблокированных счетов
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT d.id FROM account.account_details d " +
+            "WHERE d.id >= :from AND d.id < :to " +
+            "AND EXISTS (SELECT 1 FROM account.ledger_entry e WHERE e.account_details_id = d.id) " +
+            "ORDER BY d.id FOR UPDATE) locked", nativeQuery = true)
+    long lockRangeWithLedger(@Param("from") long from, @Param("to") long to);
 }
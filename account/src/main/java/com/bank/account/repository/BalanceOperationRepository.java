@@ -0,0 +1,41 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.BalanceOperationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+
+/**
+ * Репозиторий для {@link BalanceOperationEntity}
+ */
+public interface BalanceOperationRepository extends JpaRepository<BalanceOperationEntity, String> {
+
+    /**
+     * Занимает идентификатор операции. Если он занят незакоммиченной транзакцией,
+     * вставка ждет ее завершения, поэтому параллельный повтор видит уже итог первого запроса.
+     *
+     * @param reference        идентификатор внешней операции
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @param amount           сумма операции
+     * @param status           состояние новой строки
+     * @return 1 если идентификатор занят этим вызовом, 0 если он уже был использован
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account.balance_operation (reference, account_details_id, amount, status) " +
+            "VALUES (:reference, :accountDetailsId, :amount, :status) " +
+            "ON CONFLICT (reference) DO NOTHING", nativeQuery = true)
+    int claim(@Param("reference") String reference, @Param("accountDetailsId") Long accountDetailsId,
+              @Param("amount") BigDecimal amount, @Param("status") String status);
+
+    /**
+     * @param reference идентификатор внешней операции
+     * @return 1 если примененная операция отменена этим вызовом, 0 если она уже была отменена
+     */
+    @Modifying
+    @Query(value = "UPDATE account.balance_operation SET status = 'CANCELLED' " +
+            "WHERE reference = :reference AND status = 'APPLIED'", nativeQuery = true)
+    int cancel(@Param("reference") String reference);
+}
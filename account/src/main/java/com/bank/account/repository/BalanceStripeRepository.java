@@ -0,0 +1,85 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.BalanceStripeEntity;
+import com.bank.account.entity.BalanceStripeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для {@link BalanceStripeEntity}
+ */
+public interface BalanceStripeRepository extends JpaRepository<BalanceStripeEntity, BalanceStripeId> {
+
+    /**
+     * Создает недостающие полосы 0..stripes-1 с нулевым остатком.
+     *
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @param stripes          количество полос
+     * @return количество созданных полос
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account.balance_stripe (account_details_id, stripe) " +
+            "SELECT :accountDetailsId, generate_series(0, :stripes - 1) " +
+            "ON CONFLICT (account_details_id, stripe) DO NOTHING", nativeQuery = true)
+    int createStripes(@Param("accountDetailsId") Long accountDetailsId, @Param("stripes") int stripes);
+
+    /**
+     * Переносит на счёт ровно те суммы полос, которые были прочитаны в начале запроса.
+     * Зачисления, закоммиченные в полосу во время переноса, остаются в ней до следующего раза.
+     * Строка счёта должна быть заблокирована раньше, иначе два переноса могут заблокировать полосы
+     * в разном порядке.
+     *
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @return количество полос, из которых перенесены деньги
+     */
+    @Query(value = "WITH snapshot AS (" +
+            "    SELECT stripe, money FROM account.balance_stripe " +
+            "    WHERE account_details_id = :accountDetailsId AND money <> 0), " +
+            "drained AS (" +
+            "    UPDATE account.balance_stripe s SET money = s.money - snapshot.money FROM snapshot " +
+            "    WHERE s.account_details_id = :accountDetailsId AND s.stripe = snapshot.stripe " +
+            "    RETURNING snapshot.money), " +
+            "moved AS (" +
+            "    UPDATE account.account_details SET money = money + (SELECT SUM(money) FROM drained) " +
+            "    WHERE id = :accountDetailsId AND EXISTS (SELECT 1 FROM drained)) " +
+            "SELECT COUNT(*) FROM drained", nativeQuery = true)
+    long compact(@Param("accountDetailsId") Long accountDetailsId);
+
+    /**
+     * Удаляет полосы счёта и переносит их остаток на счёт, после этого зачисления снова идут в строку счёта.
+     * Строка счёта должна быть заблокирована раньше.
+     *
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @return количество удаленных полос
+     */
+    @Query(value = "WITH removed AS (" +
+            "    DELETE FROM account.balance_stripe WHERE account_details_id = :accountDetailsId " +
+            "    RETURNING money), " +
+            "moved AS (" +
+            "    UPDATE account.account_details SET money = money + (SELECT SUM(money) FROM removed) " +
+            "    WHERE id = :accountDetailsId AND EXISTS (SELECT 1 FROM removed)) " +
+            "SELECT COUNT(*) FROM removed", nativeQuery = true)
+    long removeStripes(@Param("accountDetailsId") Long accountDetailsId);
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @return остаток счёта вместе с полосами или пустой Optional, если счёт не найден
+     */
+    @Query(value = "SELECT d.money + COALESCE((SELECT SUM(s.money) FROM account.balance_stripe s " +
+            "WHERE s.account_details_id = d.id), 0) FROM account.account_details d WHERE d.id = :accountDetailsId",
+            nativeQuery = true)
+    Optional<BigDecimal> findBalance(@Param("accountDetailsId") Long accountDetailsId);
+
+    /**
+     * @return технические идентификаторы счетов, в полосах которых есть не перенесенные на счёт деньги
+     */
+    @Query(value = "SELECT DISTINCT account_details_id FROM account.balance_stripe WHERE money <> 0",
+            nativeQuery = true)
+    List<Long> findAccountsToCompact();
+}
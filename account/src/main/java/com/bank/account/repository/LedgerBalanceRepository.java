@@ -0,0 +1,74 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.LedgerBalanceEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Репозиторий для {@link LedgerBalanceEntity}
+ */
+public interface LedgerBalanceRepository extends JpaRepository<LedgerBalanceEntity, Long> {
+
+    /**
+     * Остаток читается как снимок плюс записи после него, поэтому запрос проходит по индексу
+     * только хвост книги счёта, а не всю его историю.
+     *
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @return остаток по главной книге или пустой Optional, если счёт не найден
+     */
+    @Query(value = "SELECT COALESCE(b.balance, 0) + COALESCE((SELECT SUM(e.amount) FROM account.ledger_entry e " +
+            "WHERE e.account_details_id = d.id AND e.id > COALESCE(b.last_entry_id, 0)), 0) " +
+            "FROM account.account_details d " +
+            "LEFT JOIN account.ledger_balance b ON b.account_details_id = d.id " +
+            "WHERE d.id = :accountDetailsId", nativeQuery = true)
+    Optional<BigDecimal> findBalance(@Param("accountDetailsId") Long accountDetailsId);
+
+    /**
+     * Переносит в снимок записи счёта, добавленные после него.
+     * Строка счёта должна быть заблокирована раньше, иначе запись незакоммиченной проводки
+     * с меньшим id окажется за last_entry_id снимка и не попадет в остаток.
+     *
+     * @param accountDetailsId технический идентификатор банковского счёта
+     * @return 1, если снимок обновлен, 0, если новых записей нет
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account.ledger_balance (account_details_id, balance, last_entry_id) " +
+            "SELECT :accountDetailsId, COALESCE(b.balance, 0) + delta.amount, delta.last_entry_id " +
+            "FROM (SELECT SUM(e.amount) AS amount, MAX(e.id) AS last_entry_id FROM account.ledger_entry e " +
+            "    WHERE e.account_details_id = :accountDetailsId AND e.id > COALESCE((" +
+            "        SELECT last_entry_id FROM account.ledger_balance " +
+            "        WHERE account_details_id = :accountDetailsId), 0)) delta " +
+            "LEFT JOIN account.ledger_balance b ON b.account_details_id = :accountDetailsId " +
+            "WHERE delta.last_entry_id IS NOT NULL " +
+            "ON CONFLICT (account_details_id) DO UPDATE SET balance = EXCLUDED.balance, " +
+            "last_entry_id = EXCLUDED.last_entry_id, updated_at = now()", nativeQuery = true)
+    int refresh(@Param("accountDetailsId") Long accountDetailsId);
+
+    /**
+     * Пересчитывает снимки счетов диапазона заново по всем их записям.
+     * Счета диапазона должны быть заблокированы раньше, по той же причине, что и в {@link #refresh(Long)}.
+     *
+     * @param from начало диапазона id счетов включительно
+     * @param to   конец диапазона id счетов не включительно
+     * @return количество пересчитанных счетов
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account.ledger_balance (account_details_id, balance, last_entry_id) " +
+            "SELECT e.account_details_id, SUM(e.amount), MAX(e.id) FROM account.ledger_entry e " +
+            "WHERE e.account_details_id >= :from AND e.account_details_id < :to " +
+            "GROUP BY e.account_details_id " +
+            "ON CONFLICT (account_details_id) DO UPDATE SET balance = EXCLUDED.balance, " +
+            "last_entry_id = EXCLUDED.last_entry_id, updated_at = now()", nativeQuery = true)
+    int rebuild(@Param("from") long from, @Param("to") long to);
+
+    /**
+     * @return наименьший last_entry_id среди снимков или пустой Optional, если снимков нет
+     */
+    @Query("SELECT MIN(b.lastEntryId) FROM LedgerBalanceEntity b")
+    Optional<Long> findOldestSnapshotEntryId();
+}
@@ -0,0 +1,47 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.LedgerEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для {@link LedgerEntryEntity}
+ */
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntryEntity, Long> {
+
+    /**
+     * @param ledgerTransactionId технический идентификатор проводки
+     * @return записи проводки в порядке добавления
+     */
+    List<LedgerEntryEntity> findAllByLedgerTransactionIdOrderById(Long ledgerTransactionId);
+
+    /**
+     * @return id последней записи или пустой Optional, если главная книга пуста
+     */
+    @Query("SELECT MAX(e.id) FROM LedgerEntryEntity e")
+    Optional<Long> findLastId();
+
+    /**
+     * @param after id записи, после которой искать, не включительно
+     * @param upTo  id записи, до которой искать, включительно
+     * @return технические идентификаторы счетов, у которых есть записи в этом диапазоне
+     */
+    @Query("SELECT DISTINCT e.accountDetailsId FROM LedgerEntryEntity e WHERE e.id > :after AND e.id <= :upTo")
+    List<Long> findAccountsWithEntriesBetween(@Param("after") long after, @Param("upTo") long upTo);
+
+    /**
+     * @return наименьший id счёта с записями в главной книге или пустой Optional, если книга пуста
+     */
+    @Query("SELECT MIN(e.accountDetailsId) FROM LedgerEntryEntity e")
+    Optional<Long> findFirstAccountId();
+
+    /**
+     * @return наибольший id счёта с записями в главной книге или пустой Optional, если книга пуста
+     */
+    @Query("SELECT MAX(e.accountDetailsId) FROM LedgerEntryEntity e")
+    Optional<Long> findLastAccountId();
+}
@@ -0,0 +1,10 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.LedgerTransactionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Репозиторий для {@link LedgerTransactionEntity}
+ */
+public interface LedgerTransactionRepository extends JpaRepository<LedgerTransactionEntity, Long> {
+}
@@ -3,6 +3,8 @@ package com.bank.account.service;
 import com.bank.account.dto.AuditDto;
 import com.bank.account.entity.AuditEntity;
 
+import java.util.List;
+
 /**
  * Сервис для {@link AuditEntity}
  */
@@ -13,4 +15,10 @@ public interface AccountAuditService {
      * @return {@link AuditDto}
      */
     AuditDto findById(Long id);
+
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    List<AuditDto> findAllById(List<Long> ids);
 }
@@ -5,11 +5,14 @@ import com.bank.account.entity.AuditEntity;
 import com.bank.account.mapper.AccountAuditMapper;
 import com.bank.account.repository.AccountAuditRepository;
 import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.batch.BatchLookup;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Реализация {@link AccountAuditService}
  */
@@ -17,9 +20,13 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AccountAuditServiceImpl implements AccountAuditService {
+
+    private static final String MESSAGE_PREFIX = "Не существующий id = ";
+
     AccountAuditRepository repository;
     AccountAuditMapper mapper;
     ExceptionReturner exceptionReturner;
+    BatchLookup batchLookup;
 
     /**
      * @param id технический идентификатор {@link AuditEntity}
@@ -29,8 +36,17 @@ public class AccountAuditServiceImpl implements AccountAuditService {
     public AuditDto findById(Long id) {
         return mapper.toDto(repository.findById(id)
                 .orElseThrow(
-                        () -> exceptionReturner.getEntityNotFoundException("Не существующий id = " + id)
+                        () -> exceptionReturner.getEntityNotFoundException(MESSAGE_PREFIX + id)
                 )
         );
     }
+
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    @Override
+    public List<AuditDto> findAllById(List<Long> ids) {
+        return mapper.toDtoList(batchLookup.findAllFound(repository, AuditEntity::getId, ids));
+    }
 }
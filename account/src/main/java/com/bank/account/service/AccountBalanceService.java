@@ -0,0 +1,47 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.entity.AccountDetailsEntity;
+
+import java.math.BigDecimal;
+
+/**
+ * Сервис списаний и зачислений на {@link AccountDetailsEntity}
+ */
+public interface AccountBalanceService {
+
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма списания
+     * @return {@link BalanceDto} с остатком после списания
+     */
+    BalanceDto debit(Long id, BigDecimal amount);
+
+    /**
+     * Идемпотентное списание: повтор с тем же reference возвращает текущий остаток и не списывает второй раз.
+     *
+     * @param id        технический идентификатор {@link AccountDetailsEntity}
+     * @param amount    сумма списания
+     * @param reference идентификатор операции у вызывающего сервиса
+     * @return {@link BalanceDto} с остатком после списания
+     */
+    BalanceDto debit(Long id, BigDecimal amount, String reference);
+
+    /**
+     * Отмена списания с тем же reference. Если списания еще не было, оно уже не пройдет.
+     * Повтор отмены ничего не меняет.
+     *
+     * @param id        технический идентификатор {@link AccountDetailsEntity}
+     * @param amount    сумма отменяемого списания
+     * @param reference идентификатор операции у вызывающего сервиса
+     * @return {@link BalanceDto} с остатком после отмены
+     */
+    BalanceDto cancel(Long id, BigDecimal amount, String reference);
+
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма зачисления
+     * @return {@link BalanceDto} с остатком после зачисления
+     */
+    BalanceDto credit(Long id, BigDecimal amount);
+}
@@ -0,0 +1,228 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerEntryDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.entity.BalanceOperationEntity;
+import com.bank.account.entity.BalanceOperationStatus;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.BalanceOperationRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Реализация {@link AccountBalanceService}.
+ * Остаток меняется атомарным UPDATE, отказы из-за нехватки средств считаются метрикой
+ * account.balance.movement с тегом result=rejected, доля отказов видна по отношению к тегу applied.
+ * Для счёта в режиме полос зачисление идет в случайную полосу, а списание, которому не хватило
+ * строки счёта, сначала переносит полосы на счёт и повторяется.
+ * Каждое движение в той же транзакции проводится по главной книге против технического счёта
+ * account.ledger.clearing-account-id, поэтому остаток по книге совпадает с остатком счёта.
+ * Списание с reference сначала занимает строку balance_operation: повтор не списывает второй раз,
+ * а отмена до списания оставляет строку CANCELLED, и опоздавшее списание уже не пройдет.
+ */
+@Service
+public class AccountBalanceServiceImpl implements AccountBalanceService {
+
+    private static final String METRIC = "account.balance.movement";
+    private static final String OPERATION = "operation";
+    private static final String RESULT = "result";
+    private static final String DEBIT = "debit";
+    private static final String CREDIT = "credit";
+    private static final String APPLIED = "applied";
+    private static final String REJECTED = "rejected";
+    private static final String DEBIT_DESCRIPTION = "Списание со счёта id = ";
+    private static final String CREDIT_DESCRIPTION = "Зачисление на счёт id = ";
+    private static final String CANCEL_DESCRIPTION = "Отмена списания ";
+    private static final String OPERATION_MESSAGE = "Операция ";
+    private static final int REFERENCE_LENGTH = 128;
+    private static final int MONEY_SCALE = 2;
+
+    private final AccountDetailsRepository repository;
+    private final BalanceOperationRepository operationRepository;
+    private final AccountStripingService stripingService;
+    private final AccountStripingProperties stripingProperties;
+    private final LedgerService ledgerService;
+    private final LedgerProperties ledgerProperties;
+    private final ExceptionReturner exceptionReturner;
+    private final Counter debitApplied;
+    private final Counter debitRejected;
+    private final Counter creditApplied;
+    private final Counter creditRejected;
+
+    public AccountBalanceServiceImpl(AccountDetailsRepository repository,
+                                     BalanceOperationRepository operationRepository,
+                                     AccountStripingService stripingService,
+                                     AccountStripingProperties stripingProperties, LedgerService ledgerService,
+                                     LedgerProperties ledgerProperties, ExceptionReturner exceptionReturner,
+                                     MeterRegistry registry) {
+        this.repository = repository;
+        this.operationRepository = operationRepository;
+        this.stripingService = stripingService;
+        this.stripingProperties = stripingProperties;
+        this.ledgerService = ledgerService;
+        this.ledgerProperties = ledgerProperties;
+        this.exceptionReturner = exceptionReturner;
+        this.debitApplied = registry.counter(METRIC, OPERATION, DEBIT, RESULT, APPLIED);
+        this.debitRejected = registry.counter(METRIC, OPERATION, DEBIT, RESULT, REJECTED);
+        this.creditApplied = registry.counter(METRIC, OPERATION, CREDIT, RESULT, APPLIED);
+        this.creditRejected = registry.counter(METRIC, OPERATION, CREDIT, RESULT, REJECTED);
+    }
+
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма списания
+     * @return {@link BalanceDto} с остатком после списания
+     */
+    @Override
+    @Transactional
+    public BalanceDto debit(Long id, BigDecimal amount) {
+        return withdraw(id, amount, DEBIT_DESCRIPTION + id);
+    }
+
+    /**
+     * @param id        технический идентификатор {@link AccountDetailsEntity}
+     * @param amount    сумма списания
+     * @param reference идентификатор операции у вызывающего сервиса
+     * @return {@link BalanceDto} с остатком после списания или текущим остатком при повторе
+     */
+    @Override
+    @Transactional
+    public BalanceDto debit(Long id, BigDecimal amount, String reference) {
+        validate(reference);
+        final String status = BalanceOperationStatus.APPLIED.name();
+        if (operationRepository.claim(reference, id, validate(amount), status) == 1) {
+            return withdraw(id, amount, DEBIT_DESCRIPTION + id + ", операция " + reference);
+        }
+        if (stored(reference, id, amount).getStatus() == BalanceOperationStatus.CANCELLED) {
+            throw new IllegalStateException(OPERATION_MESSAGE + reference + " уже отменена");
+        }
+
+        return stripingService.balance(id);
+    }
+
+    /**
+     * @param id        технический идентификатор {@link AccountDetailsEntity}
+     * @param amount    сумма отменяемого списания
+     * @param reference идентификатор операции у вызывающего сервиса
+     * @return {@link BalanceDto} с остатком после отмены
+     */
+    @Override
+    @Transactional
+    public BalanceDto cancel(Long id, BigDecimal amount, String reference) {
+        validate(reference);
+        final String status = BalanceOperationStatus.CANCELLED.name();
+        if (operationRepository.claim(reference, id, validate(amount), status) == 1) {
+            // списания не было, строка CANCELLED не даст ему пройти позже
+            return stripingService.balance(id);
+        }
+        stored(reference, id, amount);
+        if (operationRepository.cancel(reference) == 1) {
+            return deposit(id, amount, CANCEL_DESCRIPTION + reference);
+        }
+
+        return stripingService.balance(id);
+    }
+
+    private BalanceDto withdraw(Long id, BigDecimal amount, String description) {
+        final BigDecimal delta = validate(amount).negate();
+        Optional<BigDecimal> money = repository.addMoney(id, delta);
+
+        if (money.isEmpty()) {
+            // полосы могли быть перенесены на счёт между двумя запросами, поэтому повтор после переноса безусловный
+            stripingService.compact(id);
+            money = repository.addMoney(id, delta);
+        }
+
+        final BalanceDto result = result(id, money, debitApplied, debitRejected);
+        post(description, id, delta);
+
+        return result;
+    }
+
+    /**
+     * @param id     технический идентификатор {@link AccountDetailsEntity}
+     * @param amount сумма зачисления
+     * @return {@link BalanceDto} с остатком после зачисления
+     */
+    @Override
+    @Transactional
+    public BalanceDto credit(Long id, BigDecimal amount) {
+        return deposit(id, amount, CREDIT_DESCRIPTION + id);
+    }
+
+    private BalanceDto deposit(Long id, BigDecimal amount, String description) {
+        final int stripe = ThreadLocalRandom.current().nextInt(stripingProperties.getStripes());
+        final BalanceDto result = result(id, repository.credit(id, stripe, validate(amount)),
+                creditApplied, creditRejected);
+        post(description, id, amount);
+
+        return result;
+    }
+
+    private void post(String description, Long id, BigDecimal delta) {
+        final long clearing = ledgerProperties.getClearingAccountId();
+
+        ledgerService.post(new LedgerTransactionDto(null, description, null, List.of(
+                new LedgerEntryDto(null, id, delta), new LedgerEntryDto(null, clearing, delta.negate()))));
+    }
+
+    private BalanceDto result(Long id, Optional<BigDecimal> money, Counter applied, Counter rejected) {
+        if (money.isPresent()) {
+            applied.increment();
+            return new BalanceDto(id, money.get());
+        }
+
+        if (!repository.existsById(id)) {
+            throw exceptionReturner.getEntityNotFoundException("Не существующий id = " + id);
+        }
+        rejected.increment();
+
+        throw new IllegalStateException("Недостаточно средств на счёте id = " + id);
+    }
+
+    /**
+     * Повтор с тем же reference должен относиться к тому же счёту и той же сумме.
+     */
+    private BalanceOperationEntity stored(String reference, Long id, BigDecimal amount) {
+        final BalanceOperationEntity operation = operationRepository.findById(reference)
+                .orElseThrow(() -> new IllegalStateException(OPERATION_MESSAGE + reference +
+                        " занята другим запросом"));
+        if (!Objects.equals(operation.getAccountDetailsId(), id) || operation.getAmount().compareTo(amount) != 0) {
+            throw new ValidationException(OPERATION_MESSAGE + reference + " уже использована для другого счёта " +
+                    "или суммы");
+        }
+
+        return operation;
+    }
+
+    private void validate(String reference) {
+        if (reference == null || reference.isBlank() || reference.length() > REFERENCE_LENGTH) {
+            throw new ValidationException("Идентификатор операции обязателен и не длиннее " + REFERENCE_LENGTH +
+                    " символов");
+        }
+    }
+
+    private BigDecimal validate(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new ValidationException("Сумма операции должна быть больше нуля");
+        }
+        if (amount.stripTrailingZeros().scale() > MONEY_SCALE) {
+            throw new ValidationException("Сумма операции не может иметь больше " + MONEY_SCALE +
+                    " знаков после запятой");
+        }
+
+        return amount;
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.account.service;
 
+import com.bank.common.batch.BatchLookup;
 import com.bank.account.dto.AccountDetailsDto;
 import com.bank.account.entity.AccountDetailsEntity;
 import com.bank.account.mapper.AccountDetailsMapper;
@@ -23,6 +24,7 @@ public class AccountDetailsServiceImpl implements AccountDetailsService {
     private final AccountDetailsRepository repository;
 
     private final ExceptionReturner exceptionReturner;
+    private final BatchLookup batchLookup;
 
     /**
      * @param id технический идентификатор {@link AccountDetailsEntity}
@@ -42,10 +44,8 @@ public class AccountDetailsServiceImpl implements AccountDetailsService {
     @Override
     public List<AccountDetailsDto> findAllById(List<Long> ids) {
 
-        final List<AccountDetailsEntity> accountDetailsList = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> exceptionReturner.getEntityNotFoundException(MESSAGE_PREFIX + id)))
-                .toList();
+        final List<AccountDetailsEntity> accountDetailsList = batchLookup.findAllById(
+                repository, AccountDetailsEntity::getId, ids, MESSAGE_PREFIX);
         return mapper.toDtoList(accountDetailsList);
     }
 
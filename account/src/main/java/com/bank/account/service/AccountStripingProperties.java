@@ -0,0 +1,22 @@
+package com.bank.account.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки режима полос для счетов с частыми зачислениями.
+ * Период переноса полос на счёт задается account.striping.compaction-interval.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.striping")
+public class AccountStripingProperties {
+
+    /**
+     * На сколько полос делится остаток счёта при включении режима.
+     */
+    private int stripes = 16;
+}
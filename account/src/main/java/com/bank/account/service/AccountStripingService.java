@@ -0,0 +1,38 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.entity.AccountDetailsEntity;
+
+/**
+ * Сервис режима полос для {@link AccountDetailsEntity}.
+ * В этом режиме зачисления распределяются по полосам и не блокируют строку счёта,
+ * списания идут со строки счёта, полосы периодически переносятся на счёт.
+ */
+public interface AccountStripingService {
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     */
+    void enable(Long id);
+
+    /**
+     * Переносит остаток полос на счёт и удаляет полосы.
+     *
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     */
+    void disable(Long id);
+
+    /**
+     * Переносит накопленные в полосах зачисления на счёт.
+     *
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return true, если что-то было перенесено
+     */
+    boolean compact(Long id);
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link BalanceDto} с остатком счёта вместе с полосами
+     */
+    BalanceDto balance(Long id);
+}
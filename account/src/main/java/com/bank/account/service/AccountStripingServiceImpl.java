@@ -0,0 +1,71 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.BalanceStripeRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+
+/**
+ * Реализация {@link AccountStripingService}
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountStripingServiceImpl implements AccountStripingService {
+
+    private static final String NOT_FOUND_MESSAGE = "Не существующий id = ";
+
+    private final BalanceStripeRepository stripeRepository;
+    private final AccountDetailsRepository accountDetailsRepository;
+    private final AccountStripingProperties properties;
+    private final ExceptionReturner exceptionReturner;
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     */
+    @Override
+    @Transactional
+    public void enable(Long id) {
+        if (!accountDetailsRepository.existsById(id)) {
+            throw exceptionReturner.getEntityNotFoundException(NOT_FOUND_MESSAGE + id);
+        }
+
+        stripeRepository.createStripes(id, properties.getStripes());
+    }
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     */
+    @Override
+    @Transactional
+    public void disable(Long id) {
+        if (accountDetailsRepository.lockById(id).isPresent()) {
+            stripeRepository.removeStripes(id);
+        }
+    }
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return true, если что-то было перенесено
+     */
+    @Override
+    @Transactional
+    public boolean compact(Long id) {
+        return accountDetailsRepository.lockById(id).isPresent() && stripeRepository.compact(id) > 0;
+    }
+
+    /**
+     * @param id технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link BalanceDto} с остатком счёта вместе с полосами
+     */
+    @Override
+    public BalanceDto balance(Long id) {
+        return stripeRepository.findBalance(id)
+                .map(money -> new BalanceDto(id, money))
+                .orElseThrow(() -> exceptionReturner.getEntityNotFoundException(NOT_FOUND_MESSAGE + id));
+    }
+}
@@ -0,0 +1,44 @@
+package com.bank.account.service;
+
+import com.bank.account.repository.BalanceStripeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Фоновый перенос полос на счета. Каждый счёт переносится в своей транзакции,
+ * чтобы строка счёта блокировалась ненадолго и ошибка по одному счёту не мешала остальным.
+ */
+@Slf4j
+@Component
+public class BalanceCompactionJob {
+
+    private final BalanceStripeRepository stripeRepository;
+    private final AccountStripingService stripingService;
+    private final Counter compacted;
+
+    public BalanceCompactionJob(BalanceStripeRepository stripeRepository, AccountStripingService stripingService,
+                                MeterRegistry registry) {
+        this.stripeRepository = stripeRepository;
+        this.stripingService = stripingService;
+        this.compacted = registry.counter("account.balance.compaction");
+    }
+
+    /**
+     * Переносит полосы всех счетов, в которых накопились зачисления.
+     */
+    @Scheduled(fixedDelayString = "${account.striping.compaction-interval:PT1S}")
+    public void compactAll() {
+        for (Long id : stripeRepository.findAccountsToCompact()) {
+            try {
+                if (stripingService.compact(id)) {
+                    compacted.increment();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Не удалось перенести полосы счёта id = {}", id, e);
+            }
+        }
+    }
+}
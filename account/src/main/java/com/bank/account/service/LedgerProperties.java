@@ -0,0 +1,32 @@
+package com.bank.account.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки главной книги.
+ * Период обновления снимков остатков задается account.ledger.snapshot-interval.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "account.ledger")
+public class LedgerProperties {
+
+    /**
+     * Сколько диапазонов счетов пересчитываются одновременно.
+     */
+    private int rebuildThreads = 4;
+
+    /**
+     * Наибольшее число диапазонов, на которое можно разбить пересчет.
+     */
+    private int maxRebuildPartitions = 256;
+
+    /**
+     * Технический счёт банка, на который приходится вторая сторона проводок списаний и зачислений.
+     */
+    private long clearingAccountId;
+}
@@ -0,0 +1,18 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.LedgerRebuildDto;
+
+/**
+ * Пересчет снимков остатков по главной книге.
+ */
+public interface LedgerRebuildService {
+
+    /**
+     * Делит счета с записями на диапазоны id и пересчитывает диапазоны параллельно,
+     * каждый в своей транзакции.
+     *
+     * @param partitions на сколько диапазонов делить счета
+     * @return {@link LedgerRebuildDto} с итогом пересчета
+     */
+    LedgerRebuildDto rebuild(int partitions);
+}
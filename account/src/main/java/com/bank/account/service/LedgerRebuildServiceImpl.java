@@ -0,0 +1,98 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.LedgerRebuildDto;
+import com.bank.account.repository.LedgerEntryRepository;
+import com.bank.common.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Реализация {@link LedgerRebuildService}.
+ * Диапазон id счетов от первого до последнего счёта с записями делится на равные части,
+ * каждая часть блокирует только свои счета, поэтому части не ждут друг друга.
+ */
+@Slf4j
+@Service
+public class LedgerRebuildServiceImpl implements LedgerRebuildService {
+
+    private final LedgerService ledgerService;
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerProperties properties;
+    private final ExecutorService executor;
+
+    public LedgerRebuildServiceImpl(LedgerService ledgerService, LedgerEntryRepository entryRepository,
+                                    LedgerProperties properties) {
+        this.ledgerService = ledgerService;
+        this.entryRepository = entryRepository;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getRebuildThreads());
+    }
+
+    /**
+     * @param partitions на сколько диапазонов делить счета
+     * @return {@link LedgerRebuildDto} с итогом пересчета
+     */
+    @Override
+    public LedgerRebuildDto rebuild(int partitions) {
+        if (partitions < 1 || partitions > properties.getMaxRebuildPartitions()) {
+            throw new ValidationException("Количество диапазонов должно быть от 1 до " +
+                    properties.getMaxRebuildPartitions());
+        }
+
+        final long started = System.nanoTime();
+        final Optional<Long> first = entryRepository.findFirstAccountId();
+        final Optional<Long> last = entryRepository.findLastAccountId();
+        if (first.isEmpty() || last.isEmpty()) {
+            return new LedgerRebuildDto(0, 0, elapsedMillis(started));
+        }
+
+        final List<long[]> ranges = split(first.get(), last.get() + 1, partitions);
+        final List<CompletableFuture<Integer>> results = new ArrayList<>(ranges.size());
+        for (long[] range : ranges) {
+            results.add(CompletableFuture.supplyAsync(() -> ledgerService.rebuild(range[0], range[1]), executor));
+        }
+
+        long accounts = 0;
+        try {
+            for (CompletableFuture<Integer> result : results) {
+                accounts += result.join();
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        log.info("Снимки остатков пересчитаны: {} счетов в {} диапазонах", accounts, ranges.size());
+
+        return new LedgerRebuildDto(ranges.size(), accounts, elapsedMillis(started));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Последний диапазон может быть короче остальных, диапазонов не больше, чем id в [from, to).
+     */
+    static List<long[]> split(long from, long to, int partitions) {
+        final long step = Math.max(1, (to - from + partitions - 1) / partitions);
+        final List<long[]> ranges = new ArrayList<>(partitions);
+        for (long start = from; start < to; start += step) {
+            ranges.add(new long[]{start, Math.min(start + step, to)});
+        }
+
+        return ranges;
+    }
+
+    private static long elapsedMillis(long started) {
+        return (System.nanoTime() - started) / 1_000_000;
+    }
+}
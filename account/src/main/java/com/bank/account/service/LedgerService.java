@@ -0,0 +1,49 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.entity.LedgerTransactionEntity;
+
+/**
+ * Сервис главной книги по {@link AccountDetailsEntity}.
+ * Движения записываются проводками по двойной записи и никогда не меняются,
+ * остаток читается как снимок плюс записи после него.
+ */
+public interface LedgerService {
+
+    /**
+     * @param transaction {@link LedgerTransactionDto} с записями, сумма которых равна нулю
+     * @return {@link LedgerTransactionDto} с присвоенными id
+     */
+    LedgerTransactionDto post(LedgerTransactionDto transaction);
+
+    /**
+     * @param id технический идентификатор {@link LedgerTransactionEntity}
+     * @return {@link LedgerTransactionDto} с записями
+     */
+    LedgerTransactionDto read(Long id);
+
+    /**
+     * @param accountDetailsId технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link BalanceDto} с остатком по главной книге
+     */
+    BalanceDto balance(Long accountDetailsId);
+
+    /**
+     * Переносит в снимок остатка записи счёта, добавленные после него.
+     *
+     * @param accountDetailsId технический идентификатор {@link AccountDetailsEntity}
+     * @return true, если снимок обновлен
+     */
+    boolean refresh(Long accountDetailsId);
+
+    /**
+     * Пересчитывает снимки счетов диапазона по всем записям книги.
+     *
+     * @param from начало диапазона id счетов включительно
+     * @param to   конец диапазона id счетов не включительно
+     * @return количество пересчитанных счетов
+     */
+    int rebuild(long from, long to);
+}
@@ -0,0 +1,187 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerEntryDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.entity.LedgerEntryEntity;
+import com.bank.account.entity.LedgerTransactionEntity;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.LedgerBalanceRepository;
+import com.bank.account.repository.LedgerEntryRepository;
+import com.bank.account.repository.LedgerTransactionRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Реализация {@link LedgerService}.
+ * Перед вставкой записей счета проводки блокируются в режиме FOR KEY SHARE, а снимок остатка
+ * блокирует счёт в режиме FOR UPDATE, поэтому id записей, которые снимок еще не видит,
+ * всегда больше его last_entry_id.
+ */
+@Service
+public class LedgerServiceImpl implements LedgerService {
+
+    private static final String NOT_FOUND_MESSAGE = "Не существующий id = ";
+    private static final int MIN_ENTRIES = 2;
+    private static final int MONEY_SCALE = 2;
+    private static final int DESCRIPTION_LENGTH = 255;
+
+    private final LedgerTransactionRepository transactionRepository;
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerBalanceRepository balanceRepository;
+    private final AccountDetailsRepository accountDetailsRepository;
+    private final ExceptionReturner exceptionReturner;
+    private final Counter posted;
+
+    public LedgerServiceImpl(LedgerTransactionRepository transactionRepository, LedgerEntryRepository entryRepository,
+                             LedgerBalanceRepository balanceRepository,
+                             AccountDetailsRepository accountDetailsRepository,
+                             ExceptionReturner exceptionReturner, MeterRegistry registry) {
+        this.transactionRepository = transactionRepository;
+        this.entryRepository = entryRepository;
+        this.balanceRepository = balanceRepository;
+        this.accountDetailsRepository = accountDetailsRepository;
+        this.exceptionReturner = exceptionReturner;
+        this.posted = registry.counter("account.ledger.posting");
+    }
+
+    /**
+     * @param transaction {@link LedgerTransactionDto} с записями, сумма которых равна нулю
+     * @return {@link LedgerTransactionDto} с присвоенными id
+     */
+    @Override
+    @Transactional
+    public LedgerTransactionDto post(LedgerTransactionDto transaction) {
+        final Set<Long> accounts = validate(transaction);
+        lockAccounts(accounts);
+
+        final LedgerTransactionEntity saved = transactionRepository.save(
+                new LedgerTransactionEntity(null, transaction.getDescription(), Timestamp.from(Instant.now())));
+        final List<LedgerEntryEntity> entries = entryRepository.saveAll(transaction.getEntries().stream()
+                .map(entry -> new LedgerEntryEntity(null, saved.getId(), entry.getAccountDetailsId(),
+                        entry.getAmount()))
+                .toList());
+        posted.increment();
+
+        return toDto(saved, entries);
+    }
+
+    /**
+     * @param id технический идентификатор {@link LedgerTransactionEntity}
+     * @return {@link LedgerTransactionDto} с записями
+     */
+    @Override
+    public LedgerTransactionDto read(Long id) {
+        final LedgerTransactionEntity transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> exceptionReturner.getEntityNotFoundException(NOT_FOUND_MESSAGE + id));
+
+        return toDto(transaction, entryRepository.findAllByLedgerTransactionIdOrderById(id));
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор {@link AccountDetailsEntity}
+     * @return {@link BalanceDto} с остатком по главной книге
+     */
+    @Override
+    public BalanceDto balance(Long accountDetailsId) {
+        return balanceRepository.findBalance(accountDetailsId)
+                .map(balance -> new BalanceDto(accountDetailsId, balance))
+                .orElseThrow(() -> exceptionReturner.getEntityNotFoundException(NOT_FOUND_MESSAGE + accountDetailsId));
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор {@link AccountDetailsEntity}
+     * @return true, если снимок обновлен
+     */
+    @Override
+    @Transactional
+    public boolean refresh(Long accountDetailsId) {
+        return accountDetailsRepository.lockById(accountDetailsId).isPresent() &&
+                balanceRepository.refresh(accountDetailsId) > 0;
+    }
+
+    /**
+     * @param from начало диапазона id счетов включительно
+     * @param to   конец диапазона id счетов не включительно
+     * @return количество пересчитанных счетов
+     */
+    @Override
+    @Transactional
+    public int rebuild(long from, long to) {
+        if (accountDetailsRepository.lockRangeWithLedger(from, to) == 0) {
+            return 0;
+        }
+
+        return balanceRepository.rebuild(from, to);
+    }
+
+    /**
+     * Сначала блокировка, потом записи: так снимок, заблокировавший счёт раньше, не пропустит их.
+     * Счета блокируются по возрастанию id, чтобы проводки и пересчет не ждали друг друга по кругу.
+     */
+    private void lockAccounts(Set<Long> accounts) {
+        if (accountDetailsRepository.lockForPosting(accounts) == accounts.size()) {
+            return;
+        }
+
+        final Set<Long> missing = new TreeSet<>(accounts);
+        accountDetailsRepository.findAllById(accounts).forEach(account -> missing.remove(account.getId()));
+        throw exceptionReturner.getEntityNotFoundException(NOT_FOUND_MESSAGE + missing.iterator().next());
+    }
+
+    private Set<Long> validate(LedgerTransactionDto transaction) {
+        if (transaction.getEntries() == null || transaction.getEntries().size() < MIN_ENTRIES) {
+            throw new ValidationException("В проводке должно быть не меньше " + MIN_ENTRIES + " записей");
+        }
+        if (transaction.getDescription() != null && transaction.getDescription().length() > DESCRIPTION_LENGTH) {
+            throw new ValidationException("Основание проводки не может быть длиннее " + DESCRIPTION_LENGTH +
+                    " символов");
+        }
+
+        final Set<Long> accounts = new TreeSet<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (LedgerEntryDto entry : transaction.getEntries()) {
+            total = total.add(validate(entry));
+            accounts.add(entry.getAccountDetailsId());
+        }
+        if (total.signum() != 0) {
+            throw new ValidationException("Сумма записей проводки должна быть равна нулю, получено " + total);
+        }
+
+        return accounts;
+    }
+
+    private BigDecimal validate(LedgerEntryDto entry) {
+        if (entry == null || entry.getAccountDetailsId() == null) {
+            throw new ValidationException("В записи проводки не указан счёт");
+        }
+        if (entry.getAmount() == null || entry.getAmount().signum() == 0) {
+            throw new ValidationException("Сумма записи проводки не может быть нулевой");
+        }
+        if (entry.getAmount().stripTrailingZeros().scale() > MONEY_SCALE) {
+            throw new ValidationException("Сумма записи проводки не может иметь больше " + MONEY_SCALE +
+                    " знаков после запятой");
+        }
+
+        return entry.getAmount();
+    }
+
+    private LedgerTransactionDto toDto(LedgerTransactionEntity transaction, List<LedgerEntryEntity> entries) {
+        return new LedgerTransactionDto(transaction.getId(), transaction.getDescription(), transaction.getCreatedAt(),
+                entries.stream()
+                        .map(entry -> new LedgerEntryDto(entry.getId(), entry.getAccountDetailsId(), entry.getAmount()))
+                        .toList());
+    }
+}
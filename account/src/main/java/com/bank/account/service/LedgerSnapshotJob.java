@@ -0,0 +1,63 @@
+package com.bank.account.service;
+
+import com.bank.account.repository.LedgerBalanceRepository;
+import com.bank.account.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Фоновое обновление снимков остатков по главной книге, чтобы хвост записей после снимка оставался коротким.
+ * Счета для обновления ищутся по записям, добавленным с прошлого запуска. Запись, закоммиченная позже
+ * записей с большим id, может быть пропущена, остаток при этом остается верным, просто ее счёт
+ * обновится при следующей записи. Каждый счёт обновляется в своей транзакции.
+ */
+@Slf4j
+@Component
+public class LedgerSnapshotJob {
+
+    private final LedgerService ledgerService;
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerBalanceRepository balanceRepository;
+    private final Counter refreshed;
+
+    private long lastEntryId = -1;
+
+    public LedgerSnapshotJob(LedgerService ledgerService, LedgerEntryRepository entryRepository,
+                             LedgerBalanceRepository balanceRepository, MeterRegistry registry) {
+        this.ledgerService = ledgerService;
+        this.entryRepository = entryRepository;
+        this.balanceRepository = balanceRepository;
+        this.refreshed = registry.counter("account.ledger.snapshot");
+    }
+
+    /**
+     * Обновляет снимки счетов, у которых появились записи после прошлого запуска.
+     * После рестарта поиск начинается с самого старого снимка.
+     */
+    @Scheduled(fixedDelayString = "${account.ledger.snapshot-interval:PT5S}")
+    public synchronized void refreshAll() {
+        final Optional<Long> upTo = entryRepository.findLastId();
+        if (upTo.isEmpty()) {
+            return;
+        }
+        if (lastEntryId < 0) {
+            lastEntryId = balanceRepository.findOldestSnapshotEntryId().orElse(0L);
+        }
+
+        for (Long id : entryRepository.findAccountsWithEntriesBetween(lastEntryId, upTo.get())) {
+            try {
+                if (ledgerService.refresh(id)) {
+                    refreshed.increment();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Не удалось обновить снимок остатка счёта id = {}", id, e);
+            }
+        }
+        lastEntryId = upTo.get();
+    }
+}
@@ -0,0 +1,111 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.service.AccountBalanceService;
+import com.bank.account.service.AccountStripingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AccountBalanceController.class)
+class AccountBalanceControllerTest {
+
+    private static final String AMOUNT = "{\"amount\": 10.00}";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String REFERENCE = "transfer:key";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AccountBalanceService service;
+
+    @MockBean
+    private AccountStripingService stripingService;
+
+    @Test
+    void debit_ShouldReturnBalance() throws Exception {
+        when(service.debit(1L, new BigDecimal("10.00"))).thenReturn(new BalanceDto(1L, new BigDecimal("90.00")));
+
+        mockMvc.perform(post("/details/1/debit").contentType(MediaType.APPLICATION_JSON).content(AMOUNT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.money").value(90.00));
+    }
+
+    @Test
+    void debit_ShouldReturnConflict_WhenFundsAreInsufficient() throws Exception {
+        when(service.debit(1L, new BigDecimal("10.00"))).thenThrow(new IllegalStateException("Недостаточно средств"));
+
+        mockMvc.perform(post("/details/1/debit").contentType(MediaType.APPLICATION_JSON).content(AMOUNT))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void debit_ShouldPassReference_WhenIdempotencyKeyIsPresent() throws Exception {
+        when(service.debit(1L, new BigDecimal("10.00"), REFERENCE))
+                .thenReturn(new BalanceDto(1L, new BigDecimal("90.00")));
+
+        mockMvc.perform(post("/details/1/debit").header(IDEMPOTENCY_KEY, REFERENCE)
+                        .contentType(MediaType.APPLICATION_JSON).content(AMOUNT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.money").value(90.00));
+    }
+
+    @Test
+    void cancelDebit_ShouldReturnBalance() throws Exception {
+        when(service.cancel(1L, new BigDecimal("10.00"), REFERENCE))
+                .thenReturn(new BalanceDto(1L, new BigDecimal("100.00")));
+
+        mockMvc.perform(post("/details/1/debit/cancel").header(IDEMPOTENCY_KEY, REFERENCE)
+                        .contentType(MediaType.APPLICATION_JSON).content(AMOUNT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.money").value(100.00));
+    }
+
+    @Test
+    void credit_ShouldReturnBalance() throws Exception {
+        when(service.credit(1L, new BigDecimal("10.00"))).thenReturn(new BalanceDto(1L, new BigDecimal("110.00")));
+
+        mockMvc.perform(post("/details/1/credit").contentType(MediaType.APPLICATION_JSON).content(AMOUNT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.money").value(110.00));
+    }
+
+    @Test
+    void balance_ShouldReturnMoneyWithStripes() throws Exception {
+        when(stripingService.balance(1L)).thenReturn(new BalanceDto(1L, new BigDecimal("120.00")));
+
+        mockMvc.perform(get("/details/1/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.money").value(120.00));
+    }
+
+    @Test
+    void enableStriping_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(post("/details/1/striping"))
+                .andExpect(status().isNoContent());
+
+        verify(stripingService).enable(1L);
+    }
+
+    @Test
+    void disableStriping_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/details/1/striping"))
+                .andExpect(status().isNoContent());
+
+        verify(stripingService).disable(1L);
+    }
+}
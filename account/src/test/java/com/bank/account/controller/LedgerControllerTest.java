@@ -0,0 +1,79 @@
+package com.bank.account.controller;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerEntryDto;
+import com.bank.account.dto.LedgerRebuildDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.service.LedgerRebuildService;
+import com.bank.account.service.LedgerService;
+import com.bank.common.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LedgerController.class)
+class LedgerControllerTest {
+
+    private static final String TRANSACTION = "{\"description\": \"перевод\", \"entries\": [" +
+            "{\"accountDetailsId\": 1, \"amount\": -10.00}, {\"accountDetailsId\": 2, \"amount\": 10.00}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LedgerService service;
+
+    @MockBean
+    private LedgerRebuildService rebuildService;
+
+    @Test
+    void post_ShouldReturnTransactionWithIds() throws Exception {
+        when(service.post(any())).thenReturn(new LedgerTransactionDto(5L, "перевод", null, List.of(
+                new LedgerEntryDto(7L, 1L, new BigDecimal("-10.00")),
+                new LedgerEntryDto(8L, 2L, new BigDecimal("10.00")))));
+
+        mockMvc.perform(post("/ledger/transactions").contentType(MediaType.APPLICATION_JSON).content(TRANSACTION))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.entries[1].id").value(8));
+    }
+
+    @Test
+    void post_ShouldReturnUnprocessableEntity_WhenTransactionIsUnbalanced() throws Exception {
+        when(service.post(any())).thenThrow(new ValidationException("Сумма записей проводки должна быть равна нулю"));
+
+        mockMvc.perform(post("/ledger/transactions").contentType(MediaType.APPLICATION_JSON).content(TRANSACTION))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void balance_ShouldReturnLedgerBalance() throws Exception {
+        when(service.balance(1L)).thenReturn(new BalanceDto(1L, new BigDecimal("-10.00")));
+
+        mockMvc.perform(get("/ledger/accounts/1/balance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.money").value(-10.00));
+    }
+
+    @Test
+    void rebuild_ShouldPassPartitions() throws Exception {
+        when(rebuildService.rebuild(16)).thenReturn(new LedgerRebuildDto(16, 100, 12));
+
+        mockMvc.perform(post("/ledger/rebuild").param("partitions", "16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").value(100));
+    }
+}
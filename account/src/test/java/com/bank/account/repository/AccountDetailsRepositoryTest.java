@@ -0,0 +1,67 @@
+package com.bank.account.repository;
+
+import com.bank.account.entity.AccountDetailsEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты условных UPDATE остатка {@link AccountDetailsRepository} на Postgres.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AccountDetailsRepositoryTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withInitScript("db/create-schema.sql");
+
+    @Autowired
+    private AccountDetailsRepository repository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void addMoney_ShouldCredit_WhenAccountIsNegativeWithoutOverdraft() {
+        final Long id = account(-50);
+
+        assertEquals(0, new BigDecimal("-40").compareTo(repository.addMoney(id, BigDecimal.TEN).orElseThrow()));
+    }
+
+    @Test
+    void addMoney_ShouldRejectDebit_WhenAccountIsNegativeWithoutOverdraft() {
+        final Long id = account(-50);
+
+        assertEquals(Optional.empty(), repository.addMoney(id, BigDecimal.TEN.negate()));
+    }
+
+    @Test
+    void credit_ShouldApply_WhenAccountIsNegativeWithoutOverdraft() {
+        final Long id = account(-50);
+
+        assertEquals(0, new BigDecimal("-40").compareTo(repository.credit(id, 0, BigDecimal.TEN).orElseThrow()));
+    }
+
+    private Long account(long money) {
+        final long number = System.nanoTime();
+        return repository.saveAndFlush(new AccountDetailsEntity(null, number, number, number,
+                BigDecimal.valueOf(money), false, number)).getId();
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.account.repository;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Регрессионные тесты планов запросов для индексов схемы account.
+ * Накатывает changelog на Postgres в контейнере, заполняет таблицы и проверяет, что запросы идут по индексу.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Тесты индексов схемы account")
+public class IndexQueryPlanTest {
+
+    private static final String SCHEMA = "account";
+    private static final String CHANGELOG = "db.changelog/db.changelog-master.yaml";
+    private static final int ROWS = 100_000;
+    private static final int PROFILES = 1_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+
+        final Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        database.setDefaultSchemaName(SCHEMA);
+        new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database).update(new Contexts());
+        connection.setAutoCommit(true);
+
+        execute("INSERT INTO " + SCHEMA + ".account_details "
+                + "(passport_id, account_number, bank_details_id, money, negative_balance, profile_id) "
+                + "SELECT g, g, g, 0, false, g % " + PROFILES + " FROM generate_series(1, " + ROWS + ") g");
+        execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "account_details_profile_id_idx | SELECT * FROM account.account_details WHERE profile_id = 42",
+            "account_details_account_number_key | SELECT * FROM account.account_details WHERE account_number = 4242"
+    })
+    @DisplayName("Запрос выполняется по индексу, позитивный сценарий")
+    void queryUsesIndexTest(String index, String query) throws SQLException {
+        final String plan = explain(query);
+        assertTrue(plan.contains("Index") && plan.contains(index), plan);
+    }
+
+    private static String explain(String query) throws SQLException {
+        final StringJoiner plan = new StringJoiner("\n");
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -5,13 +5,18 @@ import com.bank.account.entity.AuditEntity;
 import com.bank.account.mapper.AccountAuditMapper;
 import com.bank.account.repository.AccountAuditRepository;
 import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityNotFoundException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,6 +33,9 @@ class AccountAuditServiceImplTest {
     @Mock
     private AccountAuditMapper mapper;
 
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
+
     @Mock
     private ExceptionReturner exceptionReturner;
 
@@ -58,4 +66,28 @@ class AccountAuditServiceImplTest {
 
         assertThrows(RuntimeException.class, () -> accountAuditService.findById(AUDIT_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllById_ShouldReturnAuditDtos_WhenAllEntitiesExist() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final AuditEntity second = new AuditEntity();
+        second.setId(2L);
+        final List<AuditDto> dtos = List.of(new AuditDto(), new AuditDto());
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        when(mapper.toDtoList(List.of(second, first))).thenReturn(dtos);
+
+        assertEquals(dtos, accountAuditService.findAllById(List.of(2L, 1L)));
+    }
+
+    @Test
+    void findAllById_ShouldSkipMissingIds_WhenEntityDoesNotExist() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final List<AuditDto> dtos = List.of(new AuditDto());
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+        when(mapper.toDtoList(List.of(first))).thenReturn(dtos);
+
+        assertEquals(dtos, accountAuditService.findAllById(List.of(1L, 2L)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.bank.account.service;
+
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочный тест {@link AccountBalanceServiceImpl}: много потоков списывают и зачисляют на один счёт
+ * в Postgres, ни одна операция не должна потеряться и остаток не должен уйти в минус.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AccountBalanceServiceImpl.class, AccountStripingServiceImpl.class, AccountStripingProperties.class,
+        LedgerServiceImpl.class, LedgerProperties.class, ExceptionReturner.class, SimpleMeterRegistry.class})
+class AccountBalanceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 200;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withInitScript("db/create-schema.sql");
+
+    @Autowired
+    private AccountBalanceService service;
+
+    @Autowired
+    private AccountStripingService stripingService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountDetailsRepository repository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void debit_ShouldNeverOverdraw_WhenManyThreadsDebitOneAccount() throws Exception {
+        final int funds = THREADS * OPERATIONS_PER_THREAD / 2;
+        final Long id = account(funds, false);
+
+        final List<Integer> applied = run(() -> {
+            int succeeded = 0;
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    service.debit(id, BigDecimal.ONE);
+                    succeeded++;
+                } catch (IllegalStateException e) {
+                    // средств не хватило, ожидаемый отказ
+                }
+            }
+            return succeeded;
+        });
+
+        assertEquals(funds, applied.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, BigDecimal.ZERO.compareTo(repository.findById(id).orElseThrow().getMoney()));
+    }
+
+    @Test
+    void debitAndCredit_ShouldNotLoseUpdates_WhenManyThreadsHitOneAccount() throws Exception {
+        final Long id = account(0, true);
+
+        run(() -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                service.credit(id, new BigDecimal("3.00"));
+                service.debit(id, new BigDecimal("2.00"));
+            }
+            return OPERATIONS_PER_THREAD;
+        });
+
+        final BigDecimal expected = BigDecimal.valueOf((long) THREADS * OPERATIONS_PER_THREAD);
+        assertEquals(0, expected.compareTo(repository.findById(id).orElseThrow().getMoney()));
+        assertEquals(0, expected.compareTo(ledgerService.balance(id).getMoney()));
+    }
+
+    @Test
+    void debitAndCredit_ShouldNotLoseUpdates_WhenAccountIsStripedAndCompactedConcurrently() throws Exception {
+        final Long id = account(0, false);
+        stripingService.enable(id);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread compaction = new Thread(() -> {
+            while (running.get()) {
+                stripingService.compact(id);
+            }
+        });
+        compaction.start();
+
+        try {
+            run(() -> {
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    service.credit(id, new BigDecimal("3.00"));
+                    service.debit(id, new BigDecimal("2.00"));
+                }
+                return OPERATIONS_PER_THREAD;
+            });
+        } finally {
+            running.set(false);
+            compaction.join();
+        }
+
+        final BigDecimal expected = BigDecimal.valueOf((long) THREADS * OPERATIONS_PER_THREAD);
+        assertEquals(0, expected.compareTo(stripingService.balance(id).getMoney()));
+        stripingService.disable(id);
+        assertEquals(0, expected.compareTo(repository.findById(id).orElseThrow().getMoney()));
+    }
+
+    private Long account(long money, boolean negativeBalance) {
+        final long number = System.nanoTime();
+        return repository.save(new AccountDetailsEntity(null, number, number, number,
+                BigDecimal.valueOf(money), negativeBalance, number)).getId();
+    }
+
+    private List<Integer> run(Callable<Integer> operations) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return operations.call();
+                }));
+            }
+            start.countDown();
+
+            final List<Integer> counts = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                counts.add(result.get());
+            }
+            return counts;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerEntryDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.BalanceOperationEntity;
+import com.bank.account.entity.BalanceOperationStatus;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.BalanceOperationRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountBalanceServiceImplTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+    private static final long CLEARING_ACCOUNT_ID = 7L;
+    private static final String REFERENCE = "transfer:key";
+
+    @Mock
+    private AccountDetailsRepository repository;
+
+    @Mock
+    private BalanceOperationRepository operationRepository;
+
+    @Mock
+    private AccountStripingService stripingService;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AccountBalanceServiceImpl accountBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        final LedgerProperties ledgerProperties = new LedgerProperties();
+        ledgerProperties.setClearingAccountId(CLEARING_ACCOUNT_ID);
+        accountBalanceService = new AccountBalanceServiceImpl(repository, operationRepository, stripingService,
+                new AccountStripingProperties(), ledgerService, ledgerProperties, new ExceptionReturner(), registry);
+    }
+
+    @Test
+    void debit_ShouldSubtractAmount_WhenFundsAreSufficient() {
+        when(repository.addMoney(ACCOUNT_ID, new BigDecimal("-10.50"))).thenReturn(Optional.of(new BigDecimal("89.50")));
+
+        BalanceDto result = accountBalanceService.debit(ACCOUNT_ID, new BigDecimal("10.50"));
+
+        assertEquals(new BalanceDto(ACCOUNT_ID, new BigDecimal("89.50")), result);
+        assertEquals(1.0, count("debit", "applied"));
+        assertEquals(List.of(new LedgerEntryDto(null, ACCOUNT_ID, new BigDecimal("-10.50")),
+                new LedgerEntryDto(null, CLEARING_ACCOUNT_ID, new BigDecimal("10.50"))), posted().getEntries());
+    }
+
+    @Test
+    void credit_ShouldAddAmount() {
+        when(repository.credit(eq(ACCOUNT_ID), anyInt(), eq(BigDecimal.TEN)))
+                .thenReturn(Optional.of(new BigDecimal("110.00")));
+
+        BalanceDto result = accountBalanceService.credit(ACCOUNT_ID, BigDecimal.TEN);
+
+        assertEquals(new BigDecimal("110.00"), result.getMoney());
+        assertEquals(1.0, count("credit", "applied"));
+        assertEquals(List.of(new LedgerEntryDto(null, ACCOUNT_ID, BigDecimal.TEN),
+                new LedgerEntryDto(null, CLEARING_ACCOUNT_ID, BigDecimal.TEN.negate())), posted().getEntries());
+    }
+
+    @Test
+    void debit_ShouldThrowConflictAndCountRejection_WhenFundsAreInsufficient() {
+        when(repository.addMoney(ACCOUNT_ID, BigDecimal.TEN.negate())).thenReturn(Optional.empty());
+        when(repository.existsById(ACCOUNT_ID)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> accountBalanceService.debit(ACCOUNT_ID, BigDecimal.TEN));
+        assertEquals(1.0, count("debit", "rejected"));
+        verify(ledgerService, never()).post(any());
+    }
+
+    @Test
+    void debit_ShouldThrowNotFound_WhenAccountDoesNotExist() {
+        when(repository.addMoney(ACCOUNT_ID, BigDecimal.TEN.negate())).thenReturn(Optional.empty());
+        when(repository.existsById(ACCOUNT_ID)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> accountBalanceService.debit(ACCOUNT_ID, BigDecimal.TEN));
+        assertEquals(0.0, count("debit", "rejected"));
+    }
+
+    @Test
+    void credit_ShouldThrowValidation_WhenAmountIsNotPositiveOrHasFractionOfKopeck() {
+        assertThrows(ValidationException.class, () -> accountBalanceService.credit(ACCOUNT_ID, BigDecimal.ZERO));
+        assertThrows(ValidationException.class, () -> accountBalanceService.credit(ACCOUNT_ID, null));
+        assertThrows(ValidationException.class,
+                () -> accountBalanceService.credit(ACCOUNT_ID, new BigDecimal("0.001")));
+
+        verify(repository, never()).credit(any(), anyInt(), any());
+    }
+
+    @Test
+    void debit_ShouldCompactStripesAndRetry_WhenAccountRowAloneIsInsufficient() {
+        when(repository.addMoney(ACCOUNT_ID, BigDecimal.TEN.negate()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new BigDecimal("5.00")));
+        when(stripingService.compact(ACCOUNT_ID)).thenReturn(true);
+
+        BalanceDto result = accountBalanceService.debit(ACCOUNT_ID, BigDecimal.TEN);
+
+        assertEquals(new BigDecimal("5.00"), result.getMoney());
+        verify(repository, times(2)).addMoney(ACCOUNT_ID, BigDecimal.TEN.negate());
+        assertEquals(1.0, count("debit", "applied"));
+    }
+
+    @Test
+    void credit_ShouldPickStripeWithinConfiguredRange() {
+        when(repository.credit(eq(ACCOUNT_ID), anyInt(), eq(BigDecimal.ONE))).thenReturn(Optional.of(BigDecimal.ONE));
+
+        for (int i = 0; i < 100; i++) {
+            accountBalanceService.credit(ACCOUNT_ID, BigDecimal.ONE);
+        }
+
+        verify(repository, never()).credit(eq(ACCOUNT_ID), intThat(stripe -> stripe < 0 || stripe >= 16), any());
+    }
+
+    @Test
+    void debit_ShouldNotDebitTwice_WhenReferenceIsRepeated() {
+        when(operationRepository.claim(REFERENCE, ACCOUNT_ID, BigDecimal.TEN, "APPLIED")).thenReturn(1).thenReturn(0);
+        when(operationRepository.findById(REFERENCE)).thenReturn(operation(BalanceOperationStatus.APPLIED));
+        when(repository.addMoney(ACCOUNT_ID, BigDecimal.TEN.negate())).thenReturn(Optional.of(new BigDecimal("90")));
+        when(stripingService.balance(ACCOUNT_ID)).thenReturn(new BalanceDto(ACCOUNT_ID, new BigDecimal("90")));
+
+        accountBalanceService.debit(ACCOUNT_ID, BigDecimal.TEN, REFERENCE);
+        final BalanceDto replayed = accountBalanceService.debit(ACCOUNT_ID, BigDecimal.TEN, REFERENCE);
+
+        assertEquals(new BigDecimal("90"), replayed.getMoney());
+        verify(repository).addMoney(ACCOUNT_ID, BigDecimal.TEN.negate());
+    }
+
+    @Test
+    void debit_ShouldThrowConflict_WhenReferenceIsCancelled() {
+        when(operationRepository.claim(REFERENCE, ACCOUNT_ID, BigDecimal.TEN, "APPLIED")).thenReturn(0);
+        when(operationRepository.findById(REFERENCE)).thenReturn(operation(BalanceOperationStatus.CANCELLED));
+
+        assertThrows(IllegalStateException.class,
+                () -> accountBalanceService.debit(ACCOUNT_ID, BigDecimal.TEN, REFERENCE));
+        verify(repository, never()).addMoney(any(), any());
+    }
+
+    @Test
+    void debit_ShouldThrowValidation_WhenReferenceWasUsedForAnotherAmount() {
+        when(operationRepository.claim(REFERENCE, ACCOUNT_ID, BigDecimal.ONE, "APPLIED")).thenReturn(0);
+        when(operationRepository.findById(REFERENCE)).thenReturn(operation(BalanceOperationStatus.APPLIED));
+
+        assertThrows(ValidationException.class,
+                () -> accountBalanceService.debit(ACCOUNT_ID, BigDecimal.ONE, REFERENCE));
+    }
+
+    @Test
+    void cancel_ShouldCreditBackOnce_WhenDebitWasApplied() {
+        when(operationRepository.claim(REFERENCE, ACCOUNT_ID, BigDecimal.TEN, "CANCELLED")).thenReturn(0);
+        when(operationRepository.findById(REFERENCE)).thenReturn(operation(BalanceOperationStatus.APPLIED));
+        when(operationRepository.cancel(REFERENCE)).thenReturn(1).thenReturn(0);
+        when(repository.credit(eq(ACCOUNT_ID), anyInt(), eq(BigDecimal.TEN))).thenReturn(Optional.of(BigDecimal.TEN));
+
+        accountBalanceService.cancel(ACCOUNT_ID, BigDecimal.TEN, REFERENCE);
+        accountBalanceService.cancel(ACCOUNT_ID, BigDecimal.TEN, REFERENCE);
+
+        verify(repository).credit(eq(ACCOUNT_ID), anyInt(), eq(BigDecimal.TEN));
+        assertEquals(List.of(new LedgerEntryDto(null, ACCOUNT_ID, BigDecimal.TEN),
+                new LedgerEntryDto(null, CLEARING_ACCOUNT_ID, BigDecimal.TEN.negate())), posted().getEntries());
+    }
+
+    @Test
+    void cancel_ShouldOnlyMarkReference_WhenDebitWasNotApplied() {
+        when(operationRepository.claim(REFERENCE, ACCOUNT_ID, BigDecimal.TEN, "CANCELLED")).thenReturn(1);
+
+        accountBalanceService.cancel(ACCOUNT_ID, BigDecimal.TEN, REFERENCE);
+
+        verify(repository, never()).credit(any(), anyInt(), any());
+        verify(operationRepository, never()).cancel(any());
+    }
+
+    private Optional<BalanceOperationEntity> operation(BalanceOperationStatus status) {
+        return Optional.of(new BalanceOperationEntity(REFERENCE, ACCOUNT_ID, BigDecimal.TEN, status, null));
+    }
+
+    private LedgerTransactionDto posted() {
+        final ArgumentCaptor<LedgerTransactionDto> captor = ArgumentCaptor.forClass(LedgerTransactionDto.class);
+        verify(ledgerService).post(captor.capture());
+        return captor.getValue();
+    }
+
+    private double count(String operation, String result) {
+        return registry.counter("account.balance.movement", "operation", operation, "result", result).count();
+    }
+}
@@ -0,0 +1,124 @@
+package com.bank.account.service;
+
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочное сравнение зачислений на один счёт в обычном режиме и в режиме полос.
+ * Пропускная способность пишется в лог, проверяется только, что ни одно зачисление не потерялось.
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AccountBalanceServiceImpl.class, AccountStripingServiceImpl.class, AccountStripingProperties.class,
+        LedgerServiceImpl.class, LedgerProperties.class, ExceptionReturner.class, SimpleMeterRegistry.class})
+class AccountBalanceStripingBenchmarkTest {
+
+    private static final int THREADS = 32;
+    private static final int CREDITS_PER_THREAD = 500;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withInitScript("db/create-schema.sql");
+
+    @Autowired
+    private AccountBalanceService service;
+
+    @Autowired
+    private AccountStripingService stripingService;
+
+    @Autowired
+    private AccountDetailsRepository repository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> THREADS);
+    }
+
+    @Test
+    void credit_ShouldNotLoseUpdates_InSingleRowAndStripedModes() throws Exception {
+        final Long single = account();
+        final Long striped = account();
+        stripingService.enable(striped);
+
+        // прогрев пула соединений и планов запросов
+        credit(account(), CREDITS_PER_THREAD / 10);
+
+        final long singleNanos = credit(single, CREDITS_PER_THREAD);
+        final long stripedNanos = credit(striped, CREDITS_PER_THREAD);
+
+        log.info("Зачисления на один счёт, {} потоков: обычный режим {} оп/с, режим полос {} оп/с",
+                THREADS, throughput(singleNanos), throughput(stripedNanos));
+
+        final BigDecimal expected = BigDecimal.valueOf((long) THREADS * CREDITS_PER_THREAD);
+        assertEquals(0, expected.compareTo(stripingService.balance(single).getMoney()));
+        assertEquals(0, expected.compareTo(stripingService.balance(striped).getMoney()));
+    }
+
+    private Long account() {
+        final long number = System.nanoTime();
+        return repository.save(new AccountDetailsEntity(null, number, number, number,
+                BigDecimal.ZERO, false, number)).getId();
+    }
+
+    private long credit(Long id, int creditsPerThread) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < creditsPerThread; j++) {
+                        service.credit(id, BigDecimal.ONE);
+                    }
+                    return null;
+                }));
+            }
+
+            final long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+            return System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long throughput(long nanos) {
+        return (long) THREADS * CREDITS_PER_THREAD * 1_000_000_000L / nanos;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bank.account.service;
 
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import com.bank.account.dto.AccountDetailsDto;
 import com.bank.account.entity.AccountDetailsEntity;
 import com.bank.account.mapper.AccountDetailsMapper;
@@ -10,7 +12,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +37,9 @@ class AccountDetailsServiceImplTest {
     @Mock
     private ExceptionReturner exceptionReturner;
 
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
+
     private static final Long ACCOUNT_ID = 1L;
     private static final AccountDetailsEntity ACCOUNT_DETAILS_ENTITY = new AccountDetailsEntity();
     private static final AccountDetailsDto ACCOUNT_DETAILS_DTO = new AccountDetailsDto();
@@ -64,14 +71,29 @@ class AccountDetailsServiceImplTest {
     @Test
     void findAllById_ShouldReturnListOfAccountDetailsDto_WhenEntitiesExist() {
         List<Long> ids = List.of(ACCOUNT_ID);
-        when(repository.findById(ACCOUNT_ID)).thenReturn(Optional.of(ACCOUNT_DETAILS_ENTITY));
-        when(mapper.toDtoList(List.of(ACCOUNT_DETAILS_ENTITY))).thenReturn(List.of(ACCOUNT_DETAILS_DTO));
+        AccountDetailsEntity entity = new AccountDetailsEntity();
+        entity.setId(ACCOUNT_ID);
+        when(repository.findAllById(ids)).thenReturn(List.of(entity));
+        when(mapper.toDtoList(List.of(entity))).thenReturn(List.of(ACCOUNT_DETAILS_DTO));
 
         List<AccountDetailsDto> result = accountDetailsService.findAllById(ids);
 
         assertEquals(List.of(ACCOUNT_DETAILS_DTO), result);
     }
 
+    @Test
+    void findAllById_ShouldThrowException_WhenSomeEntitiesDoNotExist() {
+        List<Long> ids = List.of(ACCOUNT_ID, 2L, 3L);
+        AccountDetailsEntity entity = new AccountDetailsEntity();
+        entity.setId(2L);
+        when(repository.findAllById(ids)).thenReturn(List.of(entity));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> accountDetailsService.findAllById(ids));
+
+        assertEquals("Не существующий id = 1, 3", exception.getMessage());
+    }
+
     @Test
     void save_ShouldReturnSavedAccountDetailsDto() {
         when(mapper.toEntity(ACCOUNT_DETAILS_DTO)).thenReturn(ACCOUNT_DETAILS_ENTITY);
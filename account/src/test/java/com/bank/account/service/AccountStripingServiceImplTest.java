@@ -0,0 +1,94 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.BalanceStripeRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountStripingServiceImplTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+
+    @Mock
+    private BalanceStripeRepository stripeRepository;
+
+    @Mock
+    private AccountDetailsRepository accountDetailsRepository;
+
+    private final AccountStripingProperties properties = new AccountStripingProperties();
+    private AccountStripingServiceImpl stripingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties.setStripes(8);
+        stripingService = new AccountStripingServiceImpl(stripeRepository, accountDetailsRepository, properties,
+                new ExceptionReturner());
+    }
+
+    @Test
+    void enable_ShouldCreateConfiguredNumberOfStripes() {
+        when(accountDetailsRepository.existsById(ACCOUNT_ID)).thenReturn(true);
+
+        stripingService.enable(ACCOUNT_ID);
+
+        verify(stripeRepository).createStripes(ACCOUNT_ID, 8);
+    }
+
+    @Test
+    void enable_ShouldThrowNotFound_WhenAccountDoesNotExist() {
+        when(accountDetailsRepository.existsById(ACCOUNT_ID)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> stripingService.enable(ACCOUNT_ID));
+        verify(stripeRepository, never()).createStripes(any(), anyInt());
+    }
+
+    @Test
+    void compact_ShouldLockAccountAndReportWhetherAnythingWasMoved() {
+        when(accountDetailsRepository.lockById(ACCOUNT_ID)).thenReturn(Optional.of(ACCOUNT_ID));
+        when(stripeRepository.compact(ACCOUNT_ID)).thenReturn(2L).thenReturn(0L);
+
+        assertTrue(stripingService.compact(ACCOUNT_ID));
+        assertFalse(stripingService.compact(ACCOUNT_ID));
+    }
+
+    @Test
+    void compact_ShouldSkipStripes_WhenAccountDoesNotExist() {
+        when(accountDetailsRepository.lockById(ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        assertFalse(stripingService.compact(ACCOUNT_ID));
+        verify(stripeRepository, never()).compact(any());
+    }
+
+    @Test
+    void balance_ShouldReturnAccountMoneyWithStripes() {
+        when(stripeRepository.findBalance(ACCOUNT_ID)).thenReturn(Optional.of(new BigDecimal("42.00")));
+
+        assertEquals(new BalanceDto(ACCOUNT_ID, new BigDecimal("42.00")), stripingService.balance(ACCOUNT_ID));
+    }
+
+    @Test
+    void balance_ShouldThrowNotFound_WhenAccountDoesNotExist() {
+        when(stripeRepository.findBalance(ACCOUNT_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> stripingService.balance(ACCOUNT_ID));
+    }
+}
@@ -0,0 +1,173 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.LedgerEntryDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.LedgerEntryRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Нагрузочный тест {@link LedgerServiceImpl} в Postgres: проводки между счетами идут параллельно
+ * с обновлением снимков и пересчетом, остаток по снимку и хвосту должен совпадать с суммой всех записей.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({LedgerServiceImpl.class, LedgerRebuildServiceImpl.class, LedgerSnapshotJob.class, LedgerProperties.class,
+        ExceptionReturner.class, SimpleMeterRegistry.class})
+class LedgerConcurrencyTest {
+
+    private static final int ACCOUNTS = 8;
+    private static final int THREADS = 16;
+    private static final int POSTINGS_PER_THREAD = 200;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withInitScript("db/create-schema.sql");
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerRebuildService rebuildService;
+
+    @Autowired
+    private LedgerSnapshotJob snapshotJob;
+
+    @Autowired
+    private AccountDetailsRepository accountDetailsRepository;
+
+    @Autowired
+    private LedgerEntryRepository entryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void balance_ShouldMatchAllEntries_WhenSnapshotsAndRebuildRunDuringPostings() throws Exception {
+        final List<Long> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(account());
+        }
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread maintenance = new Thread(() -> {
+            while (running.get()) {
+                snapshotJob.refreshAll();
+                rebuildService.rebuild(3);
+            }
+        });
+        maintenance.start();
+
+        try {
+            post(accounts);
+        } finally {
+            running.set(false);
+            maintenance.join();
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long id : accounts) {
+            final BigDecimal expected = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(amount), 0) FROM account.ledger_entry WHERE account_details_id = ?",
+                    BigDecimal.class, id);
+            final BigDecimal balance = ledgerService.balance(id).getMoney();
+            assertEquals(0, expected.compareTo(balance), "счёт " + id);
+            total = total.add(balance);
+        }
+        assertEquals(0, BigDecimal.ZERO.compareTo(total));
+    }
+
+    @Test
+    void entries_ShouldBeAppendOnly() {
+        final Long from = account();
+        final Long to = account();
+        ledgerService.post(new LedgerTransactionDto(null, null, null, List.of(
+                new LedgerEntryDto(null, from, BigDecimal.ONE.negate()),
+                new LedgerEntryDto(null, to, BigDecimal.ONE))));
+
+        assertThrows(RuntimeException.class, () -> jdbcTemplate.update(
+                "UPDATE account.ledger_entry SET amount = 100 WHERE account_details_id = ?", from));
+        assertThrows(RuntimeException.class, () -> jdbcTemplate.update(
+                "DELETE FROM account.ledger_entry WHERE account_details_id = ?", to));
+        assertEquals(2, entryRepository.findAll().stream()
+                .filter(entry -> entry.getAccountDetailsId().equals(from) || entry.getAccountDetailsId().equals(to))
+                .count());
+    }
+
+    private void post(List<Long> accounts) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < POSTINGS_PER_THREAD; j++) {
+                        ledgerService.post(transfer(accounts));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private LedgerTransactionDto transfer(List<Long> accounts) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int from = random.nextInt(accounts.size());
+        final int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+        final BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 10_000), 2);
+
+        return new LedgerTransactionDto(null, "перевод", null, List.of(
+                new LedgerEntryDto(null, accounts.get(from), amount.negate()),
+                new LedgerEntryDto(null, accounts.get(to), amount)));
+    }
+
+    private Long account() {
+        final long number = System.nanoTime();
+        return accountDetailsRepository.save(new AccountDetailsEntity(null, number, number, number,
+                BigDecimal.ZERO, false, number)).getId();
+    }
+}
@@ -0,0 +1,98 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.LedgerRebuildDto;
+import com.bank.account.repository.LedgerEntryRepository;
+import com.bank.common.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerRebuildServiceImplTest {
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private LedgerEntryRepository entryRepository;
+
+    private final LedgerProperties properties = new LedgerProperties();
+    private LedgerRebuildServiceImpl rebuildService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties.setRebuildThreads(2);
+        rebuildService = new LedgerRebuildServiceImpl(ledgerService, entryRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        rebuildService.shutdown();
+    }
+
+    @Test
+    void split_ShouldCoverRangeWithoutGaps() {
+        final List<long[]> ranges = LedgerRebuildServiceImpl.split(1, 11, 3);
+
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new long[]{1, 5}, ranges.get(0));
+        assertArrayEquals(new long[]{5, 9}, ranges.get(1));
+        assertArrayEquals(new long[]{9, 11}, ranges.get(2));
+    }
+
+    @Test
+    void split_ShouldNotCreateEmptyRanges_WhenPartitionsExceedAccounts() {
+        assertEquals(2, LedgerRebuildServiceImpl.split(7, 9, 8).size());
+    }
+
+    @Test
+    void rebuild_ShouldSumAccountsOfAllPartitions() {
+        when(entryRepository.findFirstAccountId()).thenReturn(Optional.of(1L));
+        when(entryRepository.findLastAccountId()).thenReturn(Optional.of(100L));
+        when(ledgerService.rebuild(anyLong(), anyLong())).thenReturn(10);
+
+        final LedgerRebuildDto result = rebuildService.rebuild(4);
+
+        assertEquals(4, result.getPartitions());
+        assertEquals(40, result.getAccounts());
+        verify(ledgerService).rebuild(1, 26);
+        verify(ledgerService).rebuild(76, 101);
+    }
+
+    @Test
+    void rebuild_ShouldDoNothing_WhenLedgerIsEmpty() {
+        when(entryRepository.findFirstAccountId()).thenReturn(Optional.empty());
+        when(entryRepository.findLastAccountId()).thenReturn(Optional.empty());
+
+        assertEquals(0, rebuildService.rebuild(4).getAccounts());
+        verify(ledgerService, never()).rebuild(anyLong(), anyLong());
+    }
+
+    @Test
+    void rebuild_ShouldRethrowPartitionFailure() {
+        when(entryRepository.findFirstAccountId()).thenReturn(Optional.of(1L));
+        when(entryRepository.findLastAccountId()).thenReturn(Optional.of(10L));
+        when(ledgerService.rebuild(anyLong(), anyLong())).thenThrow(new IllegalStateException("deadlock"));
+
+        assertThrows(IllegalStateException.class, () -> rebuildService.rebuild(2));
+    }
+
+    @Test
+    void rebuild_ShouldThrowValidation_WhenPartitionsAreOutOfRange() {
+        assertThrows(ValidationException.class, () -> rebuildService.rebuild(0));
+        assertThrows(ValidationException.class, () -> rebuildService.rebuild(properties.getMaxRebuildPartitions() + 1));
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.account.service;
+
+import com.bank.account.dto.BalanceDto;
+import com.bank.account.dto.LedgerEntryDto;
+import com.bank.account.dto.LedgerTransactionDto;
+import com.bank.account.entity.AccountDetailsEntity;
+import com.bank.account.entity.LedgerEntryEntity;
+import com.bank.account.entity.LedgerTransactionEntity;
+import com.bank.account.repository.AccountDetailsRepository;
+import com.bank.account.repository.LedgerBalanceRepository;
+import com.bank.account.repository.LedgerEntryRepository;
+import com.bank.account.repository.LedgerTransactionRepository;
+import com.bank.account.service.common.ExceptionReturner;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerServiceImplTest {
+
+    private static final Long FROM = 1L;
+    private static final Long TO = 2L;
+
+    @Mock
+    private LedgerTransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerEntryRepository entryRepository;
+
+    @Mock
+    private LedgerBalanceRepository balanceRepository;
+
+    @Mock
+    private AccountDetailsRepository accountDetailsRepository;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private LedgerServiceImpl ledgerService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ledgerService = new LedgerServiceImpl(transactionRepository, entryRepository, balanceRepository,
+                accountDetailsRepository, new ExceptionReturner(), registry);
+    }
+
+    @Test
+    void post_ShouldLockAccountsBeforeSavingEntries() {
+        when(accountDetailsRepository.lockForPosting(Set.of(FROM, TO))).thenReturn(2L);
+        when(transactionRepository.save(any())).thenAnswer(invocation -> {
+            final LedgerTransactionEntity transaction = invocation.getArgument(0);
+            transaction.setId(5L);
+            return transaction;
+        });
+        when(entryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        final LedgerTransactionDto posted = ledgerService.post(transfer("10.00"));
+
+        final InOrder order = inOrder(accountDetailsRepository, transactionRepository, entryRepository);
+        order.verify(accountDetailsRepository).lockForPosting(Set.of(FROM, TO));
+        order.verify(transactionRepository).save(any());
+        order.verify(entryRepository).saveAll(anyList());
+        assertEquals(5L, posted.getId());
+        assertEquals(2, posted.getEntries().size());
+        assertEquals(1.0, registry.counter("account.ledger.posting").count());
+    }
+
+    @Test
+    void post_ShouldThrowValidation_WhenEntriesDoNotSumToZero() {
+        final LedgerTransactionDto transaction = transfer("10.00");
+        transaction.getEntries().get(1).setAmount(new BigDecimal("9.99"));
+
+        assertThrows(ValidationException.class, () -> ledgerService.post(transaction));
+        verify(accountDetailsRepository, never()).lockForPosting(anyCollection());
+    }
+
+    @Test
+    void post_ShouldThrowValidation_WhenTransactionHasOneEntry() {
+        final LedgerTransactionDto transaction = new LedgerTransactionDto(null, null, null,
+                List.of(new LedgerEntryDto(null, FROM, BigDecimal.TEN)));
+
+        assertThrows(ValidationException.class, () -> ledgerService.post(transaction));
+    }
+
+    @Test
+    void post_ShouldThrowValidation_WhenAmountHasMoreThanTwoDecimals() {
+        assertThrows(ValidationException.class, () -> ledgerService.post(transfer("0.001")));
+    }
+
+    @Test
+    void post_ShouldThrowNotFound_WhenAccountDoesNotExist() {
+        when(accountDetailsRepository.lockForPosting(Set.of(FROM, TO))).thenReturn(1L);
+        when(accountDetailsRepository.findAllById(Set.of(FROM, TO))).thenReturn(List.of(
+                new AccountDetailsEntity(FROM, null, null, null, null, null, null)));
+
+        final EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> ledgerService.post(transfer("10.00")));
+
+        assertTrue(exception.getMessage().endsWith(TO.toString()));
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void read_ShouldReturnTransactionWithEntries() {
+        when(transactionRepository.findById(5L)).thenReturn(Optional.of(new LedgerTransactionEntity(5L, null, null)));
+        when(entryRepository.findAllByLedgerTransactionIdOrderById(5L)).thenReturn(List.of(
+                new LedgerEntryEntity(7L, 5L, FROM, new BigDecimal("-1.00")),
+                new LedgerEntryEntity(8L, 5L, TO, new BigDecimal("1.00"))));
+
+        assertEquals(List.of(7L, 8L), ledgerService.read(5L).getEntries().stream().map(LedgerEntryDto::getId).toList());
+    }
+
+    @Test
+    void balance_ShouldReturnSnapshotPlusDelta() {
+        when(balanceRepository.findBalance(FROM)).thenReturn(Optional.of(new BigDecimal("42.00")));
+
+        assertEquals(new BalanceDto(FROM, new BigDecimal("42.00")), ledgerService.balance(FROM));
+    }
+
+    @Test
+    void balance_ShouldThrowNotFound_WhenAccountDoesNotExist() {
+        when(balanceRepository.findBalance(FROM)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> ledgerService.balance(FROM));
+    }
+
+    @Test
+    void refresh_ShouldLockAccountBeforeSnapshot() {
+        when(accountDetailsRepository.lockById(FROM)).thenReturn(Optional.of(FROM));
+        when(balanceRepository.refresh(FROM)).thenReturn(1);
+
+        assertTrue(ledgerService.refresh(FROM));
+
+        final InOrder order = inOrder(accountDetailsRepository, balanceRepository);
+        order.verify(accountDetailsRepository).lockById(FROM);
+        order.verify(balanceRepository).refresh(FROM);
+    }
+
+    @Test
+    void refresh_ShouldSkip_WhenAccountDoesNotExist() {
+        when(accountDetailsRepository.lockById(FROM)).thenReturn(Optional.empty());
+
+        assertFalse(ledgerService.refresh(FROM));
+        verify(balanceRepository, never()).refresh(any());
+    }
+
+    @Test
+    void rebuild_ShouldSkip_WhenRangeHasNoLedgerAccounts() {
+        when(accountDetailsRepository.lockRangeWithLedger(1, 100)).thenReturn(0L);
+
+        assertEquals(0, ledgerService.rebuild(1, 100));
+        verify(balanceRepository, never()).rebuild(1, 100);
+    }
+
+    private LedgerTransactionDto transfer(String amount) {
+        return new LedgerTransactionDto(null, "перевод", null, List.of(
+                new LedgerEntryDto(null, FROM, new BigDecimal(amount).negate()),
+                new LedgerEntryDto(null, TO, new BigDecimal(amount))));
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.antifraud.client;
+
+import com.bank.antifraud.dto.TransferDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * Feign клиент чтения переводов сервиса transfer-app.
+ * Схема transfer принадлежит transfer-app, антифрод читает переводы только через его API.
+ */
+@FeignClient(name = "transfer-app", contextId = "transferClient", path = "/api/transfer")
+public interface TransferClient {
+
+    /**
+     * @param type вид перевода в пути transfer-app: account, card или phone
+     * @param ids  технические идентификаторы переводов
+     * @return список {@link TransferDto}, 404 если хотя бы одного перевода нет
+     */
+    @GetMapping("/{type}/read/all")
+    List<TransferDto> readAll(@PathVariable("type") String type, @RequestParam("ids") List<Long> ids);
+
+    /**
+     * @param type вид перевода в пути transfer-app: account, card или phone
+     * @param id   технический идентификатор перевода
+     * @return {@link TransferDto}, 404 если перевода нет
+     */
+    @GetMapping("/{type}/read/{id}")
+    TransferDto read(@PathVariable("type") String type, @PathVariable("id") Long id);
+
+    /**
+     * @param type  вид перевода в пути transfer-app: account, card или phone
+     * @param after id, после которого читать
+     * @param upTo  последний id диапазона
+     * @param size  сколько переводов читать
+     * @return список {@link TransferDto} с id в (after, upTo] по возрастанию id
+     */
+    @GetMapping("/{type}/read/range")
+    List<TransferDto> readRange(@PathVariable("type") String type, @RequestParam("after") long after,
+                                @RequestParam("upTo") long upTo, @RequestParam("size") int size);
+
+    /**
+     * @param type вид перевода в пути transfer-app: account, card или phone
+     * @return наибольший id перевода или 0, если переводов нет
+     */
+    @GetMapping("/{type}/read/last-id")
+    long readLastId(@PathVariable("type") String type);
+}
@@ -0,0 +1,12 @@
+package com.bank.antifraud.client;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Включает Feign клиенты transfer-app. Вынесено из AntiFraudApplication, чтобы срезы вроде @WebMvcTest их не поднимали.
+ */
+@Configuration
+@EnableFeignClients(basePackageClasses = TransferClient.class)
+public class TransferClientConfig {
+}
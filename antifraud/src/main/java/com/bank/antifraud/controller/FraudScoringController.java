@@ -0,0 +1,31 @@
+package com.bank.antifraud.controller;
+
+import com.bank.antifraud.dto.ScoringResultDto;
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.service.FraudScoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер оценки переводов, вызывается сервисом transfer перед выполнением перевода.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/scoring")
+public class FraudScoringController {
+
+    private final FraudScoringService service;
+
+    /**
+     * @param transfer {@link TransferScoringDto}
+     * @return {@link ResponseEntity} {@link ScoringResultDto} с решением allow, flag или block
+     */
+    @PostMapping("/transfer")
+    public ResponseEntity<ScoringResultDto> score(@RequestBody TransferScoringDto transfer) {
+        return ResponseEntity.ok(service.score(transfer));
+    }
+}
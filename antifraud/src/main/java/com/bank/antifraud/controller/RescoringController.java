@@ -0,0 +1,54 @@
+package com.bank.antifraud.controller;
+
+import com.bank.antifraud.dto.RescoringJobDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.RescoringJobEntity;
+import com.bank.antifraud.service.RescoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+/**
+ * Контроллер повторной оценки переводов после изменения правил.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/rescoring")
+public class RescoringController {
+
+    private final RescoringService service;
+
+    /**
+     * @param types виды переводов, если не указаны, оцениваются все
+     * @return {@link ResponseEntity} {@link RescoringJobDto} запущенного задания
+     */
+    @PostMapping
+    public ResponseEntity<RescoringJobDto> start(@RequestParam(required = false) Set<TransferType> types) {
+        return ResponseEntity.ok(service.start(types));
+    }
+
+    /**
+     * @param id технический идентификатор {@link RescoringJobEntity}
+     * @return {@link ResponseEntity} {@link RescoringJobDto}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<RescoringJobDto> read(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.findById(id));
+    }
+
+    /**
+     * @param id технический идентификатор упавшего {@link RescoringJobEntity}
+     * @return {@link ResponseEntity} {@link RescoringJobDto}
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<RescoringJobDto> resume(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.resume(id));
+    }
+}
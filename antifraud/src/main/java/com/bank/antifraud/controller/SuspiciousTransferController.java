@@ -0,0 +1,41 @@
+package com.bank.antifraud.controller;
+
+import com.bank.antifraud.dto.SuspiciousTransferDto;
+import com.bank.antifraud.dto.SuspiciousTransferFilterDto;
+import com.bank.antifraud.dto.SuspiciousTransferPageDto;
+import com.bank.antifraud.service.SuspiciousTransferSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер общей выборки {@link SuspiciousTransferDto} по счету, карте и телефону
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/suspicious/transfer")
+public class SuspiciousTransferController {
+
+    private final SuspiciousTransferSearchService service;
+
+    /**
+     * @param isBlocked    заблокирован ли перевод, не передается для всех
+     * @param isSuspicious подозрителен ли перевод, не передается для всех
+     * @param reason       подстрока причины блокировки или подозрения
+     * @param cursor       курсор из предыдущей страницы, не передается для первой страницы
+     * @param size         размер страницы
+     * @return {@link ResponseEntity} c {@link SuspiciousTransferPageDto}
+     */
+    @GetMapping
+    public ResponseEntity<SuspiciousTransferPageDto> search(@RequestParam(required = false) Boolean isBlocked,
+                                                            @RequestParam(required = false) Boolean isSuspicious,
+                                                            @RequestParam(required = false) String reason,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.search(new SuspiciousTransferFilterDto(isBlocked, isSuspicious, reason),
+                cursor, size));
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.antifraud.dto;
+
+import com.bank.antifraud.entity.RescoringJobEntity;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.sql.Timestamp;
+
+/**
+ * Ход задания повторной оценки, {@link RescoringJobEntity} вместе с итогами по его диапазонам.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RescoringJobDto {
+
+    Long id;
+    RescoringStatus status;
+    int partitions;
+    int finishedPartitions;
+
+    /**
+     * Доля пройденного диапазона id переводов от 0 до 1.
+     */
+    double progress;
+    long processed;
+    long flagged;
+
+    /**
+     * Переводов в секунду с последнего запуска, 0 если задание сейчас не выполняется.
+     */
+    double throughput;
+    Timestamp createdAt;
+    Timestamp finishedAt;
+}
@@ -0,0 +1,10 @@
+package com.bank.antifraud.dto;
+
+/**
+ * Состояние задания повторной оценки переводов.
+ */
+public enum RescoringStatus {
+    RUNNING,
+    DONE,
+    FAILED
+}
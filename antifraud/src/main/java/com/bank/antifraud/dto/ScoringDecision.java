@@ -0,0 +1,22 @@
+package com.bank.antifraud.dto;
+
+/**
+ * Решение антифрода по переводу.
+ */
+public enum ScoringDecision {
+
+    /**
+     * Перевод выполняется.
+     */
+    ALLOW,
+
+    /**
+     * Перевод выполняется, но попадает в подозрительные.
+     */
+    FLAG,
+
+    /**
+     * Перевод не выполняется и попадает в подозрительные как заблокированный.
+     */
+    BLOCK
+}
@@ -0,0 +1,36 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Подозрительный перевод любого вида в общей выборке.
+ * id уникален только внутри вида, поэтому запись определяется парой (type, id).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SuspiciousTransferDto implements Serializable {
+
+    TransferType type;
+    Long id;
+
+    /**
+     * технический идентификатор перевода в сервисе переводов
+     */
+    Long transferId;
+    Boolean isBlocked;
+    Boolean isSuspicious;
+    String blockedReason;
+    String suspiciousReason;
+}
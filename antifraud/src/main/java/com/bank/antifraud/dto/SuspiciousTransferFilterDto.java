@@ -0,0 +1,31 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Фильтр общей выборки подозрительных переводов, null в поле значит без условия
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SuspiciousTransferFilterDto implements Serializable {
+
+    Boolean isBlocked;
+    Boolean isSuspicious;
+
+    /**
+     * подстрока причины блокировки или подозрения без учета регистра
+     */
+    String reason;
+}
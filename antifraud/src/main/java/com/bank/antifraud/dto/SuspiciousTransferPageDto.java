@@ -0,0 +1,31 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Страница общей выборки подозрительных переводов с курсором на следующую страницу
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SuspiciousTransferPageDto implements Serializable {
+
+    List<SuspiciousTransferDto> content;
+
+    /**
+     * курсор следующей страницы, null если страница последняя
+     */
+    String nextCursor;
+}
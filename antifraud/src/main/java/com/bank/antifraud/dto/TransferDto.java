@@ -0,0 +1,36 @@
+package com.bank.antifraud.dto;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * Перевод в ответе transfer-app.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferDto {
+
+    Long id;
+
+    /**
+     * Номер счёта, карты или телефона получателя, в transfer-app поле называется по виду перевода.
+     */
+    @JsonAlias({"accountNumber", "cardNumber", "phoneNumber"})
+    Long number;
+    BigDecimal amount;
+    Long accountDetailsId;
+}
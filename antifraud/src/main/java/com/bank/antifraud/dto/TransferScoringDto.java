@@ -0,0 +1,36 @@
+package com.bank.antifraud.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * Перевод, который нужно оценить.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferScoringDto {
+
+    /**
+     * Технический идентификатор перевода в сервисе transfer.
+     */
+    Long transferId;
+    TransferType transferType;
+    Long accountDetailsId;
+
+    /**
+     * Номер счёта, карты или телефона получателя, в зависимости от transferType.
+     */
+    Long number;
+    BigDecimal amount;
+}
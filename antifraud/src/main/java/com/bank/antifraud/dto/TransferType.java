@@ -0,0 +1,10 @@
+package com.bank.antifraud.dto;
+
+/**
+ * Вид перевода, определяет, в какую таблицу подозрительных переводов он попадет.
+ */
+public enum TransferType {
+    ACCOUNT,
+    CARD,
+    PHONE
+}
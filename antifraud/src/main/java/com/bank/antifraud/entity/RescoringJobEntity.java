@@ -0,0 +1,86 @@
+package com.bank.antifraud.entity;
+
+import com.bank.antifraud.dto.RescoringStatus;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * entity для таблицы rescoring_job
+ */
+@Entity
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "rescoring_job", schema = "anti_fraud")
+public class RescoringJobEntity {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    RescoringStatus status;
+
+    @Column(name = "created_at")
+    Timestamp createdAt;
+
+    @Column(name = "finished_at")
+    Timestamp finishedAt;
+
+    /**
+     * Экземпляр сервиса, который выполняет задание, пустой у завершенных заданий.
+     */
+    @Column(name = "owner")
+    String owner;
+
+    /**
+     * Без продления после этого момента задание может забрать другой экземпляр.
+     */
+    @Column(name = "lease_until")
+    Timestamp leaseUntil;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final RescoringJobEntity job = (RescoringJobEntity) o;
+
+        return Objects.equals(id, job.id) &&
+                status == job.status &&
+                Objects.equals(createdAt, job.createdAt) &&
+                Objects.equals(finishedAt, job.finishedAt) &&
+                Objects.equals(owner, job.owner) &&
+                Objects.equals(leaseUntil, job.leaseUntil);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, status, createdAt, finishedAt, owner, leaseUntil);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bank.antifraud.entity;
+
+import com.bank.antifraud.dto.TransferType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.Objects;
+
+/**
+ * entity для таблицы rescoring_partition.
+ * Диапазон это переводы с id в (fromId, toId], lastId это контрольная точка: переводы до нее
+ * включительно уже оценены, после перезапуска оценка продолжается с нее.
+ */
+@Entity
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "rescoring_partition", schema = "anti_fraud")
+public class RescoringPartitionEntity {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "job_id")
+    Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transfer_type")
+    TransferType transferType;
+
+    @Column(name = "from_id")
+    Long fromId;
+
+    @Column(name = "to_id")
+    Long toId;
+
+    @Column(name = "last_id")
+    Long lastId;
+
+    @Column(name = "processed")
+    Long processed;
+
+    @Column(name = "flagged")
+    Long flagged;
+
+    @Column(name = "finished")
+    Boolean finished;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final RescoringPartitionEntity partition = (RescoringPartitionEntity) o;
+
+        return Objects.equals(id, partition.id) &&
+                Objects.equals(jobId, partition.jobId) &&
+                transferType == partition.transferType &&
+                Objects.equals(fromId, partition.fromId) &&
+                Objects.equals(toId, partition.toId) &&
+                Objects.equals(lastId, partition.lastId) &&
+                Objects.equals(processed, partition.processed) &&
+                Objects.equals(flagged, partition.flagged) &&
+                Objects.equals(finished, partition.finished);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, jobId, transferType, fromId, toId, lastId, processed, flagged, finished);
+    }
+}
@@ -47,6 +47,13 @@ public class SuspiciousCardTransferEntity {
     @Column(name = "suspicious_reason")
     String suspiciousReason;
 
+    /**
+     * Номер карты получателя. Пустой у переводов, записанных до его появления, заполняется
+     * из сервиса transfer при пересборке списка блокировок.
+     */
+    @Column(name = "card_number")
+    Long cardNumber;
+
     @Override
     public boolean equals(Object o) {
 
@@ -65,11 +72,13 @@ public class SuspiciousCardTransferEntity {
                 Objects.equals(isSuspicious, transfer.isSuspicious) &&
                 Objects.equals(blockedReason, transfer.blockedReason) &&
                 Objects.equals(cardTransferId, transfer.cardTransferId) &&
-                Objects.equals(suspiciousReason, transfer.suspiciousReason);
+                Objects.equals(suspiciousReason, transfer.suspiciousReason) &&
+                Objects.equals(cardNumber, transfer.cardNumber);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, cardTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason);
+        return Objects.hash(id, cardTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason,
+                cardNumber);
     }
 }
@@ -47,6 +47,13 @@ public class SuspiciousPhoneTransferEntity {
     @Column(name = "suspicious_reason")
     String suspiciousReason;
 
+    /**
+     * Номер телефона получателя. Пустой у переводов, записанных до его появления, заполняется
+     * из сервиса transfer при пересборке списка блокировок.
+     */
+    @Column(name = "phone_number")
+    Long phoneNumber;
+
     @Override
     public boolean equals(Object o) {
 
@@ -65,11 +72,13 @@ public class SuspiciousPhoneTransferEntity {
                 Objects.equals(isSuspicious, transfer.isSuspicious) &&
                 Objects.equals(blockedReason, transfer.blockedReason) &&
                 Objects.equals(phoneTransferId, transfer.phoneTransferId) &&
-                Objects.equals(suspiciousReason, transfer.suspiciousReason);
+                Objects.equals(suspiciousReason, transfer.suspiciousReason) &&
+                Objects.equals(phoneNumber, transfer.phoneNumber);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, phoneTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason);
+        return Objects.hash(id, phoneTransferId, isBlocked, isSuspicious, blockedReason, suspiciousReason,
+                phoneNumber);
     }
 }
@@ -1,6 +1,7 @@
 package com.bank.antifraud.mappers;
 
 import com.bank.antifraud.dto.SuspiciousAccountTransferDto;
+import com.bank.antifraud.dto.SuspiciousTransferDto;
 import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -42,4 +43,12 @@ public interface SuspiciousAccountTransferMapper {
     SuspiciousAccountTransferEntity mergeToEntity(SuspiciousAccountTransferDto accountTransfer,
                                                   @MappingTarget SuspiciousAccountTransferEntity suspiciousTransfer
     );
+
+    /**
+     * @param suspiciousTransfer {@link SuspiciousAccountTransferEntity}
+     * @return {@link SuspiciousTransferDto}
+     */
+    @Mapping(target = "type", constant = "ACCOUNT")
+    @Mapping(target = "transferId", source = "accountTransferId")
+    SuspiciousTransferDto toSuspiciousTransferDto(SuspiciousAccountTransferEntity suspiciousTransfer);
 }
@@ -1,6 +1,7 @@
 package com.bank.antifraud.mappers;
 
 import com.bank.antifraud.dto.SuspiciousCardTransferDto;
+import com.bank.antifraud.dto.SuspiciousTransferDto;
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -25,6 +26,7 @@ public interface SuspiciousCardTransferMapper {
      * @return {@link SuspiciousCardTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "cardNumber", ignore = true)
     SuspiciousCardTransferEntity toEntity(SuspiciousCardTransferDto suspiciousTransfer);
 
     /**
@@ -39,7 +41,16 @@ public interface SuspiciousCardTransferMapper {
      * @return {@link SuspiciousCardTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "cardNumber", ignore = true)
     SuspiciousCardTransferEntity mergeToEntity(SuspiciousCardTransferDto cardTransfer,
                                                @MappingTarget SuspiciousCardTransferEntity suspiciousTransfer
     );
+
+    /**
+     * @param suspiciousTransfer {@link SuspiciousCardTransferEntity}
+     * @return {@link SuspiciousTransferDto}
+     */
+    @Mapping(target = "type", constant = "CARD")
+    @Mapping(target = "transferId", source = "cardTransferId")
+    SuspiciousTransferDto toSuspiciousTransferDto(SuspiciousCardTransferEntity suspiciousTransfer);
 }
@@ -1,6 +1,7 @@
 package com.bank.antifraud.mappers;
 
 import com.bank.antifraud.dto.SuspiciousPhoneTransferDto;
+import com.bank.antifraud.dto.SuspiciousTransferDto;
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -25,6 +26,7 @@ public interface SuspiciousPhoneTransferMapper {
      * @return {@link SuspiciousPhoneTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "phoneNumber", ignore = true)
     SuspiciousPhoneTransferEntity toEntity(SuspiciousPhoneTransferDto suspiciousTransfer);
 
     /**
@@ -39,7 +41,16 @@ public interface SuspiciousPhoneTransferMapper {
      * @return {@link SuspiciousPhoneTransferEntity}
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "phoneNumber", ignore = true)
     SuspiciousPhoneTransferEntity mergeToEntity(SuspiciousPhoneTransferDto phoneTransfer,
                                                 @MappingTarget SuspiciousPhoneTransferEntity suspiciousTransfer
     );
+
+    /**
+     * @param suspiciousTransfer {@link SuspiciousPhoneTransferEntity}
+     * @return {@link SuspiciousTransferDto}
+     */
+    @Mapping(target = "type", constant = "PHONE")
+    @Mapping(target = "transferId", source = "phoneTransferId")
+    SuspiciousTransferDto toSuspiciousTransferDto(SuspiciousPhoneTransferEntity suspiciousTransfer);
 }
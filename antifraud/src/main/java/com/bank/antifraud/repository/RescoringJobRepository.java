@@ -0,0 +1,64 @@
+package com.bank.antifraud.repository;
+
+import com.bank.antifraud.dto.RescoringStatus;
+import com.bank.antifraud.entity.RescoringJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Репозиторий для {@link RescoringJobEntity}
+ */
+public interface RescoringJobRepository extends JpaRepository<RescoringJobEntity, Long> {
+
+    /**
+     * @param status состояние задания
+     * @return задания в этом состоянии
+     */
+    List<RescoringJobEntity> findAllByStatus(RescoringStatus status);
+
+    /**
+     * Закрепляет незавершенное задание за экземпляром, если оно ничье, уже его или аренда истекла.
+     * Задание переводится в RUNNING.
+     *
+     * @param id         технический идентификатор задания
+     * @param owner      экземпляр сервиса
+     * @param now        текущий момент
+     * @param leaseUntil до какого момента закрепить
+     * @return 1, если задание закреплено, 0, если его выполняет другой экземпляр или оно завершено
+     */
+    @Modifying
+    @Query("UPDATE RescoringJobEntity j SET j.owner = :owner, j.leaseUntil = :leaseUntil, " +
+            "j.status = com.bank.antifraud.dto.RescoringStatus.RUNNING, j.finishedAt = NULL " +
+            "WHERE j.id = :id AND j.status <> com.bank.antifraud.dto.RescoringStatus.DONE " +
+            "AND (j.owner IS NULL OR j.owner = :owner OR j.leaseUntil < :now)")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") Timestamp now,
+              @Param("leaseUntil") Timestamp leaseUntil);
+
+    /**
+     * @param id         технический идентификатор задания
+     * @param owner      экземпляр сервиса
+     * @param leaseUntil до какого момента продлить
+     * @return 0, если задание уже забрал другой экземпляр
+     */
+    @Modifying
+    @Query("UPDATE RescoringJobEntity j SET j.leaseUntil = :leaseUntil WHERE j.id = :id AND j.owner = :owner")
+    int renew(@Param("id") Long id, @Param("owner") String owner, @Param("leaseUntil") Timestamp leaseUntil);
+
+    /**
+     * @param id         технический идентификатор задания
+     * @param owner      экземпляр сервиса
+     * @param status     DONE или FAILED
+     * @param finishedAt когда завершено
+     * @return 0, если задание уже забрал другой экземпляр
+     */
+    @Modifying
+    @Query("UPDATE RescoringJobEntity j SET j.status = :status, j.finishedAt = :finishedAt, j.owner = NULL, " +
+            "j.leaseUntil = NULL WHERE j.id = :id AND j.owner = :owner")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") RescoringStatus status,
+               @Param("finishedAt") Timestamp finishedAt);
+}
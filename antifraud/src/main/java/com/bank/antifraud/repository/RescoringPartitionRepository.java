@@ -0,0 +1,43 @@
+package com.bank.antifraud.repository;
+
+import com.bank.antifraud.entity.RescoringPartitionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Репозиторий для {@link RescoringPartitionEntity}
+ */
+public interface RescoringPartitionRepository extends JpaRepository<RescoringPartitionEntity, Long> {
+
+    /**
+     * @param jobId технический идентификатор задания
+     * @return все диапазоны задания
+     */
+    List<RescoringPartitionEntity> findAllByJobIdOrderById(Long jobId);
+
+    /**
+     * @param jobId технический идентификатор задания
+     * @return диапазоны задания, которые еще не оценены целиком
+     */
+    List<RescoringPartitionEntity> findAllByJobIdAndFinishedFalseOrderById(Long jobId);
+
+    /**
+     * Сдвигает контрольную точку диапазона, вызывается в транзакции записи результатов той же пачки.
+     *
+     * @param id        технический идентификатор диапазона
+     * @param lastId    последний оцененный id перевода
+     * @param processed сколько переводов оценено в пачке
+     * @param flagged   сколько из них подозрительных
+     * @param finished  оценен ли диапазон целиком
+     * @return количество измененных строк
+     */
+    @Modifying
+    @Query("UPDATE RescoringPartitionEntity p SET p.lastId = :lastId, p.processed = p.processed + :processed, " +
+            "p.flagged = p.flagged + :flagged, p.finished = :finished WHERE p.id = :id")
+    int checkpoint(@Param("id") Long id, @Param("lastId") long lastId, @Param("processed") long processed,
+                   @Param("flagged") long flagged, @Param("finished") boolean finished);
+}
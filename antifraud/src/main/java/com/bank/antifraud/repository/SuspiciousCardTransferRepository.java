@@ -1,10 +1,60 @@
 package com.bank.antifraud.repository;
 
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для {@link SuspiciousCardTransferEntity}
  */
 public interface SuspiciousCardTransferRepository extends JpaRepository<SuspiciousCardTransferEntity, Long> {
+
+    /**
+     * @return номера, на которые есть хотя бы один заблокированный перевод с известным номером
+     */
+    @Query("SELECT DISTINCT s.cardNumber FROM SuspiciousCardTransferEntity s " +
+            "WHERE s.isBlocked = true AND s.cardNumber IS NOT NULL")
+    List<Long> findBlockedCardNumbers();
+
+    /**
+     * @param cardTransferId технический идентификатор перевода в сервисе transfer
+     * @return номер получателя или пустой Optional, если перевода нет или номер еще не известен
+     */
+    @Query("SELECT s.cardNumber FROM SuspiciousCardTransferEntity s " +
+            "WHERE s.cardTransferId = :cardTransferId AND s.cardNumber IS NOT NULL")
+    Optional<Long> findCardNumber(@Param("cardTransferId") Long cardTransferId);
+
+    /**
+     * @param number номер получателя
+     * @return true, если на номер есть хотя бы один заблокированный перевод
+     */
+    @Query("SELECT COUNT(s) > 0 FROM SuspiciousCardTransferEntity s " +
+            "WHERE s.isBlocked = true AND s.cardNumber = :number")
+    boolean isCardNumberBlocked(@Param("number") long number);
+
+    /**
+     * @param after    id перевода, после которого читать
+     * @param pageable размер пачки
+     * @return id заблокированных переводов без номера получателя по возрастанию
+     */
+    @Query("SELECT s.cardTransferId FROM SuspiciousCardTransferEntity s " +
+            "WHERE s.isBlocked = true AND s.cardNumber IS NULL AND s.cardTransferId > :after " +
+            "ORDER BY s.cardTransferId")
+    List<Long> findBlockedWithoutNumber(@Param("after") long after, Pageable pageable);
+
+    /**
+     * @param cardTransferId технический идентификатор перевода в сервисе transfer
+     * @param number         номер получателя
+     * @return 1, если номер записан, 0, если перевода нет или номер уже известен
+     */
+    @Modifying
+    @Query("UPDATE SuspiciousCardTransferEntity s SET s.cardNumber = :number " +
+            "WHERE s.cardTransferId = :cardTransferId AND s.cardNumber IS NULL")
+    int setCardNumber(@Param("cardTransferId") Long cardTransferId, @Param("number") Long number);
 }
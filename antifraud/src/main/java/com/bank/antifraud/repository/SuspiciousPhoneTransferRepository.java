@@ -1,10 +1,60 @@
 package com.bank.antifraud.repository;
 
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для {@link SuspiciousPhoneTransferEntity}
  */
 public interface SuspiciousPhoneTransferRepository extends JpaRepository<SuspiciousPhoneTransferEntity, Long> {
+
+    /**
+     * @return номера, на которые есть хотя бы один заблокированный перевод с известным номером
+     */
+    @Query("SELECT DISTINCT s.phoneNumber FROM SuspiciousPhoneTransferEntity s " +
+            "WHERE s.isBlocked = true AND s.phoneNumber IS NOT NULL")
+    List<Long> findBlockedPhoneNumbers();
+
+    /**
+     * @param phoneTransferId технический идентификатор перевода в сервисе transfer
+     * @return номер получателя или пустой Optional, если перевода нет или номер еще не известен
+     */
+    @Query("SELECT s.phoneNumber FROM SuspiciousPhoneTransferEntity s " +
+            "WHERE s.phoneTransferId = :phoneTransferId AND s.phoneNumber IS NOT NULL")
+    Optional<Long> findPhoneNumber(@Param("phoneTransferId") Long phoneTransferId);
+
+    /**
+     * @param number номер получателя
+     * @return true, если на номер есть хотя бы один заблокированный перевод
+     */
+    @Query("SELECT COUNT(s) > 0 FROM SuspiciousPhoneTransferEntity s " +
+            "WHERE s.isBlocked = true AND s.phoneNumber = :number")
+    boolean isPhoneNumberBlocked(@Param("number") long number);
+
+    /**
+     * @param after    id перевода, после которого читать
+     * @param pageable размер пачки
+     * @return id заблокированных переводов без номера получателя по возрастанию
+     */
+    @Query("SELECT s.phoneTransferId FROM SuspiciousPhoneTransferEntity s " +
+            "WHERE s.isBlocked = true AND s.phoneNumber IS NULL AND s.phoneTransferId > :after " +
+            "ORDER BY s.phoneTransferId")
+    List<Long> findBlockedWithoutNumber(@Param("after") long after, Pageable pageable);
+
+    /**
+     * @param phoneTransferId технический идентификатор перевода в сервисе transfer
+     * @param number          номер получателя
+     * @return 1, если номер записан, 0, если перевода нет или номер уже известен
+     */
+    @Modifying
+    @Query("UPDATE SuspiciousPhoneTransferEntity s SET s.phoneNumber = :number " +
+            "WHERE s.phoneTransferId = :phoneTransferId AND s.phoneNumber IS NULL")
+    int setPhoneNumber(@Param("phoneTransferId") Long phoneTransferId, @Param("number") Long number);
 }
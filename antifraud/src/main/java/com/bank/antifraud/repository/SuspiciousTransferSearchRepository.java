@@ -0,0 +1,86 @@
+package com.bank.antifraud.repository;
+
+import com.bank.antifraud.dto.SuspiciousTransferFilterDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keyset-выборка подозрительных переводов одного вида по фильтру, общая для трех таблиц:
+ * поля фильтра у сущностей называются одинаково.
+ * В запрос попадают только заданные условия, флаги сравниваются с литералом, а не с параметром,
+ * поэтому при фильтре по флагу планировщик берет частичный индекс (id) WHERE is_blocked или is_suspicious
+ * и не читает незафлаженные строки, которых в таблицах большинство.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SuspiciousTransferSearchRepository {
+
+    private static final String ID = "id";
+    private static final String ANY = "%";
+    private static final String ONE = "_";
+    private static final char ESCAPE = '\\';
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param entityClass сущность таблицы подозрительных переводов
+     * @param filter      {@link SuspiciousTransferFilterDto}
+     * @param afterId     id, после которого начинается выборка
+     * @param inclusive   true, если запись с afterId тоже попадает в выборку
+     * @param limit       сколько записей прочитать
+     * @return записи, отсортированные по id
+     */
+    public <E> List<E> findPage(Class<E> entityClass, SuspiciousTransferFilterDto filter, long afterId,
+                                boolean inclusive, int limit) {
+        final CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<E> query = builder.createQuery(entityClass);
+        final Root<E> root = query.from(entityClass);
+        final Path<Long> id = root.get(ID);
+
+        final List<Predicate> predicates = new ArrayList<>();
+        predicates.add(inclusive ? builder.ge(id, afterId) : builder.gt(id, afterId));
+        flag(builder, root.get("isBlocked"), filter.getIsBlocked(), predicates);
+        flag(builder, root.get("isSuspicious"), filter.getIsSuspicious(), predicates);
+        if (filter.getReason() != null && !filter.getReason().isBlank()) {
+            final String pattern = ANY + escape(filter.getReason().strip().toLowerCase(Locale.ROOT)) + ANY;
+            predicates.add(builder.or(
+                    builder.like(builder.lower(root.get("suspiciousReason")), pattern, ESCAPE),
+                    builder.like(builder.lower(root.get("blockedReason")), pattern, ESCAPE)));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static void flag(CriteriaBuilder builder, Expression<Boolean> column, Boolean value,
+                             List<Predicate> predicates) {
+        if (value != null) {
+            predicates.add(value ? builder.isTrue(column) : builder.isFalse(column));
+        }
+    }
+
+    /**
+     * Знаки шаблона LIKE из текста фильтра ищутся как обычные символы.
+     */
+    private static String escape(String text) {
+        return text.replace(String.valueOf(ESCAPE), ESCAPE + String.valueOf(ESCAPE))
+                .replace(ANY, ESCAPE + ANY)
+                .replace(ONE, ESCAPE + ONE);
+    }
+}
@@ -3,6 +3,8 @@ package com.bank.antifraud.service;
 import com.bank.antifraud.dto.AuditDto;
 import com.bank.antifraud.entity.AuditEntity;
 
+import java.util.List;
+
 public interface AuditService {
 
     /**
@@ -10,4 +12,10 @@ public interface AuditService {
      * @return {@link AuditDto}
      */
     AuditDto findById(Long id);
+
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    List<AuditDto> findAllById(List<Long> ids);
 }
@@ -0,0 +1,25 @@
+package com.bank.antifraud.service;
+
+import com.bank.antifraud.dto.ScoringResultDto;
+import com.bank.antifraud.dto.TransferScoringDto;
+
+/**
+ * Оценка переводов в реальном времени по набору правил.
+ */
+public interface FraudScoringService {
+
+    /**
+     * @param transfer {@link TransferScoringDto}
+     * @return {@link ScoringResultDto} с решением и причинами
+     */
+    ScoringResultDto score(TransferScoringDto transfer);
+
+    /**
+     * Повторная оценка уже проведенного перевода правилами без состояния.
+     * Счетчики правил не меняются, результат не записывается.
+     *
+     * @param transfer {@link TransferScoringDto}
+     * @return {@link ScoringResultDto} с решением и причинами
+     */
+    ScoringResultDto rescore(TransferScoringDto transfer);
+}
@@ -0,0 +1,41 @@
+package com.bank.antifraud.service;
+
+import com.bank.antifraud.dto.RescoringJobDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.RescoringJobEntity;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Повторная оценка уже проведенных переводов после изменения правил.
+ */
+public interface RescoringService {
+
+    /**
+     * Делит переводы на диапазоны id и оценивает их в фоне.
+     *
+     * @param types виды переводов, пустой набор значит все
+     * @return {@link RescoringJobDto} созданного задания
+     */
+    RescoringJobDto start(Set<TransferType> types);
+
+    /**
+     * Продолжает упавшее задание с контрольных точек его диапазонов.
+     *
+     * @param id технический идентификатор {@link RescoringJobEntity}
+     * @return {@link RescoringJobDto}
+     */
+    RescoringJobDto resume(Long id);
+
+    /**
+     * @param id технический идентификатор {@link RescoringJobEntity}
+     * @return {@link RescoringJobDto}
+     */
+    RescoringJobDto findById(Long id);
+
+    /**
+     * @return {@link RescoringJobDto} заданий, которые сейчас выполняются
+     */
+    List<RescoringJobDto> findRunning();
+}
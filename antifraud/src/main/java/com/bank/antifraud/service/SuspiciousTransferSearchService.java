@@ -0,0 +1,18 @@
+package com.bank.antifraud.service;
+
+import com.bank.antifraud.dto.SuspiciousTransferFilterDto;
+import com.bank.antifraud.dto.SuspiciousTransferPageDto;
+
+/**
+ * Сервис общей выборки подозрительных переводов по счету, карте и телефону
+ */
+public interface SuspiciousTransferSearchService {
+
+    /**
+     * @param filter {@link SuspiciousTransferFilterDto}
+     * @param cursor курсор из предыдущей страницы, null для первой страницы
+     * @param size   размер страницы
+     * @return {@link SuspiciousTransferPageDto} с переводами, отсортированными по (id, type)
+     */
+    SuspiciousTransferPageDto search(SuspiciousTransferFilterDto filter, String cursor, int size);
+}
@@ -0,0 +1,24 @@
+package com.bank.antifraud.service.blocklist;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки списка заблокированных номеров карт и телефонов.
+ * Фильтр Блума каждого вида перевода рассчитан на большее из expectedNumbers и удвоенного
+ * количества номеров при пересборке, при переполнении собирается заново.
+ * Номера заблокированных переводов, которых еще нет в таблицах антифрода, запрашиваются в transfer-app
+ * пачками по resolveBatchSize.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "antifraud.blocklist")
+public class BlocklistProperties {
+
+    private int expectedNumbers = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private int resolveBatchSize = 200;
+}
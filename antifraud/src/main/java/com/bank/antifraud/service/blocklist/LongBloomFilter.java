@@ -0,0 +1,91 @@
+package com.bank.antifraud.service.blocklist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Фильтр Блума для ключей long.
+ * Отрицательный ответ точный, положительный ложен с вероятностью, заданной при создании,
+ * пока в фильтр добавлено не больше expectedInsertions ключей. Ключи из фильтра не удаляются.
+ * Биты лежат в {@link AtomicLongArray}, поэтому проверка не блокируется и не создает объектов,
+ * добавление безопасно из нескольких потоков.
+ */
+public class LongBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+    private static final int MAX_HASHES = 16;
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * @param expectedInsertions сколько ключей ожидается
+     * @param falsePositiveRate  допустимая доля ложных срабатываний при expectedInsertions ключах
+     */
+    public LongBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Доля ложных срабатываний должна быть между 0 и 1");
+        }
+        final long expected = Math.max(expectedInsertions, 1);
+        final long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (LN2 * LN2));
+        final int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * Long.SIZE;
+        this.hashes = (int) Math.min(MAX_HASHES, Math.max(1, Math.round((double) bits / expected * LN2)));
+    }
+
+    /**
+     * @param key ключ
+     */
+    public void add(long key) {
+        final long first = mix(key);
+        final long second = mix(first) | 1;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = ((first + i * second) & Long.MAX_VALUE) % bits;
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    /**
+     * @param key ключ
+     * @return false, если ключ точно не добавлялся
+     */
+    public boolean mightContain(long key) {
+        final long first = mix(key);
+        final long second = mix(first) | 1;
+        for (int i = 0; i < hashes; i++) {
+            final long bit = ((first + i * second) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return количество хеш-функций
+     */
+    public int hashes() {
+        return hashes;
+    }
+
+    /**
+     * Финализатор MurmurHash3, соседние номера карт и телефонов дают независимые биты.
+     */
+    private static long mix(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -0,0 +1,212 @@
+package com.bank.antifraud.service.blocklist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Множество long без упаковки в {@link Long}.
+ * Открытая адресация с линейным пробированием по {@link AtomicLongArray}, удаленный ключ
+ * заменяется меткой, которую занимает следующее добавление. Изменения идут под монитором множества,
+ * проверка не блокируется: таблица заменяется целиком при росте, старую таблицу после замены не меняют.
+ */
+public class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Ключи EMPTY и REMOVED нельзя положить в таблицу, они хранятся флагами.
+     */
+    private volatile boolean containsEmpty;
+    private volatile boolean containsRemoved;
+
+    private volatile AtomicLongArray table;
+    private volatile int size;
+
+    /**
+     * Количество занятых слотов вместе с метками удаления, меняется только под монитором.
+     */
+    private int used;
+
+    /**
+     * @param expectedSize сколько ключей ожидается, чтобы таблице не пришлось расти
+     */
+    public LongHashSet(int expectedSize) {
+        this.table = new AtomicLongArray(capacityFor(expectedSize));
+    }
+
+    /**
+     * @param key ключ
+     * @return true, если ключ есть в множестве
+     */
+    public boolean contains(long key) {
+        if (key == EMPTY || key == REMOVED) {
+            return key == EMPTY ? containsEmpty : containsRemoved;
+        }
+
+        final AtomicLongArray keys = table;
+        final int mask = keys.length() - 1;
+        int slot = index(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            final long current = keys.get(slot);
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param key ключ
+     * @return true, если ключа не было в множестве
+     */
+    public synchronized boolean add(long key) {
+        if (key == EMPTY || key == REMOVED) {
+            return setReserved(key, true);
+        }
+
+        if ((used + 1) * 2 > table.length()) {
+            table = copy(capacityFor(size + 1));
+        }
+        final AtomicLongArray keys = table;
+        final int mask = keys.length() - 1;
+        int slot = index(key, mask);
+        int free = -1;
+        while (true) {
+            final long current = keys.get(slot);
+            if (current == key) {
+                return false;
+            }
+            if (current == REMOVED && free < 0) {
+                free = slot;
+            }
+            if (current == EMPTY) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (free < 0) {
+            free = slot;
+            used++;
+        }
+        keys.set(free, key);
+        size++;
+
+        return true;
+    }
+
+    /**
+     * @param key ключ
+     * @return true, если ключ был в множестве
+     */
+    public synchronized boolean remove(long key) {
+        if (key == EMPTY || key == REMOVED) {
+            return setReserved(key, false);
+        }
+
+        final AtomicLongArray keys = table;
+        final int mask = keys.length() - 1;
+        int slot = index(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            final long current = keys.get(slot);
+            if (current == key) {
+                keys.set(slot, REMOVED);
+                size--;
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return количество ключей
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Обходит ключи под монитором множества, поэтому consumer не должен ждать других потоков.
+     *
+     * @param consumer получатель ключей
+     */
+    public synchronized void forEach(LongConsumer consumer) {
+        if (containsEmpty) {
+            consumer.accept(EMPTY);
+        }
+        if (containsRemoved) {
+            consumer.accept(REMOVED);
+        }
+        final AtomicLongArray keys = table;
+        for (int slot = 0; slot < keys.length(); slot++) {
+            final long key = keys.get(slot);
+            if (key != EMPTY && key != REMOVED) {
+                consumer.accept(key);
+            }
+        }
+    }
+
+    /**
+     * @return true, если наличие ключа изменилось
+     */
+    private boolean setReserved(long key, boolean present) {
+        if (contains(key) == present) {
+            return false;
+        }
+        if (key == EMPTY) {
+            containsEmpty = present;
+        } else {
+            containsRemoved = present;
+        }
+        size += present ? 1 : -1;
+
+        return true;
+    }
+
+    /**
+     * Новая таблица собирается без меток удаления и публикуется только заполненной.
+     */
+    private AtomicLongArray copy(int capacity) {
+        final AtomicLongArray keys = table;
+        final AtomicLongArray copy = new AtomicLongArray(capacity);
+        final int mask = capacity - 1;
+        used = 0;
+        for (int i = 0; i < keys.length(); i++) {
+            final long key = keys.get(i);
+            if (key == EMPTY || key == REMOVED) {
+                continue;
+            }
+            int slot = index(key, mask);
+            while (copy.get(slot) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            copy.set(slot, key);
+            used++;
+        }
+
+        return copy;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(expectedSize, 1) * 4 - 1));
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.antifraud.service.blocklist;
+
+import com.bank.antifraud.dto.TransferType;
+
+/**
+ * Признак блокировки подозрительного перевода изменился. Номер получателя по событию перепроверяется
+ * в базе после коммита, поэтому лишнее событие безвредно.
+ *
+ * @param type       вид перевода, CARD или PHONE
+ * @param transferId технический идентификатор перевода в сервисе transfer
+ * @param number     номер получателя или null, если он еще не известен и берется из сервиса transfer
+ */
+public record PayeeBlockChangedEvent(TransferType type, Long transferId, Long number) {
+}
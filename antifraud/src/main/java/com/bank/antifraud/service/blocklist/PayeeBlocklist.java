@@ -0,0 +1,206 @@
+package com.bank.antifraud.service.blocklist;
+
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
+import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Заблокированные номера карт и телефонов в памяти.
+ * Номер заблокирован, если на него есть хотя бы один перевод с is_blocked = true.
+ * Проверка сначала идет в {@link LongBloomFilter}, почти все номера отсекаются им,
+ * положительный ответ подтверждается точным {@link LongHashSet}, база при проверке не участвует.
+ * Список собирается из таблиц антифрода при старте и раз в antifraud.blocklist.rebuild-interval,
+ * между пересборками обновляется по {@link PayeeBlockChangedEvent} после коммита.
+ * Номера, которых еще нет в таблицах антифрода, берутся из transfer-app через {@link PayeeNumberResolver}.
+ * Снятая блокировка остается в фильтре до пересборки и отсекается множеством.
+ */
+@Slf4j
+@Component
+public class PayeeBlocklist {
+
+    private static final String LOOKUP_METRIC = "antifraud.blocklist.lookup";
+    private static final String RESULT_TAG = "result";
+
+    private final SuspiciousCardTransferRepository cardRepository;
+    private final SuspiciousPhoneTransferRepository phoneRepository;
+    private final PayeeNumberResolver resolver;
+    private final BlocklistProperties properties;
+    private final Counter negative;
+    private final Counter falsePositive;
+    private final Counter blocked;
+
+    private volatile Numbers cards;
+    private volatile Numbers phones;
+
+    public PayeeBlocklist(SuspiciousCardTransferRepository cardRepository,
+                          SuspiciousPhoneTransferRepository phoneRepository, PayeeNumberResolver resolver,
+                          BlocklistProperties properties, MeterRegistry registry) {
+        this.cardRepository = cardRepository;
+        this.phoneRepository = phoneRepository;
+        this.resolver = resolver;
+        this.properties = properties;
+        this.negative = registry.counter(LOOKUP_METRIC, RESULT_TAG, "negative");
+        this.falsePositive = registry.counter(LOOKUP_METRIC, RESULT_TAG, "false_positive");
+        this.blocked = registry.counter(LOOKUP_METRIC, RESULT_TAG, "blocked");
+        this.cards = Numbers.of(List.of(), properties);
+        this.phones = Numbers.of(List.of(), properties);
+        for (TransferType type : List.of(TransferType.CARD, TransferType.PHONE)) {
+            Gauge.builder("antifraud.blocklist.size", this, blocklist -> blocklist.numbers(type).set.size())
+                    .tag("type", type.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @param type   вид перевода, для переводов по счёту список не ведется
+     * @param number номер карты или телефона получателя
+     * @return true, если номер заблокирован
+     */
+    public boolean isBlocked(TransferType type, long number) {
+        final Numbers numbers = numbers(type);
+        if (numbers == null || !numbers.filter.mightContain(number)) {
+            negative.increment();
+            return false;
+        }
+
+        final boolean contains = numbers.set.contains(number);
+        (contains ? blocked : falsePositive).increment();
+
+        return contains;
+    }
+
+    /**
+     * @param type   вид перевода
+     * @param number номер карты или телефона
+     */
+    public synchronized void block(TransferType type, long number) {
+        final Numbers numbers = numbers(type);
+        if (numbers == null || !numbers.set.add(number)) {
+            return;
+        }
+        numbers.filter.add(number);
+        if (numbers.set.size() > numbers.capacity) {
+            // фильтр переполнен и начинает чаще ошибаться, собираем его под новый размер
+            replace(type, Numbers.of(numbers.set, properties));
+        }
+    }
+
+    /**
+     * @param type   вид перевода
+     * @param number номер карты или телефона
+     */
+    public synchronized void unblock(TransferType type, long number) {
+        final Numbers numbers = numbers(type);
+        if (numbers != null) {
+            numbers.set.remove(number);
+        }
+    }
+
+    /**
+     * Перечитывает номера из базы, перед этим дозаполняет номера заблокированных переводов, записанных без них.
+     * Изменения, закоммиченные во время чтения, ждут монитора и применяются уже к новому списку.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${antifraud.blocklist.rebuild-interval:PT6H}",
+            initialDelayString = "${antifraud.blocklist.rebuild-interval:PT6H}")
+    public synchronized void rebuild() {
+        final long started = System.currentTimeMillis();
+        final int resolved = resolver.resolveBlocked(TransferType.CARD) + resolver.resolveBlocked(TransferType.PHONE);
+        cards = Numbers.of(cardRepository.findBlockedCardNumbers(), properties);
+        phones = Numbers.of(phoneRepository.findBlockedPhoneNumbers(), properties);
+
+        log.info("Список блокировок собран за {} мс: {} карт, {} телефонов, дозаполнено номеров {}",
+                System.currentTimeMillis() - started, cards.set.size(), phones.set.size(), resolved);
+    }
+
+    /**
+     * Номер получателя перепроверяется в базе: блокировка снимается, только если на номер
+     * не осталось других заблокированных переводов.
+     * Без транзакции: номер может запрашиваться в transfer-app, соединение с базой на это время не держится.
+     *
+     * @param event {@link PayeeBlockChangedEvent}
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBlockChanged(PayeeBlockChangedEvent event) {
+        if (event.transferId() == null || numbers(event.type()) == null) {
+            return;
+        }
+
+        final Optional<Long> number = event.number() != null ? Optional.of(event.number()) :
+                resolver.resolve(event.type(), event.transferId());
+        number.ifPresent(payee -> apply(event.type(), payee, event.type() == TransferType.CARD ?
+                cardRepository.isCardNumberBlocked(payee) : phoneRepository.isPhoneNumberBlocked(payee)));
+    }
+
+    private void apply(TransferType type, long number, boolean isBlocked) {
+        if (isBlocked) {
+            block(type, number);
+        } else {
+            unblock(type, number);
+        }
+    }
+
+    private Numbers numbers(TransferType type) {
+        return switch (type) {
+            case CARD -> cards;
+            case PHONE -> phones;
+            default -> null;
+        };
+    }
+
+    private void replace(TransferType type, Numbers numbers) {
+        if (type == TransferType.CARD) {
+            cards = numbers;
+        } else {
+            phones = numbers;
+        }
+    }
+
+    /**
+     * Фильтр и точное множество одного вида перевода, заменяются вместе.
+     * Фильтр сразу рассчитан на capacity номеров, множество растет по мере добавления.
+     */
+    private static final class Numbers {
+
+        private final LongBloomFilter filter;
+        private final LongHashSet set;
+        private final int capacity;
+
+        private Numbers(int size, BlocklistProperties properties) {
+            this.capacity = Math.max(properties.getExpectedNumbers(), size * 2);
+            this.filter = new LongBloomFilter(capacity, properties.getFalsePositiveRate());
+            this.set = new LongHashSet(size);
+        }
+
+        static Numbers of(List<Long> source, BlocklistProperties properties) {
+            final Numbers numbers = new Numbers(source.size(), properties);
+            source.forEach(numbers::add);
+
+            return numbers;
+        }
+
+        static Numbers of(LongHashSet source, BlocklistProperties properties) {
+            final Numbers numbers = new Numbers(source.size(), properties);
+            source.forEach(numbers::add);
+
+            return numbers;
+        }
+
+        private void add(long number) {
+            set.add(number);
+            filter.add(number);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.bank.antifraud.service.blocklist;
+
+import com.bank.antifraud.client.TransferClient;
+import com.bank.antifraud.dto.TransferDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
+import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Номера получателей заблокированных переводов, которых еще нет в таблицах антифрода.
+ * Номер запрашивается в transfer-app и сохраняется на строке подозрительного перевода,
+ * чужая схема transfer напрямую не читается.
+ * Запрос в transfer-app идет вне транзакции, запись номеров в отдельной транзакции:
+ * событие блокировки обрабатывается уже после коммита исходной.
+ * Недоступность transfer-app только откладывает заполнение до следующей пересборки списка.
+ */
+@Slf4j
+@Component
+public class PayeeNumberResolver {
+
+    private final SuspiciousCardTransferRepository cardRepository;
+    private final SuspiciousPhoneTransferRepository phoneRepository;
+    private final TransferClient transferClient;
+    private final BlocklistProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public PayeeNumberResolver(SuspiciousCardTransferRepository cardRepository,
+                               SuspiciousPhoneTransferRepository phoneRepository,
+                               TransferClient transferClient, BlocklistProperties properties,
+                               PlatformTransactionManager transactionManager) {
+        this.cardRepository = cardRepository;
+        this.phoneRepository = phoneRepository;
+        this.transferClient = transferClient;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @param type       вид перевода, CARD или PHONE
+     * @param transferId технический идентификатор перевода в сервисе transfer
+     * @return номер получателя или пустой Optional, если перевода нет или transfer-app недоступен
+     */
+    public Optional<Long> resolve(TransferType type, long transferId) {
+        final Optional<Long> stored = type == TransferType.CARD ? cardRepository.findCardNumber(transferId) :
+                phoneRepository.findPhoneNumber(transferId);
+        if (stored.isPresent()) {
+            return stored;
+        }
+
+        try {
+            return Optional.ofNullable(fetchAndStore(type, List.of(transferId)).get(transferId));
+        } catch (FeignException e) {
+            log.warn("Не удалось получить номер получателя перевода {} id = {} из transfer-app", type, transferId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Дозаполняет номера всех заблокированных переводов вида type.
+     *
+     * @param type вид перевода, CARD или PHONE
+     * @return сколько номеров записано
+     */
+    public int resolveBlocked(TransferType type) {
+        int resolved = 0;
+        List<Long> ids = findBlockedWithoutNumber(type, 0);
+        try {
+            while (!ids.isEmpty()) {
+                resolved += fetchAndStore(type, ids).size();
+                ids = findBlockedWithoutNumber(type, ids.get(ids.size() - 1));
+            }
+        } catch (FeignException e) {
+            log.warn("transfer-app недоступен, номера переводов {} будут дозаполнены при следующей пересборке",
+                    type, e);
+        }
+
+        return resolved;
+    }
+
+    private List<Long> findBlockedWithoutNumber(TransferType type, long after) {
+        final PageRequest page = PageRequest.ofSize(properties.getResolveBatchSize());
+
+        return type == TransferType.CARD ? cardRepository.findBlockedWithoutNumber(after, page) :
+                phoneRepository.findBlockedWithoutNumber(after, page);
+    }
+
+    private Map<Long, Long> fetchAndStore(TransferType type, List<Long> ids) {
+        final Map<Long, Long> numbers = fetch(type, ids);
+        if (!numbers.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> numbers.forEach((id, number) -> {
+                if (type == TransferType.CARD) {
+                    cardRepository.setCardNumber(id, number);
+                } else {
+                    phoneRepository.setPhoneNumber(id, number);
+                }
+            }));
+        }
+
+        return numbers;
+    }
+
+    private Map<Long, Long> fetch(TransferType type, List<Long> ids) {
+        final String path = type.name().toLowerCase();
+        try {
+            return numbers(transferClient.readAll(path, ids));
+        } catch (FeignException.NotFound e) {
+            // в пачке есть перевод, которого нет в transfer-app, остальные читаются по одному
+            final List<TransferDto> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                try {
+                    found.add(transferClient.read(path, id));
+                } catch (FeignException.NotFound missing) {
+                    log.warn("Перевод {} id = {} не найден в transfer-app", type, id);
+                }
+            }
+
+            return numbers(found);
+        }
+    }
+
+    private static Map<Long, Long> numbers(List<TransferDto> transfers) {
+        return transfers.stream()
+                .filter(transfer -> transfer.getNumber() != null)
+                .collect(Collectors.toMap(TransferDto::getId, TransferDto::getNumber, (first, second) -> first));
+    }
+}
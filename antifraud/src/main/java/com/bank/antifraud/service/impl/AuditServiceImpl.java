@@ -5,10 +5,12 @@ import com.bank.antifraud.entity.AuditEntity;
 import com.bank.antifraud.mappers.AuditMapper;
 import com.bank.antifraud.repository.AuditRepository;
 import com.bank.antifraud.service.AuditService;
+import com.bank.common.batch.BatchLookup;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.List;
 
 /**
  * Реализация {@link AuditService}
@@ -16,8 +18,10 @@ import javax.persistence.EntityNotFoundException;
 @Service
 @RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
+
     private final AuditRepository repository;
     private final AuditMapper mapper;
+    private final BatchLookup batchLookup;
 
     /**
      * @param id технический идентификатор {@link AuditEntity}
@@ -32,6 +36,15 @@ public class AuditServiceImpl implements AuditService {
         );
     }
 
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    @Override
+    public List<AuditDto> findAllById(List<Long> ids) {
+        return mapper.toListDto(batchLookup.findAllFound(repository, AuditEntity::getId, ids));
+    }
+
     private EntityNotFoundException getException(Long id) {
         return new EntityNotFoundException("Не найден аудит с ID  " + id);
     }
@@ -0,0 +1,122 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.ScoringDecision;
+import com.bank.antifraud.dto.ScoringResultDto;
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.service.FraudScoringService;
+import com.bank.antifraud.service.scoring.RuleHit;
+import com.bank.antifraud.service.scoring.ScoringProperties;
+import com.bank.antifraud.service.scoring.ScoringRule;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter.SuspiciousTransfer;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Реализация {@link FraudScoringService}.
+ * Правила работают только со счетчиками в памяти, база на пути оценки не участвует:
+ * подозрительные переводы записываются {@link SuspiciousTransferWriter} в фоне.
+ * Время оценки пишется в таймер antifraud.scoring с тегом decision и перцентилем p99.
+ * Повторная оценка идет только правилами без состояния и в таймер не попадает.
+ */
+@Service
+public class FraudScoringServiceImpl implements FraudScoringService {
+
+    private static final String REASON_SEPARATOR = "; ";
+
+    private final List<ScoringRule> rules;
+    private final List<ScoringRule> statelessRules;
+    private final ScoringProperties properties;
+    private final SuspiciousTransferWriter writer;
+    private final Map<ScoringDecision, Timer> timers = new EnumMap<>(ScoringDecision.class);
+
+    public FraudScoringServiceImpl(List<ScoringRule> rules, ScoringProperties properties,
+                                   SuspiciousTransferWriter writer, MeterRegistry registry) {
+        this.rules = rules;
+        this.statelessRules = rules.stream().filter(ScoringRule::stateless).toList();
+        this.properties = properties;
+        this.writer = writer;
+        for (ScoringDecision decision : ScoringDecision.values()) {
+            timers.put(decision, Timer.builder("antifraud.scoring")
+                    .tag("decision", decision.name().toLowerCase())
+                    .publishPercentiles(0.99)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * @param transfer {@link TransferScoringDto}
+     * @return {@link ScoringResultDto} с решением и причинами
+     */
+    @Override
+    public ScoringResultDto score(TransferScoringDto transfer) {
+        validate(transfer);
+        final long started = System.nanoTime();
+
+        final ScoringResultDto result = evaluate(rules, transfer);
+        final ScoringDecision decision = result.getDecision();
+        if (decision != ScoringDecision.ALLOW) {
+            writer.submit(new SuspiciousTransfer(transfer.getTransferType(), transfer.getTransferId(),
+                    transfer.getNumber(), decision == ScoringDecision.BLOCK,
+                    String.join(REASON_SEPARATOR, result.getReasons())));
+        }
+        timers.get(decision).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        return result;
+    }
+
+    /**
+     * @param transfer {@link TransferScoringDto}
+     * @return {@link ScoringResultDto} с решением и причинами
+     */
+    @Override
+    public ScoringResultDto rescore(TransferScoringDto transfer) {
+        return evaluate(statelessRules, transfer);
+    }
+
+    private ScoringResultDto evaluate(List<ScoringRule> applied, TransferScoringDto transfer) {
+        final long now = System.currentTimeMillis();
+        int score = 0;
+        List<String> reasons = List.of();
+        for (ScoringRule rule : applied) {
+            final RuleHit hit = rule.evaluate(transfer, now);
+            if (hit != null) {
+                if (reasons.isEmpty()) {
+                    reasons = new ArrayList<>();
+                }
+                score += hit.score();
+                reasons.add(hit.reason());
+            }
+        }
+
+        return new ScoringResultDto(decide(score), score, reasons);
+    }
+
+    private ScoringDecision decide(int score) {
+        if (score >= properties.getBlockScore()) {
+            return ScoringDecision.BLOCK;
+        }
+
+        return score >= properties.getFlagScore() ? ScoringDecision.FLAG : ScoringDecision.ALLOW;
+    }
+
+    private void validate(TransferScoringDto transfer) {
+        if (transfer.getTransferId() == null || transfer.getTransferType() == null) {
+            throw new ValidationException("Не указан перевод или его вид");
+        }
+        if (transfer.getAccountDetailsId() == null || transfer.getNumber() == null) {
+            throw new ValidationException("Не указан счёт отправителя или номер получателя");
+        }
+        if (transfer.getAmount() == null || transfer.getAmount().signum() <= 0) {
+            throw new ValidationException("Сумма перевода должна быть больше нуля");
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.RescoringJobDto;
+import com.bank.antifraud.dto.RescoringStatus;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.RescoringJobEntity;
+import com.bank.antifraud.entity.RescoringPartitionEntity;
+import com.bank.antifraud.repository.RescoringJobRepository;
+import com.bank.antifraud.repository.RescoringPartitionRepository;
+import com.bank.antifraud.service.RescoringService;
+import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.antifraud.service.rescoring.RescoringProperties;
+import com.bank.antifraud.service.rescoring.RescoringStore;
+import com.bank.antifraud.service.rescoring.RescoringWorker;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Реализация {@link RescoringService}.
+ * Переводы каждого вида делятся на диапазоны id до наибольшего id на момент запуска, диапазоны
+ * оцениваются пачками {@link RescoringWorker} в общем пуле потоков. Задание, которое выполнялось
+ * при остановке сервиса, продолжается с контрольных точек своих диапазонов.
+ * Задание выполняет только экземпляр, за которым оно закреплено в rescoring_job, закрепление продлевается
+ * по расписанию. Задание с истекшим закреплением забирает первый экземпляр, который его заметит,
+ * в том числе при старте. Прежний владелец, потеряв закрепление, останавливается на границе пачки,
+ * повторная запись той же пачки безвредна: запись результатов это upsert.
+ * Ход выполнения выполняемых заданий виден в actuator, эндпоинт rescoring.
+ */
+@Slf4j
+@Service
+public class RescoringServiceImpl implements RescoringService {
+
+    private static final String MESSAGE = "RescoringJob по данному id не существует";
+    private static final String JOB = "Задание ";
+
+    private final RescoringJobRepository jobRepository;
+    private final RescoringPartitionRepository partitionRepository;
+    private final RescoringStore store;
+    private final RescoringWorker worker;
+    private final RescoringProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExceptionReturner returner;
+    private final ExecutorService executor;
+    private final Map<Long, RunningJob> running = new ConcurrentHashMap<>();
+    private final String owner = UUID.randomUUID().toString();
+
+    public RescoringServiceImpl(RescoringJobRepository jobRepository,
+                                RescoringPartitionRepository partitionRepository, RescoringStore store,
+                                RescoringWorker worker, RescoringProperties properties,
+                                TransactionTemplate transactionTemplate, ExceptionReturner returner,
+                                MeterRegistry registry) {
+        this.jobRepository = jobRepository;
+        this.partitionRepository = partitionRepository;
+        this.store = store;
+        this.worker = worker;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.returner = returner;
+        this.executor = Executors.newFixedThreadPool(properties.getThreads());
+        Gauge.builder("antifraud.rescoring.running", running, Map::size).register(registry);
+    }
+
+    /**
+     * @param types виды переводов, пустой набор значит все
+     * @return {@link RescoringJobDto} созданного задания
+     */
+    @Override
+    public RescoringJobDto start(Set<TransferType> types) {
+        if (properties.getPartitionSize() < 1 || properties.getBatchSize() < 1) {
+            throw new ValidationException("Размер диапазона и пачки должен быть больше нуля");
+        }
+        final Set<TransferType> selected = types == null || types.isEmpty() ?
+                EnumSet.allOf(TransferType.class) : EnumSet.copyOf(types);
+
+        final RescoringJobEntity job = transactionTemplate.execute(status -> {
+            final Instant now = Instant.now();
+            final RescoringJobEntity created = jobRepository.save(new RescoringJobEntity(null,
+                    RescoringStatus.RUNNING, Timestamp.from(now), null, owner, leaseUntil(now)));
+            partitionRepository.saveAll(split(created.getId(), selected));
+            return created;
+        });
+        submit(job.getId());
+
+        return toDto(job);
+    }
+
+    /**
+     * @param id технический идентификатор {@link RescoringJobEntity}
+     * @return {@link RescoringJobDto}
+     */
+    @Override
+    public RescoringJobDto resume(Long id) {
+        final RescoringJobEntity job = jobRepository.findById(id)
+                .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE));
+        if (job.getStatus() == RescoringStatus.DONE || running.containsKey(id) || !claim(id)) {
+            throw new ValidationException(JOB + id + " уже завершено или выполняется");
+        }
+        submit(id);
+
+        return findById(id);
+    }
+
+    /**
+     * @param id технический идентификатор {@link RescoringJobEntity}
+     * @return {@link RescoringJobDto}
+     */
+    @Override
+    public RescoringJobDto findById(Long id) {
+        return toDto(jobRepository.findById(id)
+                .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)));
+    }
+
+    /**
+     * @return {@link RescoringJobDto} заданий, которые сейчас выполняются
+     */
+    @Override
+    public List<RescoringJobDto> findRunning() {
+        return jobRepository.findAllById(running.keySet()).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Задания, прерванные остановкой или падением экземпляра, остались в состоянии RUNNING.
+     * Продолжаются только те, что удалось закрепить за собой: живой владелец продлевает закрепление.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (RescoringJobEntity job : jobRepository.findAllByStatus(RescoringStatus.RUNNING)) {
+            if (!running.containsKey(job.getId()) && claim(job.getId())) {
+                log.info("Продолжаем повторную оценку, задание {}", job.getId());
+                submit(job.getId());
+            }
+        }
+    }
+
+    /**
+     * Продлевает закрепление выполняемых заданий и забирает задания, которые никто не продлил.
+     */
+    @Scheduled(fixedDelayString = "${antifraud.rescoring.heartbeat-interval:PT30S}",
+            initialDelayString = "${antifraud.rescoring.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        final Timestamp leaseUntil = leaseUntil(Instant.now());
+        running.forEach((jobId, run) -> {
+            final Integer renewed = transactionTemplate.execute(status ->
+                    jobRepository.renew(jobId, owner, leaseUntil));
+            if (renewed == null || renewed == 0) {
+                run.lost = true;
+                log.warn("Задание {} забрал другой экземпляр, останавливаем его здесь", jobId);
+            }
+        });
+        resumeInterrupted();
+    }
+
+    /**
+     * Незаконченные диапазоны останутся с последней записанной контрольной точкой.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Диапазоны (from, to] по partitionSize id, последний может быть короче.
+     */
+    private List<RescoringPartitionEntity> split(Long jobId, Set<TransferType> types) {
+        final List<RescoringPartitionEntity> partitions = new ArrayList<>();
+        for (TransferType type : types) {
+            final long last = store.findLastTransferId(type);
+            for (long from = 0; from < last; from += properties.getPartitionSize()) {
+                final long to = Math.min(from + properties.getPartitionSize(), last);
+                partitions.add(new RescoringPartitionEntity(null, jobId, type, from, to, from, 0L, 0L, false));
+            }
+        }
+
+        return partitions;
+    }
+
+    private void submit(Long jobId) {
+        final List<RescoringPartitionEntity> partitions =
+                partitionRepository.findAllByJobIdAndFinishedFalseOrderById(jobId);
+        final RunningJob run = new RunningJob(partitions.size());
+        if (running.putIfAbsent(jobId, run) != null) {
+            throw new ValidationException(JOB + jobId + " уже выполняется");
+        }
+        if (partitions.isEmpty()) {
+            complete(jobId, run);
+            return;
+        }
+        partitions.forEach(partition -> executor.execute(() -> process(jobId, run, partition)));
+    }
+
+    /**
+     * Ошибка диапазона останавливает остальные диапазоны задания на границе пачки,
+     * задание завершается после выхода последнего диапазона.
+     */
+    private void process(Long jobId, RunningJob run, RescoringPartitionEntity partition) {
+        try {
+            long after = partition.getLastId();
+            while (after < partition.getToId() && !run.failed && !run.lost && !executor.isShutdown()) {
+                final RescoringWorker.RescoringBatch batch = worker.processBatch(partition, after);
+                run.processed.add(batch.processed());
+                after = batch.lastId();
+            }
+        } catch (RuntimeException e) {
+            run.failed = true;
+            log.error("Повторная оценка диапазона {} задания {} прервана", partition.getId(), jobId, e);
+        } finally {
+            if (run.remaining.decrementAndGet() == 0 && !executor.isShutdown()) {
+                complete(jobId, run);
+            }
+        }
+    }
+
+    private void complete(Long jobId, RunningJob run) {
+        final RescoringStatus status = run.failed ? RescoringStatus.FAILED : RescoringStatus.DONE;
+        try {
+            final Integer finished = transactionTemplate.execute(transaction ->
+                    jobRepository.finish(jobId, owner, status, Timestamp.from(Instant.now())));
+            if (finished == null || finished == 0) {
+                log.info("Задание {} выполняет другой экземпляр, состояние не меняем", jobId);
+                return;
+            }
+            log.info("Повторная оценка, задание {}: {}, оценено {} переводов за {} с", jobId, status,
+                    run.processed.sum(), run.elapsedSeconds());
+        } finally {
+            running.remove(jobId, run);
+        }
+    }
+
+    private boolean claim(Long jobId) {
+        final Instant now = Instant.now();
+        final Integer claimed = transactionTemplate.execute(status ->
+                jobRepository.claim(jobId, owner, Timestamp.from(now), leaseUntil(now)));
+
+        return claimed != null && claimed > 0;
+    }
+
+    private Timestamp leaseUntil(Instant now) {
+        return Timestamp.from(now.plus(properties.getLease()));
+    }
+
+    private RescoringJobDto toDto(RescoringJobEntity job) {
+        final List<RescoringPartitionEntity> partitions = partitionRepository.findAllByJobIdOrderById(job.getId());
+        long total = 0;
+        long scanned = 0;
+        long processed = 0;
+        long flagged = 0;
+        int finished = 0;
+        for (RescoringPartitionEntity partition : partitions) {
+            total += partition.getToId() - partition.getFromId();
+            scanned += partition.getLastId() - partition.getFromId();
+            processed += partition.getProcessed();
+            flagged += partition.getFlagged();
+            finished += Boolean.TRUE.equals(partition.getFinished()) ? 1 : 0;
+        }
+        final RunningJob run = running.get(job.getId());
+        final double throughput = run == null ? 0 : run.processed.sum() / Math.max(run.elapsedSeconds(), 0.001);
+
+        return new RescoringJobDto(job.getId(), job.getStatus(), partitions.size(), finished,
+                total == 0 ? 1 : (double) scanned / total, processed, flagged, throughput,
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+
+    /**
+     * Состояние задания в памяти, пока выполняются его диапазоны.
+     */
+    private static final class RunningJob {
+
+        private final AtomicInteger remaining;
+        private final LongAdder processed = new LongAdder();
+        private final long startedAt = System.nanoTime();
+
+        private volatile boolean failed;
+        private volatile boolean lost;
+
+        private RunningJob(int partitions) {
+            this.remaining = new AtomicInteger(partitions);
+        }
+
+        private double elapsedSeconds() {
+            return (System.nanoTime() - startedAt) / 1e9;
+        }
+    }
+}
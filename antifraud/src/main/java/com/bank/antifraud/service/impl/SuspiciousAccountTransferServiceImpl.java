@@ -6,6 +6,7 @@ import com.bank.antifraud.mappers.SuspiciousAccountTransferMapper;
 import com.bank.antifraud.repository.SuspiciousAccountTransferRepository;
 import com.bank.antifraud.service.SuspiciousAccountTransferService;
 import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.common.batch.BatchLookup;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +21,12 @@ import java.util.List;
 public class SuspiciousAccountTransferServiceImpl implements SuspiciousAccountTransferService {
 
     private static final String MESSAGE = "SuspiciousAccountTransfer по данному id не существует";
+    private static final String MISSING_IDS_MESSAGE = "SuspiciousAccountTransfer не существует для id: ";
 
     private final SuspiciousAccountTransferRepository repository;
     private final SuspiciousAccountTransferMapper mapper;
     private final ExceptionReturner returner;
+    private final BatchLookup batchLookup;
 
     /**
      * @param accountTransfer {@link SuspiciousAccountTransferDto}
@@ -76,10 +79,8 @@ public class SuspiciousAccountTransferServiceImpl implements SuspiciousAccountTr
     @Override
     public List<SuspiciousAccountTransferDto> findAllById(List<Long> ids) {
 
-        final List<SuspiciousAccountTransferEntity> suspiciousAccountTransfers = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)))
-                .toList();
+        final List<SuspiciousAccountTransferEntity> suspiciousAccountTransfers = batchLookup.findAllById(
+                repository, SuspiciousAccountTransferEntity::getId, ids, MISSING_IDS_MESSAGE);
 
         return mapper.toListDto(suspiciousAccountTransfers);
     }
@@ -1,29 +1,38 @@
 package com.bank.antifraud.service.impl;
 
 import com.bank.antifraud.dto.SuspiciousCardTransferDto;
+import com.bank.antifraud.dto.TransferType;
 import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
 import com.bank.antifraud.mappers.SuspiciousCardTransferMapper;
 import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
 import com.bank.antifraud.service.SuspiciousCardTransferService;
+import com.bank.antifraud.service.blocklist.PayeeBlockChangedEvent;
 import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.common.batch.BatchLookup;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
- * Реализация {@link SuspiciousCardTransferService}
+ * Реализация {@link SuspiciousCardTransferService}.
+ * Изменение блокировки публикует {@link PayeeBlockChangedEvent}, по нему обновляется список блокировок.
  */
 @Service
 @RequiredArgsConstructor
 public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransferService {
 
     private static final String MESSAGE = "SuspiciousCardTransfer по данному id не существует";
+    private static final String MISSING_IDS_MESSAGE = "SuspiciousCardTransfer не существует для id: ";
 
     private final SuspiciousCardTransferRepository repository;
     private final SuspiciousCardTransferMapper mapper;
     private final ExceptionReturner returner;
+    private final BatchLookup batchLookup;
+    private final ApplicationEventPublisher publisher;
 
     /**
      * @param cardTransfer {@link SuspiciousCardTransferDto}
@@ -36,6 +45,7 @@ public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransfer
         final SuspiciousCardTransferEntity suspiciousTransfer = repository.save(
                 mapper.toEntity(cardTransfer)
         );
+        publishBlockChange(false, null, null, suspiciousTransfer);
 
         return mapper.toDto(suspiciousTransfer);
     }
@@ -63,8 +73,15 @@ public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransfer
 
         final SuspiciousCardTransferEntity suspiciousTransfer = repository.findById(id)
                 .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE));
+        final boolean wasBlocked = Boolean.TRUE.equals(suspiciousTransfer.getIsBlocked());
+        final Long oldCardTransferId = suspiciousTransfer.getCardTransferId();
+        final Long oldCardNumber = suspiciousTransfer.getCardNumber();
 
         final SuspiciousCardTransferEntity transfer = mapper.mergeToEntity(cardTransfer, suspiciousTransfer);
+        if (!Objects.equals(oldCardTransferId, transfer.getCardTransferId())) {
+            transfer.setCardNumber(null);
+        }
+        publishBlockChange(wasBlocked, oldCardTransferId, oldCardNumber, transfer);
 
         return mapper.toDto(repository.save(transfer));
     }
@@ -76,11 +93,28 @@ public class SuspiciousCardTransferServiceImpl implements SuspiciousCardTransfer
     @Override
     public List<SuspiciousCardTransferDto> findAllById(List<Long> ids) {
 
-        final List<SuspiciousCardTransferEntity> suspiciousCardTransfers = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)))
-                .toList();
+        final List<SuspiciousCardTransferEntity> suspiciousCardTransfers = batchLookup.findAllById(
+                repository, SuspiciousCardTransferEntity::getId, ids, MISSING_IDS_MESSAGE);
 
         return mapper.toListDto(suspiciousCardTransfers);
     }
+
+    /**
+     * Номер прежнего перевода тоже перепроверяется: блокировку с него могли снять
+     * или перенести на другой перевод. При смене перевода номер сбрасывается и заново берется из сервиса transfer.
+     */
+    private void publishBlockChange(boolean wasBlocked, Long oldCardTransferId, Long oldCardNumber,
+                                    SuspiciousCardTransferEntity transfer) {
+        final boolean isBlocked = Boolean.TRUE.equals(transfer.getIsBlocked());
+        if (wasBlocked == isBlocked && Objects.equals(oldCardTransferId, transfer.getCardTransferId())) {
+            return;
+        }
+        if (wasBlocked) {
+            publisher.publishEvent(new PayeeBlockChangedEvent(TransferType.CARD, oldCardTransferId, oldCardNumber));
+        }
+        if (isBlocked) {
+            publisher.publishEvent(new PayeeBlockChangedEvent(TransferType.CARD, transfer.getCardTransferId(),
+                    transfer.getCardNumber()));
+        }
+    }
 }
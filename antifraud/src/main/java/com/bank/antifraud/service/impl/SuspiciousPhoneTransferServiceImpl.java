@@ -1,29 +1,38 @@
 package com.bank.antifraud.service.impl;
 
 import com.bank.antifraud.dto.SuspiciousPhoneTransferDto;
+import com.bank.antifraud.dto.TransferType;
 import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
 import com.bank.antifraud.mappers.SuspiciousPhoneTransferMapper;
 import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
 import com.bank.antifraud.service.SuspiciousPhoneTransferService;
+import com.bank.antifraud.service.blocklist.PayeeBlockChangedEvent;
 import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.common.batch.BatchLookup;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
- * Реализация {@link SuspiciousPhoneTransferService}
+ * Реализация {@link SuspiciousPhoneTransferService}.
+ * Изменение блокировки публикует {@link PayeeBlockChangedEvent}, по нему обновляется список блокировок.
  */
 @Service
 @RequiredArgsConstructor
 public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransferService {
 
     private static final String MESSAGE = "SuspiciousPhoneTransfer по данному id не существует";
+    private static final String MISSING_IDS_MESSAGE = "SuspiciousPhoneTransfer не существует для id: ";
 
     private final SuspiciousPhoneTransferRepository repository;
     private final SuspiciousPhoneTransferMapper mapper;
     private final ExceptionReturner returner;
+    private final BatchLookup batchLookup;
+    private final ApplicationEventPublisher publisher;
 
     /**
      * @param phoneTransfer {@link SuspiciousPhoneTransferDto}
@@ -36,6 +45,7 @@ public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransf
         final SuspiciousPhoneTransferEntity suspiciousTransfer = repository.save(
                 mapper.toEntity(phoneTransfer)
         );
+        publishBlockChange(false, null, null, suspiciousTransfer);
 
         return mapper.toDto(suspiciousTransfer);
     }
@@ -64,8 +74,15 @@ public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransf
 
         final SuspiciousPhoneTransferEntity suspiciousTransfer = repository.findById(id)
                 .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE));
+        final boolean wasBlocked = Boolean.TRUE.equals(suspiciousTransfer.getIsBlocked());
+        final Long oldPhoneTransferId = suspiciousTransfer.getPhoneTransferId();
+        final Long oldPhoneNumber = suspiciousTransfer.getPhoneNumber();
 
         final SuspiciousPhoneTransferEntity transfer = mapper.mergeToEntity(phoneTransfer, suspiciousTransfer);
+        if (!Objects.equals(oldPhoneTransferId, transfer.getPhoneTransferId())) {
+            transfer.setPhoneNumber(null);
+        }
+        publishBlockChange(wasBlocked, oldPhoneTransferId, oldPhoneNumber, transfer);
 
         return mapper.toDto(repository.save(transfer));
     }
@@ -77,11 +94,28 @@ public class SuspiciousPhoneTransferServiceImpl implements SuspiciousPhoneTransf
     @Override
     public List<SuspiciousPhoneTransferDto> findAllById(List<Long> ids) {
 
-        final List<SuspiciousPhoneTransferEntity> suspiciousPhoneTransfers = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(() -> returner.getEntityNotFoundException(MESSAGE)))
-                .toList();
+        final List<SuspiciousPhoneTransferEntity> suspiciousPhoneTransfers = batchLookup.findAllById(
+                repository, SuspiciousPhoneTransferEntity::getId, ids, MISSING_IDS_MESSAGE);
 
         return mapper.toListDto(suspiciousPhoneTransfers);
     }
+
+    /**
+     * Номер прежнего перевода тоже перепроверяется: блокировку с него могли снять
+     * или перенести на другой перевод. При смене перевода номер сбрасывается и заново берется из сервиса transfer.
+     */
+    private void publishBlockChange(boolean wasBlocked, Long oldPhoneTransferId, Long oldPhoneNumber,
+                                    SuspiciousPhoneTransferEntity transfer) {
+        final boolean isBlocked = Boolean.TRUE.equals(transfer.getIsBlocked());
+        if (wasBlocked == isBlocked && Objects.equals(oldPhoneTransferId, transfer.getPhoneTransferId())) {
+            return;
+        }
+        if (wasBlocked) {
+            publisher.publishEvent(new PayeeBlockChangedEvent(TransferType.PHONE, oldPhoneTransferId, oldPhoneNumber));
+        }
+        if (isBlocked) {
+            publisher.publishEvent(new PayeeBlockChangedEvent(TransferType.PHONE, transfer.getPhoneTransferId(),
+                    transfer.getPhoneNumber()));
+        }
+    }
 }
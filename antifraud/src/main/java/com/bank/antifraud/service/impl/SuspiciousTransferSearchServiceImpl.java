@@ -0,0 +1,182 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.SuspiciousTransferDto;
+import com.bank.antifraud.dto.SuspiciousTransferFilterDto;
+import com.bank.antifraud.dto.SuspiciousTransferPageDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
+import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
+import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
+import com.bank.antifraud.mappers.SuspiciousAccountTransferMapper;
+import com.bank.antifraud.mappers.SuspiciousCardTransferMapper;
+import com.bank.antifraud.mappers.SuspiciousPhoneTransferMapper;
+import com.bank.antifraud.repository.SuspiciousTransferSearchRepository;
+import com.bank.antifraud.service.SuspiciousTransferSearchService;
+import com.bank.common.exception.ValidationException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Реализация {@link SuspiciousTransferSearchService}.
+ * Записи упорядочены по (id, type), курсор хранит последнюю пару страницы. Таблицы читаются
+ * параллельно, из каждой не больше size + 1 записей после курсора, упорядоченные выборки сливаются
+ * в одну, поэтому глубокие страницы стоят столько же, сколько первая.
+ */
+@Service
+public class SuspiciousTransferSearchServiceImpl implements SuspiciousTransferSearchService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = ":";
+    private static final String CURSOR_MESSAGE = "Некорректный курсор страницы: ";
+    private static final String SIZE_MESSAGE = "Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE;
+    private static final Comparator<SuspiciousTransferDto> ORDER = Comparator
+            .comparing(SuspiciousTransferDto::getId)
+            .thenComparing(SuspiciousTransferDto::getType);
+
+    private final SuspiciousTransferSearchRepository repository;
+    private final SuspiciousAccountTransferMapper accountMapper;
+    private final SuspiciousCardTransferMapper cardMapper;
+    private final SuspiciousPhoneTransferMapper phoneMapper;
+    private final ExecutorService executor;
+
+    public SuspiciousTransferSearchServiceImpl(SuspiciousTransferSearchRepository repository,
+                                               SuspiciousAccountTransferMapper accountMapper,
+                                               SuspiciousCardTransferMapper cardMapper,
+                                               SuspiciousPhoneTransferMapper phoneMapper) {
+        this.repository = repository;
+        this.accountMapper = accountMapper;
+        this.cardMapper = cardMapper;
+        this.phoneMapper = phoneMapper;
+        this.executor = Executors.newFixedThreadPool(TransferType.values().length);
+    }
+
+    /**
+     * @param filter {@link SuspiciousTransferFilterDto}
+     * @param cursor курсор из предыдущей страницы, null для первой страницы
+     * @param size   размер страницы
+     * @return {@link SuspiciousTransferPageDto}
+     * @throws ValidationException при некорректном размере страницы или курсоре
+     */
+    @Override
+    public SuspiciousTransferPageDto search(SuspiciousTransferFilterDto filter, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException(SIZE_MESSAGE);
+        }
+        final Cursor after = decode(cursor);
+
+        final List<CompletableFuture<List<SuspiciousTransferDto>>> queries = new ArrayList<>();
+        for (TransferType type : TransferType.values()) {
+            queries.add(CompletableFuture.supplyAsync(() -> read(type, filter, after, size + 1), executor));
+        }
+        final List<List<SuspiciousTransferDto>> results = new ArrayList<>(queries.size());
+        try {
+            for (CompletableFuture<List<SuspiciousTransferDto>> query : queries) {
+                results.add(query.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        final List<SuspiciousTransferDto> rows = merge(results, size + 1);
+        final boolean hasNext = rows.size() > size;
+        final List<SuspiciousTransferDto> page = hasNext ? rows.subList(0, size) : rows;
+
+        return new SuspiciousTransferPageDto(page, hasNext ? encode(page.get(size - 1)) : null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Слияние выборок, каждая из которых уже упорядочена по {@link #ORDER}.
+     *
+     * @param sources упорядоченные выборки
+     * @param limit   сколько записей взять
+     * @return первые limit записей всех выборок в порядке {@link #ORDER}
+     */
+    static List<SuspiciousTransferDto> merge(List<List<SuspiciousTransferDto>> sources, int limit) {
+        final int[] positions = new int[sources.size()];
+        final List<SuspiciousTransferDto> merged = new ArrayList<>(limit);
+        while (merged.size() < limit) {
+            int next = -1;
+            for (int i = 0; i < sources.size(); i++) {
+                if (positions[i] < sources.get(i).size() && (next < 0 ||
+                        ORDER.compare(sources.get(i).get(positions[i]), sources.get(next).get(positions[next])) < 0)) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            merged.add(sources.get(next).get(positions[next]++));
+        }
+
+        return merged;
+    }
+
+    /**
+     * Записи вида, который в {@link #ORDER} идет после вида курсора, с тем же id еще не отданы.
+     */
+    private List<SuspiciousTransferDto> read(TransferType type, SuspiciousTransferFilterDto filter,
+                                             Cursor after, int limit) {
+        final long afterId = after == null ? 0L : after.id();
+        final boolean inclusive = after != null && type.compareTo(after.type()) > 0;
+
+        return switch (type) {
+            case ACCOUNT -> repository
+                    .findPage(SuspiciousAccountTransferEntity.class, filter, afterId, inclusive, limit).stream()
+                    .map(accountMapper::toSuspiciousTransferDto).toList();
+            case CARD -> repository
+                    .findPage(SuspiciousCardTransferEntity.class, filter, afterId, inclusive, limit).stream()
+                    .map(cardMapper::toSuspiciousTransferDto).toList();
+            case PHONE -> repository
+                    .findPage(SuspiciousPhoneTransferEntity.class, filter, afterId, inclusive, limit).stream()
+                    .map(phoneMapper::toSuspiciousTransferDto).toList();
+        };
+    }
+
+    private String encode(SuspiciousTransferDto last) {
+        final String key = last.getId() + SEPARATOR + last.getType();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return тип и id последней записи предыдущей страницы, null для первой страницы
+     */
+    private Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            final String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR);
+            if (key.length != 2) {
+                throw new ValidationException(CURSOR_MESSAGE + cursor);
+            }
+            return new Cursor(Long.parseLong(key[0]), TransferType.valueOf(key[1]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(CURSOR_MESSAGE + cursor);
+        }
+    }
+
+    /**
+     * Последняя запись предыдущей страницы.
+     */
+    private record Cursor(long id, TransferType type) {
+    }
+}
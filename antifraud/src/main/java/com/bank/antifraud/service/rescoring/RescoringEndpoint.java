@@ -0,0 +1,33 @@
+package com.bank.antifraud.service.rescoring;
+
+import com.bank.antifraud.dto.RescoringJobDto;
+import com.bank.antifraud.service.RescoringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Эндпоинт actuator rescoring: ход и скорость выполняемых заданий повторной оценки,
+ * rescoring/{id} показывает любое задание.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "rescoring")
+public class RescoringEndpoint {
+
+    private final RescoringService service;
+
+    @ReadOperation
+    public List<RescoringJobDto> running() {
+        return service.findRunning();
+    }
+
+    @ReadOperation
+    public RescoringJobDto job(@Selector Long id) {
+        return service.findById(id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.bank.antifraud.service.rescoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки повторной оценки переводов.
+ * Переводы каждого вида делятся на диапазоны по partitionSize id, диапазоны оцениваются в threads потоках,
+ * каждая пачка из batchSize переводов записывается вместе со своей контрольной точкой.
+ * batchSize не больше 1000, предела выборки по диапазону в transfer-app.
+ * Задание закрепляется за экземпляром сервиса на lease и продлевается раз в antifraud.rescoring.heartbeat-interval,
+ * задание без продления забирает другой экземпляр.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "antifraud.rescoring")
+public class RescoringProperties {
+
+    private int threads = 4;
+    private long partitionSize = 100_000;
+    private int batchSize = 1_000;
+    private Duration lease = Duration.ofMinutes(2);
+}
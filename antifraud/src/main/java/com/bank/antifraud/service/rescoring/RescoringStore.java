@@ -0,0 +1,108 @@
+package com.bank.antifraud.service.rescoring;
+
+import com.bank.antifraud.client.TransferClient;
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter.SuspiciousTransfer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Чтение переводов через transfer-app и пакетная запись результатов повторной оценки.
+ * Схема transfer принадлежит transfer-app, напрямую она не читается.
+ * Запись это upsert по id перевода: уже заблокированный перевод остается заблокированным
+ * со своей причиной, подозрительность и ее причина берутся из новой оценки.
+ * Переводы, которые новая оценка пропустила, не трогаются, чтобы не затирать решения аналитиков.
+ */
+@Component
+public class RescoringStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransferClient transferClient;
+    private final Map<TransferType, Statements> statements = new EnumMap<>(TransferType.class);
+
+    public RescoringStore(JdbcTemplate jdbcTemplate, TransferClient transferClient) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transferClient = transferClient;
+        statements.put(TransferType.ACCOUNT, Statements.of("account", false));
+        statements.put(TransferType.CARD, Statements.of("card", true));
+        statements.put(TransferType.PHONE, Statements.of("phone", true));
+    }
+
+    /**
+     * @param type вид перевода
+     * @return наибольший id перевода или 0, если переводов нет
+     */
+    public long findLastTransferId(TransferType type) {
+        return transferClient.readLastId(path(type));
+    }
+
+    /**
+     * @param type  вид перевода
+     * @param after id, после которого читать
+     * @param upTo  последний id диапазона
+     * @param limit сколько переводов читать
+     * @return переводы с id в (after, upTo] по возрастанию id
+     */
+    public List<TransferScoringDto> findTransfers(TransferType type, long after, long upTo, int limit) {
+        return transferClient.readRange(path(type), after, upTo, limit).stream()
+                .map(transfer -> new TransferScoringDto(transfer.getId(), type, transfer.getAccountDetailsId(),
+                        transfer.getNumber(), transfer.getAmount()))
+                .toList();
+    }
+
+    /**
+     * @param type      вид перевода
+     * @param transfers подозрительные переводы этого вида
+     */
+    public void upsert(TransferType type, List<SuspiciousTransfer> transfers) {
+        final Statements typeStatements = statements.get(type);
+        if (!transfers.isEmpty()) {
+            jdbcTemplate.batchUpdate(typeStatements.upsert(), transfers, transfers.size(),
+                    (statement, transfer) -> bind(statement, transfer, typeStatements.withNumber()));
+        }
+    }
+
+    private static String path(TransferType type) {
+        return type.name().toLowerCase();
+    }
+
+    private void bind(PreparedStatement statement, SuspiciousTransfer transfer, boolean withNumber)
+            throws SQLException {
+        statement.setLong(1, transfer.transferId());
+        statement.setBoolean(2, transfer.blocked());
+        statement.setString(3, transfer.blocked() ? transfer.reason() : null);
+        statement.setString(4, transfer.reason());
+        if (withNumber) {
+            statement.setObject(5, transfer.number(), Types.BIGINT);
+        }
+    }
+
+    /**
+     * Запросы для одного вида перевода, таблицы называются по префиксу вида.
+     * Номер получателя хранится только у переводов по карте и телефону.
+     */
+    private record Statements(String upsert, boolean withNumber) {
+
+        static Statements of(String prefix, boolean withNumber) {
+            return new Statements("INSERT INTO anti_fraud.suspicious_" + prefix + "_transfer AS s (" + prefix +
+                    "_transfer_id, is_blocked, is_suspicious, blocked_reason, suspicious_reason" +
+                    (withNumber ? ", " + prefix + "_number) VALUES (?, ?, true, ?, ?, ?) " :
+                            ") VALUES (?, ?, true, ?, ?) ") +
+                    "ON CONFLICT (" + prefix + "_transfer_id) DO UPDATE SET is_suspicious = true, " +
+                    "suspicious_reason = EXCLUDED.suspicious_reason, " +
+                    "blocked_reason = CASE WHEN s.is_blocked THEN s.blocked_reason " +
+                    "ELSE EXCLUDED.blocked_reason END, " +
+                    (withNumber ? prefix + "_number = COALESCE(s." + prefix + "_number, EXCLUDED." +
+                            prefix + "_number), " : "") +
+                    "is_blocked = s.is_blocked OR EXCLUDED.is_blocked", withNumber);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.bank.antifraud.service.rescoring;
+
+import com.bank.antifraud.dto.ScoringDecision;
+import com.bank.antifraud.dto.ScoringResultDto;
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.RescoringPartitionEntity;
+import com.bank.antifraud.repository.RescoringPartitionRepository;
+import com.bank.antifraud.service.FraudScoringService;
+import com.bank.antifraud.service.blocklist.PayeeBlockChangedEvent;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter.SuspiciousTransfer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Оценка одной пачки переводов диапазона.
+ * Результаты пачки и новая контрольная точка диапазона пишутся в одной транзакции,
+ * поэтому после перезапуска пачка либо уже записана целиком, либо оценивается заново.
+ * Оцененные и подозрительные переводы считаются в antifraud.rescoring.processed и
+ * antifraud.rescoring.flagged с тегом type.
+ */
+@Component
+public class RescoringWorker {
+
+    private static final String REASON_SEPARATOR = "; ";
+    private static final String TYPE_TAG = "type";
+
+    private final RescoringStore store;
+    private final FraudScoringService scoringService;
+    private final RescoringPartitionRepository partitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher publisher;
+    private final RescoringProperties properties;
+    private final Map<TransferType, Counter> processed = new EnumMap<>(TransferType.class);
+    private final Map<TransferType, Counter> flagged = new EnumMap<>(TransferType.class);
+
+    public RescoringWorker(RescoringStore store, FraudScoringService scoringService,
+                           RescoringPartitionRepository partitionRepository, TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher publisher, RescoringProperties properties,
+                           MeterRegistry registry) {
+        this.store = store;
+        this.scoringService = scoringService;
+        this.partitionRepository = partitionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.publisher = publisher;
+        this.properties = properties;
+        for (TransferType type : TransferType.values()) {
+            final String tag = type.name().toLowerCase();
+            processed.put(type, registry.counter("antifraud.rescoring.processed", TYPE_TAG, tag));
+            flagged.put(type, registry.counter("antifraud.rescoring.flagged", TYPE_TAG, tag));
+        }
+    }
+
+    /**
+     * @param partition диапазон
+     * @param after     контрольная точка, после которой читать переводы
+     * @return {@link RescoringBatch} с новой контрольной точкой, она равна toId, когда диапазон пройден
+     */
+    public RescoringBatch processBatch(RescoringPartitionEntity partition, long after) {
+        final TransferType type = partition.getTransferType();
+        final List<TransferScoringDto> transfers = store.findTransfers(type, after, partition.getToId(),
+                properties.getBatchSize());
+
+        final List<SuspiciousTransfer> suspicious = new ArrayList<>();
+        for (TransferScoringDto transfer : transfers) {
+            final ScoringResultDto result = scoringService.rescore(transfer);
+            if (result.getDecision() != ScoringDecision.ALLOW) {
+                suspicious.add(new SuspiciousTransfer(type, transfer.getTransferId(), transfer.getNumber(),
+                        result.getDecision() == ScoringDecision.BLOCK,
+                        String.join(REASON_SEPARATOR, result.getReasons())));
+            }
+        }
+
+        final long lastRead = transfers.isEmpty() ? after : transfers.get(transfers.size() - 1).getTransferId();
+        final boolean finished = transfers.size() < properties.getBatchSize() || lastRead >= partition.getToId();
+        final long lastId = finished ? partition.getToId() : lastRead;
+        transactionTemplate.executeWithoutResult(status -> {
+            store.upsert(type, suspicious);
+            partitionRepository.checkpoint(partition.getId(), lastId, transfers.size(), suspicious.size(), finished);
+            publishBlocked(type, suspicious);
+        });
+        processed.get(type).increment(transfers.size());
+        flagged.get(type).increment(suspicious.size());
+
+        return new RescoringBatch(lastId, transfers.size(), suspicious.size());
+    }
+
+    private void publishBlocked(TransferType type, List<SuspiciousTransfer> suspicious) {
+        if (type == TransferType.ACCOUNT) {
+            return;
+        }
+        for (SuspiciousTransfer transfer : suspicious) {
+            if (transfer.blocked()) {
+                publisher.publishEvent(new PayeeBlockChangedEvent(type, transfer.transferId(), transfer.number()));
+            }
+        }
+    }
+
+    /**
+     * @param lastId    контрольная точка после пачки
+     * @param processed сколько переводов оценено
+     * @param flagged   сколько из них подозрительных
+     */
+    public record RescoringBatch(long lastId, int processed, int flagged) {
+    }
+}
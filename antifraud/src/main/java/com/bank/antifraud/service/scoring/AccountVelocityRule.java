@@ -0,0 +1,37 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferScoringDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Слишком много переводов с одного счёта за окно.
+ */
+@Component
+@ConditionalOnProperty(prefix = "antifraud.scoring.account-velocity", name = "enabled", matchIfMissing = true)
+public class AccountVelocityRule implements ScoringRule {
+
+    private final ScoringProperties.Velocity properties;
+    private final SlidingWindowCounter counter;
+
+    public AccountVelocityRule(ScoringProperties properties) {
+        this.properties = properties.getAccountVelocity();
+        this.counter = new SlidingWindowCounter(this.properties.getWindow(), this.properties.getBuckets());
+    }
+
+    @Override
+    public RuleHit evaluate(TransferScoringDto transfer, long now) {
+        final long transfers = counter.add(transfer.getAccountDetailsId(), now);
+        if (transfers <= properties.getMaxTransfers()) {
+            return null;
+        }
+
+        return new RuleHit(properties.getScore(), "С одного счёта " + transfers + " переводов за " +
+                properties.getWindow());
+    }
+
+    @Override
+    public int evictIdle(long now) {
+        return counter.evictIdle(now);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferScoringDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Сумма перевода не меньше порога, срабатывает наибольший из превышенных порогов.
+ */
+@Component
+@ConditionalOnProperty(prefix = "antifraud.scoring.amount", name = "enabled", matchIfMissing = true)
+public class AmountThresholdRule implements ScoringRule {
+
+    private final List<ScoringProperties.AmountThreshold> thresholds;
+
+    public AmountThresholdRule(ScoringProperties properties) {
+        this.thresholds = properties.getAmount().getThresholds().stream()
+                .sorted(Comparator.comparing(ScoringProperties.AmountThreshold::getAmount).reversed())
+                .toList();
+    }
+
+    @Override
+    public RuleHit evaluate(TransferScoringDto transfer, long now) {
+        for (ScoringProperties.AmountThreshold threshold : thresholds) {
+            if (transfer.getAmount().compareTo(threshold.getAmount()) >= 0) {
+                return new RuleHit(threshold.getScore(), "Сумма перевода не меньше " +
+                        threshold.getAmount().toPlainString());
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean stateless() {
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.service.blocklist.PayeeBlocklist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Перевод на заблокированный номер карты или телефона блокируется сразу.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "antifraud.scoring.blocklist", name = "enabled", matchIfMissing = true)
+public class BlocklistRule implements ScoringRule {
+
+    private static final String REASON = "Номер получателя заблокирован";
+
+    private final PayeeBlocklist blocklist;
+    private final ScoringProperties properties;
+
+    @Override
+    public RuleHit evaluate(TransferScoringDto transfer, long now) {
+        if (!blocklist.isBlocked(transfer.getTransferType(), transfer.getNumber())) {
+            return null;
+        }
+
+        return new RuleHit(properties.getBlockScore(), REASON);
+    }
+
+    @Override
+    public boolean stateless() {
+        return true;
+    }
+}
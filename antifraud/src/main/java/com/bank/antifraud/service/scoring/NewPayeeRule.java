@@ -0,0 +1,41 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferScoringDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Крупный перевод получателю, которому с этого счёта не переводили за окно.
+ * Переводы любой суммы учитываются, чтобы получатель перестал быть новым.
+ */
+@Component
+@ConditionalOnProperty(prefix = "antifraud.scoring.new-payee", name = "enabled", matchIfMissing = true)
+public class NewPayeeRule implements ScoringRule {
+
+    private static final String REASON = "Крупный перевод новому получателю";
+
+    private final ScoringProperties.NewPayee properties;
+    private final SlidingWindowCounter counter;
+
+    public NewPayeeRule(ScoringProperties properties) {
+        this.properties = properties.getNewPayee();
+        this.counter = new SlidingWindowCounter(this.properties.getWindow(), this.properties.getBuckets());
+    }
+
+    @Override
+    public RuleHit evaluate(TransferScoringDto transfer, long now) {
+        final long key = ScoringKeys.mix(transfer.getAccountDetailsId(),
+                ScoringKeys.mix(transfer.getTransferType().ordinal(), transfer.getNumber()));
+        final boolean newPayee = counter.add(key, now) == 1;
+        if (!newPayee || transfer.getAmount().compareTo(properties.getMinAmount()) < 0) {
+            return null;
+        }
+
+        return new RuleHit(properties.getScore(), REASON);
+    }
+
+    @Override
+    public int evictIdle(long now) {
+        return counter.evictIdle(now);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferScoringDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Слишком много переводов на один номер счёта, карты или телефона за окно.
+ */
+@Component
+@ConditionalOnProperty(prefix = "antifraud.scoring.payee-velocity", name = "enabled", matchIfMissing = true)
+public class PayeeVelocityRule implements ScoringRule {
+
+    private final ScoringProperties.Velocity properties;
+    private final SlidingWindowCounter counter;
+
+    public PayeeVelocityRule(ScoringProperties properties) {
+        this.properties = properties.getPayeeVelocity();
+        this.counter = new SlidingWindowCounter(this.properties.getWindow(), this.properties.getBuckets());
+    }
+
+    @Override
+    public RuleHit evaluate(TransferScoringDto transfer, long now) {
+        final long transfers = counter.add(
+                ScoringKeys.mix(transfer.getTransferType().ordinal(), transfer.getNumber()), now);
+        if (transfers <= properties.getMaxTransfers()) {
+            return null;
+        }
+
+        return new RuleHit(properties.getScore(), "На один номер " + transfers + " переводов за " +
+                properties.getWindow());
+    }
+
+    @Override
+    public int evictIdle(long now) {
+        return counter.evictIdle(now);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bank.antifraud.service.scoring;
+
+/**
+ * Сработавшее правило.
+ *
+ * @param score  баллы риска
+ * @param reason причина для suspicious_reason
+ */
+public record RuleHit(int score, String reason) {
+}
@@ -0,0 +1,30 @@
+package com.bank.antifraud.service.scoring;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Периодически удаляет из счетчиков правил ключи без событий дольше окна правила,
+ * чтобы память счетчиков зависела от активных счетов и номеров, а не от всех когда-либо виденных.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScoringCounterEvictionJob {
+
+    private final List<ScoringRule> rules;
+
+    @Scheduled(fixedDelayString = "${antifraud.scoring.eviction-interval:PT1M}")
+    public void evictIdle() {
+        final long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (ScoringRule rule : rules) {
+            evicted += rule.evictIdle(now);
+        }
+        log.debug("Из счетчиков антифрода удалено {} неактивных ключей", evicted);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bank.antifraud.service.scoring;
+
+/**
+ * Ключи счетчиков из нескольких long.
+ */
+final class ScoringKeys {
+
+    private ScoringKeys() {
+    }
+
+    /**
+     * Перемешивает два значения в один ключ финализатором MurmurHash3, совпадения ключей
+     * разных пар настолько редки, что на оценку не влияют.
+     */
+    static long mix(long first, long second) {
+        long hash = first * 0x9E3779B97F4A7C15L + second;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
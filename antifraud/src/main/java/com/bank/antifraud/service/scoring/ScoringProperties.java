@@ -0,0 +1,110 @@
+package com.bank.antifraud.service.scoring;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки оценки переводов. Баллы сработавших правил складываются,
+ * итог сравнивается с flagScore и blockScore.
+ * Правило выключается свойством enabled=false в своем разделе.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "antifraud.scoring")
+public class ScoringProperties {
+
+    private int flagScore = 50;
+    private int blockScore = 100;
+
+    /**
+     * Размер очереди записи подозрительных переводов, при переполнении записи отбрасываются.
+     */
+    private int queueCapacity = 10_000;
+    private int batchSize = 100;
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Переводы с одного счёта отправителя.
+     */
+    private Velocity accountVelocity = new Velocity(Duration.ofMinutes(1), 60, 5, 60);
+
+    /**
+     * Переводы на один номер получателя, для каждого вида перевода отдельно.
+     */
+    private Velocity payeeVelocity = new Velocity(Duration.ofHours(1), 60, 10, 60);
+
+    private NewPayee newPayee = new NewPayee();
+
+    private Amount amount = new Amount();
+
+    /**
+     * Правило: больше maxTransfers переводов за window.
+     */
+    @Getter
+    @Setter
+    public static class Velocity {
+        private Duration window;
+        private int buckets;
+        private long maxTransfers;
+        private int score;
+
+        public Velocity() {
+        }
+
+        public Velocity(Duration window, int buckets, long maxTransfers, int score) {
+            this.window = window;
+            this.buckets = buckets;
+            this.maxTransfers = maxTransfers;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Правило: перевод от minAmount получателю, которому со счёта не переводили за window.
+     */
+    @Getter
+    @Setter
+    public static class NewPayee {
+        private Duration window = Duration.ofDays(30);
+        private int buckets = 30;
+        private BigDecimal minAmount = new BigDecimal("10000");
+        private int score = 40;
+    }
+
+    /**
+     * Правило: сумма перевода не меньше порога, срабатывает наибольший из превышенных порогов.
+     */
+    @Getter
+    @Setter
+    public static class Amount {
+        private List<AmountThreshold> thresholds = new ArrayList<>(List.of(
+                new AmountThreshold(new BigDecimal("100000"), 50),
+                new AmountThreshold(new BigDecimal("1000000"), 100)));
+    }
+
+    /**
+     * Порог суммы и его баллы.
+     */
+    @Getter
+    @Setter
+    public static class AmountThreshold {
+        private BigDecimal amount;
+        private int score;
+
+        public AmountThreshold() {
+        }
+
+        public AmountThreshold(BigDecimal amount, int score) {
+            this.amount = amount;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferScoringDto;
+
+/**
+ * Правило оценки перевода.
+ */
+public interface ScoringRule {
+
+    /**
+     * Учитывает перевод в счетчиках правила и оценивает его. Вызывается для каждого перевода,
+     * даже если решение уже понятно по другим правилам, иначе счетчики разойдутся с потоком переводов.
+     *
+     * @param transfer перевод
+     * @param now      текущее время в миллисекундах
+     * @return {@link RuleHit} или null, если правило не сработало
+     */
+    RuleHit evaluate(TransferScoringDto transfer, long now);
+
+    /**
+     * Удаляет счетчики ключей без событий дольше окна правила.
+     *
+     * @param now текущее время в миллисекундах
+     * @return количество удаленных ключей
+     */
+    default int evictIdle(long now) {
+        return 0;
+    }
+
+    /**
+     * Правила со счетчиками зависят от потока переводов в реальном времени, поэтому
+     * при повторной оценке старых переводов применяются только правила без состояния.
+     *
+     * @return true, если правило не ведет счетчиков
+     */
+    default boolean stateless() {
+        return false;
+    }
+}
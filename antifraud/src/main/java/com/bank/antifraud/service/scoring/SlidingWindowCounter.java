@@ -0,0 +1,334 @@
+package com.bank.antifraud.service.scoring;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Счетчик событий по ключу long в скользящем окне без блокировок.
+ * Окно делится на корзины одинаковой длины, счетчик ключа это кольцо корзин, поэтому
+ * точность окна равна длине корзины. Ключи лежат в открытой хеш-таблице из примитивных массивов,
+ * корзина хранит номер интервала и счетчик в одном long и меняется CAS, так что событие
+ * не создает объектов. Объект кольца создается один раз на новый ключ.
+ * Таблица растет и чистится копированием: старая таблица запечатывается, кольца переносятся ссылками,
+ * поэтому события, пришедшие во время копирования, не теряются. Ключ без событий дольше окна
+ * удаляется {@link #evictIdle(long)}, событие, совпавшее с удалением своего ключа, может потеряться.
+ */
+public class SlidingWindowCounter {
+
+    private static final int DEFAULT_EXPECTED_KEYS = 1 << 10;
+    private static final long EMPTY = 0L;
+    private static final long SEALED = Long.MIN_VALUE;
+
+    private final long bucketMillis;
+    private final int buckets;
+
+    /**
+     * Кольца ключей EMPTY и SEALED, которые нельзя положить в таблицу.
+     */
+    private final Window emptyKey;
+    private final Window sealedKey;
+
+    private volatile Table table;
+
+    /**
+     * @param window  длина окна
+     * @param buckets на сколько корзин делится окно
+     */
+    public SlidingWindowCounter(Duration window, int buckets) {
+        this(window, buckets, DEFAULT_EXPECTED_KEYS);
+    }
+
+    /**
+     * @param window       длина окна
+     * @param buckets      на сколько корзин делится окно
+     * @param expectedKeys сколько ключей ожидается, чтобы таблице не пришлось расти
+     */
+    public SlidingWindowCounter(Duration window, int buckets, int expectedKeys) {
+        this.bucketMillis = Math.max(1, window.toMillis() / buckets);
+        this.buckets = buckets;
+        this.emptyKey = new Window(buckets);
+        this.sealedKey = new Window(buckets);
+        this.table = new Table(Integer.highestOneBit(Math.max(expectedKeys, 1) * 4 - 1), buckets);
+    }
+
+    /**
+     * @param key ключ счетчика
+     * @param now текущее время в миллисекундах
+     * @return количество событий ключа в окне вместе с этим
+     */
+    public long add(long key, long now) {
+        final int epoch = epoch(now);
+        if (key == EMPTY || key == SEALED) {
+            return (key == EMPTY ? emptyKey : sealedKey).add(epoch);
+        }
+
+        Table current = table;
+        Window window = window(current, key, null);
+        long count = window.add(epoch);
+        // таблицу могли заменить, пока мы добавляли ключ, тогда кольцо переносится в новую таблицу
+        while (table != current) {
+            current = table;
+            final Window moved = window(current, key, window);
+            if (moved != window) {
+                window = moved;
+                count = window.add(epoch);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @param key ключ счетчика
+     * @param now текущее время в миллисекундах
+     * @return количество событий ключа в окне
+     */
+    public long count(long key, long now) {
+        if (key == EMPTY || key == SEALED) {
+            return (key == EMPTY ? emptyKey : sealedKey).count(epoch(now));
+        }
+
+        Table current = table;
+        int slot = current.find(key);
+        while (slot == Table.SEALED_SLOT) {
+            current = awaitReplacement(current);
+            slot = current.find(key);
+        }
+        final Window window = slot < 0 ? null : current.windows.get(slot);
+
+        return window == null ? 0 : window.count(epoch(now));
+    }
+
+    /**
+     * @param now текущее время в миллисекундах
+     * @return количество удаленных ключей
+     */
+    public synchronized int evictIdle(long now) {
+        final Table current = table;
+        final int before = current.size.get();
+        table = current.copy(current.windows.length(), epoch(now));
+
+        return before - table.size.get();
+    }
+
+    /**
+     * @return количество ключей в таблице
+     */
+    public int size() {
+        return table.size.get();
+    }
+
+    private synchronized void grow(Table full) {
+        if (table == full) {
+            table = full.copy(full.windows.length() * 2, Integer.MIN_VALUE);
+        }
+    }
+
+    /**
+     * @param candidate кольцо, которое кладется для отсутствующего ключа, null чтобы создать новое
+     * @return кольцо ключа в таблице, которая действует после вызова
+     */
+    private Window window(Table start, long key, Window candidate) {
+        Table current = start;
+        while (true) {
+            final Window window = current.getOrInsert(key, candidate);
+            if (window != null) {
+                return window;
+            }
+            if (current.sealed) {
+                current = awaitReplacement(current);
+            } else {
+                grow(current);
+                current = table;
+            }
+        }
+    }
+
+    private Table awaitReplacement(Table sealed) {
+        Table current = table;
+        while (current == sealed) {
+            Thread.onSpinWait();
+            current = table;
+        }
+
+        return current;
+    }
+
+    private int epoch(long now) {
+        return (int) (now / bucketMillis);
+    }
+
+    /**
+     * Открытая адресация с линейным пробированием. Ключ занимает слот CAS из EMPTY и больше
+     * не удаляется, удаление делается копированием в новую таблицу.
+     */
+    private static final class Table {
+
+        static final int SEALED_SLOT = -2;
+        private static final int MISSING = -1;
+
+        final AtomicLongArray keys;
+        final AtomicReferenceArray<Window> windows;
+        final AtomicInteger size = new AtomicInteger();
+        final int mask;
+        final int limit;
+        final int buckets;
+
+        volatile boolean sealed;
+
+        Table(int capacity, int buckets) {
+            this.keys = new AtomicLongArray(capacity);
+            this.windows = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+            this.limit = capacity / 2;
+            this.buckets = buckets;
+        }
+
+        /**
+         * @return кольцо ключа или null, если таблица заполнена или запечатана
+         */
+        Window getOrInsert(long key, Window candidate) {
+            int slot = index(key);
+            while (true) {
+                final long current = keys.get(slot);
+                if (current == key) {
+                    return windowAt(slot, candidate);
+                }
+                if (current == SEALED) {
+                    return null;
+                }
+                if (current == EMPTY) {
+                    if (size.get() >= limit) {
+                        return null;
+                    }
+                    if (keys.compareAndSet(slot, EMPTY, key)) {
+                        size.incrementAndGet();
+                        return windowAt(slot, candidate);
+                    }
+                    continue;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        /**
+         * @return слот ключа, MISSING или SEALED_SLOT, если таблица запечатана
+         */
+        int find(long key) {
+            int slot = index(key);
+            for (int probes = 0; probes <= mask; probes++) {
+                final long current = keys.get(slot);
+                if (current == key) {
+                    return slot;
+                }
+                if (current == EMPTY) {
+                    return MISSING;
+                }
+                if (current == SEALED) {
+                    return SEALED_SLOT;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return sealed ? SEALED_SLOT : MISSING;
+        }
+
+        /**
+         * Запечатывает свободные слоты и переносит кольца в новую таблицу.
+         * Кольца без событий в окне на эпоху epoch не переносятся, Integer.MIN_VALUE переносит все.
+         */
+        Table copy(int capacity, int epoch) {
+            sealed = true;
+            final Table copy = new Table(capacity, buckets);
+            for (int slot = 0; slot < keys.length(); slot++) {
+                long key = keys.get(slot);
+                while (key == EMPTY && !keys.compareAndSet(slot, EMPTY, SEALED)) {
+                    key = keys.get(slot);
+                }
+                if (key == EMPTY) {
+                    continue;
+                }
+                final Window window = windowAt(slot, null);
+                if (epoch == Integer.MIN_VALUE || !window.idle(epoch)) {
+                    copy.put(key, window);
+                }
+            }
+
+            return copy;
+        }
+
+        private void put(long key, Window window) {
+            int slot = index(key);
+            while (keys.get(slot) != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys.set(slot, key);
+            windows.set(slot, window);
+            size.incrementAndGet();
+        }
+
+        /**
+         * Ключ занимается раньше, чем публикуется его кольцо, поэтому кольцо может еще отсутствовать,
+         * тогда его создает первый, кто до него дошел.
+         */
+        private Window windowAt(int slot, Window candidate) {
+            final Window window = windows.get(slot);
+            if (window != null) {
+                return window;
+            }
+            final Window created = candidate != null ? candidate : new Window(buckets);
+
+            return windows.compareAndSet(slot, null, created) ? created : windows.get(slot);
+        }
+
+        private int index(long key) {
+            return (int) ScoringKeys.mix(key, 0) & mask;
+        }
+    }
+
+    /**
+     * Кольцо корзин одного ключа. В корзине лежат номер интервала в старших 32 битах и счетчик
+     * в младших, устаревшая корзина обнуляется тем же CAS, что добавляет событие.
+     */
+    private static final class Window {
+
+        private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+        private final AtomicLongArray cells;
+
+        Window(int buckets) {
+            this.cells = new AtomicLongArray(buckets);
+        }
+
+        long add(int epoch) {
+            final int bucket = Math.floorMod(epoch, cells.length());
+            long cell;
+            long next;
+            do {
+                cell = cells.get(bucket);
+                next = (int) (cell >>> 32) == epoch ? cell + 1 : ((long) epoch << 32) | 1;
+            } while (!cells.compareAndSet(bucket, cell, next));
+
+            return count(epoch);
+        }
+
+        long count(int epoch) {
+            long total = 0;
+            for (int i = 0; i < cells.length(); i++) {
+                final long cell = cells.get(i);
+                final int age = epoch - (int) (cell >>> 32);
+                if (age >= 0 && age < cells.length()) {
+                    total += cell & COUNT_MASK;
+                }
+            }
+
+            return total;
+        }
+
+        boolean idle(int epoch) {
+            return count(epoch) == 0;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.bank.antifraud.service.scoring;
+
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
+import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
+import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
+import com.bank.antifraud.repository.SuspiciousAccountTransferRepository;
+import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
+import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
+import com.bank.antifraud.service.blocklist.PayeeBlockChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронная запись подозрительных переводов.
+ * Оценка только кладет {@link SuspiciousTransfer} в ограниченную очередь и не ждет базу,
+ * отдельный поток сохраняет пачку в одной транзакции. При переполнении очереди запись отбрасывается,
+ * решение по переводу при этом уже отдано вызывающему.
+ * Заблокированный перевод по карте или телефону публикует {@link PayeeBlockChangedEvent}.
+ */
+@Slf4j
+@Component
+public class SuspiciousTransferWriter {
+
+    private final SuspiciousAccountTransferRepository accountRepository;
+    private final SuspiciousCardTransferRepository cardRepository;
+    private final SuspiciousPhoneTransferRepository phoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScoringProperties properties;
+    private final ApplicationEventPublisher publisher;
+    private final BlockingQueue<SuspiciousTransfer> queue;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread worker;
+
+    private volatile boolean running;
+
+    public SuspiciousTransferWriter(SuspiciousAccountTransferRepository accountRepository,
+                                    SuspiciousCardTransferRepository cardRepository,
+                                    SuspiciousPhoneTransferRepository phoneRepository,
+                                    TransactionTemplate transactionTemplate, ScoringProperties properties,
+                                    ApplicationEventPublisher publisher, MeterRegistry registry) {
+        this.accountRepository = accountRepository;
+        this.cardRepository = cardRepository;
+        this.phoneRepository = phoneRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.publisher = publisher;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.dropped = registry.counter("antifraud.suspicious.dropped");
+        this.failed = registry.counter("antifraud.suspicious.failed");
+        Gauge.builder("antifraud.suspicious.queue.depth", queue, BlockingQueue::size).register(registry);
+        this.worker = new Thread(this::run, "suspicious-transfer-writer");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * @param transfer подозрительный перевод
+     * @return false, если очередь переполнена и запись отброшена
+     */
+    public boolean submit(SuspiciousTransfer transfer) {
+        if (queue.offer(transfer)) {
+            return true;
+        }
+        dropped.increment();
+        log.warn("Очередь подозрительных переводов переполнена, перевод {} id = {} не записан",
+                transfer.type(), transfer.transferId());
+
+        return false;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(properties.getFlushInterval().multipliedBy(2).toMillis());
+        flushAll();
+    }
+
+    /**
+     * Синхронно сохраняет все, что лежит в очереди.
+     */
+    void flushAll() {
+        final List<SuspiciousTransfer> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                final SuspiciousTransfer first = queue.poll(properties.getFlushInterval().toMillis(),
+                        TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    final List<SuspiciousTransfer> batch = new ArrayList<>(properties.getBatchSize());
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getBatchSize() - 1);
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<SuspiciousTransfer> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::save));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось записать пачку из {} подозрительных переводов, пишем по одному", batch.size(), e);
+            batch.forEach(this::flushOne);
+        }
+    }
+
+    /**
+     * Повторная оценка того же перевода упирается в уникальный id перевода, это не должно
+     * откатывать остальные записи пачки.
+     */
+    private void flushOne(SuspiciousTransfer transfer) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> save(transfer));
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Не удалось записать подозрительный перевод {} id = {}", transfer.type(),
+                    transfer.transferId(), e);
+        }
+    }
+
+    private void save(SuspiciousTransfer transfer) {
+        final String blockedReason = transfer.blocked() ? transfer.reason() : null;
+
+        switch (transfer.type()) {
+            case ACCOUNT -> accountRepository.save(new SuspiciousAccountTransferEntity(null, transfer.transferId(),
+                    transfer.blocked(), true, blockedReason, transfer.reason()));
+            case CARD -> cardRepository.save(new SuspiciousCardTransferEntity(null, transfer.transferId(),
+                    transfer.blocked(), true, blockedReason, transfer.reason(), transfer.number()));
+            case PHONE -> phoneRepository.save(new SuspiciousPhoneTransferEntity(null, transfer.transferId(),
+                    transfer.blocked(), true, blockedReason, transfer.reason(), transfer.number()));
+            default -> throw new IllegalArgumentException("Неизвестный вид перевода " + transfer.type());
+        }
+        if (transfer.blocked() && transfer.type() != TransferType.ACCOUNT) {
+            publisher.publishEvent(new PayeeBlockChangedEvent(transfer.type(), transfer.transferId(),
+                    transfer.number()));
+        }
+    }
+
+    /**
+     * @param type       вид перевода
+     * @param transferId технический идентификатор перевода в сервисе transfer
+     * @param number     номер счёта, карты или телефона получателя
+     * @param blocked    заблокирован ли перевод
+     * @param reason     причины сработавших правил
+     */
+    public record SuspiciousTransfer(TransferType type, long transferId, Long number, boolean blocked,
+                                     String reason) {
+    }
+}
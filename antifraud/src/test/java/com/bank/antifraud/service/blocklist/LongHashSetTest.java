@@ -0,0 +1,73 @@
+package com.bank.antifraud.service.blocklist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongHashSetTest {
+
+    private static final int KEYS = 100_000;
+
+    private final LongHashSet set = new LongHashSet(4);
+
+    @Test
+    void add_ShouldKeepAllKeys_WhenTableGrows() {
+        for (long key = 1; key <= KEYS; key++) {
+            assertTrue(set.add(key * 7919));
+        }
+
+        assertEquals(KEYS, set.size());
+        for (long key = 1; key <= KEYS; key++) {
+            assertTrue(set.contains(key * 7919));
+            assertFalse(set.contains(key * 7919 + 1));
+        }
+    }
+
+    @Test
+    void remove_ShouldNotHideKeysBehindRemovedSlot() {
+        for (long key = 1; key <= KEYS; key++) {
+            set.add(key);
+        }
+        for (long key = 1; key <= KEYS; key += 2) {
+            assertTrue(set.remove(key));
+        }
+
+        assertEquals(KEYS / 2, set.size());
+        for (long key = 1; key <= KEYS; key++) {
+            assertEquals(key % 2 == 0, set.contains(key));
+        }
+        assertFalse(set.remove(1));
+    }
+
+    @Test
+    void add_ShouldReuseRemovedSlots() {
+        for (int round = 0; round < KEYS; round++) {
+            set.add(round + 1);
+            set.remove(round + 1);
+        }
+
+        assertEquals(0, set.size());
+        assertTrue(set.add(KEYS));
+        assertTrue(set.contains(KEYS));
+    }
+
+    @Test
+    void add_ShouldKeepReservedKeys() {
+        assertTrue(set.add(0L));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(0L));
+
+        final AtomicInteger visited = new AtomicInteger();
+        set.forEach(key -> visited.incrementAndGet());
+
+        assertEquals(2, set.size());
+        assertEquals(2, visited.get());
+        assertTrue(set.remove(Long.MIN_VALUE));
+        assertFalse(set.contains(Long.MIN_VALUE));
+        assertTrue(set.contains(0L));
+    }
+}
@@ -0,0 +1,140 @@
+package com.bank.antifraud.service.blocklist;
+
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
+import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PayeeBlocklistTest {
+
+    private static final long CARD = 4_276_000_000_000_001L;
+    private static final long PHONE = 79_001_234_567L;
+    private static final long TRANSFER_ID = 10L;
+    private static final int LOOKUPS = 1_000_000;
+
+    @Mock
+    private SuspiciousCardTransferRepository cardRepository;
+
+    @Mock
+    private SuspiciousPhoneTransferRepository phoneRepository;
+
+    @Mock
+    private PayeeNumberResolver resolver;
+
+    private final BlocklistProperties properties = new BlocklistProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private PayeeBlocklist blocklist;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties.setExpectedNumbers(10_000);
+        when(cardRepository.findBlockedCardNumbers()).thenReturn(List.of(CARD));
+        when(phoneRepository.findBlockedPhoneNumbers()).thenReturn(List.of(PHONE));
+        blocklist = new PayeeBlocklist(cardRepository, phoneRepository, resolver, properties, registry);
+        blocklist.rebuild();
+        // по одному моку: общий generic varargs для двух репозиториев дает unchecked предупреждение javac
+        clearInvocations(cardRepository);
+        clearInvocations(phoneRepository);
+        clearInvocations(resolver);
+    }
+
+    @Test
+    void isBlocked_ShouldFindNumbersLoadedOnRebuild() {
+        assertTrue(blocklist.isBlocked(TransferType.CARD, CARD));
+        assertTrue(blocklist.isBlocked(TransferType.PHONE, PHONE));
+        assertFalse(blocklist.isBlocked(TransferType.CARD, PHONE));
+        assertFalse(blocklist.isBlocked(TransferType.ACCOUNT, CARD));
+    }
+
+    @Test
+    void isBlocked_ShouldNotQueryDatabaseAndRarelyReachSet_WhenNumberIsNotBlocked() {
+        for (long number = 0; number < LOOKUPS; number++) {
+            assertFalse(blocklist.isBlocked(TransferType.CARD, CARD + 1 + number));
+        }
+
+        final double falsePositives = registry.counter("antifraud.blocklist.lookup", "result", "false_positive")
+                .count();
+        assertTrue(falsePositives < LOOKUPS * properties.getFalsePositiveRate(), "false positives " + falsePositives);
+        verifyNoInteractions(cardRepository, phoneRepository);
+    }
+
+    @Test
+    void rebuild_ShouldResolveMissingNumbers_BeforeReadingBlockedNumbers() {
+        blocklist.rebuild();
+
+        final InOrder order = inOrder(resolver, cardRepository);
+        order.verify(resolver).resolveBlocked(TransferType.CARD);
+        order.verify(cardRepository).findBlockedCardNumbers();
+        verify(resolver).resolveBlocked(TransferType.PHONE);
+    }
+
+    @Test
+    void onBlockChanged_ShouldBlockNumber_WhenTransferIsBlocked() {
+        when(resolver.resolve(TransferType.CARD, TRANSFER_ID)).thenReturn(Optional.of(CARD + 1));
+        when(cardRepository.isCardNumberBlocked(CARD + 1)).thenReturn(true);
+
+        blocklist.onBlockChanged(new PayeeBlockChangedEvent(TransferType.CARD, TRANSFER_ID, null));
+
+        assertTrue(blocklist.isBlocked(TransferType.CARD, CARD + 1));
+    }
+
+    @Test
+    void onBlockChanged_ShouldNotResolveNumber_WhenEventCarriesIt() {
+        when(phoneRepository.isPhoneNumberBlocked(PHONE)).thenReturn(true);
+
+        blocklist.onBlockChanged(new PayeeBlockChangedEvent(TransferType.PHONE, TRANSFER_ID, PHONE));
+
+        assertTrue(blocklist.isBlocked(TransferType.PHONE, PHONE));
+        verifyNoInteractions(resolver);
+    }
+
+    @Test
+    void onBlockChanged_ShouldUnblockNumber_WhenNoBlockedTransfersRemain() {
+        when(cardRepository.isCardNumberBlocked(CARD)).thenReturn(false);
+
+        blocklist.onBlockChanged(new PayeeBlockChangedEvent(TransferType.CARD, TRANSFER_ID, CARD));
+
+        assertFalse(blocklist.isBlocked(TransferType.CARD, CARD));
+    }
+
+    @Test
+    void onBlockChanged_ShouldKeepList_WhenNumberIsUnknown() {
+        when(resolver.resolve(TransferType.CARD, TRANSFER_ID)).thenReturn(Optional.empty());
+
+        blocklist.onBlockChanged(new PayeeBlockChangedEvent(TransferType.CARD, TRANSFER_ID, null));
+
+        assertTrue(blocklist.isBlocked(TransferType.CARD, CARD));
+        verify(cardRepository, never()).isCardNumberBlocked(anyLong());
+    }
+
+    @Test
+    void block_ShouldRebuildFilter_WhenCapacityIsExceeded() {
+        for (long number = 1; number <= properties.getExpectedNumbers() * 2L; number++) {
+            blocklist.block(TransferType.PHONE, PHONE + number);
+        }
+
+        for (long number = 1; number <= properties.getExpectedNumbers() * 2L; number++) {
+            assertTrue(blocklist.isBlocked(TransferType.PHONE, PHONE + number));
+        }
+        assertTrue(blocklist.isBlocked(TransferType.PHONE, PHONE));
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.antifraud.service.blocklist;
+
+import com.bank.antifraud.client.TransferClient;
+import com.bank.antifraud.dto.TransferDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.repository.SuspiciousCardTransferRepository;
+import com.bank.antifraud.repository.SuspiciousPhoneTransferRepository;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PayeeNumberResolverTest {
+
+    private static final long TRANSFER_ID = 10L;
+    private static final long MISSING_ID = 11L;
+    private static final long CARD = 4_276_000_000_000_001L;
+    private static final String CARD_PATH = "card";
+
+    @Mock
+    private SuspiciousCardTransferRepository cardRepository;
+
+    @Mock
+    private SuspiciousPhoneTransferRepository phoneRepository;
+
+    @Mock
+    private TransferClient transferClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PayeeNumberResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        resolver = new PayeeNumberResolver(cardRepository, phoneRepository, transferClient,
+                new BlocklistProperties(), transactionManager);
+    }
+
+    @Test
+    void resolve_ShouldNotCallTransferApp_WhenNumberIsStored() {
+        when(cardRepository.findCardNumber(TRANSFER_ID)).thenReturn(Optional.of(CARD));
+
+        assertEquals(Optional.of(CARD), resolver.resolve(TransferType.CARD, TRANSFER_ID));
+        verifyNoInteractions(transferClient);
+    }
+
+    @Test
+    void resolve_ShouldFetchAndStoreNumber_WhenNumberIsNotStored() {
+        when(cardRepository.findCardNumber(TRANSFER_ID)).thenReturn(Optional.empty());
+        when(transferClient.readAll(CARD_PATH, List.of(TRANSFER_ID))).thenReturn(List.of(transfer(TRANSFER_ID)));
+
+        assertEquals(Optional.of(CARD), resolver.resolve(TransferType.CARD, TRANSFER_ID));
+        verify(cardRepository).setCardNumber(TRANSFER_ID, CARD);
+    }
+
+    @Test
+    void resolveBlocked_ShouldReadOneByOne_WhenBatchHasMissingTransfer() {
+        when(cardRepository.findBlockedWithoutNumber(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(TRANSFER_ID, MISSING_ID));
+        when(transferClient.readAll(CARD_PATH, List.of(TRANSFER_ID, MISSING_ID))).thenThrow(notFound());
+        when(transferClient.read(CARD_PATH, TRANSFER_ID)).thenReturn(transfer(TRANSFER_ID));
+        when(transferClient.read(CARD_PATH, MISSING_ID)).thenThrow(notFound());
+
+        assertEquals(1, resolver.resolveBlocked(TransferType.CARD));
+        verify(cardRepository).setCardNumber(TRANSFER_ID, CARD);
+        verify(cardRepository).findBlockedWithoutNumber(eq(MISSING_ID), any(Pageable.class));
+    }
+
+    @Test
+    void resolveBlocked_ShouldNotFail_WhenTransferAppIsUnavailable() {
+        when(cardRepository.findBlockedWithoutNumber(eq(0L), any(Pageable.class))).thenReturn(List.of(TRANSFER_ID));
+        when(transferClient.readAll(anyString(), anyList())).thenThrow(new RetryableException(-1, "timeout",
+                Request.HttpMethod.GET, null, request()));
+
+        assertEquals(0, resolver.resolveBlocked(TransferType.CARD));
+        verify(cardRepository, never()).setCardNumber(anyLong(), anyLong());
+    }
+
+    private static TransferDto transfer(long id) {
+        return new TransferDto(id, CARD, BigDecimal.TEN, 1L);
+    }
+
+    private static FeignException notFound() {
+        return FeignException.errorStatus("TransferClient#readAll", Response.builder()
+                .status(404).request(request()).headers(Map.of()).build());
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "/api/transfer/card/read/all", Map.of(), new byte[0],
+                StandardCharsets.UTF_8, null);
+    }
+}
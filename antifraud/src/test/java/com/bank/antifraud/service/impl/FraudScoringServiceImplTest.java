@@ -0,0 +1,144 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.ScoringDecision;
+import com.bank.antifraud.dto.ScoringResultDto;
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.service.scoring.AccountVelocityRule;
+import com.bank.antifraud.service.scoring.AmountThresholdRule;
+import com.bank.antifraud.service.scoring.NewPayeeRule;
+import com.bank.antifraud.service.scoring.PayeeVelocityRule;
+import com.bank.antifraud.service.scoring.ScoringProperties;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter.SuspiciousTransfer;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Slf4j
+class FraudScoringServiceImplTest {
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final BigDecimal SMALL = new BigDecimal("100");
+
+    @Mock
+    private SuspiciousTransferWriter writer;
+
+    private final ScoringProperties properties = new ScoringProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FraudScoringServiceImpl scoringService;
+    private long transferId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scoringService = new FraudScoringServiceImpl(List.of(new AccountVelocityRule(properties),
+                new PayeeVelocityRule(properties), new NewPayeeRule(properties), new AmountThresholdRule(properties)),
+                properties, writer, registry);
+    }
+
+    @Test
+    void score_ShouldAllowAndWriteNothing_WhenNoRuleFires() {
+        final ScoringResultDto result = scoringService.score(transfer(ACCOUNT_ID, 100L, SMALL));
+
+        assertEquals(ScoringDecision.ALLOW, result.getDecision());
+        assertTrue(result.getReasons().isEmpty());
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    void score_ShouldFlag_WhenAccountVelocityIsExceeded() {
+        for (long i = 0; i < properties.getAccountVelocity().getMaxTransfers(); i++) {
+            assertEquals(ScoringDecision.ALLOW, scoringService.score(transfer(ACCOUNT_ID, 100L + i, SMALL))
+                    .getDecision());
+        }
+
+        final ScoringResultDto result = scoringService.score(transfer(ACCOUNT_ID, 200L, SMALL));
+
+        assertEquals(ScoringDecision.FLAG, result.getDecision());
+        final ArgumentCaptor<SuspiciousTransfer> captor = ArgumentCaptor.forClass(SuspiciousTransfer.class);
+        verify(writer).submit(captor.capture());
+        assertFalse(captor.getValue().blocked());
+        assertEquals(TransferType.CARD, captor.getValue().type());
+        assertEquals(200L, captor.getValue().number());
+    }
+
+    @Test
+    void score_ShouldBlock_WhenLargeAmountGoesToNewPayee() {
+        final ScoringResultDto result = scoringService.score(transfer(ACCOUNT_ID, 100L, new BigDecimal("1000000")));
+
+        assertEquals(ScoringDecision.BLOCK, result.getDecision());
+        assertEquals(2, result.getReasons().size());
+        final ArgumentCaptor<SuspiciousTransfer> captor = ArgumentCaptor.forClass(SuspiciousTransfer.class);
+        verify(writer).submit(captor.capture());
+        assertTrue(captor.getValue().blocked());
+    }
+
+    @Test
+    void score_ShouldNotTreatKnownPayeeAsNew() {
+        scoringService.score(transfer(ACCOUNT_ID, 100L, SMALL));
+
+        final ScoringResultDto result = scoringService.score(transfer(ACCOUNT_ID, 100L, new BigDecimal("50000")));
+
+        assertEquals(ScoringDecision.ALLOW, result.getDecision());
+    }
+
+    @Test
+    void rescore_ShouldApplyOnlyStatelessRulesAndWriteNothing() {
+        final ScoringResultDto result = scoringService.rescore(transfer(ACCOUNT_ID, 100L, new BigDecimal("1000000")));
+
+        assertEquals(ScoringDecision.BLOCK, result.getDecision());
+        assertEquals(1, result.getReasons().size());
+        assertEquals(ScoringDecision.ALLOW, scoringService.score(transfer(ACCOUNT_ID, 100L, SMALL)).getDecision());
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    void score_ShouldThrowValidation_WhenAmountIsMissing() {
+        assertThrows(ValidationException.class, () -> scoringService.score(transfer(ACCOUNT_ID, 100L, null)));
+    }
+
+    /**
+     * Задержка оценки зависит от машины, поэтому p99 из таймера antifraud.scoring только пишется в лог,
+     * проверяется, что каждая оценка дала решение и попала в таймер.
+     */
+    @Test
+    void score_ShouldRecordEveryDecision_UnderSustainedLoad() {
+        final int calls = 50_000;
+        for (int i = 0; i < calls; i++) {
+            assertNotNull(scoringService.score(transfer(i % 1_000, i % 5_000, SMALL)).getDecision());
+        }
+
+        final long recorded = registry.find("antifraud.scoring").timers().stream().mapToLong(Timer::count).sum();
+        assertEquals(calls, recorded);
+        registry.find("antifraud.scoring").timers().forEach(timer -> log.info("{}: {} оценок, p99 = {} мкс",
+                timer.getId().getTag("decision"), timer.count(),
+                Arrays.stream(timer.takeSnapshot().percentileValues())
+                        .mapToDouble(percentile -> percentile.value(TimeUnit.MICROSECONDS))
+                        .max().orElse(0)));
+    }
+
+    private TransferScoringDto transfer(long accountDetailsId, long number, BigDecimal amount) {
+        return new TransferScoringDto(++transferId, TransferType.CARD, accountDetailsId, number, amount);
+    }
+}
@@ -0,0 +1,191 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.RescoringJobDto;
+import com.bank.antifraud.dto.RescoringStatus;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.RescoringJobEntity;
+import com.bank.antifraud.entity.RescoringPartitionEntity;
+import com.bank.antifraud.repository.RescoringJobRepository;
+import com.bank.antifraud.repository.RescoringPartitionRepository;
+import com.bank.antifraud.service.common.ExceptionReturner;
+import com.bank.antifraud.service.rescoring.RescoringProperties;
+import com.bank.antifraud.service.rescoring.RescoringStore;
+import com.bank.antifraud.service.rescoring.RescoringWorker;
+import com.bank.antifraud.service.rescoring.RescoringWorker.RescoringBatch;
+import com.bank.common.exception.ValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RescoringServiceImplTest {
+
+    private static final long JOB_ID = 1L;
+    private static final long TIMEOUT = 5_000L;
+
+    @Mock
+    private RescoringJobRepository jobRepository;
+
+    @Mock
+    private RescoringPartitionRepository partitionRepository;
+
+    @Mock
+    private RescoringStore store;
+
+    @Mock
+    private RescoringWorker worker;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final RescoringProperties properties = new RescoringProperties();
+    private final RescoringJobEntity job = new RescoringJobEntity(JOB_ID, RescoringStatus.RUNNING, null, null,
+            null, null);
+    private RescoringServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties.setThreads(2);
+        properties.setPartitionSize(100);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(jobRepository.save(any())).thenReturn(job);
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(jobRepository.claim(eq(JOB_ID), anyString(), any(), any())).thenReturn(1);
+        when(jobRepository.finish(eq(JOB_ID), anyString(), any(), any())).thenReturn(1);
+        service = new RescoringServiceImpl(jobRepository, partitionRepository, store, worker, properties,
+                transactionTemplate, new ExceptionReturner(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_ShouldSplitTransfersIntoPartitionsAndFinishJob() {
+        when(store.findLastTransferId(TransferType.CARD)).thenReturn(250L);
+        final List<RescoringPartitionEntity> partitions = List.of(partition(0, 100, 0), partition(100, 200, 100),
+                partition(200, 250, 200));
+        when(partitionRepository.findAllByJobIdAndFinishedFalseOrderById(JOB_ID)).thenReturn(partitions);
+        when(worker.processBatch(any(), anyLong())).thenAnswer(invocation -> new RescoringBatch(
+                invocation.<RescoringPartitionEntity>getArgument(0).getToId(), 10, 1));
+
+        final RescoringJobDto started = service.start(Set.of(TransferType.CARD));
+
+        assertEquals(JOB_ID, started.getId());
+        final ArgumentCaptor<List<RescoringPartitionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(partitionRepository).saveAll(captor.capture());
+        assertEquals(List.of(100L, 200L, 250L), captor.getValue().stream().map(RescoringPartitionEntity::getToId)
+                .toList());
+        assertEquals(RescoringStatus.DONE, awaitCompletion());
+    }
+
+    @Test
+    void resumeInterrupted_ShouldContinueFromCheckpoint() {
+        when(jobRepository.findAllByStatus(RescoringStatus.RUNNING)).thenReturn(List.of(job));
+        final RescoringPartitionEntity partition = partition(100, 200, 150);
+        when(partitionRepository.findAllByJobIdAndFinishedFalseOrderById(JOB_ID)).thenReturn(List.of(partition));
+        when(worker.processBatch(partition, 150L)).thenReturn(new RescoringBatch(200L, 50, 0));
+
+        service.resumeInterrupted();
+
+        verify(worker, timeout(TIMEOUT)).processBatch(partition, 150L);
+        assertEquals(RescoringStatus.DONE, awaitCompletion());
+    }
+
+    @Test
+    void resumeInterrupted_ShouldSkipJob_WhenAnotherInstanceHoldsLease() {
+        when(jobRepository.findAllByStatus(RescoringStatus.RUNNING)).thenReturn(List.of(job));
+        when(jobRepository.claim(eq(JOB_ID), anyString(), any(), any())).thenReturn(0);
+
+        service.resumeInterrupted();
+
+        verify(partitionRepository, never()).findAllByJobIdAndFinishedFalseOrderById(JOB_ID);
+        verifyNoInteractions(worker);
+    }
+
+    @Test
+    void heartbeat_ShouldStopJobAtBatchBoundary_WhenLeaseIsLost() throws InterruptedException {
+        final RescoringPartitionEntity partition = partition(0, 100, 0);
+        when(partitionRepository.findAllByJobIdAndFinishedFalseOrderById(JOB_ID)).thenReturn(List.of(partition));
+        when(jobRepository.renew(eq(JOB_ID), anyString(), any())).thenReturn(0);
+        final CountDownLatch batchStarted = new CountDownLatch(1);
+        final CountDownLatch lostLease = new CountDownLatch(1);
+        when(worker.processBatch(any(), anyLong())).thenAnswer(invocation -> {
+            batchStarted.countDown();
+            lostLease.await();
+            return new RescoringBatch(50L, 50, 0);
+        });
+
+        service.resume(JOB_ID);
+        batchStarted.await();
+        service.heartbeat();
+        lostLease.countDown();
+
+        awaitCompletion();
+        verify(worker).processBatch(partition, 0L);
+    }
+
+    @Test
+    void start_ShouldFailJob_WhenPartitionThrows() {
+        when(store.findLastTransferId(TransferType.PHONE)).thenReturn(50L);
+        final RescoringPartitionEntity partition = partition(0, 50, 0);
+        when(partitionRepository.findAllByJobIdAndFinishedFalseOrderById(JOB_ID)).thenReturn(List.of(partition));
+        when(worker.processBatch(partition, 0L)).thenThrow(new IllegalStateException("нет соединения"));
+
+        service.start(Set.of(TransferType.PHONE));
+
+        assertEquals(RescoringStatus.FAILED, awaitCompletion());
+    }
+
+    @Test
+    void resume_ShouldThrowValidation_WhenJobIsDone() {
+        job.setStatus(RescoringStatus.DONE);
+
+        assertThrows(ValidationException.class, () -> service.resume(JOB_ID));
+    }
+
+    private RescoringStatus awaitCompletion() {
+        final ArgumentCaptor<RescoringStatus> captor = ArgumentCaptor.forClass(RescoringStatus.class);
+        verify(jobRepository, timeout(TIMEOUT)).finish(eq(JOB_ID), anyString(), captor.capture(), any());
+
+        return captor.getValue();
+    }
+
+    private static RescoringPartitionEntity partition(long from, long to, long last) {
+        return new RescoringPartitionEntity(from + 1, JOB_ID, TransferType.CARD, from, to, last, 0L, 0L, false);
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.antifraud.service.impl;
+
+import com.bank.antifraud.dto.SuspiciousTransferDto;
+import com.bank.antifraud.dto.SuspiciousTransferFilterDto;
+import com.bank.antifraud.dto.SuspiciousTransferPageDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.SuspiciousAccountTransferEntity;
+import com.bank.antifraud.entity.SuspiciousCardTransferEntity;
+import com.bank.antifraud.entity.SuspiciousPhoneTransferEntity;
+import com.bank.antifraud.mappers.SuspiciousAccountTransferMapperImpl;
+import com.bank.antifraud.mappers.SuspiciousCardTransferMapperImpl;
+import com.bank.antifraud.mappers.SuspiciousPhoneTransferMapperImpl;
+import com.bank.antifraud.repository.SuspiciousTransferSearchRepository;
+import com.bank.common.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class SuspiciousTransferSearchServiceImplTest {
+
+    private static final SuspiciousTransferFilterDto FILTER = new SuspiciousTransferFilterDto(true, null, null);
+
+    @Mock
+    private SuspiciousTransferSearchRepository repository;
+
+    private SuspiciousTransferSearchServiceImpl service;
+
+    private AutoCloseable mocks;
+
+    @BeforeEach
+    void setUp() {
+        mocks = MockitoAnnotations.openMocks(this);
+        service = new SuspiciousTransferSearchServiceImpl(repository, new SuspiciousAccountTransferMapperImpl(),
+                new SuspiciousCardTransferMapperImpl(), new SuspiciousPhoneTransferMapperImpl());
+
+        final List<SuspiciousAccountTransferEntity> accounts = List.of(
+                new SuspiciousAccountTransferEntity(1L, 11L, true, true, null, "account"),
+                new SuspiciousAccountTransferEntity(3L, 13L, true, true, null, "account"));
+        final List<SuspiciousCardTransferEntity> cards = List.of(
+                new SuspiciousCardTransferEntity(1L, 21L, true, true, null, "card", 4242L),
+                new SuspiciousCardTransferEntity(2L, 22L, true, true, null, "card", 4242L));
+        final List<SuspiciousPhoneTransferEntity> phones = List.of(
+                new SuspiciousPhoneTransferEntity(3L, 33L, true, true, null, "phone", 79001234567L));
+
+        when(repository.findPage(eq(SuspiciousAccountTransferEntity.class), any(), anyLong(), anyBoolean(), anyInt()))
+                .thenAnswer(invocation -> page(invocation, accounts, SuspiciousAccountTransferEntity::getId));
+        when(repository.findPage(eq(SuspiciousCardTransferEntity.class), any(), anyLong(), anyBoolean(), anyInt()))
+                .thenAnswer(invocation -> page(invocation, cards, SuspiciousCardTransferEntity::getId));
+        when(repository.findPage(eq(SuspiciousPhoneTransferEntity.class), any(), anyLong(), anyBoolean(), anyInt()))
+                .thenAnswer(invocation -> page(invocation, phones, SuspiciousPhoneTransferEntity::getId));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+        mocks.close();
+    }
+
+    @Test
+    void search_ShouldWalkAllTablesInIdAndTypeOrder_WhenFollowingCursor() {
+        final List<String> keys = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            final SuspiciousTransferPageDto page = service.search(FILTER, cursor, 2);
+            page.getContent().forEach(transfer -> keys.add(transfer.getType() + "-" + transfer.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of("ACCOUNT-1", "CARD-1", "CARD-2", "ACCOUNT-3", "PHONE-3"), keys);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void search_ShouldMapTransferIdOfEachType_WhenFirstPage() {
+        final SuspiciousTransferPageDto page = service.search(FILTER, null, 100);
+
+        assertEquals(List.of(11L, 21L, 22L, 13L, 33L),
+                page.getContent().stream().map(SuspiciousTransferDto::getTransferId).toList());
+        assertEquals(TransferType.PHONE, page.getContent().get(4).getType());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_ShouldThrowValidationException_WhenCursorIsMalformed() {
+        assertThrows(ValidationException.class, () -> service.search(FILTER, "bm90LWEtY3Vyc29y", 2));
+    }
+
+    @Test
+    void search_ShouldThrowValidationException_WhenSizeIsOutOfRange() {
+        assertThrows(ValidationException.class, () -> service.search(FILTER, null, 0));
+    }
+
+    /**
+     * Повторяет условие keyset-запроса: id после курсора, включительно для видов после вида курсора.
+     */
+    private static <E> List<E> page(InvocationOnMock invocation, List<E> rows, Function<E, Long> id) {
+        final long afterId = invocation.getArgument(2);
+        final boolean inclusive = invocation.getArgument(3);
+        final int limit = invocation.getArgument(4);
+
+        return rows.stream()
+                .filter(row -> inclusive ? id.apply(row) >= afterId : id.apply(row) > afterId)
+                .limit(limit)
+                .toList();
+    }
+}
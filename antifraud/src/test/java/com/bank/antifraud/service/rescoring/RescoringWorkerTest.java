@@ -0,0 +1,123 @@
+package com.bank.antifraud.service.rescoring;
+
+import com.bank.antifraud.dto.ScoringDecision;
+import com.bank.antifraud.dto.ScoringResultDto;
+import com.bank.antifraud.dto.TransferScoringDto;
+import com.bank.antifraud.dto.TransferType;
+import com.bank.antifraud.entity.RescoringPartitionEntity;
+import com.bank.antifraud.repository.RescoringPartitionRepository;
+import com.bank.antifraud.service.FraudScoringService;
+import com.bank.antifraud.service.blocklist.PayeeBlockChangedEvent;
+import com.bank.antifraud.service.scoring.SuspiciousTransferWriter.SuspiciousTransfer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RescoringWorkerTest {
+
+    private static final long PARTITION_ID = 7L;
+    private static final long TO_ID = 100L;
+    private static final long BLOCKED_ID = 12L;
+    private static final long NUMBER = 4242L;
+    private static final ScoringResultDto ALLOW = new ScoringResultDto(ScoringDecision.ALLOW, 0, List.of());
+    private static final ScoringResultDto BLOCK = new ScoringResultDto(ScoringDecision.BLOCK, 100, List.of("a", "b"));
+
+    @Mock
+    private RescoringStore store;
+
+    @Mock
+    private FraudScoringService scoringService;
+
+    @Mock
+    private RescoringPartitionRepository partitionRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    private final RescoringProperties properties = new RescoringProperties();
+    private final RescoringPartitionEntity partition = new RescoringPartitionEntity(PARTITION_ID, 1L,
+            TransferType.CARD, 0L, TO_ID, 0L, 0L, 0L, false);
+    private RescoringWorker worker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties.setBatchSize(3);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(scoringService.rescore(any())).thenAnswer(invocation ->
+                invocation.<TransferScoringDto>getArgument(0).getTransferId() == BLOCKED_ID ? BLOCK : ALLOW);
+        worker = new RescoringWorker(store, scoringService, partitionRepository, transactionTemplate, publisher,
+                properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processBatch_ShouldUpsertFlaggedAndCheckpointLastReadId_WhenBatchIsFull() {
+        when(store.findTransfers(TransferType.CARD, 10L, TO_ID, 3)).thenReturn(transfers(11, 12, 13));
+
+        final RescoringWorker.RescoringBatch batch = worker.processBatch(partition, 10L);
+
+        assertEquals(13L, batch.lastId());
+        assertEquals(3, batch.processed());
+        final ArgumentCaptor<List<SuspiciousTransfer>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store).upsert(eq(TransferType.CARD), captor.capture());
+        assertEquals(List.of(new SuspiciousTransfer(TransferType.CARD, BLOCKED_ID, NUMBER, true, "a; b")),
+                captor.getValue());
+        verify(partitionRepository).checkpoint(PARTITION_ID, 13L, 3, 1, false);
+        verify(publisher).publishEvent(new PayeeBlockChangedEvent(TransferType.CARD, BLOCKED_ID, NUMBER));
+    }
+
+    @Test
+    void processBatch_ShouldFinishPartition_WhenBatchIsShort() {
+        when(store.findTransfers(TransferType.CARD, 90L, TO_ID, 3)).thenReturn(transfers(95));
+
+        final RescoringWorker.RescoringBatch batch = worker.processBatch(partition, 90L);
+
+        assertEquals(TO_ID, batch.lastId());
+        verify(partitionRepository).checkpoint(PARTITION_ID, TO_ID, 1, 0, true);
+    }
+
+    @Test
+    void processBatch_ShouldFinishPartition_WhenFullBatchEndsAtLastId() {
+        when(store.findTransfers(TransferType.CARD, 97L, TO_ID, 3)).thenReturn(transfers(98, 99, 100));
+
+        final RescoringWorker.RescoringBatch batch = worker.processBatch(partition, 97L);
+
+        assertEquals(TO_ID, batch.lastId());
+        assertTrue(batch.lastId() >= partition.getToId());
+        verify(partitionRepository).checkpoint(eq(PARTITION_ID), anyLong(), eq(3L), eq(0L), eq(true));
+    }
+
+    private static List<TransferScoringDto> transfers(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new TransferScoringDto(id, TransferType.CARD, 1L, NUMBER, BigDecimal.TEN))
+                .toList();
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.antifraud.service.scoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочный тест {@link SlidingWindowCounter}: все ядра обновляют счетчики общего набора ключей.
+ * Пропускная способность пишется в лог, проверяется только, что ни одно событие не потерялось.
+ * Цель 10 млн обновлений в секунду на многоядерной машине, на одном ядре ожидается меньше.
+ */
+@Slf4j
+class SlidingWindowCounterBenchmarkTest {
+
+    private static final int KEYS = 100_000;
+    private static final int UPDATES_PER_THREAD = 2_000_000;
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void add_ShouldKeepEveryUpdate_WhenAllCoresUpdateSharedKeys() throws Exception {
+        final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        final SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(60), 12, KEYS);
+        final long[] keys = ThreadLocalRandom.current().longs(KEYS).toArray();
+
+        run(counter, keys, threads, UPDATES_PER_THREAD / 10);
+        final long warmup = total(counter, keys);
+
+        final long started = System.nanoTime();
+        run(counter, keys, threads, UPDATES_PER_THREAD);
+        final long elapsed = System.nanoTime() - started;
+
+        final long updates = (long) threads * UPDATES_PER_THREAD;
+        log.info("{} потоков, {} обновлений: {} обновлений/с", threads, updates,
+                updates * 1_000_000_000L / elapsed);
+        assertEquals(updates, total(counter, keys) - warmup);
+    }
+
+    private void run(SlidingWindowCounter counter, long[] keys, int threads, int updates) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * 7919;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < updates; i++) {
+                        counter.add(keys[(offset + i) % keys.length], NOW);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long total(SlidingWindowCounter counter, long[] keys) {
+        long total = 0;
+        for (long key : keys) {
+            total += counter.count(key, NOW);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.bank.antifraud.service.scoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlidingWindowCounterTest {
+
+    private static final long KEY = 42L;
+    private static final long START = 1_000_000L;
+
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(60), 60);
+
+    @Test
+    void add_ShouldCountEventsInsideWindow() {
+        counter.add(KEY, START);
+        counter.add(KEY, START + 30_000);
+
+        assertEquals(3, counter.add(KEY, START + 59_000));
+        assertEquals(0, counter.count(KEY + 1, START));
+    }
+
+    @Test
+    void add_ShouldForgetEventsOlderThanWindow() {
+        counter.add(KEY, START);
+        counter.add(KEY, START + 30_000);
+
+        assertEquals(2, counter.add(KEY, START + 61_000));
+        assertEquals(0, counter.count(KEY, START + 200_000));
+    }
+
+    @Test
+    void evictIdle_ShouldRemoveOnlyKeysWithoutEventsForWindow() {
+        counter.add(KEY, START);
+        counter.add(KEY + 1, START + 50_000);
+
+        assertEquals(1, counter.evictIdle(START + 61_000));
+        assertEquals(1, counter.size());
+        assertEquals(1, counter.count(KEY + 1, START + 61_000));
+    }
+
+    @Test
+    void add_ShouldCountReservedKeys() {
+        counter.add(0L, START);
+        counter.add(Long.MIN_VALUE, START);
+
+        assertEquals(2, counter.add(0L, START));
+        assertEquals(1, counter.count(Long.MIN_VALUE, START));
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    void add_ShouldNotLoseEvents_WhenTableGrowsUnderConcurrentUpdates() throws Exception {
+        final SlidingWindowCounter growing = new SlidingWindowCounter(Duration.ofSeconds(60), 60, 1);
+        final int threads = 8;
+        final int keys = 20_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (long key = 1; key <= keys; key++) {
+                        growing.add(key, START);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(keys, growing.size());
+        for (long key = 1; key <= keys; key++) {
+            assertEquals(threads, growing.count(key, START), "ключ " + key);
+        }
+    }
+
+    @Test
+    void evictIdle_ShouldKeepCountsOfActiveKeys() {
+        for (long key = 1; key <= 5_000; key++) {
+            counter.add(key, START);
+        }
+        counter.add(7L, START + 50_000);
+
+        assertEquals(4_999, counter.evictIdle(START + 61_000));
+        assertEquals(1, counter.count(7L, START + 61_000));
+        assertEquals(2, counter.add(7L, START + 62_000));
+    }
+}
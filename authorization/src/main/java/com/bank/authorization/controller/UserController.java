@@ -1,7 +1,12 @@
 package com.bank.authorization.controller;
 
+import com.bank.authorization.dto.LoginDto;
+import com.bank.authorization.dto.PermissionDto;
+import com.bank.authorization.dto.TokenDto;
 import com.bank.authorization.dto.UserDto;
 import com.bank.authorization.repository.entity.UserEntity;
+import com.bank.authorization.service.LoginService;
+import com.bank.authorization.service.PermissionService;
 import com.bank.authorization.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,7 +19,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Контроллер {@link UserDto}
@@ -25,13 +33,17 @@ public class UserController {
 
     private final UserService service;
 
+    private final LoginService loginService;
+
+    private final PermissionService permissionService;
+
     /**
      * @param user заполненный полями role, profileId, password экземпляр DTO {@link UserDto}
      * @return {@link ResponseEntity}, {@link UserDto} и HttpStatus.OK
      */
     @PostMapping("/create")
-    public ResponseEntity<UserDto> create(@RequestBody UserDto user) {
-        return new ResponseEntity<>(service.save(user), HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<UserDto>> create(@RequestBody UserDto user) {
+        return service.save(user).thenApply(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
     }
 
     /**
@@ -48,9 +60,9 @@ public class UserController {
      * @return {@link ResponseEntity}, {@link UserDto} и HttpStatus.OK
      */
     @PutMapping("/{id}/update")
-    public ResponseEntity<UserDto> update(@PathVariable("id") Long id,
-                                          @RequestBody UserDto user) {
-        return new ResponseEntity<>(service.update(id, user), HttpStatus.OK);
+    public CompletableFuture<ResponseEntity<UserDto>> update(@PathVariable("id") Long id,
+                                                             @RequestBody UserDto user) {
+        return service.update(id, user).thenApply(updated -> new ResponseEntity<>(updated, HttpStatus.OK));
     }
 
     /**
@@ -61,4 +73,36 @@ public class UserController {
     public ResponseEntity<List<UserDto>> readAll(@RequestParam List<Long> ids) {
         return new ResponseEntity<>(service.findAllByIds(ids), HttpStatus.OK);
     }
+
+    /**
+     * @param id технический идентификатор {@link UserEntity}
+     * @return {@link ResponseEntity}, {@link PermissionDto} и HttpStatus.OK
+     */
+    @GetMapping("/{id}/permissions")
+    public ResponseEntity<PermissionDto> readPermissions(@PathVariable("id") Long id) {
+        return new ResponseEntity<>(permissionService.findByUserId(id), HttpStatus.OK);
+    }
+
+    /**
+     * @param id         технический идентификатор {@link UserEntity}
+     * @param permission разрешение
+     * @return {@link ResponseEntity}, true если роль пользователя дает разрешение, и HttpStatus.OK
+     */
+    @GetMapping("/{id}/permissions/{permission}")
+    public ResponseEntity<Boolean> hasPermission(@PathVariable("id") Long id,
+                                                 @PathVariable("permission") String permission) {
+        return new ResponseEntity<>(permissionService.hasPermission(id, permission), HttpStatus.OK);
+    }
+
+    /**
+     * @param login   профиль и пароль {@link LoginDto}
+     * @param request запрос, из него берется адрес клиента
+     * @return {@link ResponseEntity}, {@link TokenDto} и HttpStatus.OK
+     */
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<TokenDto>> login(@Valid @RequestBody LoginDto login,
+                                                             HttpServletRequest request) {
+        return loginService.login(login, request.getRemoteAddr())
+                .thenApply(token -> new ResponseEntity<>(token, HttpStatus.OK));
+    }
 }
@@ -0,0 +1,31 @@
+package com.bank.authorization.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * DTO входа пользователя по профилю и паролю
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoginDto implements Serializable {
+
+    @NotNull(message = "Не указан профиль")
+    Long profileId;
+
+    @NotBlank(message = "Не указан пароль")
+    String password;
+}
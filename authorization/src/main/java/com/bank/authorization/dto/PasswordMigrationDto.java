@@ -0,0 +1,44 @@
+package com.bank.authorization.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO хода миграции хешей паролей на текущий алгоритм
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PasswordMigrationDto implements Serializable {
+
+    Long total;
+
+    /**
+     * сколько хешей еще записаны устаревшим алгоритмом или стоимостью
+     */
+    Long pending;
+
+    /**
+     * доля пользователей с хешем текущего алгоритма и стоимости, от 0 до 1
+     */
+    Double progress;
+
+    /**
+     * число хешей по префиксу алгоритма, legacy для BCrypt без префикса
+     */
+    Map<String, Long> byEncoder;
+
+    Instant finishedAt;
+}
@@ -0,0 +1,30 @@
+package com.bank.authorization.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * DTO роли пользователя и ее разрешений
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PermissionDto implements Serializable {
+
+    Long userId;
+
+    String role;
+
+    Set<String> permissions;
+}
@@ -0,0 +1,35 @@
+package com.bank.authorization.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * DTO выпущенного токена доступа
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TokenDto implements Serializable {
+
+    String accessToken;
+
+    /**
+     * схема заголовка Authorization, всегда Bearer
+     */
+    String tokenType;
+
+    /**
+     * через сколько секунд токен истечет
+     */
+    Long expiresIn;
+}
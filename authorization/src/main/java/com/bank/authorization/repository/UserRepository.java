@@ -1,10 +1,57 @@
 package com.bank.authorization.repository;
 
 import com.bank.authorization.repository.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Репозиторий для {@link UserEntity}
  */
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
+
+    /**
+     * @param profileId технический идентификатор профиля
+     * @return {@link UserEntity} профиля с наименьшим id
+     */
+    Optional<UserEntity> findFirstByProfileIdOrderByIdAsc(Long profileId);
+
+    /**
+     * @param id       технический идентификатор, после которого начинается выборка
+     * @param pageable размер выборки
+     * @return пользователи с id больше переданного, отсортированные по id
+     */
+    List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Блокирует строку до конца транзакции, параллельное обновление ждет и читает уже записанное.
+     *
+     * @param id технический идентификатор {@link UserEntity}
+     * @return {@link UserEntity} или пустой Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM UserEntity u WHERE u.id = :id")
+    Optional<UserEntity> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Меняет хеш, только если пароль не сменили после чтения старого хеша.
+     *
+     * @param id          технический идентификатор {@link UserEntity}
+     * @param oldPassword хеш, с которым пользователь вошел
+     * @param newPassword новый хеш того же пароля
+     * @return количество измененных строк
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserEntity u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword,
+                       @Param("newPassword") String newPassword);
 }
@@ -2,12 +2,14 @@ package com.bank.authorization.service;
 
 import com.bank.authorization.dto.AuditDto;
 import com.bank.authorization.repository.entity.AuditEntity;
+import com.bank.common.batch.BatchLookup;
 import com.bank.authorization.mapper.AuditMapper;
 import com.bank.authorization.repository.AuditRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.List;
 
 /**
  * Реализация {@link AuditService}
@@ -15,8 +17,10 @@ import javax.persistence.EntityNotFoundException;
 @Service
 @RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
+
     private final AuditRepository repository;
     private final AuditMapper mapper;
+    private final BatchLookup batchLookup;
 
     /**
      * @param id технический идентификатор {@link AuditEntity}
@@ -31,6 +35,15 @@ public class AuditServiceImpl implements AuditService {
         );
     }
 
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    @Override
+    public List<AuditDto> findAllById(List<Long> ids) {
+        return mapper.toDtoList(batchLookup.findAllFound(repository, AuditEntity::getId, ids));
+    }
+
     private EntityNotFoundException getException(Long id) {
         return new EntityNotFoundException("Не найден аудит с ID  " + id);
     }
@@ -0,0 +1,19 @@
+package com.bank.authorization.service;
+
+import com.bank.authorization.dto.LoginDto;
+import com.bank.authorization.dto.TokenDto;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Сервис входа пользователя и выпуска токена доступа
+ */
+public interface LoginService {
+
+    /**
+     * @param login         {@link LoginDto}
+     * @param clientAddress адрес клиента, по которому ограничивается частота попыток
+     * @return {@link TokenDto}, завершается после проверки пароля
+     */
+    CompletableFuture<TokenDto> login(LoginDto login, String clientAddress);
+}
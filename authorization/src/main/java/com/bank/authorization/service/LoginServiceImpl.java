@@ -0,0 +1,110 @@
+package com.bank.authorization.service;
+
+import com.bank.authorization.dto.LoginDto;
+import com.bank.authorization.dto.TokenDto;
+import com.bank.authorization.repository.UserRepository;
+import com.bank.authorization.repository.entity.UserEntity;
+import com.bank.authorization.service.hashing.PasswordHasher;
+import com.bank.authorization.service.hashing.PasswordHashingProperties;
+import com.bank.authorization.service.throttling.LoginThrottle;
+import com.bank.common.exception.UnauthorizedException;
+import com.bank.common.jwt.JwtClaims;
+import com.bank.common.jwt.JwtCodec;
+import com.bank.common.jwt.JwtProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Реализация {@link LoginService}.
+ * Пароль сверяется в пуле {@link PasswordHasher}, общем с регистрацией. Для неизвестного профиля
+ * пароль все равно сверяется с заранее посчитанным хешем, чтобы по времени ответа нельзя было узнать,
+ * существует ли профиль. Хеш устаревшего алгоритма или стоимости после успешного входа
+ * перехешируется в фоне, ответ этого не ждет. Перехешированные пароли считает password.hashing.upgraded.
+ * Частые попытки отклоняет {@link LoginThrottle} раньше, чем читается пользователь.
+ */
+@Slf4j
+@Service
+public class LoginServiceImpl implements LoginService {
+
+    private static final String BEARER = "Bearer";
+    private static final String FAILED_MESSAGE = "Неверный профиль или пароль";
+
+    private final UserRepository repository;
+    private final JwtCodec codec;
+    private final JwtProperties properties;
+    private final PasswordHasher hasher;
+    private final PasswordHashingProperties hashingProperties;
+    private final LoginThrottle throttle;
+    private final Counter upgraded;
+    private final String missingUserHash;
+
+    public LoginServiceImpl(UserRepository repository, JwtCodec codec, JwtProperties properties,
+                            PasswordHasher hasher, PasswordHashingProperties hashingProperties,
+                            LoginThrottle throttle, MeterRegistry registry) {
+        this.repository = repository;
+        this.codec = codec;
+        this.properties = properties;
+        this.hasher = hasher;
+        this.hashingProperties = hashingProperties;
+        this.throttle = throttle;
+        this.upgraded = registry.counter("password.hashing.upgraded");
+        this.missingUserHash = hasher.encode(FAILED_MESSAGE).join();
+    }
+
+    /**
+     * @param login         {@link LoginDto}
+     * @param clientAddress адрес клиента
+     * @return {@link TokenDto} c токеном, подписанным jwt.token.secret, или {@link UnauthorizedException},
+     * если профиль не найден или пароль неверный
+     */
+    @Override
+    public CompletableFuture<TokenDto> login(LoginDto login, String clientAddress) {
+        throttle.check(login.getProfileId(), clientAddress);
+        final Optional<UserEntity> user = repository.findFirstByProfileIdOrderByIdAsc(login.getProfileId());
+
+        return hasher.matches(login.getPassword(), user.map(UserEntity::getPassword).orElse(missingUserHash))
+                .thenApply(matches -> {
+                    if (user.isEmpty() || !matches) {
+                        throw new UnauthorizedException(FAILED_MESSAGE);
+                    }
+                    upgrade(user.get(), login.getPassword());
+                    return issue(user.get());
+                });
+    }
+
+    /**
+     * Новый хеш записывается, только если хеш в базе не изменился с момента входа.
+     * При переполненной очереди хеширования пароль перехешируется при следующем входе.
+     */
+    private void upgrade(UserEntity user, String rawPassword) {
+        if (!hashingProperties.isUpgradeOnLogin() || !hasher.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        hasher.encode(rawPassword)
+                .thenAccept(hash -> {
+                    if (repository.updatePassword(user.getId(), user.getPassword(), hash) == 1) {
+                        upgraded.increment();
+                    }
+                })
+                .exceptionally(e -> {
+                    log.warn("Хеш пароля пользователя id = {} не обновлен: {}", user.getId(), e.toString());
+                    return null;
+                });
+    }
+
+    private TokenDto issue(UserEntity user) {
+        final long now = Instant.now().getEpochSecond();
+        final long expiresIn = properties.getToken().getExpiration().toSeconds();
+        final String token = codec.encode(new JwtClaims(String.valueOf(user.getId()), user.getProfileId(),
+                user.getRole(), now, now + expiresIn));
+
+        return new TokenDto(token, BEARER, expiresIn);
+    }
+}
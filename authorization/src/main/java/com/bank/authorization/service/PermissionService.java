@@ -0,0 +1,23 @@
+package com.bank.authorization.service;
+
+import com.bank.authorization.dto.PermissionDto;
+import com.bank.authorization.repository.entity.UserEntity;
+
+/**
+ * Сервис проверки разрешений пользователя
+ */
+public interface PermissionService {
+
+    /**
+     * @param userId технический идентификатор {@link UserEntity}
+     * @return {@link PermissionDto}
+     */
+    PermissionDto findByUserId(Long userId);
+
+    /**
+     * @param userId     технический идентификатор {@link UserEntity}
+     * @param permission разрешение
+     * @return true, если роль пользователя дает разрешение
+     */
+    boolean hasPermission(Long userId, String permission);
+}
@@ -0,0 +1,44 @@
+package com.bank.authorization.service;
+
+import com.bank.authorization.dto.PermissionDto;
+import com.bank.authorization.repository.entity.UserEntity;
+import com.bank.authorization.service.permission.PermissionCache;
+import com.bank.authorization.service.permission.UserPermissions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Реализация {@link PermissionService}, роли читаются из {@link PermissionCache}
+ */
+@Service
+@RequiredArgsConstructor
+public class PermissionServiceImpl implements PermissionService {
+
+    private static final String ENTITY_CONFLICT_MESSAGE = "Не был найден пользователь с ID ";
+
+    private final PermissionCache cache;
+
+    /**
+     * @param userId технический идентификатор {@link UserEntity}
+     * @return {@link PermissionDto}
+     */
+    @Override
+    public PermissionDto findByUserId(Long userId) {
+        final UserPermissions permissions = cache.find(userId)
+                .orElseThrow(() -> new EntityNotFoundException(ENTITY_CONFLICT_MESSAGE + userId));
+
+        return new PermissionDto(permissions.userId(), permissions.role(), permissions.permissions());
+    }
+
+    /**
+     * @param userId     технический идентификатор {@link UserEntity}
+     * @param permission разрешение
+     * @return true, если пользователь есть и роль дает разрешение
+     */
+    @Override
+    public boolean hasPermission(Long userId, String permission) {
+        return cache.hasPermission(userId, permission);
+    }
+}
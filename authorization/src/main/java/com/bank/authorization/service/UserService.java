@@ -4,6 +4,7 @@ import com.bank.authorization.dto.UserDto;
 import com.bank.authorization.repository.entity.UserEntity;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Сервис для {@link UserDto} и {@link UserEntity}
@@ -18,16 +19,16 @@ public interface UserService {
 
     /**
      * @param user {@link UserDto}
-     * @return {@link UserDto}
+     * @return {@link UserDto}, завершается после хеширования пароля и записи
      */
-    UserDto save(UserDto user);
+    CompletableFuture<UserDto> save(UserDto user);
 
     /**
      * @param id   технический идентификатор {@link UserEntity}
      * @param user {@link UserDto}
-     * @return {@link UserDto}
+     * @return {@link UserDto}, завершается после хеширования нового пароля и записи
      */
-    UserDto update(Long id, UserDto user);
+    CompletableFuture<UserDto> update(Long id, UserDto user);
 
     /**
      * @param ids лист технических идентификаторов {@link UserEntity}
@@ -4,13 +4,16 @@ import com.bank.authorization.dto.UserDto;
 import com.bank.authorization.repository.entity.UserEntity;
 import com.bank.authorization.mapper.UserMapper;
 import com.bank.authorization.repository.UserRepository;
+import com.bank.authorization.service.hashing.PasswordHasher;
+import com.bank.authorization.service.permission.PermissionCache;
+import com.bank.common.batch.BatchLookup;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.persistence.EntityNotFoundException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Реализация {@link UserService}
@@ -22,6 +25,10 @@ public class UserServiceImpl implements UserService {
     private final static String ENTITY_CONFLICT_MESSAGE = "Не был найден пользователь с ID ";
     private final UserMapper mapper;
     private final UserRepository repository;
+    private final BatchLookup batchLookup;
+    private final PasswordHasher hasher;
+    private final PermissionCache permissionCache;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * @param id технический идентификатор {@link UserEntity}
@@ -37,37 +44,57 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
+     * Пароль хешируется в пуле {@link PasswordHasher}, запись идет в том же потоке после хеширования,
+     * поэтому поток запроса не ждет BCrypt.
+     *
      * @param userDto {@link UserDto}
      * @return {@link UserDto}
      */
     @Override
-    @Transactional
-    public UserDto save(UserDto userDto) {
+    public CompletableFuture<UserDto> save(UserDto userDto) {
 
         final UserEntity user = mapper.toEntity(userDto);
 
-        user.setPassword(new BCryptPasswordEncoder().encode(user.getPassword()));
-
-        final UserEntity saved = repository.save(user);
-
-        return mapper.toDTO(saved);
+        return hasher.encode(user.getPassword()).thenApply(hash -> {
+            user.setPassword(hash);
+            return mapper.toDTO(repository.save(user));
+        });
     }
 
     /**
+     * Роль могла измениться, поэтому запись пользователя удаляется из {@link PermissionCache}.
+     * Новый пароль хешируется в пуле {@link PasswordHasher}, как в {@link #save(UserDto)},
+     * без пароля в запросе сохраняется прежний хеш. Чтение, слияние и запись идут в одной транзакции
+     * под блокировкой строки, поэтому параллельное обновление не затирает роль или хеш.
+     *
      * @param id      технический идентификатор {@link UserEntity}
      * @param userDto {@link UserDto}
-     * @return {@link UserDto}
+     * @return {@link UserDto}, завершается после хеширования пароля и записи
      */
     @Override
-    @Transactional
-    public UserDto update(Long id, UserDto userDto) {
+    public CompletableFuture<UserDto> update(Long id, UserDto userDto) {
+        // несуществующий id отклоняется до хеширования, чтобы не тратить на него пул
+        if (!repository.existsById(id)) {
+            throw getEntityException(id);
+        }
+        final CompletableFuture<String> hash = userDto.getPassword() == null ?
+                CompletableFuture.completedFuture(null) : hasher.encode(userDto.getPassword());
 
-        final UserEntity user = repository.findById(id)
-                .orElseThrow(
-                        () -> getEntityException(id)
-                );
-        final UserEntity updatedUser = repository.save(mapper.mergeToEntity(userDto, user));
-        return mapper.toDTO(updatedUser);
+        return hash.thenApply(password -> {
+            final UserDto updated = transactionTemplate.execute(status -> {
+                final UserEntity user = repository.findByIdForUpdate(id)
+                        .orElseThrow(
+                                () -> getEntityException(id)
+                        );
+                final String currentPassword = user.getPassword();
+                final UserEntity mergedUser = mapper.mergeToEntity(userDto, user);
+                mergedUser.setPassword(password == null ? currentPassword : password);
+
+                return mapper.toDTO(repository.save(mergedUser));
+            });
+            permissionCache.invalidate(id);
+            return updated;
+        });
     }
 
     /**
@@ -76,12 +103,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public List<UserDto> findAllByIds(List<Long> ids) {
-        final List<UserEntity> users = ids.stream()
-                .map(id -> repository.findById(id)
-                        .orElseThrow(
-                                () -> getEntityException(id))
-                )
-                .toList();
+        final List<UserEntity> users = batchLookup.findAllById(
+                repository, UserEntity::getId, ids, ENTITY_CONFLICT_MESSAGE);
 
         return mapper.toDtoList(users);
     }
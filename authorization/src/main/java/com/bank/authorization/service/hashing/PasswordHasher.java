@@ -0,0 +1,127 @@
+package com.bank.authorization.service.hashing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Хеширование и проверка паролей в отдельном ограниченном пуле.
+ * BCrypt занимает процессор десятки миллисекунд, поэтому поток Tomcat только ставит задачу в очередь
+ * и сразу освобождается, а число одновременных хеширований не превышает числа потоков пула.
+ * Очередь ограничена: при всплеске лишние запросы отклоняются сразу, а не копят задержку.
+ * Метрики пула executor.* с тегом name = password.hashing: executor.queued это глубина очереди,
+ * executor.idle время ожидания в очереди. Отклоненные задачи считает password.hashing.rejected.
+ * Хеш хранится с префиксом алгоритма, например {bcrypt}, хеш без префикса проверяется как BCrypt:
+ * так записаны пароли до появления префиксов.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final String NAME = "password.hashing";
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordHashingProperties properties, MeterRegistry registry) {
+        this.encoder = encoder(properties);
+        this.pool = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), new HashingThreadFactory());
+        this.executor = ExecutorServiceMetrics.monitor(registry, pool, NAME);
+        this.rejected = registry.counter(NAME + ".rejected");
+    }
+
+    /**
+     * @param rawPassword пароль
+     * @return хеш пароля, при переполненной очереди завершается {@link RejectedExecutionException}
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * @param rawPassword     пароль
+     * @param encodedPassword хеш пароля
+     * @return true, если пароль совпадает с хешем
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Проверка по строке хеша, без вычисления хеша и без пула.
+     *
+     * @param encodedPassword хеш пароля
+     * @return true, если хеш записан не алгоритмом encoder или с меньшей стоимостью
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            final List<Runnable> dropped = pool.shutdownNow();
+            log.warn("Хеширование паролей остановлено, не выполнено {} задач", dropped.size());
+        }
+    }
+
+    private static PasswordEncoder encoder(PasswordHashingProperties properties) {
+        final PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+        final PasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getStrength());
+        final DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.getEncoder(), Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, new Argon2PasswordEncoder(argon2.getSaltLength(), argon2.getHashLength(),
+                        argon2.getParallelism(), argon2.getMemory(), argon2.getIterations())));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return delegating;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger number = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            final Thread thread = new Thread(task, "password-hashing-" + number.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
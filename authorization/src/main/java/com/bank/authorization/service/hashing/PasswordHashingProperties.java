@@ -0,0 +1,67 @@
+package com.bank.authorization.service.hashing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки хеширования паролей.
+ * Хеширование и проверка пароля идут не больше чем в threads потоках, остальные ждут в очереди
+ * длиной queueCapacity, при полной очереди запрос отклоняется с 503.
+ * Новые хеши пишутся алгоритмом encoder, хеши других алгоритмов и BCrypt с меньшей стоимостью
+ * проверяются как раньше и перехешируются при успешном входе.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Стоимость BCrypt, log2 числа раундов. Каждая единица удваивает время хеширования и проверки.
+     */
+    private int strength = 10;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int queueCapacity = 200;
+
+    /**
+     * Алгоритм новых хешей: bcrypt или argon2.
+     */
+    private String encoder = PasswordHasher.BCRYPT;
+
+    /**
+     * Перехешировать ли пароль устаревшего алгоритма или стоимости при успешном входе.
+     */
+    private boolean upgradeOnLogin = true;
+
+    /**
+     * Сколько пользователей читать за один запрос при подсчете хода миграции.
+     */
+    private int migrationBatchSize = 1_000;
+
+    private final Argon2 argon2 = new Argon2();
+
+    /**
+     * Параметры Argon2id, по умолчанию 19 МиБ памяти и 2 прохода.
+     */
+    @Getter
+    @Setter
+    public static class Argon2 {
+
+        private int saltLength = 16;
+
+        private int hashLength = 32;
+
+        private int parallelism = 1;
+
+        /**
+         * Память в КиБ.
+         */
+        private int memory = 19_456;
+
+        private int iterations = 2;
+    }
+}
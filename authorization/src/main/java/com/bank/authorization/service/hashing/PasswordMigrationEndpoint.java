@@ -0,0 +1,30 @@
+package com.bank.authorization.service.hashing;
+
+import com.bank.authorization.dto.PasswordMigrationDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Эндпоинт actuator password-migration: последний отчет о миграции хешей паролей,
+ * POST пересчитывает отчет сразу.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "password-migration")
+public class PasswordMigrationEndpoint {
+
+    private final PasswordMigrationReporter reporter;
+
+    @ReadOperation
+    public PasswordMigrationDto latest() {
+        return reporter.latest();
+    }
+
+    @WriteOperation
+    public PasswordMigrationDto report() {
+        return reporter.report();
+    }
+}
@@ -0,0 +1,103 @@
+package com.bank.authorization.service.hashing;
+
+import com.bank.authorization.dto.PasswordMigrationDto;
+import com.bank.authorization.repository.UserRepository;
+import com.bank.authorization.repository.entity.UserEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Подсчет хода миграции хешей паролей.
+ * Пользователи читаются пачками по id, по каждому хешу без вычислений определяется алгоритм
+ * и нужно ли его перехешировать. Последний отчет виден в actuator, эндпоинт password-migration,
+ * и в метриках password.migration.total и password.migration.pending.
+ */
+@Slf4j
+@Component
+public class PasswordMigrationReporter {
+
+    private static final String LEGACY = "legacy";
+    private static final char PREFIX_START = '{';
+    private static final char PREFIX_END = '}';
+
+    private final UserRepository repository;
+    private final PasswordHasher hasher;
+    private final PasswordHashingProperties properties;
+
+    private volatile PasswordMigrationDto latest;
+
+    public PasswordMigrationReporter(UserRepository repository, PasswordHasher hasher,
+                                     PasswordHashingProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.hasher = hasher;
+        this.properties = properties;
+        Gauge.builder("password.migration.total", this, reporter -> count(reporter.latest, true))
+                .register(registry);
+        Gauge.builder("password.migration.pending", this, reporter -> count(reporter.latest, false))
+                .register(registry);
+    }
+
+    /**
+     * @return отчет, пересчитанный сейчас
+     */
+    @Scheduled(fixedDelayString = "${password-hashing.migration-report-interval:PT1H}",
+            initialDelayString = "${password-hashing.migration-report-initial-delay:PT1M}")
+    public synchronized PasswordMigrationDto report() {
+        final long started = System.currentTimeMillis();
+        final Map<String, Long> byEncoder = new TreeMap<>();
+        long total = 0;
+        long pending = 0;
+        long afterId = 0;
+        List<UserEntity> users;
+        do {
+            users = repository.findByIdGreaterThanOrderByIdAsc(afterId,
+                    PageRequest.of(0, properties.getMigrationBatchSize()));
+            for (UserEntity user : users) {
+                byEncoder.merge(encoderId(user.getPassword()), 1L, Long::sum);
+                pending += hasher.upgradeEncoding(user.getPassword()) ? 1 : 0;
+                total++;
+                afterId = user.getId();
+            }
+        } while (users.size() == properties.getMigrationBatchSize());
+
+        latest = new PasswordMigrationDto(total, pending, total == 0 ? 1 : (double) (total - pending) / total,
+                byEncoder, Instant.now());
+        log.info("Миграция хешей паролей: {} из {} на {}, по алгоритмам {}, подсчет {} мс", total - pending, total,
+                properties.getEncoder(), byEncoder, System.currentTimeMillis() - started);
+
+        return latest;
+    }
+
+    /**
+     * @return последний отчет, null до первого подсчета
+     */
+    public PasswordMigrationDto latest() {
+        return latest;
+    }
+
+    static String encoderId(String encodedPassword) {
+        final int end = encodedPassword.indexOf(PREFIX_END);
+        if (encodedPassword.isEmpty() || encodedPassword.charAt(0) != PREFIX_START || end < 0) {
+            return LEGACY;
+        }
+
+        return encodedPassword.substring(1, end);
+    }
+
+    private static double count(PasswordMigrationDto report, boolean total) {
+        if (report == null) {
+            return Double.NaN;
+        }
+
+        return total ? report.getTotal() : report.getPending();
+    }
+}
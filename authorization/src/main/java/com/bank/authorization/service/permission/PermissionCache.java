@@ -0,0 +1,124 @@
+package com.bank.authorization.service.permission;
+
+import com.bank.authorization.repository.UserRepository;
+import com.bank.authorization.repository.entity.UserEntity;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Роли и разрешения пользователей в памяти, проверка разрешения не читает базу.
+ * Отсутствующий в кэше пользователь читается из базы один раз, несуществующие пользователи не кэшируются.
+ * Запись вытесняется по ttl и размеру кэша, изменение пользователя удаляет его запись.
+ * Статистика кэша в метриках cache.*, cache = user.permissions.
+ */
+@Slf4j
+@Component
+public class PermissionCache {
+
+    private final UserRepository repository;
+    private final PermissionProperties properties;
+    private final LoadingCache<Long, UserPermissions> cache;
+
+    public PermissionCache(UserRepository repository, PermissionProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(registry, cache, "user.permissions");
+    }
+
+    /**
+     * @param userId технический идентификатор пользователя
+     * @return {@link UserPermissions}, пустой, если пользователя нет
+     */
+    public Optional<UserPermissions> find(Long userId) {
+        return Optional.ofNullable(cache.get(userId));
+    }
+
+    /**
+     * @param userId     технический идентификатор пользователя
+     * @param permission разрешение
+     * @return true, если пользователь есть и его роль дает разрешение
+     */
+    public boolean hasPermission(Long userId, String permission) {
+        final UserPermissions permissions = cache.get(userId);
+
+        return permissions != null && permissions.has(permission);
+    }
+
+    /**
+     * Внутри транзакции запись удаляется сразу и еще раз после коммита: чтение между ними
+     * могло снова закэшировать незакоммиченную старую роль.
+     *
+     * @param userId технический идентификатор пользователя
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Загружает пользователей пачками по id, пока не заполнит кэш.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isWarmUp()) {
+            return;
+        }
+
+        final long started = System.currentTimeMillis();
+        long loaded = 0;
+        long afterId = 0;
+        List<UserEntity> users;
+        do {
+            final int batch = (int) Math.min(properties.getWarmUpBatchSize(), properties.getCacheSize() - loaded);
+            users = batch > 0 ? repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batch)) :
+                    List.of();
+            final Map<Long, UserPermissions> permissions = new HashMap<>();
+            for (UserEntity user : users) {
+                permissions.put(user.getId(), toPermissions(user));
+                afterId = user.getId();
+            }
+            cache.putAll(permissions);
+            loaded += users.size();
+        } while (users.size() == properties.getWarmUpBatchSize());
+
+        log.info("Кэш разрешений загружен за {} мс: {} пользователей", System.currentTimeMillis() - started, loaded);
+    }
+
+    private UserPermissions load(Long userId) {
+        return repository.findById(userId)
+                .map(this::toPermissions)
+                .orElse(null);
+    }
+
+    private UserPermissions toPermissions(UserEntity user) {
+        return new UserPermissions(user.getId(), user.getRole(),
+                Set.copyOf(properties.getRoles().getOrDefault(user.getRole(), Set.of())));
+    }
+}
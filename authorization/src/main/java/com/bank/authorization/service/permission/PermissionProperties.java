@@ -0,0 +1,39 @@
+package com.bank.authorization.service.permission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Настройки кэша ролей и разрешений пользователей.
+ * Запись живет ttl с момента чтения из базы, при cacheSize записях вытесняются редко используемые.
+ * Разрешения роли задаются в roles, роль без настройки не дает разрешений.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "permissions")
+public class PermissionProperties {
+
+    private long cacheSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Загружать ли пользователей в кэш при старте, не больше cacheSize.
+     */
+    private boolean warmUp = true;
+
+    private int warmUpBatchSize = 1_000;
+
+    /**
+     * Роль и ее разрешения, например ADMIN: user.read, user.write.
+     */
+    private Map<String, Set<String>> roles = new HashMap<>();
+}
@@ -0,0 +1,21 @@
+package com.bank.authorization.service.permission;
+
+import java.util.Set;
+
+/**
+ * Роль пользователя и разрешения этой роли.
+ *
+ * @param userId      технический идентификатор пользователя
+ * @param role        роль пользователя
+ * @param permissions разрешения роли
+ */
+public record UserPermissions(Long userId, String role, Set<String> permissions) {
+
+    /**
+     * @param permission разрешение
+     * @return true, если роль дает разрешение
+     */
+    public boolean has(String permission) {
+        return permissions.contains(permission);
+    }
+}
@@ -0,0 +1,117 @@
+package com.bank.authorization.service.throttling;
+
+import com.bank.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ограничение частоты попыток входа по профилю и по адресу клиента.
+ * Проверка идет до чтения пользователя и сверки пароля, поэтому отклоненная попытка
+ * не стоит ни запроса в базу, ни BCrypt. Попытка тратит запрос из корзины независимо от того,
+ * верный ли пароль. Адрес клиента берется из соединения, за прокси нужен server.forward-headers-strategy.
+ * Метрики login.throttling.rejected и login.throttling.keys с тегом key = profile или address,
+ * новые ключи при заполненной таблице в login.throttling.overflow.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final String MESSAGE = "Слишком много попыток входа, повторите позже";
+    private static final String REJECTED_METRIC = "login.throttling.rejected";
+    private static final String KEY_TAG = "key";
+    private static final String PROFILE = "profile";
+    private static final String ADDRESS = "address";
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final LoginThrottlingProperties properties;
+    private final TokenBucketLimiter byProfile;
+    private final TokenBucketLimiter byAddress;
+    private final Counter profileRejected;
+    private final Counter addressRejected;
+
+    public LoginThrottle(LoginThrottlingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.byProfile = limiter(properties.getProfile(), properties.getSegments(), false);
+        this.byAddress = limiter(properties.getAddress(), properties.getSegments(), properties.isAddressFailOpen());
+        this.profileRejected = registry.counter(REJECTED_METRIC, KEY_TAG, PROFILE);
+        this.addressRejected = registry.counter(REJECTED_METRIC, KEY_TAG, ADDRESS);
+        register(registry, PROFILE, byProfile);
+        register(registry, ADDRESS, byAddress);
+    }
+
+    /**
+     * @param profileId     технический идентификатор профиля
+     * @param clientAddress адрес клиента, null если неизвестен
+     * @throws TooManyRequestsException если корзина профиля или адреса пуста
+     */
+    public void check(Long profileId, String clientAddress) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        if (clientAddress != null) {
+            reject(byAddress.tryAcquire(addressKey(clientAddress), now), addressRejected);
+        }
+        if (profileId != null) {
+            reject(byProfile.tryAcquire(profileId, now), profileRejected);
+        }
+    }
+
+    /**
+     * Удаляет полные корзины, они не отличаются от отсутствующих.
+     */
+    @Scheduled(fixedDelayString = "${login-throttling.eviction-interval:PT1M}")
+    public void evictIdle() {
+        final long now = System.currentTimeMillis();
+        final int profiles = byProfile.evictIdle(now);
+        final int addresses = byAddress.evictIdle(now);
+
+        log.debug("Удалены полные корзины входа: {} профилей, {} адресов", profiles, addresses);
+    }
+
+    /**
+     * 64-битный FNV-1a строки адреса, для миллионов адресов совпадения практически исключены.
+     */
+    static long addressKey(String clientAddress) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < clientAddress.length(); i++) {
+            hash ^= clientAddress.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    private static void reject(long waitMillis, Counter rejected) {
+        if (waitMillis == TokenBucketLimiter.ACQUIRED) {
+            return;
+        }
+
+        rejected.increment();
+        throw new TooManyRequestsException(MESSAGE, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999));
+    }
+
+    private static TokenBucketLimiter limiter(LoginThrottlingProperties.Bucket bucket, int segments,
+                                              boolean failOpen) {
+        return new TokenBucketLimiter(bucket.getCapacity(), bucket.getRefillTokens(), bucket.getRefillPeriod(),
+                segments, bucket.getMaxKeys(), failOpen);
+    }
+
+    private static void register(MeterRegistry registry, String key, TokenBucketLimiter limiter) {
+        Gauge.builder("login.throttling.keys", limiter, TokenBucketLimiter::size)
+                .tag(KEY_TAG, key)
+                .register(registry);
+        FunctionCounter.builder("login.throttling.overflow", limiter, TokenBucketLimiter::overflows)
+                .tag(KEY_TAG, key)
+                .register(registry);
+    }
+}
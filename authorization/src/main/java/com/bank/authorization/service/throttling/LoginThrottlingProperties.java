@@ -0,0 +1,57 @@
+package com.bank.authorization.service.throttling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки ограничения частоты входа.
+ * У каждого профиля и каждого адреса клиента своя корзина на capacity попыток, которая пополняется
+ * на refillTokens попыток за refillPeriod. Корзины хранятся в segments независимых таблицах.
+ * Заполненная таблица профилей всегда вытесняет самую полную корзину, таблица адресов
+ * может вместо этого пропускать новые адреса без учета, если включен addressFailOpen.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "login-throttling")
+public class LoginThrottlingProperties {
+
+    private boolean enabled = true;
+
+    private int segments = 64;
+
+    private boolean addressFailOpen;
+
+    private final Bucket profile = new Bucket(5, 5, Duration.ofMinutes(5));
+
+    private final Bucket address = new Bucket(20, 20, Duration.ofMinutes(1));
+
+    /**
+     * Параметры корзин одного вида ключа.
+     */
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        private int capacity;
+
+        private int refillTokens;
+
+        private Duration refillPeriod;
+
+        /**
+         * Сколько ключей отслеживается одновременно, каждый занимает до 32 байт.
+         */
+        private int maxKeys = 1_000_000;
+
+        Bucket(int capacity, int refillTokens, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillTokens = refillTokens;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
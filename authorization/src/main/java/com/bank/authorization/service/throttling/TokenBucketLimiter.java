@@ -0,0 +1,316 @@
+package com.bank.authorization.service.throttling;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket по ключу long без объектов на ключ.
+ * Корзина хранится одним числом в форме GCRA: теоретическое время прихода следующего запроса (TAT).
+ * Запрос проходит, если TAT опережает текущее время не больше чем на capacity - 1 интервалов
+ * пополнения, и сдвигает TAT на один интервал. Это тот же token bucket с пополнением при обращении:
+ * таймеров нет, корзина пересчитывается только своим запросом.
+ * Ключи лежат в сегментах, каждый сегмент это открытая хеш-таблица из двух массивов long под своим монитором.
+ * Корзина с TAT в прошлом полна и ничем не отличается от отсутствующей, поэтому такие ключи удаляются
+ * {@link #evictIdle(long)} и при росте сегмента без потери точности.
+ * Если сегмент заполнен до maxKeys / segments ключей и удалить нечего, новый ключ вытесняет корзину
+ * с самым ранним TAT, то есть ближе всех к полной: поток новых ключей не может сбросить корзину,
+ * которую уже опустошили. Только с failOpen новый ключ вместо этого не отслеживается и запрос проходит.
+ * Оба случая считает {@link #overflows()}.
+ */
+public class TokenBucketLimiter {
+
+    /**
+     * Ответ {@link #tryAcquire(long, long)}, если запрос прошел.
+     */
+    public static final long ACQUIRED = 0L;
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private final long intervalMicros;
+    private final long burstMicros;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final boolean failOpen;
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * @param capacity     сколько запросов подряд проходит у полной корзины
+     * @param refillTokens сколько запросов добавляется за refillPeriod
+     * @param refillPeriod период пополнения
+     * @param segments     на сколько независимых таблиц делятся ключи, округляется до степени двойки
+     * @param maxKeys      сколько ключей отслеживается одновременно
+     * @param failOpen     пропускать запрос нового ключа без учета, когда таблица заполнена, вместо вытеснения
+     */
+    public TokenBucketLimiter(int capacity, int refillTokens, Duration refillPeriod, int segments, int maxKeys,
+                              boolean failOpen) {
+        if (capacity < 1 || refillTokens < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Емкость, пополнение и период корзины должны быть больше нуля");
+        }
+        final int segmentCount = Integer.highestOneBit(Math.max(segments, 1) * 2 - 1);
+        final int maxSegmentKeys = Math.max(MIN_CAPACITY / 2, maxKeys / segmentCount);
+
+        this.intervalMicros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(refillPeriod.toNanos()) / refillTokens);
+        this.burstMicros = intervalMicros * (capacity - 1);
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        this.failOpen = failOpen;
+        for (int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(maxSegmentKeys);
+        }
+    }
+
+    /**
+     * @param key ключ корзины
+     * @param now текущее время в миллисекундах
+     * @return {@link #ACQUIRED}, если запрос прошел, иначе через сколько миллисекунд в корзине появится запрос
+     */
+    public long tryAcquire(long key, long now) {
+        final long hash = mix(key);
+
+        final Segment segment = segments[(int) (hash >>> 32) & segmentMask];
+
+        return segment.acquire(key, (int) hash, TimeUnit.MILLISECONDS.toMicros(now));
+    }
+
+    /**
+     * @param now текущее время в миллисекундах
+     * @return количество удаленных ключей
+     */
+    public int evictIdle(long now) {
+        final long nowMicros = TimeUnit.MILLISECONDS.toMicros(now);
+        int evicted = 0;
+        for (Segment segment : segments) {
+            evicted += segment.evictIdle(nowMicros);
+        }
+
+        return evicted;
+    }
+
+    /**
+     * @return количество отслеживаемых ключей
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+
+        return size;
+    }
+
+    /**
+     * @return сколько раз новый ключ не поместился в заполненную таблицу: вытеснил корзину или прошел без учета
+     */
+    public long overflows() {
+        return overflows.sum();
+    }
+
+    /**
+     * Финализатор MurmurHash3: старшая половина выбирает сегмент, младшая слот.
+     */
+    private static long mix(long key) {
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private static int capacityFor(int keys) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(keys, 1) * 4 - 1));
+    }
+
+    /**
+     * Открытая адресация с линейным пробированием, заполнение не больше половины.
+     * Ключи не удаляются по одному, таблица пересобирается без полных корзин.
+     */
+    private final class Segment {
+
+        private final int maxKeys;
+
+        private long[] keys;
+        private long[] tats;
+        private volatile int size;
+
+        /**
+         * Раньше этого времени ни одна корзина заполненного сегмента не станет полной, пересборка бесполезна.
+         */
+        private long reclaimAfter;
+
+        /**
+         * Корзина ключа EMPTY, который нельзя положить в таблицу.
+         */
+        private boolean containsEmpty;
+        private long emptyTat;
+
+        Segment(int maxKeys) {
+            this.maxKeys = maxKeys;
+            this.keys = new long[MIN_CAPACITY];
+            this.tats = new long[MIN_CAPACITY];
+        }
+
+        synchronized long acquire(long key, int hash, long now) {
+            if (key == EMPTY) {
+                final long tat = containsEmpty ? emptyTat : now;
+                final long wait = waitFor(tat, now);
+                if (wait == ACQUIRED) {
+                    containsEmpty = true;
+                    emptyTat = Math.max(tat, now) + intervalMicros;
+                }
+                return wait;
+            }
+
+            int slot = find(key, hash);
+            if (keys[slot] == key) {
+                final long wait = waitFor(tats[slot], now);
+                if (wait == ACQUIRED) {
+                    tats[slot] = Math.max(tats[slot], now) + intervalMicros;
+                }
+                return wait;
+            }
+
+            // новый ключ это полная корзина, ее первый запрос всегда проходит
+            if ((size + 1) * 2 > keys.length || size >= maxKeys) {
+                if (!reserve(now)) {
+                    return ACQUIRED;
+                }
+                slot = find(key, hash);
+            }
+            keys[slot] = key;
+            tats[slot] = now + intervalMicros;
+            reclaimAfter = Math.min(reclaimAfter, tats[slot]);
+            size++;
+
+            return ACQUIRED;
+        }
+
+        synchronized int evictIdle(long now) {
+            final int before = size + (containsEmpty ? 1 : 0);
+            if (containsEmpty && emptyTat <= now) {
+                containsEmpty = false;
+            }
+            rebuild(capacityFor(live(now)), now);
+
+            return before - size - (containsEmpty ? 1 : 0);
+        }
+
+        private long waitFor(long tat, long now) {
+            final long wait = tat - burstMicros - now;
+
+            return wait <= 0 ? ACQUIRED : Math.max(1, TimeUnit.MICROSECONDS.toMillis(wait + 999));
+        }
+
+        /**
+         * @return false, если таблица заполнена и с failOpen новый ключ не отслеживается
+         */
+        private boolean reserve(long now) {
+            if (makeRoom(now)) {
+                return true;
+            }
+            overflows.increment();
+            if (failOpen) {
+                return false;
+            }
+            evictEarliest();
+
+            return true;
+        }
+
+        /**
+         * @return true, если после пересборки есть место для нового ключа
+         */
+        private boolean makeRoom(long now) {
+            if (keys.length >= capacityFor(maxKeys) && now < reclaimAfter) {
+                return false;
+            }
+            final int live = live(now);
+            rebuild(Math.min(capacityFor(live + 1), capacityFor(maxKeys)), now);
+
+            return (size + 1) * 2 <= keys.length && size < maxKeys;
+        }
+
+        /**
+         * Удаляет корзину с самым ранним TAT со сдвигом следующих ключей цепочки назад,
+         * чтобы линейное пробирование находило их без надгробий.
+         */
+        private void evictEarliest() {
+            int earliest = -1;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY && (earliest < 0 || tats[slot] < tats[earliest])) {
+                    earliest = slot;
+                }
+            }
+
+            final int mask = keys.length - 1;
+            int hole = earliest;
+            int next = (hole + 1) & mask;
+            while (keys[next] != EMPTY) {
+                final int home = (int) mix(keys[next]) & mask;
+                // ключ можно перенести в дыру, если дыра не раньше его домашнего слота по ходу пробирования
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    tats[hole] = tats[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[hole] = EMPTY;
+            tats[hole] = EMPTY;
+            size--;
+        }
+
+        private int live(long now) {
+            int live = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY && tats[slot] > now) {
+                    live++;
+                }
+            }
+
+            return live;
+        }
+
+        private void rebuild(int capacity, long now) {
+            final long[] oldKeys = keys;
+            final long[] oldTats = tats;
+            final int mask = capacity - 1;
+            keys = new long[capacity];
+            tats = new long[capacity];
+            int live = 0;
+            long earliest = Long.MAX_VALUE;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY || oldTats[i] <= now) {
+                    continue;
+                }
+                int slot = (int) mix(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                tats[slot] = oldTats[i];
+                earliest = Math.min(earliest, oldTats[i]);
+                live++;
+            }
+            size = live;
+            reclaimAfter = earliest;
+        }
+
+        /**
+         * @return слот ключа или пустой слот, куда его положить
+         */
+        private int find(long key, int hash) {
+            final int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != key && keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+
+            return slot;
+        }
+    }
+}
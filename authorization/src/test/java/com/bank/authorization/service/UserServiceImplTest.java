@@ -0,0 +1,109 @@
+package com.bank.authorization.service;
+
+import com.bank.authorization.dto.UserDto;
+import com.bank.authorization.mapper.UserMapperImpl;
+import com.bank.authorization.repository.UserRepository;
+import com.bank.authorization.repository.entity.UserEntity;
+import com.bank.authorization.service.hashing.PasswordHasher;
+import com.bank.authorization.service.permission.PermissionCache;
+import com.bank.common.batch.BatchLookup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String OLD_HASH = "{bcrypt}old";
+    private static final String NEW_HASH = "{bcrypt}new";
+
+    @Mock
+    private UserRepository repository;
+
+    @Mock
+    private BatchLookup batchLookup;
+
+    @Mock
+    private PasswordHasher hasher;
+
+    @Mock
+    private PermissionCache permissionCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new UserServiceImpl(new UserMapperImpl(), repository, batchLookup, hasher, permissionCache,
+                new TransactionTemplate(transactionManager));
+        when(repository.existsById(USER_ID)).thenReturn(true);
+        when(repository.findByIdForUpdate(USER_ID)).thenReturn(Optional.of(new UserEntity(USER_ID, "USER", 10L, OLD_HASH)));
+        when(repository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void update_ShouldStoreHash_WhenPasswordChanged() {
+        when(hasher.encode("secret")).thenReturn(CompletableFuture.completedFuture(NEW_HASH));
+
+        final UserDto updated = service.update(USER_ID, new UserDto(null, "ADMIN", "secret", 10L)).join();
+
+        assertEquals(NEW_HASH, saved().getPassword());
+        assertEquals("ADMIN", updated.getRole());
+        verify(permissionCache).invalidate(USER_ID);
+    }
+
+    @Test
+    void update_ShouldKeepHash_WhenPasswordAbsent() {
+        service.update(USER_ID, new UserDto(null, "ADMIN", null, 10L)).join();
+
+        assertEquals(OLD_HASH, saved().getPassword());
+        verify(hasher, never()).encode(anyString());
+    }
+
+    @Test
+    void update_ShouldReadAndSaveUnderRowLockInOneTransaction() {
+        service.update(USER_ID, new UserDto(null, "ADMIN", null, 10L)).join();
+
+        final InOrder order = inOrder(transactionManager, repository, permissionCache);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).findByIdForUpdate(USER_ID);
+        order.verify(repository).save(any(UserEntity.class));
+        order.verify(transactionManager).commit(any());
+        order.verify(permissionCache).invalidate(USER_ID);
+    }
+
+    @Test
+    void update_ShouldNotHash_WhenUserNotFound() {
+        when(repository.existsById(2L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> service.update(2L, new UserDto(null, null, "secret", null)));
+        verify(hasher, never()).encode(anyString());
+    }
+
+    private UserEntity saved() {
+        final ArgumentCaptor<UserEntity> captor = ArgumentCaptor.forClass(UserEntity.class);
+        verify(repository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bank.authorization.service.hashing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочное сравнение занятости потоков запросов при всплеске 1000 регистраций в секунду:
+ * хеширование в потоке запроса, как было, и в пуле {@link PasswordHasher}.
+ * Стоимость BCrypt снижена до 4, чтобы тест шел секунды, соотношение от этого не меняется.
+ * Занятость пишется в лог, проверяется только, что каждый пароль захеширован и ни один не отклонен.
+ */
+@Slf4j
+class PasswordHasherBenchmarkTest {
+
+    private static final int STRENGTH = 4;
+    private static final int REQUEST_THREADS = 200;
+    private static final int REGISTRATIONS = 1_000;
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1) / REGISTRATIONS;
+
+    @Test
+    void encode_ShouldReleaseRequestThreads_WhenRegistrationBurst() throws Exception {
+        final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+        final long[] blocking = burst(password -> CompletableFuture.completedFuture(encoder.encode(password)));
+
+        final PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(STRENGTH);
+        properties.setThreads(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        properties.setQueueCapacity(REGISTRATIONS);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        final PasswordHasher hasher = new PasswordHasher(properties, registry);
+        try {
+            final long[] pooled = burst(hasher::encode);
+
+            report("в потоке запроса", blocking);
+            report("в пуле хеширования", pooled);
+            assertEquals(0, registry.counter("password.hashing.rejected").count());
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    /**
+     * @return в первом элементе пиковое число занятых потоков запросов, дальше время каждого запроса в потоке
+     */
+    private long[] burst(Function<String, CompletableFuture<String>> handler) throws Exception {
+        final ExecutorService requests = Executors.newFixedThreadPool(REQUEST_THREADS);
+        final AtomicInteger busy = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final long[] result = new long[REGISTRATIONS + 1];
+        final List<Future<CompletableFuture<String>>> calls = new ArrayList<>(REGISTRATIONS);
+
+        try {
+            final long started = System.nanoTime();
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                LockSupport.parkNanos(started + i * INTERVAL_NANOS - System.nanoTime());
+                final int request = i;
+                calls.add(requests.submit(() -> {
+                    peak.accumulateAndGet(busy.incrementAndGet(), Math::max);
+                    final long begin = System.nanoTime();
+                    final CompletableFuture<String> hash = handler.apply("password-" + request);
+                    result[request + 1] = System.nanoTime() - begin;
+                    busy.decrementAndGet();
+                    return hash;
+                }));
+            }
+            for (Future<CompletableFuture<String>> call : calls) {
+                call.get().get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            requests.shutdown();
+        }
+        result[0] = peak.get();
+
+        return result;
+    }
+
+    private void report(String mode, long[] result) {
+        final long[] occupancy = Arrays.copyOfRange(result, 1, result.length);
+        Arrays.sort(occupancy);
+        log.info("Хеширование {}: пик занятых потоков запросов {} из {}, время в потоке p50 {} мкс, p99 {} мкс",
+                mode, result[0], REQUEST_THREADS, occupancy[occupancy.length / 2] / 1_000,
+                occupancy[occupancy.length * 99 / 100] / 1_000);
+    }
+}
@@ -0,0 +1,73 @@
+package com.bank.authorization.service.hashing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private static final String PASSWORD = "password";
+    private static final int STRENGTH = 4;
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        hasher.shutdown();
+    }
+
+    @Test
+    void matches_ShouldAcceptAndRequestUpgrade_WhenLegacyBcryptHash() {
+        hasher = hasher(PasswordHasher.BCRYPT, STRENGTH);
+        final String legacy = new BCryptPasswordEncoder(STRENGTH).encode(PASSWORD);
+
+        assertTrue(hasher.matches(PASSWORD, legacy).join());
+        assertTrue(hasher.upgradeEncoding(legacy));
+        assertEquals("legacy", PasswordMigrationReporter.encoderId(legacy));
+    }
+
+    @Test
+    void upgradeEncoding_ShouldReturnFalse_WhenHashIsCurrent() {
+        hasher = hasher(PasswordHasher.BCRYPT, STRENGTH);
+        final String hash = hasher.encode(PASSWORD).join();
+
+        assertTrue(hash.startsWith("{bcrypt}"));
+        assertFalse(hasher.upgradeEncoding(hash));
+    }
+
+    @Test
+    void upgradeEncoding_ShouldReturnTrue_WhenBcryptStrengthRaised() {
+        final String weak = "{bcrypt}" + new BCryptPasswordEncoder(STRENGTH).encode(PASSWORD);
+        hasher = hasher(PasswordHasher.BCRYPT, STRENGTH + 1);
+
+        assertTrue(hasher.matches(PASSWORD, weak).join());
+        assertTrue(hasher.upgradeEncoding(weak));
+    }
+
+    @Test
+    void encode_ShouldUseArgon2AndKeepBcryptMatching_WhenArgon2Selected() {
+        final String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(STRENGTH).encode(PASSWORD);
+        hasher = hasher(PasswordHasher.ARGON2, STRENGTH);
+        final String hash = hasher.encode(PASSWORD).join();
+
+        assertEquals(PasswordHasher.ARGON2, PasswordMigrationReporter.encoderId(hash));
+        assertTrue(hasher.matches(PASSWORD, hash).join());
+        assertFalse(hasher.upgradeEncoding(hash));
+        assertTrue(hasher.matches(PASSWORD, bcrypt).join());
+        assertTrue(hasher.upgradeEncoding(bcrypt));
+    }
+
+    private static PasswordHasher hasher(String encoder, int strength) {
+        final PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setEncoder(encoder);
+        properties.setStrength(strength);
+        properties.setThreads(1);
+
+        return new PasswordHasher(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,99 @@
+package com.bank.authorization.service.permission;
+
+import com.bank.authorization.repository.UserRepository;
+import com.bank.authorization.repository.entity.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PermissionCacheTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String ADMIN = "ADMIN";
+    private static final String USER = "USER";
+    private static final String WRITE = "user.write";
+
+    @Mock
+    private UserRepository repository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PermissionProperties properties = new PermissionProperties();
+    private PermissionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties.setRoles(Map.of(ADMIN, Set.of("user.read", WRITE), USER, Set.of("user.read")));
+        cache = new PermissionCache(repository, properties, registry);
+    }
+
+    @Test
+    void hasPermission_ShouldReadDatabaseOnce_WhenCheckedRepeatedly() {
+        when(repository.findById(USER_ID)).thenReturn(Optional.of(user(USER_ID, ADMIN)));
+
+        assertTrue(cache.hasPermission(USER_ID, WRITE));
+        assertTrue(cache.hasPermission(USER_ID, WRITE));
+
+        verify(repository, times(1)).findById(USER_ID);
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void hasPermission_ShouldReturnFalse_WhenUserIsMissing() {
+        when(repository.findById(USER_ID)).thenReturn(Optional.empty());
+
+        assertFalse(cache.hasPermission(USER_ID, WRITE));
+        assertTrue(cache.find(USER_ID).isEmpty());
+    }
+
+    @Test
+    void invalidate_ShouldReloadRole_WhenUserUpdated() {
+        when(repository.findById(USER_ID)).thenReturn(Optional.of(user(USER_ID, ADMIN)));
+        assertTrue(cache.hasPermission(USER_ID, WRITE));
+
+        when(repository.findById(USER_ID)).thenReturn(Optional.of(user(USER_ID, USER)));
+        cache.invalidate(USER_ID);
+
+        assertFalse(cache.hasPermission(USER_ID, WRITE));
+        assertEquals(USER, cache.find(USER_ID).orElseThrow().role());
+    }
+
+    @Test
+    void warmUp_ShouldLoadUsersInBatches_WhenStarted() {
+        properties.setWarmUpBatchSize(2);
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(user(1L, ADMIN), user(2L, USER)));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(user(3L, USER)));
+
+        cache.warmUp();
+
+        assertTrue(cache.hasPermission(1L, WRITE));
+        assertFalse(cache.hasPermission(3L, WRITE));
+        verify(repository, never()).findById(anyLong());
+    }
+
+    private static UserEntity user(Long id, String role) {
+        return new UserEntity(id, role, id, "{bcrypt}hash");
+    }
+}
@@ -0,0 +1,94 @@
+package com.bank.authorization.service.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private static final long KEY = 42L;
+    private static final long NOW = 1_000_000L;
+    private static final int CAPACITY = 3;
+
+    private final TokenBucketLimiter limiter = limiter(false);
+
+    @Test
+    void tryAcquire_ShouldRejectWithWait_WhenBucketIsEmpty() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(KEY, NOW));
+        }
+
+        assertEquals(1_000, limiter.tryAcquire(KEY, NOW));
+        assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(KEY + 1, NOW));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillLazily_WhenTimePasses() {
+        for (int i = 0; i < CAPACITY; i++) {
+            limiter.tryAcquire(KEY, NOW);
+        }
+
+        assertEquals(400, limiter.tryAcquire(KEY, NOW + 600));
+        assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(KEY, NOW + 1_000));
+        assertTrue(limiter.tryAcquire(KEY, NOW + 1_000) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldTrackZeroKey() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(0L, NOW));
+        }
+
+        assertTrue(limiter.tryAcquire(0L, NOW) > 0);
+    }
+
+    @Test
+    void evictIdle_ShouldRemoveOnlyFullBuckets() {
+        limiter.tryAcquire(KEY, NOW);
+        for (int i = 0; i < CAPACITY; i++) {
+            limiter.tryAcquire(KEY + 1, NOW);
+        }
+
+        assertEquals(1, limiter.evictIdle(NOW + 1_000));
+        assertEquals(1, limiter.size());
+        assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(KEY + 1, NOW + 1_000));
+        assertTrue(limiter.tryAcquire(KEY + 1, NOW + 1_000) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldEvictFullestBucket_WhenMaxKeysReached() {
+        for (int i = 0; i < CAPACITY; i++) {
+            limiter.tryAcquire(KEY, NOW);
+        }
+
+        for (long key = 1_000; key < 11_000; key++) {
+            assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(key, NOW));
+        }
+
+        assertEquals(1_000, limiter.size());
+        assertEquals(10_000 - 999, limiter.overflows());
+        assertTrue(limiter.tryAcquire(KEY, NOW) > 0);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(TokenBucketLimiter.ACQUIRED, limiter.tryAcquire(KEY + 1, NOW));
+        }
+        assertTrue(limiter.tryAcquire(KEY + 1, NOW) > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldStopTracking_WhenMaxKeysReachedAndFailOpen() {
+        final TokenBucketLimiter failOpen = limiter(true);
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(TokenBucketLimiter.ACQUIRED, failOpen.tryAcquire(key, NOW));
+        }
+
+        assertEquals(1_000, failOpen.size());
+        assertEquals(10_000 - 1_000, failOpen.overflows());
+    }
+
+    private static TokenBucketLimiter limiter(boolean failOpen) {
+        return new TokenBucketLimiter(CAPACITY, 1, Duration.ofSeconds(1), 4, 1_000, failOpen);
+    }
+}
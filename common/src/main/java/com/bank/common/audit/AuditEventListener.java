@@ -0,0 +1,137 @@
+package com.bank.common.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.internal.ForeignKeys;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Слушатель Hibernate, который после коммита передает вставки и изменения сущностей в {@link AuditWriter}.
+ * Срабатывает только для закоммиченных транзакций, в потоке запроса лишь копирует состояние сущности.
+ * Сущности не из audit.include-entities Hibernate не передает слушателю вовсе. Поля из audit.exclude-properties
+ * не попадают в снимок, значение password заменяется маской.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "audit", name = "enabled", havingValue = "true")
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    private static final String ID = "id";
+    private static final int ENTITY_TYPE_LENGTH = 40;
+    private static final String PASSWORD = "password";
+    private static final String MASK = "******";
+
+    private final AuditWriter writer;
+    private final AuditProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        final EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (!isAudited(event.getPersister())) {
+            return;
+        }
+
+        submit(event.getEntity(), AuditRecord.CREATE, null,
+                snapshot(event.getPersister(), event.getId(), event.getState(), event.getSession()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!isAudited(event.getPersister())) {
+            return;
+        }
+
+        final Map<String, Object> before = event.getOldState() == null ? null :
+                snapshot(event.getPersister(), event.getId(), event.getOldState(), event.getSession());
+
+        submit(event.getEntity(), AuditRecord.UPDATE, before,
+                snapshot(event.getPersister(), event.getId(), event.getState(), event.getSession()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // транзакция откачена, аудировать нечего
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // транзакция откачена, аудировать нечего
+    }
+
+    /**
+     * В Hibernate 5 метод устарел, но в PostActionEventListener остается абстрактным.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return isAudited(persister);
+    }
+
+    private boolean isAudited(EntityPersister persister) {
+        return properties.getIncludeEntities().contains(persister.getMappedClass().getSimpleName());
+    }
+
+    private void submit(Object entity, String operationType, Map<String, Object> before, Map<String, Object> after) {
+        final String entityType = entity.getClass().getSimpleName();
+
+        writer.submit(new AuditRecord(entityType.substring(0, Math.min(entityType.length(), ENTITY_TYPE_LENGTH)),
+                operationType, properties.getCreatedBy(), Instant.now(), before, after));
+    }
+
+    /**
+     * Ассоциации заменяются их id, коллекции пропускаются, чтобы поток записи не трогал ленивые прокси.
+     * Маска пароля сохраняет в аудите сам факт смены пароля.
+     */
+    private Map<String, Object> snapshot(EntityPersister persister, Serializable id, Object[] state,
+                                         SharedSessionContractImplementor session) {
+        final String[] names = persister.getPropertyNames();
+        final Type[] types = persister.getPropertyTypes();
+        final Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put(ID, id);
+
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType() || properties.getExcludeProperties().contains(names[i])) {
+                continue;
+            }
+
+            if (PASSWORD.equalsIgnoreCase(names[i])) {
+                snapshot.put(names[i], state[i] == null ? null : MASK);
+            } else if (types[i].isEntityType() && state[i] != null) {
+                snapshot.put(names[i], ForeignKeys.getEntityIdentifierIfNotUnsaved(
+                        ((EntityType) types[i]).getAssociatedEntityName(), state[i], session));
+            } else {
+                snapshot.put(names[i], state[i]);
+            }
+        }
+
+        return snapshot;
+    }
+}
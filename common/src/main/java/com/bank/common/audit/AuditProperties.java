@@ -0,0 +1,62 @@
+package com.bank.common.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Настройки аудита сущностей, включается в модуле через audit.enabled.
+ * Аудируются только сущности из includeEntities, поле password всегда маскируется.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    /**
+     * Писать ли аудит вставок и изменений сущностей модуля.
+     */
+    private boolean enabled;
+
+    /**
+     * Таблица аудита вместе со схемой модуля, например transfer.audit.
+     */
+    private String table;
+
+    /**
+     * Простые имена классов аудируемых сущностей, например AccountTransferEntity.
+     * Пустой список значит, что не аудируется ничего.
+     */
+    private Set<String> includeEntities = new HashSet<>();
+
+    /**
+     * Поля, которые не попадают в снимок сущности.
+     */
+    private Set<String> excludeProperties = new HashSet<>();
+
+    /**
+     * Емкость очереди. При переполнении запись аудита отбрасывается, а не блокирует запрос.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Максимальное число строк в одном JDBC batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Сколько ждать новые записи, прежде чем проверить остановку.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Значение created_by/modified_by.
+     */
+    private String createdBy = "system";
+}
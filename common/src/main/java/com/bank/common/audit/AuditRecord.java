@@ -0,0 +1,22 @@
+package com.bank.common.audit;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Снимок изменения сущности для записи в таблицу audit.
+ * Состояния сериализуются в JSON уже в потоке {@link AuditWriter}.
+ *
+ * @param entityType    тип сущности
+ * @param operationType тип операции
+ * @param user          кто изменил
+ * @param at            когда изменено
+ * @param before        состояние до изменения, null при создании или если Hibernate его не загрузил
+ * @param after         состояние после изменения
+ */
+public record AuditRecord(String entityType, String operationType, String user, Instant at,
+                          Map<String, Object> before, Map<String, Object> after) {
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+}
@@ -0,0 +1,158 @@
+package com.bank.common.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Асинхронная запись аудита пачками.
+ * Поток запроса только кладет {@link AuditRecord} в ограниченную очередь, JSON и INSERT
+ * выполняются в отдельном потоке одним JDBC batch на пачку.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "audit", name = "enabled", havingValue = "true")
+public class AuditWriter {
+
+    private static final String INSERT = "INSERT INTO %s (entity_type, operation_type, created_by, " +
+            "modified_by, created_at, modified_at, new_entity_json, entity_json) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectWriter writer;
+    private final String insert;
+    private final AuditProperties properties;
+    private final BlockingQueue<AuditRecord> queue;
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+    private final Counter dropped;
+    private final Thread worker;
+
+    private volatile boolean running;
+
+    public AuditWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, AuditProperties properties,
+                       MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writer = objectMapper.writerFor(Map.class);
+        this.insert = String.format(INSERT, properties.getTable());
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = DistributionSummary.builder("audit.batch.size").register(registry);
+        this.flushLatency = Timer.builder("audit.flush.latency").register(registry);
+        this.dropped = Counter.builder("audit.dropped").register(registry);
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size).register(registry);
+        this.worker = new Thread(this::run, "audit-writer");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * @param record запись аудита
+     * @return false, если очередь переполнена и запись отброшена
+     */
+    public boolean submit(AuditRecord record) {
+        if (queue.offer(record)) {
+            return true;
+        }
+        dropped.increment();
+        log.warn("Очередь аудита переполнена, запись {} {} отброшена", record.operationType(), record.entityType());
+
+        return false;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(properties.getFlushInterval().multipliedBy(2).toMillis());
+        flushAll();
+    }
+
+    /**
+     * Синхронно записывает все, что лежит в очереди.
+     */
+    void flushAll() {
+        AuditRecord record;
+        while ((record = queue.poll()) != null) {
+            flush(record);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                final AuditRecord first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    flush(first);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(AuditRecord first) {
+        final List<AuditRecord> batch = new ArrayList<>(properties.getBatchSize());
+        batch.add(first);
+        queue.drainTo(batch, properties.getBatchSize() - 1);
+
+        try {
+            final List<Object[]> rows = new ArrayList<>(batch.size());
+            for (AuditRecord record : batch) {
+                rows.add(toRow(record));
+            }
+            flushLatency.record(() -> jdbcTemplate.batchUpdate(insert, rows, rows.size(), this::bind));
+            batchSize.record(batch.size());
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.error("Не удалось записать пачку аудита из {} записей", batch.size(), e);
+        }
+    }
+
+    private Object[] toRow(AuditRecord record) throws JsonProcessingException {
+        final Timestamp at = Timestamp.from(record.at());
+        final boolean update = AuditRecord.UPDATE.equals(record.operationType());
+        final Map<String, Object> state = update && record.before() != null ? record.before() : record.after();
+
+        return new Object[]{
+            record.entityType(),
+            record.operationType(),
+            record.user(),
+            update ? record.user() : null,
+            at,
+            update ? at : null,
+            update ? writer.writeValueAsString(record.after()) : null,
+            writer.writeValueAsString(state)
+        };
+    }
+
+    private void bind(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.common.batch;
+
+import com.bank.common.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Пакетное чтение сущностей по списку технических идентификаторов.
+ * Идентификаторы запрашиваются порциями через {@link JpaRepository#findAllById},
+ * поэтому число запросов к базе зависит от числа порций, а не от числа id.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchLookup {
+
+    private static final String LIMIT_MESSAGE = "Превышено максимальное число id в одном запросе: ";
+
+    private final BatchLookupProperties properties;
+
+    /**
+     * @param repository репозиторий сущности
+     * @param idGetter   получение технического идентификатора сущности
+     * @param ids        список технических идентификаторов, допускаются повторы
+     * @param message    префикс сообщения, к которому дописываются все отсутствующие id
+     * @return сущности в порядке запрошенных идентификаторов
+     * @throws ValidationException     если id больше {@link BatchLookupProperties#getMaxIds()}
+     * @throws EntityNotFoundException если хотя бы один id не найден
+     */
+    public <T> List<T> findAllById(JpaRepository<T, Long> repository, Function<T, Long> idGetter,
+                                   List<Long> ids, String message) {
+        final List<Long> uniqueIds = uniqueIds(ids);
+        final Map<Long, T> found = load(repository, idGetter, uniqueIds);
+
+        final String missing = uniqueIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .map(String::valueOf)
+                .collect(Collectors.joining(", "));
+
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(message + missing);
+        }
+
+        return ids.stream()
+                .map(found::get)
+                .toList();
+    }
+
+    /**
+     * Для ссылок, которые могут устареть: отсутствующий id не делает ошибкой весь ответ.
+     *
+     * @param repository репозиторий сущности
+     * @param idGetter   получение технического идентификатора сущности
+     * @param ids        список технических идентификаторов, допускаются повторы
+     * @return найденные сущности без повторов в порядке запрошенных идентификаторов,
+     * отсутствующие id пропускаются
+     * @throws ValidationException если id больше {@link BatchLookupProperties#getMaxIds()}
+     */
+    public <T> List<T> findAllFound(JpaRepository<T, Long> repository, Function<T, Long> idGetter, List<Long> ids) {
+        final List<Long> uniqueIds = uniqueIds(ids);
+        final Map<Long, T> found = load(repository, idGetter, uniqueIds);
+
+        return uniqueIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Long> uniqueIds(List<Long> ids) {
+        if (ids.size() > properties.getMaxIds()) {
+            throw new ValidationException(LIMIT_MESSAGE + properties.getMaxIds());
+        }
+
+        return new ArrayList<>(new LinkedHashSet<>(ids));
+    }
+
+    private <T> Map<Long, T> load(JpaRepository<T, Long> repository, Function<T, Long> idGetter,
+                                  List<Long> uniqueIds) {
+        final Map<Long, T> found = new HashMap<>();
+        final int chunkSize = properties.getChunkSize();
+
+        for (int from = 0; from < uniqueIds.size(); from += chunkSize) {
+            final List<Long> chunk = uniqueIds.subList(from, Math.min(from + chunkSize, uniqueIds.size()));
+
+            for (T entity : repository.findAllById(chunk)) {
+                found.put(idGetter.apply(entity), entity);
+            }
+        }
+
+        return found;
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.common.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки {@link BatchLookup}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "batch-lookup")
+public class BatchLookupProperties {
+
+    /**
+     * Число id в одном запросе к базе.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Максимальное число id в одном вызове, чтобы один запрос не держал соединение из пула надолго.
+     */
+    private int maxIds = 5000;
+}
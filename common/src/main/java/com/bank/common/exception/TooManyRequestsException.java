@@ -0,0 +1,20 @@
+package com.bank.common.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception при превышении допустимой частоты запросов.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Через сколько секунд запрос можно повторить.
+     */
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.bank.common.exception;
+
+/**
+ * Exception при неверных учетных данных или токене доступа.
+ */
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -1,9 +1,12 @@
 package com.bank.common.handler;
 
+import com.bank.common.exception.TooManyRequestsException;
+import com.bank.common.exception.UnauthorizedException;
 import com.bank.common.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.TypeMismatchException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -19,6 +22,7 @@ import javax.persistence.EntityNotFoundException;
 import java.nio.file.AccessDeniedException;
 import java.sql.SQLException;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Глобальный обработчик исключений.
@@ -37,6 +41,8 @@ public class GlobalRestExceptionHandler {
 
     private static final String METHOD_NOT_ALLOWED_MESSAGE = "Выбранный вами метод не поддерживается.";
 
+    private static final String SERVICE_UNAVAILABLE_MESSAGE = "Сервис перегружен, повторите запрос позже.";
+
     /**
      * @param ex {@link HttpMessageNotReadableException}.
      * @return {@link ResponseEntity} с текстом ошибки и HttpStatus.BAD_REQUEST.
@@ -172,6 +178,40 @@ public class GlobalRestExceptionHandler {
         return new ResponseEntity<>(message, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
+    /**
+     * @param ex {@link UnauthorizedException}.
+     * @return {@link ResponseEntity} с текстом ошибки и HttpStatus.UNAUTHORIZED.
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<String> handleUnauthorized(UnauthorizedException ex) {
+        final String message = ex.getMessage();
+        log.warn(message);
+        return new ResponseEntity<>(message, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * @param ex {@link TooManyRequestsException}.
+     * @return {@link ResponseEntity} с текстом ошибки, заголовком Retry-After и HttpStatus.TOO_MANY_REQUESTS.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequests(TooManyRequestsException ex) {
+        final String message = ex.getMessage();
+        log.warn(message);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(message);
+    }
+
+    /**
+     * @param ex {@link RejectedExecutionException}, очередь ограниченного пула переполнена.
+     * @return {@link ResponseEntity} с текстом ошибки и HttpStatus.SERVICE_UNAVAILABLE.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecution(RejectedExecutionException ex) {
+        log.warn(ex.getMessage());
+        return new ResponseEntity<>(SERVICE_UNAVAILABLE_MESSAGE, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * @param ex {@link SQLException}.
      * @return {@link ResponseEntity} с текстом ошибки и HttpStatus.INTERNAL_SERVER_ERROR.
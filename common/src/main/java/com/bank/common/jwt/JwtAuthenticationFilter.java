@@ -0,0 +1,73 @@
+package com.bank.common.jwt;
+
+import com.bank.common.exception.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Фильтр, который пропускает запрос только с действующим токеном в заголовке Authorization: Bearer.
+ * Токен проверяется локально {@link JwtVerifier}, утверждения кладутся в атрибут запроса
+ * {@link #CLAIMS_ATTRIBUTE}. Пути из jwt.filter.public-paths не проверяются.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "jwt.filter", name = "enabled", havingValue = "true")
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String CLAIMS_ATTRIBUTE = JwtClaims.class.getName();
+
+    private static final String BEARER = "Bearer ";
+    private static final String MISSING_MESSAGE = "Не передан токен доступа";
+
+    private final JwtVerifier verifier;
+    private final JwtProperties properties;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        final String path = pathHelper.getPathWithinApplication(request);
+
+        return properties.getFilter().getPublicPaths().stream().anyMatch(pattern -> matcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            reject(response, MISSING_MESSAGE);
+            return;
+        }
+
+        try {
+            request.setAttribute(CLAIMS_ATTRIBUTE, verifier.verify(header.substring(BEARER.length()).strip()));
+        } catch (UnauthorizedException e) {
+            reject(response, e.getMessage());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, BEARER.strip());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
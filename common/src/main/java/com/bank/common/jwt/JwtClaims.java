@@ -0,0 +1,21 @@
+package com.bank.common.jwt;
+
+/**
+ * Утверждения токена доступа.
+ *
+ * @param subject   технический идентификатор пользователя, claim sub
+ * @param profileId технический идентификатор профиля пользователя
+ * @param role      роль пользователя
+ * @param issuedAt  когда выпущен, секунды эпохи, claim iat
+ * @param expiresAt до какого момента действителен, секунды эпохи, claim exp
+ */
+public record JwtClaims(String subject, Long profileId, String role, long issuedAt, long expiresAt) {
+
+    /**
+     * @param now текущее время, секунды эпохи
+     * @return true, если срок действия токена истек
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
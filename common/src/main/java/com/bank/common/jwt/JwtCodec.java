@@ -0,0 +1,134 @@
+package com.bank.common.jwt;
+
+import com.bank.common.exception.UnauthorizedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Выпуск и разбор JWT с подписью HS256.
+ * Ключ собирается один раз при старте, секрет короче 32 байт не дает сервису запуститься.
+ * {@link Mac} инициализируется ключом один раз на поток.
+ * Принимается только заголовок, который выпускает этот же класс, поэтому токен с другим alg,
+ * в том числе none, отклоняется до проверки подписи.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt.token", name = "secret")
+public class JwtCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final char SEPARATOR = '.';
+    private static final String INVALID_MESSAGE = "Некорректный токен доступа";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private static final String SUBJECT = "sub";
+    private static final String PROFILE_ID = "profileId";
+    private static final String ROLE = "role";
+    private static final String ISSUED_AT = "iat";
+    private static final String EXPIRES_AT = "exp";
+
+    private final ObjectMapper objectMapper;
+    private final ThreadLocal<Mac> macs;
+
+    public JwtCodec(JwtProperties properties, ObjectMapper objectMapper) {
+        final byte[] secret = properties.getToken().getSecret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.token.secret должен быть не короче " + MIN_SECRET_BYTES +
+                    " байт для HS256");
+        }
+        final SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+
+        this.objectMapper = objectMapper;
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+        // алгоритм и ключ проверяются при старте, а не на первом запросе
+        newMac(key);
+    }
+
+    /**
+     * @param claims {@link JwtClaims}
+     * @return подписанный токен
+     */
+    public String encode(JwtClaims claims) {
+        final Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put(SUBJECT, claims.subject());
+        payload.put(PROFILE_ID, claims.profileId());
+        payload.put(ROLE, claims.role());
+        payload.put(ISSUED_AT, claims.issuedAt());
+        payload.put(EXPIRES_AT, claims.expiresAt());
+
+        try {
+            final String content = HEADER + SEPARATOR + ENCODER.encodeToString(objectMapper.writeValueAsBytes(payload));
+
+            return content + SEPARATOR + ENCODER.encodeToString(sign(content));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось записать утверждения токена", e);
+        }
+    }
+
+    /**
+     * Срок действия здесь не проверяется, это делает вызывающий код.
+     *
+     * @param token токен
+     * @return {@link JwtClaims} токена с верной подписью
+     * @throws UnauthorizedException если токен поврежден или подписан другим ключом
+     */
+    public JwtClaims decode(String token) {
+        final int payloadStart = token.indexOf(SEPARATOR);
+        final int signatureStart = token.lastIndexOf(SEPARATOR);
+        if (payloadStart != HEADER.length() || signatureStart == payloadStart || !token.startsWith(HEADER)) {
+            throw new UnauthorizedException(INVALID_MESSAGE);
+        }
+
+        try {
+            final String content = token.substring(0, signatureStart);
+            final byte[] signature = DECODER.decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(sign(content), signature)) {
+                throw new UnauthorizedException(INVALID_MESSAGE);
+            }
+
+            final JsonNode payload = objectMapper.readTree(DECODER.decode(token.substring(payloadStart + 1,
+                    signatureStart)));
+            if (!payload.hasNonNull(SUBJECT) || !payload.hasNonNull(EXPIRES_AT)) {
+                throw new UnauthorizedException(INVALID_MESSAGE);
+            }
+
+            return new JwtClaims(payload.get(SUBJECT).asText(),
+                    payload.hasNonNull(PROFILE_ID) ? payload.get(PROFILE_ID).asLong() : null,
+                    payload.path(ROLE).asText(null), payload.path(ISSUED_AT).asLong(),
+                    payload.get(EXPIRES_AT).asLong());
+        } catch (IllegalArgumentException | IOException e) {
+            throw new UnauthorizedException(INVALID_MESSAGE);
+        }
+    }
+
+    private byte[] sign(String content) {
+        return macs.get().doFinal(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Не удалось инициализировать " + ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bank.common.jwt;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки JWT. Токены выпускает authorization, остальные сервисы проверяют их сами
+ * по тому же jwt.token.secret, проверка включается в модуле через jwt.filter.enabled.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    private final Token token = new Token();
+
+    private final Filter filter = new Filter();
+
+    /**
+     * Подпись и время жизни токена.
+     */
+    @Getter
+    @Setter
+    public static class Token {
+
+        /**
+         * Секрет подписи HS256, общий для всех сервисов.
+         */
+        private String secret;
+
+        /**
+         * Время жизни токена, число без единиц читается как миллисекунды.
+         */
+        private Duration expiration = Duration.ofHours(1);
+    }
+
+    /**
+     * Проверка токена на входящих запросах.
+     */
+    @Getter
+    @Setter
+    public static class Filter {
+
+        /**
+         * Проверять ли токен на запросах модуля.
+         */
+        private boolean enabled;
+
+        /**
+         * Пути без токена, шаблоны Ant относительно context-path, например /login.
+         */
+        private List<String> publicPaths = new ArrayList<>();
+
+        /**
+         * Сколько проверенных токенов держать в кэше.
+         */
+        private int cacheSize = 10_000;
+    }
+}
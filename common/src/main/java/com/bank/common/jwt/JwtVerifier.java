@@ -0,0 +1,84 @@
+package com.bank.common.jwt;
+
+import com.bank.common.exception.UnauthorizedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка токена доступа без обращения к authorization.
+ * Клиент передает один и тот же токен на каждом запросе, поэтому проверенные утверждения кэшируются
+ * по строке токена до истечения его срока, и повторный запрос не считает HMAC и не разбирает JSON.
+ * Отклоненные токены не кэшируются. Статистика кэша в метриках cache.*, cache = jwt.claims.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jwt.token", name = "secret")
+public class JwtVerifier {
+
+    private static final String EXPIRED_MESSAGE = "Срок действия токена доступа истек";
+
+    private final JwtCodec codec;
+    private final Cache<String, JwtClaims> cache;
+
+    public JwtVerifier(JwtCodec codec, JwtProperties properties, MeterRegistry registry) {
+        this.codec = codec;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getFilter().getCacheSize())
+                .expireAfter(new UntilExpiration())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.claims");
+    }
+
+    /**
+     * @param token токен без префикса Bearer
+     * @return {@link JwtClaims} действующего токена
+     * @throws UnauthorizedException если токен поврежден, подписан другим ключом или истек
+     */
+    public JwtClaims verify(String token) {
+        return verify(token, Instant.now().getEpochSecond());
+    }
+
+    JwtClaims verify(String token, long now) {
+        JwtClaims claims = cache.getIfPresent(token);
+        if (claims == null) {
+            claims = codec.decode(token);
+            if (!claims.isExpired(now)) {
+                cache.put(token, claims);
+            }
+        }
+        if (claims.isExpired(now)) {
+            throw new UnauthorizedException(EXPIRED_MESSAGE);
+        }
+
+        return claims;
+    }
+
+    /**
+     * Запись живет до exp токена, чтение и замена срок не продлевают.
+     */
+    private static final class UntilExpiration implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String token, JwtClaims claims, long currentTime) {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, claims.expiresAt() - Instant.now().getEpochSecond()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
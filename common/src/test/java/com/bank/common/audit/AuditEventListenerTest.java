@@ -0,0 +1,148 @@
+package com.bank.common.audit;
+
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты AuditEventListener")
+class AuditEventListenerTest {
+
+    @Mock
+    private AuditWriter writer;
+
+    @Spy
+    private AuditProperties properties = new AuditProperties();
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private EntityPersister persister;
+
+    @Mock
+    private EventSource session;
+
+    @Captor
+    private ArgumentCaptor<AuditRecord> record;
+
+    @InjectMocks
+    private AuditEventListener listener;
+
+    private final Transfer entity = new Transfer();
+
+    @BeforeEach
+    void init() {
+        final Type scalar = mock(Type.class);
+        final Type collection = mock(Type.class);
+        lenient().when(collection.isCollectionType()).thenReturn(true);
+        lenient().when(persister.getPropertyNames()).thenReturn(new String[]{"amount", "purpose", "history"});
+        lenient().when(persister.getPropertyTypes()).thenReturn(new Type[]{scalar, scalar, collection});
+        lenient().doReturn(Transfer.class).when(persister).getMappedClass();
+        properties.setCreatedBy("transfer-app");
+        properties.setIncludeEntities(Set.of("Transfer"));
+    }
+
+    @Test
+    @DisplayName("вставка сущности, позитивный сценарий")
+    void onPostInsertPositiveTest() {
+        listener.onPostInsert(new PostInsertEvent(entity, 1L,
+                new Object[]{BigDecimal.TEN, "rent", List.of()}, persister, session));
+
+        verify(writer).submit(record.capture());
+        assertAll(
+                () -> assertEquals("Transfer", record.getValue().entityType()),
+                () -> assertEquals(AuditRecord.CREATE, record.getValue().operationType()),
+                () -> assertEquals("transfer-app", record.getValue().user()),
+                () -> assertNull(record.getValue().before()),
+                () -> assertEquals(state(1L, BigDecimal.TEN, "rent"), record.getValue().after())
+        );
+    }
+
+    @Test
+    @DisplayName("изменение сущности, позитивный сценарий")
+    void onPostUpdatePositiveTest() {
+        listener.onPostUpdate(new PostUpdateEvent(entity, 1L,
+                new Object[]{BigDecimal.ONE, "rent", List.of()},
+                new Object[]{BigDecimal.TEN, "rent", List.of()}, new int[]{0}, persister, session));
+
+        verify(writer).submit(record.capture());
+        assertAll(
+                () -> assertEquals(AuditRecord.UPDATE, record.getValue().operationType()),
+                () -> assertEquals(state(1L, BigDecimal.TEN, "rent"), record.getValue().before()),
+                () -> assertEquals(state(1L, BigDecimal.ONE, "rent"), record.getValue().after())
+        );
+    }
+
+    @Test
+    @DisplayName("вставка сущности не из include-entities, негативный сценарий")
+    void onPostInsertNotIncludedNegativeTest() {
+        properties.setIncludeEntities(Set.of("CardTransfer"));
+
+        listener.onPostInsert(new PostInsertEvent(entity, 1L,
+                new Object[]{BigDecimal.TEN, "rent", List.of()}, persister, session));
+
+        assertFalse(listener.requiresPostCommitHanding(persister));
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("пароль маскируется, исключенные поля пропускаются, позитивный сценарий")
+    void onPostInsertMaskedPasswordPositiveTest() {
+        final Type scalar = mock(Type.class);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"password", "purpose", "role"});
+        when(persister.getPropertyTypes()).thenReturn(new Type[]{scalar, scalar, scalar});
+        properties.setExcludeProperties(Set.of("purpose"));
+
+        listener.onPostInsert(new PostInsertEvent(entity, 1L,
+                new Object[]{"{bcrypt}$2a$10$hash", "rent", "USER"}, persister, session));
+
+        verify(writer).submit(record.capture());
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 1L);
+        expected.put("password", "******");
+        expected.put("role", "USER");
+        assertEquals(expected, record.getValue().after());
+    }
+
+    private Map<String, Object> state(Long id, BigDecimal amount, String purpose) {
+        final Map<String, Object> state = new LinkedHashMap<>();
+        state.put("id", id);
+        state.put("amount", amount);
+        state.put("purpose", purpose);
+        return state;
+    }
+
+    private static class Transfer {
+    }
+}
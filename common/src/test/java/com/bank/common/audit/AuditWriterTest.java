@@ -0,0 +1,132 @@
+package com.bank.common.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты AuditWriter")
+class AuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Captor
+    private ArgumentCaptor<Collection<Object[]>> rows;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Instant at = Instant.parse("2023-01-01T00:00:00Z");
+
+    private AuditWriter writer;
+
+    @BeforeEach
+    void init() {
+        final AuditProperties properties = new AuditProperties();
+        properties.setQueueCapacity(3);
+        properties.setBatchSize(2);
+        properties.setTable("transfer.audit");
+        writer = new AuditWriter(jdbcTemplate, new ObjectMapper(), properties, registry);
+    }
+
+    @Test
+    @DisplayName("запись очереди пачками по batchSize, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void flushAllBatchesPositiveTest() {
+        for (long id = 1; id <= 3; id++) {
+            writer.submit(new AuditRecord("AccountTransferEntity", AuditRecord.CREATE, "user", at,
+                    null, Map.<String, Object>of("id", id)));
+        }
+
+        writer.flushAll();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT INTO transfer.audit "), rows.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        final DistributionSummary batchSize = registry.get("audit.batch.size").summary();
+        assertAll(
+                () -> assertEquals(List.of(2, 1), rows.getAllValues().stream().map(Collection::size).toList()),
+                () -> assertEquals(2, batchSize.count()),
+                () -> assertEquals(3, batchSize.totalAmount()),
+                () -> assertEquals(0, registry.get("audit.queue.depth").gauge().value())
+        );
+    }
+
+    @Test
+    @DisplayName("обновление пишет состояние до и после, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void flushUpdatePositiveTest() {
+        writer.submit(new AuditRecord("CardTransferEntity", AuditRecord.UPDATE, "user", at,
+                Map.of("amount", 1), Map.of("amount", 2)));
+
+        writer.flushAll();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        final Object[] row = rows.getValue().iterator().next();
+        assertArrayEquals(new Object[]{"CardTransferEntity", AuditRecord.UPDATE, "user", "user",
+            Timestamp.from(at), Timestamp.from(at), "{\"amount\":2}", "{\"amount\":1}"}, row);
+    }
+
+    @Test
+    @DisplayName("обновление без загруженного состояния до, позитивный сценарий")
+    @SuppressWarnings("unchecked")
+    void flushUpdateWithoutBeforePositiveTest() {
+        writer.submit(new AuditRecord("CardTransferEntity", AuditRecord.UPDATE, "user", at,
+                null, Map.of("amount", 2)));
+
+        writer.flushAll();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        final Object[] row = rows.getValue().iterator().next();
+        assertAll(
+                () -> assertEquals("{\"amount\":2}", row[6]),
+                () -> assertEquals("{\"amount\":2}", row[7])
+        );
+    }
+
+    @Test
+    @DisplayName("переполнение очереди отбрасывает запись, негативный сценарий")
+    void submitOverflowNegativeTest() {
+        final AuditRecord record = new AuditRecord("PhoneTransferEntity", AuditRecord.CREATE, "user", at,
+                null, Map.of());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(writer.submit(record));
+        }
+
+        assertAll(
+                () -> assertFalse(writer.submit(record)),
+                () -> assertEquals(1, registry.get("audit.dropped").counter().count()),
+                () -> assertEquals(3, registry.get("audit.queue.depth").gauge().value())
+        );
+    }
+}
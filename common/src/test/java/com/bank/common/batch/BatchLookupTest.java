@@ -0,0 +1,108 @@
+package com.bank.common.batch;
+
+import com.bank.common.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchLookupTest {
+
+    private static final String MESSAGE = "Не найдена сущность с ID ";
+
+    @Mock
+    private JpaRepository<Item, Long> repository;
+
+    private BatchLookupProperties properties;
+
+    private BatchLookup lookup;
+
+    @BeforeEach
+    void init() {
+        properties = new BatchLookupProperties();
+        lookup = new BatchLookup(properties);
+    }
+
+    @Test
+    @DisplayName("результат в порядке запроса, повторы сохраняются, позитивный сценарий")
+    void findAllByIdKeepsRequestOrderPositiveTest() {
+        when(repository.findAllById(List.of(3L, 1L, 2L))).thenReturn(List.of(new Item(1L), new Item(2L), new Item(3L)));
+
+        final List<Item> result = lookup.findAllById(repository, Item::id, List.of(3L, 1L, 2L, 3L), MESSAGE);
+
+        assertEquals(List.of(3L, 1L, 2L, 3L), result.stream().map(Item::id).toList());
+    }
+
+    @Test
+    @DisplayName("все отсутствующие id в одной ошибке, негативный сценарий")
+    void findAllByIdReportsAllMissingNegativeTest() {
+        when(repository.findAllById(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(new Item(2L), new Item(3L)));
+
+        final EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> lookup.findAllById(repository, Item::id, List.of(1L, 2L, 3L, 4L), MESSAGE));
+
+        assertEquals(MESSAGE + "1, 4", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("отсутствующие id пропускаются без ошибки, позитивный сценарий")
+    void findAllFoundSkipsMissingPositiveTest() {
+        when(repository.findAllById(List.of(4L, 1L, 2L))).thenReturn(List.of(new Item(2L), new Item(4L)));
+
+        final List<Item> result = lookup.findAllFound(repository, Item::id, List.of(4L, 1L, 2L, 4L));
+
+        assertEquals(List.of(4L, 2L), result.stream().map(Item::id).toList());
+    }
+
+    @Test
+    @DisplayName("превышение лимита id не доходит до базы, негативный сценарий")
+    void findAllByIdOverLimitNegativeTest() {
+        properties.setMaxIds(2);
+
+        assertThrows(ValidationException.class,
+                () -> lookup.findAllById(repository, Item::id, List.of(1L, 2L, 3L), MESSAGE));
+
+        verify(repository, never()).findAllById(anyCollection());
+    }
+
+    /**
+     * Число обращений к базе растёт только на каждую порцию id, а не на каждый id,
+     * поэтому время ответа остаётся плоским внутри порции.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100, 500, 501, 2000, 5000})
+    @DisplayName("число запросов к базе равно числу порций, позитивный сценарий")
+    void findAllByIdRoundTripsPerChunkPositiveTest(int count) {
+        final List<Long> ids = LongStream.rangeClosed(1, count).boxed().toList();
+        when(repository.findAllById(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(Item::new).toList());
+
+        final List<Item> result = lookup.findAllById(repository, Item::id, ids, MESSAGE);
+
+        final int chunks = (count + properties.getChunkSize() - 1) / properties.getChunkSize();
+        assertEquals(count, result.size());
+        verify(repository, times(chunks)).findAllById(anyCollection());
+    }
+
+    private record Item(Long id) {
+    }
+}
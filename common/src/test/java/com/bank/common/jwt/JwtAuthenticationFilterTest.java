@@ -0,0 +1,78 @@
+package com.bank.common.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtCodec codec;
+
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void init() {
+        final JwtProperties properties = new JwtProperties();
+        properties.getToken().setSecret("0123456789abcdef0123456789abcdef");
+        properties.getFilter().setPublicPaths(List.of("/login"));
+        codec = JwtCodecTest.codec(properties.getToken().getSecret());
+        filter = new JwtAuthenticationFilter(new JwtVerifier(codec, properties, new SimpleMeterRegistry()), properties);
+    }
+
+    @Test
+    @DisplayName("действующий токен пропускается, утверждения в атрибуте запроса, позитивный сценарий")
+    void validTokenPassesPositiveTest() throws Exception {
+        final long now = Instant.now().getEpochSecond();
+        final JwtClaims claims = new JwtClaims("7", 70L, "USER", now, now + 60);
+        final MockHttpServletRequest request = request("/read/7");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + codec.encode(claims));
+        final MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(claims, request.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("запрос без токена, негативный сценарий")
+    void missingTokenRejectedNegativeTest() throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/read/7"), response, chain);
+
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("публичный путь без токена, позитивный сценарий")
+    void publicPathSkipsCheckPositiveTest() throws Exception {
+        final MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/login"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/authorization" + path);
+        request.setContextPath("/api/authorization");
+
+        return request;
+    }
+}
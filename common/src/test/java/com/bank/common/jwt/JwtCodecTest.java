@@ -0,0 +1,93 @@
+package com.bank.common.jwt;
+
+import com.bank.common.exception.UnauthorizedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtCodecTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final long NOW = 1_700_000_000L;
+    private static final JwtClaims CLAIMS = new JwtClaims("7", 70L, "ADMIN", NOW, NOW + 3600);
+
+    private final JwtCodec codec = codec(SECRET);
+
+    @Test
+    @DisplayName("выпущенный токен разбирается в те же утверждения, позитивный сценарий")
+    void encodeDecodeRoundTripPositiveTest() {
+        assertEquals(CLAIMS, codec.decode(codec.encode(CLAIMS)));
+    }
+
+    @Test
+    @DisplayName("токен с измененными утверждениями, негативный сценарий")
+    void decodeTamperedPayloadNegativeTest() {
+        final String[] parts = codec.encode(CLAIMS).split("\\.");
+        final String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("ADMIN", "ROOT!");
+        final String tampered = parts[0] + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+
+        assertThrows(UnauthorizedException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    @DisplayName("токен с alg none, негативный сценарий")
+    void decodeUnsignedTokenNegativeTest() {
+        final String[] parts = codec.encode(CLAIMS).split("\\.");
+        final String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(UnauthorizedException.class, () -> codec.decode(header + "." + parts[1] + "."));
+    }
+
+    @Test
+    @DisplayName("токен подписан другим секретом, негативный сценарий")
+    void decodeForeignSecretNegativeTest() {
+        final String token = codec("fedcba9876543210fedcba9876543210").encode(CLAIMS);
+
+        assertThrows(UnauthorizedException.class, () -> codec.decode(token));
+    }
+
+    @Test
+    @DisplayName("секрет короче 32 байт, негативный сценарий")
+    void createShortSecretNegativeTest() {
+        assertThrows(IllegalStateException.class, () -> codec("java_jwt"));
+    }
+
+    @Test
+    @DisplayName("повторная проверка токена берет утверждения из кэша, позитивный сценарий")
+    void verifyCachesClaimsPositiveTest() {
+        final JwtVerifier verifier = new JwtVerifier(codec, new JwtProperties(), new SimpleMeterRegistry());
+        final long now = Instant.now().getEpochSecond();
+        final String token = codec.encode(new JwtClaims("7", 70L, "ADMIN", now, now + 3600));
+
+        assertSame(verifier.verify(token, now), verifier.verify(token, now + 1));
+    }
+
+    @Test
+    @DisplayName("истекший токен из кэша, негативный сценарий")
+    void verifyExpiredTokenNegativeTest() {
+        final JwtVerifier verifier = new JwtVerifier(codec, new JwtProperties(), new SimpleMeterRegistry());
+        final String token = codec.encode(CLAIMS);
+        verifier.verify(token, NOW);
+
+        assertThrows(UnauthorizedException.class, () -> verifier.verify(token, CLAIMS.expiresAt()));
+    }
+
+    static JwtCodec codec(String secret) {
+        final JwtProperties properties = new JwtProperties();
+        properties.getToken().setSecret(secret);
+
+        return new JwtCodec(properties, new ObjectMapper());
+    }
+}
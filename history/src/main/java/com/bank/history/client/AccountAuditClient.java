@@ -0,0 +1,16 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import org.springframework.cloud.openfeign.FeignClient;
+
+/**
+ * Feign клиент аудита сервиса account-app.
+ */
+@FeignClient(name = "account-app", contextId = "accountAuditClient", path = "/api/account")
+public interface AccountAuditClient extends AuditClient {
+
+    @Override
+    default AuditSource source() {
+        return AuditSource.ACCOUNT;
+    }
+}
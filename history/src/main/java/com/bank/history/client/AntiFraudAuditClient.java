@@ -0,0 +1,16 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import org.springframework.cloud.openfeign.FeignClient;
+
+/**
+ * Feign клиент аудита сервиса anti-fraud-app.
+ */
+@FeignClient(name = "anti-fraud-app", contextId = "antiFraudAuditClient", path = "/api/anti-fraud")
+public interface AntiFraudAuditClient extends AuditClient {
+
+    @Override
+    default AuditSource source() {
+        return AuditSource.ANTI_FRAUD;
+    }
+}
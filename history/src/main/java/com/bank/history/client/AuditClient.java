@@ -0,0 +1,26 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditDto;
+import com.bank.history.dto.AuditSource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * Чтение аудита сервиса пачкой id.
+ */
+public interface AuditClient {
+
+    /**
+     * @param ids список id аудита
+     * @return список {@link AuditDto} в порядке ids
+     */
+    @GetMapping("/audit")
+    List<AuditDto> readAll(@RequestParam("id") List<Long> ids);
+
+    /**
+     * @return сервис, к которому обращается клиент
+     */
+    AuditSource source();
+}
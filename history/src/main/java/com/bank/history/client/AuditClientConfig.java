@@ -0,0 +1,12 @@
+package com.bank.history.client;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Включает Feign клиенты аудита. Вынесено из HistoryApplication, чтобы срезы вроде @WebMvcTest их не поднимали.
+ */
+@Configuration
+@EnableFeignClients(basePackageClasses = AuditClient.class)
+public class AuditClientConfig {
+}
@@ -0,0 +1,16 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import org.springframework.cloud.openfeign.FeignClient;
+
+/**
+ * Feign клиент аудита сервиса authorization-app.
+ */
+@FeignClient(name = "authorization-app", contextId = "authorizationAuditClient", path = "/api/authorization")
+public interface AuthorizationAuditClient extends AuditClient {
+
+    @Override
+    default AuditSource source() {
+        return AuditSource.AUTHORIZATION;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import org.springframework.cloud.openfeign.FeignClient;
+
+/**
+ * Feign клиент аудита сервиса profile-app.
+ */
+@FeignClient(name = "profile-app", contextId = "profileAuditClient", path = "/api/profile")
+public interface ProfileAuditClient extends AuditClient {
+
+    @Override
+    default AuditSource source() {
+        return AuditSource.PROFILE;
+    }
+}
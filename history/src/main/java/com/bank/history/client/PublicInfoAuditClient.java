@@ -0,0 +1,16 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import org.springframework.cloud.openfeign.FeignClient;
+
+/**
+ * Feign клиент аудита сервиса public-info-app.
+ */
+@FeignClient(name = "public-info-app", contextId = "publicInfoAuditClient", path = "/api/public-info")
+public interface PublicInfoAuditClient extends AuditClient {
+
+    @Override
+    default AuditSource source() {
+        return AuditSource.PUBLIC_BANK_INFO;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import org.springframework.cloud.openfeign.FeignClient;
+
+/**
+ * Feign клиент аудита сервиса transfer-app.
+ */
+@FeignClient(name = "transfer-app", contextId = "transferAuditClient", path = "/api/transfer")
+public interface TransferAuditClient extends AuditClient {
+
+    @Override
+    default AuditSource source() {
+        return AuditSource.TRANSFER;
+    }
+}
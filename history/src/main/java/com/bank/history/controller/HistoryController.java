@@ -3,8 +3,10 @@ package com.bank.history.controller;
 import com.bank.history.dto.HistoryDto;
 import com.bank.history.entity.HistoryEntity;
 import com.bank.history.service.HistoryService;
+import com.bank.history.service.WriteAcknowledgement;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -46,13 +49,38 @@ public class HistoryController {
 
     /**
      * @param history {@link HistoryDto}
-     * @return {@link ResponseEntity} c {@link HistoryDto} и HttpStatus OK
+     * @param ack     {@link WriteAcknowledgement}, по умолчанию DURABLE
+     * @return {@link ResponseEntity} c {@link HistoryDto} и HttpStatus OK,
+     * для BUFFERED пустой {@link ResponseEntity} и HttpStatus ACCEPTED
      */
     @PostMapping
-    public ResponseEntity<HistoryDto> create(@RequestBody HistoryDto history) {
+    public ResponseEntity<HistoryDto> create(@RequestBody HistoryDto history,
+                                             @RequestParam(defaultValue = "DURABLE") WriteAcknowledgement ack) {
+        if (ack == WriteAcknowledgement.BUFFERED) {
+            service.createBuffered(history);
+            return new ResponseEntity<>(HttpStatus.ACCEPTED);
+        }
         return new ResponseEntity<>(service.create(history), HttpStatus.OK);
     }
 
+    /**
+     * @param histories поток JSON массива {@link HistoryDto}
+     * @return {@link ResponseEntity} c id созданных записей в порядке histories и HttpStatus OK
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Long>> createAll(InputStream histories) {
+        return new ResponseEntity<>(service.createAllJson(histories), HttpStatus.OK);
+    }
+
+    /**
+     * @param histories NDJSON, по одному {@link HistoryDto} на строку
+     * @return {@link ResponseEntity} c id созданных записей в порядке строк и HttpStatus OK
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<Long>> createAllNdjson(InputStream histories) {
+        return new ResponseEntity<>(service.createAllNdjson(histories), HttpStatus.OK);
+    }
+
     /**
      * @param id      технический идентификатор {@link HistoryEntity}
      * @param history {@link HistoryDto}
@@ -0,0 +1,34 @@
+package com.bank.history.controller;
+
+import com.bank.history.dto.HistoryTimelineDto;
+import com.bank.history.entity.HistoryEntity;
+import com.bank.history.service.HistoryTimelineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller хронологии изменений по {@link HistoryEntity}.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/history/timeline")
+public class HistoryTimelineController {
+    private final HistoryTimelineService service;
+
+    /**
+     * @param id список технических идентификаторов {@link HistoryEntity}
+     * @return {@link ResponseEntity} c {@link HistoryTimelineDto} и HttpStatus OK,
+     * в том числе когда часть сервисов не ответила
+     */
+    @GetMapping
+    public ResponseEntity<List<HistoryTimelineDto>> readTimeline(@RequestParam("id") List<Long> id) {
+        return new ResponseEntity<>(service.readTimeline(id), HttpStatus.OK);
+    }
+}
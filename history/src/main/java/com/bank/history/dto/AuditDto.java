@@ -0,0 +1,32 @@
+package com.bank.history.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.sql.Timestamp;
+
+/**
+ * Dto аудита, который возвращают сервисы по id из {@link HistoryDto}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AuditDto {
+    Long id;
+    String entityType;
+    String operationType;
+    String createdBy;
+    String modifiedBy;
+    Timestamp createdAt;
+    Timestamp modifiedAt;
+    String newEntityJson;
+    String entityJson;
+}
@@ -0,0 +1,30 @@
+package com.bank.history.dto;
+
+import java.util.function.Function;
+
+/**
+ * Сервис, в котором лежит аудит, и поле {@link HistoryDto} с его id.
+ */
+public enum AuditSource {
+
+    TRANSFER(HistoryDto::getTransferAuditId),
+    PROFILE(HistoryDto::getProfileAuditId),
+    ACCOUNT(HistoryDto::getAccountAuditId),
+    ANTI_FRAUD(HistoryDto::getAntiFraudAuditId),
+    PUBLIC_BANK_INFO(HistoryDto::getPublicBankInfoAuditId),
+    AUTHORIZATION(HistoryDto::getAuthorizationAuditId);
+
+    private final Function<HistoryDto, Long> auditId;
+
+    AuditSource(Function<HistoryDto, Long> auditId) {
+        this.auditId = auditId;
+    }
+
+    /**
+     * @param history {@link HistoryDto}
+     * @return id аудита этого сервиса или null
+     */
+    public Long auditId(HistoryDto history) {
+        return auditId.apply(history);
+    }
+}
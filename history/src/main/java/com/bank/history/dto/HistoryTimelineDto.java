@@ -0,0 +1,42 @@
+package com.bank.history.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Хронология изменений по одной записи истории.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HistoryTimelineDto {
+
+    /**
+     * id {@link HistoryDto}.
+     */
+    Long id;
+
+    /**
+     * Аудиты всех сервисов по времени создания.
+     */
+    List<TimelineEntryDto> entries;
+
+    /**
+     * Сервисы, которые не ответили вовремя или ответили ошибкой, их аудитов нет в entries.
+     */
+    Set<AuditSource> unavailable;
+
+    /**
+     * Сервисы, которые ответили, но не нашли аудит, на который ссылается запись.
+     */
+    Set<AuditSource> missing;
+}
@@ -40,4 +40,10 @@ public interface HistoryMapper {
      * @return лист {@link HistoryDto}
      */
     List<HistoryDto> toListDto(List<HistoryEntity> historyEntityList);
+
+    /**
+     * @param historyDtoList лист {@link HistoryDto}
+     * @return лист {@link HistoryEntity}
+     */
+    List<HistoryEntity> toListEntity(List<HistoryDto> historyDtoList);
 }
@@ -0,0 +1,17 @@
+package com.bank.history.repository;
+
+import com.bank.history.entity.HistoryEntity;
+
+import java.util.List;
+
+/**
+ * Массовая вставка {@link HistoryEntity} одним запросом.
+ */
+public interface HistoryBulkRepository {
+
+    /**
+     * @param histories список новых {@link HistoryEntity}, id игнорируется
+     * @return id вставленных записей в порядке histories
+     */
+    List<Long> insertAll(List<HistoryEntity> histories);
+}
@@ -0,0 +1,74 @@
+package com.bank.history.repository;
+
+import com.bank.history.entity.HistoryEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Реализация {@link HistoryBulkRepository}.
+ * Колонки передаются массивами в unnest, поэтому любая пачка это один INSERT и один round trip.
+ * id берутся из той же последовательности и теми же блоками pooled-lo, что и в {@link HistoryEntity},
+ * и возвращаются в порядке входного списка.
+ */
+@RequiredArgsConstructor
+public class HistoryBulkRepositoryImpl implements HistoryBulkRepository {
+
+    /**
+     * Совпадает с increment_size генератора id в {@link HistoryEntity}.
+     */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String INSERT = "WITH input AS (" +
+            "SELECT * FROM unnest(?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[], ?::bigint[]) " +
+            "WITH ORDINALITY AS r(transfer_audit_id, profile_audit_id, account_audit_id, anti_fraud_audit_id, " +
+            "public_bank_info_audit_id, authorization_audit_id, n)), " +
+            "blocks AS (SELECT row_number() OVER () - 1 AS block, lo FROM " +
+            "(SELECT nextval('history.history_id_seq') AS lo FROM generate_series(1, ?)) s), " +
+            "numbered AS (SELECT b.lo + (i.n - 1) % " + ID_BLOCK_SIZE + " AS id, i.* FROM input i " +
+            "JOIN blocks b ON b.block = (i.n - 1) / " + ID_BLOCK_SIZE + "), " +
+            "inserted AS (INSERT INTO history.history (id, transfer_audit_id, profile_audit_id, account_audit_id, " +
+            "anti_fraud_audit_id, public_bank_info_audit_id, authorization_audit_id) " +
+            "SELECT id, transfer_audit_id, profile_audit_id, account_audit_id, anti_fraud_audit_id, " +
+            "public_bank_info_audit_id, authorization_audit_id FROM numbered) " +
+            "SELECT id FROM numbered ORDER BY n";
+
+    private static final List<Function<HistoryEntity, Long>> COLUMNS = List.of(
+            HistoryEntity::getTransferAuditId,
+            HistoryEntity::getProfileAuditId,
+            HistoryEntity::getAccountAuditId,
+            HistoryEntity::getAntiFraudAuditId,
+            HistoryEntity::getPublicBankInfoAuditId,
+            HistoryEntity::getAuthorizationAuditId
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> insertAll(List<HistoryEntity> histories) {
+        if (histories.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(connection -> prepare(connection, histories),
+                (resultSet, row) -> resultSet.getLong(1));
+    }
+
+    private PreparedStatement prepare(Connection connection, List<HistoryEntity> histories) throws SQLException {
+        final PreparedStatement statement = connection.prepareStatement(INSERT);
+
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            final Function<HistoryEntity, Long> column = COLUMNS.get(i);
+            statement.setArray(i + 1, connection.createArrayOf("bigint",
+                    histories.stream().map(column).toArray(Long[]::new)));
+        }
+        statement.setInt(COLUMNS.size() + 1, (histories.size() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE);
+
+        return statement;
+    }
+}
@@ -6,5 +6,5 @@ import org.springframework.data.jpa.repository.JpaRepository;
 /**
  * репозиторий {@link HistoryEntity}.
  */
-public interface HistoryRepository extends JpaRepository<HistoryEntity, Long> {
+public interface HistoryRepository extends JpaRepository<HistoryEntity, Long>, HistoryBulkRepository {
 }
@@ -0,0 +1,21 @@
+package com.bank.history.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Настройки массовой вставки истории.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "history.bulk")
+public class HistoryBulkProperties {
+
+    /**
+     * Максимальное число записей в одном запросе.
+     */
+    private int maxRecords = 10_000;
+}
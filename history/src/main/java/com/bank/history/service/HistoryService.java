@@ -3,6 +3,7 @@ package com.bank.history.service;
 import com.bank.history.dto.HistoryDto;
 import com.bank.history.entity.HistoryEntity;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -23,11 +24,38 @@ public interface HistoryService {
     List<HistoryDto> readAllById(List<Long> id);
 
     /**
+     * Создание с подтверждением {@link WriteAcknowledgement#DURABLE}, ждет коммита.
+     *
      * @param history {@link HistoryDto}
      * @return {@link HistoryDto}
      */
     HistoryDto create(HistoryDto history);
 
+    /**
+     * Создание с подтверждением {@link WriteAcknowledgement#BUFFERED}, не ждет коммита.
+     *
+     * @param history {@link HistoryDto}
+     */
+    void createBuffered(HistoryDto history);
+
+    /**
+     * @param histories список {@link HistoryDto}
+     * @return id созданных записей в порядке histories
+     */
+    List<Long> createAll(List<HistoryDto> histories);
+
+    /**
+     * @param histories поток JSON массива {@link HistoryDto}
+     * @return id созданных записей в порядке элементов массива
+     */
+    List<Long> createAllJson(InputStream histories);
+
+    /**
+     * @param histories поток NDJSON, по одному {@link HistoryDto} на строку
+     * @return id созданных записей в порядке строк
+     */
+    List<Long> createAllNdjson(InputStream histories);
+
     /**
      * @param id      технический идентификатор {@link HistoryEntity}.
      * @param history {@link HistoryDto}
@@ -1,15 +1,28 @@
 package com.bank.history.service;
 
+import com.bank.common.exception.ValidationException;
 import com.bank.history.dto.HistoryDto;
 import com.bank.history.entity.HistoryEntity;
 import com.bank.history.mapper.HistoryMapper;
 import com.bank.history.repository.HistoryRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Реализация {@link HistoryService}
@@ -20,6 +33,10 @@ public class HistoryServiceImpl implements HistoryService {
 
     private final HistoryMapper mapper;
     private final HistoryRepository repository;
+    private final HistoryWriteBehind writeBehind;
+    private final HistoryWriteBehindProperties writeBehindProperties;
+    private final HistoryBulkProperties bulkProperties;
+    private final ObjectMapper objectMapper;
 
     /**
      * @param id технический идентификатор {@link HistoryEntity}.
@@ -53,12 +70,66 @@ public class HistoryServiceImpl implements HistoryService {
      * @return {@link HistoryDto}
      */
     @Override
-    @Transactional
     public HistoryDto create(HistoryDto historyDto) {
-        final HistoryEntity history = repository.save(mapper.toEntity(historyDto));
+        final HistoryEntity history = await(writeBehind.submit(mapper.toEntity(historyDto)));
         return mapper.toDto(history);
     }
 
+    /**
+     * @param historyDto {@link HistoryDto}
+     */
+    @Override
+    public void createBuffered(HistoryDto historyDto) {
+        writeBehind.submit(mapper.toEntity(historyDto));
+    }
+
+    /**
+     * @param histories список {@link HistoryDto}
+     * @return id созданных записей в порядке histories
+     */
+    @Override
+    public List<Long> createAll(List<HistoryDto> histories) {
+        if (histories.size() > bulkProperties.getMaxRecords()) {
+            throw tooManyRecords();
+        }
+
+        return repository.insertAll(mapper.toListEntity(histories));
+    }
+
+    /**
+     * Элементы массива читаются по одному, поэтому тело сверх лимита не разбирается целиком.
+     *
+     * @param histories поток JSON массива {@link HistoryDto}
+     * @return id созданных записей в порядке элементов массива
+     */
+    @Override
+    public List<Long> createAllJson(InputStream histories) {
+        try (JsonParser parser = objectMapper.createParser(histories)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ValidationException("ожидается JSON массив записей истории");
+            }
+            if (parser.nextToken() == JsonToken.END_ARRAY) {
+                return Collections.emptyList();
+            }
+            return createAll(readLimited(objectMapper.readerFor(HistoryDto.class).readValues(parser)));
+        } catch (IOException e) {
+            throw new ValidationException("некорректный JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param histories поток NDJSON, по одному {@link HistoryDto} на строку
+     * @return id созданных записей в порядке строк
+     */
+    @Override
+    public List<Long> createAllNdjson(InputStream histories) {
+        try {
+            return createAll(readLimited(objectMapper.readerFor(HistoryDto.class).readValues(histories)));
+        } catch (IOException e) {
+            throw new ValidationException("некорректный NDJSON: " + e.getMessage());
+        }
+    }
+
     /**
      * @param id         технический идентификатор {@link HistoryEntity}.
      * @param historyDto {@link HistoryDto}
@@ -76,6 +147,42 @@ public class HistoryServiceImpl implements HistoryService {
 
         return mapper.toDto(updatedHistory);
     }
+
+    private HistoryEntity await(CompletableFuture<HistoryEntity> result) {
+        try {
+            return result.get(writeBehindProperties.getAwaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("история не сохранена", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("сохранение истории не подтверждено за " +
+                    writeBehindProperties.getAwaitTimeout(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ожидание сохранения истории прервано", e);
+        }
+    }
+
+    private List<HistoryDto> readLimited(MappingIterator<HistoryDto> values) throws IOException {
+        final List<HistoryDto> dtos = new ArrayList<>();
+
+        try (values) {
+            while (values.hasNextValue()) {
+                if (dtos.size() == bulkProperties.getMaxRecords()) {
+                    throw tooManyRecords();
+                }
+                dtos.add(values.nextValue());
+            }
+        }
+        return dtos;
+    }
+
+    private ValidationException tooManyRecords() {
+        return new ValidationException("в одном запросе не больше " + bulkProperties.getMaxRecords() + " записей");
+    }
+
     private EntityNotFoundException returnEntityNotFoundException(String massage) {
         return new EntityNotFoundException(massage);
     }
@@ -0,0 +1,49 @@
+package com.bank.history.service;
+
+import com.bank.history.dto.AuditSource;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Настройки сбора хронологии истории {@link HistoryTimelineService}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "history.timeline")
+public class HistoryTimelineProperties {
+
+    /**
+     * Сколько ждать ответа сервиса, если для него не задано отдельное значение в timeouts.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания по сервисам, например timeouts.anti-fraud: 500ms.
+     */
+    private Map<AuditSource, Duration> timeouts = new EnumMap<>(AuditSource.class);
+
+    /**
+     * Число потоков для параллельных запросов к сервисам.
+     */
+    private int threads = 12;
+
+    /**
+     * Сколько запросов к сервисам ждут свободный поток, сверх этого хронология отклоняется с 503.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * @param source сервис аудита
+     * @return время ожидания ответа сервиса
+     */
+    public Duration timeoutOf(AuditSource source) {
+        return timeouts.getOrDefault(source, timeout);
+    }
+}
@@ -0,0 +1,22 @@
+package com.bank.history.service;
+
+import com.bank.history.dto.HistoryTimelineDto;
+import com.bank.history.entity.HistoryEntity;
+
+import java.util.List;
+
+/**
+ * Service хронологии изменений по записям истории.
+ */
+public interface HistoryTimelineService {
+
+    /**
+     * Аудиты запрашиваются у всех сервисов параллельно, по одному запросу на сервис.
+     * Сервисы, не ответившие вовремя, попадают в {@link HistoryTimelineDto#getUnavailable()},
+     * не найденный сервисом аудит записи отмечается в {@link HistoryTimelineDto#getMissing()}.
+     *
+     * @param ids список технических идентификаторов {@link HistoryEntity}
+     * @return список {@link HistoryTimelineDto} в порядке ids
+     */
+    List<HistoryTimelineDto> readTimeline(List<Long> ids);
+}
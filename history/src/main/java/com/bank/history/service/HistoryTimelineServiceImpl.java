@@ -0,0 +1,133 @@
+package com.bank.history.service;
+
+import com.bank.history.client.AuditClient;
+import com.bank.history.dto.AuditDto;
+import com.bank.history.dto.AuditSource;
+import com.bank.history.dto.HistoryDto;
+import com.bank.history.dto.HistoryTimelineDto;
+import com.bank.history.dto.TimelineEntryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация {@link HistoryTimelineService}.
+ * id аудита собираются по сервисам со всех записей, поэтому на сервис уходит один запрос,
+ * а запросы к разным сервисам идут параллельно, каждый со своим таймаутом.
+ * Сервис возвращает только найденные аудиты, поэтому устаревший id влияет лишь на свою запись.
+ * Запрос, не дождавшийся ответа, продолжает занимать поток, поэтому очередь пула ограничена
+ * и при зависшем сервисе новые хронологии отклоняются {@link RejectedExecutionException}, а не копятся.
+ */
+@Slf4j
+@Service
+public class HistoryTimelineServiceImpl implements HistoryTimelineService {
+
+    private static final Comparator<TimelineEntryDto> BY_CREATED_AT = Comparator.comparing(
+            entry -> entry.getAudit().getCreatedAt(), Comparator.nullsLast(Comparator.<Timestamp>naturalOrder()));
+
+    private final HistoryService historyService;
+    private final HistoryTimelineProperties properties;
+    private final Map<AuditSource, AuditClient> clients = new EnumMap<>(AuditSource.class);
+    private final ExecutorService executor;
+
+    public HistoryTimelineServiceImpl(HistoryService historyService, HistoryTimelineProperties properties,
+                                      List<AuditClient> clients) {
+        this.historyService = historyService;
+        this.properties = properties;
+        clients.forEach(client -> this.clients.put(client.source(), client));
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(), 0,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()));
+    }
+
+    @Override
+    public List<HistoryTimelineDto> readTimeline(List<Long> ids) {
+        final List<HistoryDto> histories = historyService.readAllById(ids);
+        final Map<AuditSource, CompletableFuture<Map<Long, AuditDto>>> requests = new EnumMap<>(AuditSource.class);
+
+        for (Map.Entry<AuditSource, AuditClient> client : clients.entrySet()) {
+            final List<Long> auditIds = histories.stream()
+                    .map(client.getKey()::auditId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+
+            if (!auditIds.isEmpty()) {
+                requests.put(client.getKey(), request(client.getKey(), client.getValue(), auditIds));
+            }
+        }
+
+        final Map<AuditSource, Map<Long, AuditDto>> audits = new EnumMap<>(AuditSource.class);
+        requests.forEach((source, request) -> {
+            final Map<Long, AuditDto> response = request.join();
+            if (response != null) {
+                audits.put(source, response);
+            }
+        });
+
+        return histories.stream()
+                .map(history -> toTimeline(history, audits))
+                .toList();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ошибка или таймаут сервиса дают null, а не исключение, чтобы остальные сервисы попали в ответ.
+     */
+    private CompletableFuture<Map<Long, AuditDto>> request(AuditSource source, AuditClient client, List<Long> ids) {
+        return CompletableFuture.supplyAsync(() -> client.readAll(ids), executor)
+                .orTimeout(properties.timeoutOf(source).toMillis(), TimeUnit.MILLISECONDS)
+                .<Map<Long, AuditDto>>thenApply(audits -> audits.stream()
+                        .collect(Collectors.toMap(AuditDto::getId, Function.identity(), (first, second) -> first)))
+                .exceptionally(e -> {
+                    log.warn("Аудит {} недоступен для {} id: {}", source, ids.size(), e.toString());
+                    return null;
+                });
+    }
+
+    private HistoryTimelineDto toTimeline(HistoryDto history, Map<AuditSource, Map<Long, AuditDto>> audits) {
+        final List<TimelineEntryDto> entries = new ArrayList<>();
+        final Set<AuditSource> unavailable = EnumSet.noneOf(AuditSource.class);
+        final Set<AuditSource> missing = EnumSet.noneOf(AuditSource.class);
+
+        for (AuditSource source : AuditSource.values()) {
+            final Long auditId = source.auditId(history);
+            if (auditId == null) {
+                continue;
+            }
+
+            final Map<Long, AuditDto> sourceAudits = audits.get(source);
+            if (sourceAudits == null) {
+                unavailable.add(source);
+            } else if (sourceAudits.containsKey(auditId)) {
+                entries.add(new TimelineEntryDto(source, sourceAudits.get(auditId)));
+            } else {
+                missing.add(source);
+            }
+        }
+        entries.sort(BY_CREATED_AT);
+
+        return new HistoryTimelineDto(history.getId(), entries, unavailable, missing);
+    }
+}
@@ -0,0 +1,159 @@
+package com.bank.history.service;
+
+import com.bank.history.entity.HistoryEntity;
+import com.bank.history.repository.HistoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Буфер записи истории.
+ * Поток запроса кладет {@link HistoryEntity} в ограниченную очередь, отдельный поток сохраняет
+ * накопленные записи пачкой в одной транзакции, пачка сбрасывается по размеру или по времени.
+ * Future записи завершается после коммита ее пачки.
+ */
+@Slf4j
+@Component
+public class HistoryWriteBehind {
+
+    private final HistoryRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final HistoryWriteBehindProperties properties;
+    private final BlockingQueue<PendingWrite> queue;
+    private final DistributionSummary batchSize;
+    private final Thread worker;
+
+    private volatile boolean running;
+
+    public HistoryWriteBehind(HistoryRepository repository, TransactionTemplate transactionTemplate,
+                              HistoryWriteBehindProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = DistributionSummary.builder("history.write-behind.batch.size").register(registry);
+        Gauge.builder("history.write-behind.depth", queue, BlockingQueue::size).register(registry);
+        this.worker = new Thread(this::run, "history-write-behind");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Если буфер полон, запись сохраняется сразу в вызывающем потоке.
+     *
+     * @param history новая {@link HistoryEntity}
+     * @return future с сохраненной {@link HistoryEntity}
+     */
+    public CompletableFuture<HistoryEntity> submit(HistoryEntity history) {
+        final PendingWrite write = new PendingWrite(history, new CompletableFuture<>());
+        if (!running || !queue.offer(write)) {
+            flush(List.of(write));
+        }
+
+        return write.result();
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(properties.getAwaitTimeout().toMillis());
+        flushAll();
+    }
+
+    /**
+     * Синхронно сохраняет все, что лежит в буфере.
+     */
+    void flushAll() {
+        final List<PendingWrite> batch = new ArrayList<>(properties.getBatchSize());
+        while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                final PendingWrite first = queue.poll(properties.getLingerTime().toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    flush(collect(first));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Добирает пачку до batchSize, но не дольше lingerTime с момента первой записи.
+     */
+    private List<PendingWrite> collect(PendingWrite first) throws InterruptedException {
+        final List<PendingWrite> batch = new ArrayList<>(properties.getBatchSize());
+        batch.add(first);
+        final long deadline = System.nanoTime() + properties.getLingerTime().toNanos();
+
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            final long remaining = deadline - System.nanoTime();
+            if (batch.size() == properties.getBatchSize() || remaining <= 0) {
+                break;
+            }
+            final PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+
+        return batch;
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        final List<HistoryEntity> histories = new ArrayList<>(batch.size());
+        batch.forEach(write -> histories.add(write.history()));
+
+        try {
+            final List<HistoryEntity> saved = transactionTemplate.execute(status -> repository.saveAll(histories));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+            batchSize.record(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить пачку истории из {} записей, сохраняем по одной", batch.size(), e);
+            batch.forEach(this::flushOne);
+        }
+    }
+
+    /**
+     * Ошибка одной записи не должна откатывать остальные записи пачки.
+     */
+    private void flushOne(PendingWrite write) {
+        write.history().setId(null);
+        try {
+            write.result().complete(transactionTemplate.execute(status -> repository.save(write.history())));
+        } catch (RuntimeException e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingWrite(HistoryEntity history, CompletableFuture<HistoryEntity> result) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.history.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки буфера записи истории {@link HistoryWriteBehind}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "history.write-behind")
+public class HistoryWriteBehindProperties {
+
+    /**
+     * Емкость буфера. Когда он полон, запись идет сразу в потоке запроса.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Сколько записей сохраняется одной транзакцией, совпадает с hibernate.jdbc.batch_size.
+     */
+    private int batchSize = 50;
+
+    /**
+     * Сколько ждать добора пачки после первой записи, прежде чем сохранить неполную.
+     */
+    private Duration lingerTime = Duration.ofMillis(5);
+
+    /**
+     * Сколько запрос с подтверждением {@link WriteAcknowledgement#DURABLE} ждет коммита своей пачки.
+     */
+    private Duration awaitTimeout = Duration.ofSeconds(10);
+}
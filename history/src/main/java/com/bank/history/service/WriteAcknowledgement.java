@@ -0,0 +1,17 @@
+package com.bank.history.service;
+
+/**
+ * Когда подтверждать создание истории.
+ */
+public enum WriteAcknowledgement {
+
+    /**
+     * После коммита пачки, в которую попала запись. Ответ содержит id.
+     */
+    DURABLE,
+
+    /**
+     * Сразу после постановки в буфер. Быстрее, но при падении сервиса несохраненный буфер теряется.
+     */
+    BUFFERED
+}
@@ -0,0 +1,42 @@
+package com.bank.history.client;
+
+import com.bank.history.dto.AuditSource;
+import feign.Feign;
+import feign.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты контракта Feign клиентов аудита
+ */
+@DisplayName("Тесты AuditClient")
+public class AuditClientTest {
+
+    @Test
+    @DisplayName("Пачка id уходит одним запросом, позитивный сценарий")
+    void readAllPositiveTest() {
+        final AtomicReference<String> url = new AtomicReference<>();
+        final AccountAuditClient client = Feign.builder()
+                .contract(new SpringMvcContract())
+                .client((request, options) -> {
+                    url.set(request.url());
+                    return Response.builder().status(200).request(request).body(new byte[0]).build();
+                })
+                .decoder((response, type) -> List.of())
+                .target(AccountAuditClient.class, "http://account-app/api/account");
+
+        client.readAll(List.of(1L, 2L));
+
+        assertAll(
+                () -> assertEquals("http://account-app/api/account/audit?id=1&id=2", url.get()),
+                () -> assertEquals(AuditSource.ACCOUNT, client.source())
+        );
+    }
+}
@@ -118,6 +118,52 @@ public class HistoryControllerTest {
                 );
     }
 
+    @Test
+    @DisplayName("Создание без ожидания коммита, позитивный сценарий")
+    public void createBufferedPositiveTest() throws Exception {
+        final String jsonHistory = mapper.writeValueAsString(history_1);
+        mockMvc.perform(
+                        post("/api/history")
+                                .param("ack", "BUFFERED")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .characterEncoding("utf-8").content(jsonHistory)
+                )
+                .andExpect(status().isAccepted());
+        Mockito.verify(service).createBuffered(ArgumentMatchers.any());
+        Mockito.verify(service, Mockito.never()).create(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("Массовое создание из JSON массива, позитивный сценарий")
+    public void createAllPositiveTest() throws Exception {
+        Mockito.when(service.createAllJson(ArgumentMatchers.any())).thenReturn(List.of(10L, 11L, 12L));
+        mockMvc.perform(
+                        post("/api/history/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .characterEncoding("utf-8").content(mapper.writeValueAsString(histories))
+                )
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("[10, 11, 12]")
+                );
+    }
+
+    @Test
+    @DisplayName("Массовое создание из NDJSON, позитивный сценарий")
+    public void createAllNdjsonPositiveTest() throws Exception {
+        Mockito.when(service.createAllNdjson(ArgumentMatchers.any())).thenReturn(List.of(10L, 11L));
+        mockMvc.perform(
+                        post("/api/history/bulk")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content(mapper.writeValueAsString(history_1) + "\n" +
+                                        mapper.writeValueAsString(history_2))
+                )
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("[10, 11]")
+                );
+    }
+
     @Test
     @DisplayName("Создание null, негативный сценарий")
     public void createNullNegativeTest() throws Exception {
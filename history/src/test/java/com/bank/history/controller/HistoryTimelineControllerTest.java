@@ -0,0 +1,53 @@
+package com.bank.history.controller;
+
+import com.bank.history.dto.AuditDto;
+import com.bank.history.dto.AuditSource;
+import com.bank.history.dto.HistoryTimelineDto;
+import com.bank.history.dto.TimelineEntryDto;
+import com.bank.history.service.HistoryTimelineService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты для {@link HistoryTimelineController}
+ */
+@WebMvcTest(HistoryTimelineController.class)
+@DisplayName("Тесты HistoryTimelineController")
+public class HistoryTimelineControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HistoryTimelineService service;
+
+    @Test
+    @DisplayName("Хронология с недоступным сервисом, позитивный сценарий")
+    public void readTimelinePositiveTest() throws Exception {
+        final AuditDto audit = new AuditDto();
+        audit.setId(10L);
+        Mockito.when(service.readTimeline(List.of(1L))).thenReturn(List.of(new HistoryTimelineDto(1L,
+                List.of(new TimelineEntryDto(AuditSource.ACCOUNT, audit)), Set.of(AuditSource.PROFILE), Set.of())));
+
+        mockMvc.perform(get("/api/history/timeline").param("id", "1"))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$[0].id").value(1),
+                        jsonPath("$[0].entries[0].source").value("ACCOUNT"),
+                        jsonPath("$[0].entries[0].audit.id").value(10),
+                        jsonPath("$[0].unavailable[0]").value("PROFILE")
+                );
+    }
+}
@@ -0,0 +1,92 @@
+package com.bank.history.repository;
+
+import com.bank.history.entity.HistoryEntity;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты {@link HistoryBulkRepositoryImpl} на Postgres в контейнере.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Тесты массовой вставки истории")
+public class HistoryBulkRepositoryTest {
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+    private static final int ROWS = 120;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static HistoryBulkRepositoryImpl repository;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword()));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS history");
+
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            final Database database = DatabaseFactory.getInstance()
+                    .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+            database.setDefaultSchemaName("history");
+            new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database).update(new Contexts());
+        }
+        repository = new HistoryBulkRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("id возвращаются в порядке входного списка, позитивный сценарий")
+    void insertAllPositiveTest() {
+        final List<HistoryEntity> histories = new ArrayList<>();
+        for (long i = 0; i < ROWS; i++) {
+            histories.add(new HistoryEntity(null, i, null, null, null, null, null));
+        }
+        jdbcTemplate.update("INSERT INTO history.history (transfer_audit_id) VALUES (-1)");
+
+        final List<Long> ids = repository.insertAll(histories);
+
+        assertAll(
+                () -> assertEquals(ROWS, ids.size()),
+                () -> assertEquals(ROWS, new HashSet<>(ids).size()),
+                () -> assertEquals(ROWS + 1, jdbcTemplate.queryForObject(
+                        "SELECT count(*) FROM history.history", Integer.class)),
+                () -> {
+                    for (int i = 0; i < ROWS; i++) {
+                        assertEquals(i, jdbcTemplate.queryForObject(
+                                "SELECT transfer_audit_id FROM history.history WHERE id = ?", Long.class, ids.get(i)));
+                        assertNull(jdbcTemplate.queryForObject(
+                                "SELECT profile_audit_id FROM history.history WHERE id = ?", Long.class, ids.get(i)));
+                    }
+                }
+        );
+    }
+
+    @Test
+    @DisplayName("Пустой список не обращается к базе, позитивный сценарий")
+    void insertAllEmptyPositiveTest() {
+        assertTrue(repository.insertAll(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package com.bank.history.repository;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Регрессионные тесты планов запросов для индексов схемы history.
+ * Накатывает changelog на Postgres в контейнере, заполняет таблицы и проверяет, что запросы идут по индексу.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Тесты индексов схемы history")
+public class IndexQueryPlanTest {
+
+    private static final String SCHEMA = "history";
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+    private static final int ROWS = 100_000;
+    private static final String[] AUDIT_COLUMNS = {"transfer_audit_id", "profile_audit_id", "account_audit_id",
+            "anti_fraud_audit_id", "public_bank_info_audit_id", "authorization_audit_id"};
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+
+        final Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        database.setDefaultSchemaName(SCHEMA);
+        new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database).update(new Contexts());
+        connection.setAutoCommit(true);
+
+        seed();
+        execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "history_transfer_audit_id_idx | SELECT * FROM history.history WHERE transfer_audit_id = 4200",
+            "history_profile_audit_id_idx | SELECT * FROM history.history WHERE profile_audit_id = 4201",
+            "history_account_audit_id_idx | SELECT * FROM history.history WHERE account_audit_id = 4202",
+            "history_anti_fraud_audit_id_idx | SELECT * FROM history.history WHERE anti_fraud_audit_id = 4203",
+            "history_public_bank_info_audit_id_idx | SELECT * FROM history.history WHERE public_bank_info_audit_id = 4204",
+            "history_authorization_audit_id_idx | SELECT * FROM history.history WHERE authorization_audit_id = 4205"
+    })
+    @DisplayName("Запрос выполняется по индексу, позитивный сценарий")
+    void queryUsesIndexTest(String index, String query) throws SQLException {
+        final String plan = explain(query);
+        assertTrue(plan.contains("Index") && plan.contains(index), plan);
+    }
+
+    private static String explain(String query) throws SQLException {
+        final StringJoiner plan = new StringJoiner("\n");
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * В каждой строке истории заполнена ровно одна ссылка на аудит, остальные null.
+     */
+    private static void seed() throws SQLException {
+        final StringJoiner values = new StringJoiner(", ");
+        for (int i = 0; i < AUDIT_COLUMNS.length; i++) {
+            values.add("CASE WHEN g % " + AUDIT_COLUMNS.length + " = " + i + " THEN g END");
+        }
+        execute("INSERT INTO " + SCHEMA + ".history (" + String.join(", ", AUDIT_COLUMNS) + ") "
+                + "SELECT " + values + " FROM generate_series(1, " + ROWS + ") g");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.bank.history.service;
 
+import com.bank.common.exception.ValidationException;
 import com.bank.history.dto.HistoryDto;
 import com.bank.history.entity.HistoryEntity;
 import com.bank.history.mapper.HistoryMapper;
 import com.bank.history.repository.HistoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,6 +29,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Модульные тесты для реазиаци {@link HistoryService}
@@ -36,6 +45,18 @@ public class HistoryServiceTest {
     @Mock
     private HistoryRepository repository;
 
+    @Mock
+    private HistoryWriteBehind writeBehind;
+
+    @Spy
+    private HistoryWriteBehindProperties writeBehindProperties = new HistoryWriteBehindProperties();
+
+    @Spy
+    private HistoryBulkProperties bulkProperties = new HistoryBulkProperties();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private HistoryServiceImpl service;
 
@@ -91,7 +112,7 @@ public class HistoryServiceTest {
     @Test
     @DisplayName("Создание, позитивный сценарий")
     public void createPositiveTest() {
-        given(repository.save(historyEntity)).willReturn(historyEntity);
+        given(writeBehind.submit(historyEntity)).willReturn(CompletableFuture.completedFuture(historyEntity));
         given(mapper.toEntity(historyDto)).willReturn(historyEntity);
         given(mapper.toDto(historyEntity)).willReturn(historyDto);
         final HistoryDto history = service.create(historyDto);
@@ -104,13 +125,31 @@ public class HistoryServiceTest {
     @Test
     @DisplayName("Создание null, негативный сценарий")
     public void createNullNegativeTest() {
-        given(repository.save(historyEntity)).willReturn(null);
+        given(writeBehind.submit(historyEntity)).willReturn(CompletableFuture.completedFuture(null));
         given(mapper.toEntity(historyDto)).willReturn(historyEntity);
         given(mapper.toDto(null)).willReturn(null);
         final HistoryDto history = service.create(historyDto);
         assertNull(history);
     }
 
+    @Test
+    @DisplayName("Создание, ошибка сохранения пачки, негативный сценарий")
+    public void createFailedNegativeTest() {
+        given(writeBehind.submit(historyEntity))
+                .willReturn(CompletableFuture.failedFuture(new IllegalStateException("ошибка")));
+        given(mapper.toEntity(historyDto)).willReturn(historyEntity);
+        assertThrows(IllegalStateException.class, () -> service.create(historyDto));
+    }
+
+    @Test
+    @DisplayName("Создание без ожидания коммита, позитивный сценарий")
+    public void createBufferedPositiveTest() {
+        given(writeBehind.submit(historyEntity)).willReturn(new CompletableFuture<>());
+        given(mapper.toEntity(historyDto)).willReturn(historyEntity);
+        service.createBuffered(historyDto);
+        verify(writeBehind).submit(historyEntity);
+    }
+
     @Test
     @DisplayName("Обновление по id, позитивный сценарий")
     public void updatePositiveTest() {
@@ -132,4 +171,90 @@ public class HistoryServiceTest {
         assertThrows(EntityNotFoundException.class, () -> service.update(id, historyDto));
     }
 
+    @Test
+    @DisplayName("Массовое создание, позитивный сценарий")
+    public void createAllPositiveTest() {
+        final List<HistoryDto> dtos = List.of(historyDto, historyDto1);
+        final List<HistoryEntity> entities = List.of(historyEntity, historyEntity1);
+        given(mapper.toListEntity(dtos)).willReturn(entities);
+        given(repository.insertAll(entities)).willReturn(List.of(10L, 11L));
+        assertEquals(List.of(10L, 11L), service.createAll(dtos));
+    }
+
+    @Test
+    @DisplayName("Массовое создание сверх лимита, негативный сценарий")
+    public void createAllTooManyNegativeTest() {
+        bulkProperties.setMaxRecords(1);
+        final List<HistoryDto> dtos = List.of(historyDto, historyDto1);
+        assertThrows(ValidationException.class, () -> service.createAll(dtos));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Массовое создание из JSON массива, позитивный сценарий")
+    public void createAllJsonPositiveTest() {
+        given(mapper.toListEntity(ArgumentMatchers.anyList())).willReturn(List.of(historyEntity, historyEntity1));
+        given(repository.insertAll(ArgumentMatchers.anyList())).willReturn(List.of(10L, 11L));
+        final List<Long> ids = service.createAllJson(stream("[{\"transferAuditId\":1}, {\"profileAuditId\":2}]"));
+        assertEquals(List.of(10L, 11L), ids);
+        verify(mapper).toListEntity(ArgumentMatchers.argThat(dtos -> dtos.size() == 2 &&
+                dtos.get(0).getTransferAuditId() == 1L && dtos.get(1).getProfileAuditId() == 2L));
+    }
+
+    @Test
+    @DisplayName("Массовое создание из пустого JSON массива, позитивный сценарий")
+    public void createAllJsonEmptyPositiveTest() {
+        assertEquals(List.of(), service.createAllJson(stream("[]")));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Массовое создание из JSON не массива, негативный сценарий")
+    public void createAllJsonNotArrayNegativeTest() {
+        final ByteArrayInputStream body = stream("{\"transferAuditId\":1}");
+        assertThrows(ValidationException.class, () -> service.createAllJson(body));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Массовое создание из JSON массива сверх лимита, негативный сценарий")
+    public void createAllJsonTooManyNegativeTest() {
+        bulkProperties.setMaxRecords(2);
+        final ByteArrayInputStream body = stream("[" + String.join(",", Collections.nCopies(3, "{}")) + ", {oops");
+        final ValidationException e = assertThrows(ValidationException.class, () -> service.createAllJson(body));
+        assertEquals("в одном запросе не больше 2 записей", e.getMessage());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Массовое создание из NDJSON, позитивный сценарий")
+    public void createAllNdjsonPositiveTest() {
+        given(mapper.toListEntity(ArgumentMatchers.anyList())).willReturn(List.of(historyEntity, historyEntity1));
+        given(repository.insertAll(ArgumentMatchers.anyList())).willReturn(List.of(10L, 11L));
+        final List<Long> ids = service.createAllNdjson(stream("{\"transferAuditId\":1}\n{\"profileAuditId\":2}\n"));
+        assertEquals(List.of(10L, 11L), ids);
+        verify(mapper).toListEntity(ArgumentMatchers.argThat(dtos -> dtos.size() == 2 &&
+                dtos.get(0).getTransferAuditId() == 1L && dtos.get(1).getProfileAuditId() == 2L));
+    }
+
+    @Test
+    @DisplayName("Массовое создание из некорректного NDJSON, негативный сценарий")
+    public void createAllNdjsonMalformedNegativeTest() {
+        final ByteArrayInputStream body = stream("{\"transferAuditId\":1}\n{oops\n");
+        assertThrows(ValidationException.class, () -> service.createAllNdjson(body));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Массовое создание из NDJSON сверх лимита, негативный сценарий")
+    public void createAllNdjsonTooManyNegativeTest() {
+        bulkProperties.setMaxRecords(2);
+        final ByteArrayInputStream body = stream(String.join("\n", Collections.nCopies(3, "{}")));
+        assertThrows(ValidationException.class, () -> service.createAllNdjson(body));
+        verifyNoInteractions(repository);
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
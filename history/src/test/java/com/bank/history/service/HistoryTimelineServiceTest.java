@@ -0,0 +1,184 @@
+package com.bank.history.service;
+
+import com.bank.history.client.AuditClient;
+import com.bank.history.dto.AuditDto;
+import com.bank.history.dto.AuditSource;
+import com.bank.history.dto.HistoryDto;
+import com.bank.history.dto.HistoryTimelineDto;
+import com.bank.history.dto.TimelineEntryDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Модульные тесты для {@link HistoryTimelineServiceImpl}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты HistoryTimelineService")
+public class HistoryTimelineServiceTest {
+
+    private final HistoryTimelineProperties properties = new HistoryTimelineProperties();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HistoryTimelineServiceImpl service;
+
+    @Mock
+    private HistoryService historyService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("Один запрос на сервис, аудиты по времени создания, позитивный сценарий")
+    void readTimelinePositiveTest() {
+        final StubClient transfer = new StubClient(AuditSource.TRANSFER, this::audit);
+        final StubClient account = new StubClient(AuditSource.ACCOUNT, this::audit);
+        service = new HistoryTimelineServiceImpl(historyService, properties, List.of(transfer, account));
+        given(historyService.readAllById(List.of(1L, 2L))).willReturn(List.of(
+                HistoryDto.builder().id(1L).transferAuditId(30L).accountAuditId(10L).build(),
+                HistoryDto.builder().id(2L).transferAuditId(20L).accountAuditId(10L).build()));
+
+        final List<HistoryTimelineDto> timeline = service.readTimeline(List.of(1L, 2L));
+
+        assertAll(
+                () -> assertEquals(List.of(List.of(30L, 20L)), transfer.calls),
+                () -> assertEquals(List.of(List.of(10L)), account.calls),
+                () -> assertEquals(List.of(10L, 30L), ids(timeline.get(0))),
+                () -> assertEquals(List.of(10L, 20L), ids(timeline.get(1))),
+                () -> assertEquals(AuditSource.ACCOUNT, timeline.get(0).getEntries().get(0).getSource()),
+                () -> assertTrue(timeline.get(0).getUnavailable().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Медленный и упавший сервисы не мешают остальным, негативный сценарий")
+    void readTimelinePartialNegativeTest() {
+        properties.setTimeout(Duration.ofMillis(100));
+        final StubClient transfer = new StubClient(AuditSource.TRANSFER, this::audit);
+        final StubClient profile = new StubClient(AuditSource.PROFILE, id -> {
+            await();
+            return audit(id);
+        });
+        final StubClient account = new StubClient(AuditSource.ACCOUNT, id -> {
+            throw new IllegalStateException("503");
+        });
+        service = new HistoryTimelineServiceImpl(historyService, properties, List.of(transfer, profile, account));
+        given(historyService.readAllById(List.of(1L))).willReturn(List.of(
+                HistoryDto.builder().id(1L).transferAuditId(1L).profileAuditId(2L).accountAuditId(3L).build()));
+
+        final long start = System.nanoTime();
+        final HistoryTimelineDto timeline = service.readTimeline(List.of(1L)).get(0);
+
+        assertAll(
+                () -> assertEquals(List.of(1L), ids(timeline)),
+                () -> assertEquals(Set.of(AuditSource.PROFILE, AuditSource.ACCOUNT), timeline.getUnavailable()),
+                () -> assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000)
+        );
+    }
+
+    @Test
+    @DisplayName("Отсутствующий аудит отмечается только у своей записи, негативный сценарий")
+    void readTimelineMissingAuditNegativeTest() {
+        final StubClient transfer = new StubClient(AuditSource.TRANSFER, id -> id == 99L ? null : audit(id));
+        service = new HistoryTimelineServiceImpl(historyService, properties, List.of(transfer));
+        given(historyService.readAllById(List.of(1L, 2L))).willReturn(List.of(
+                HistoryDto.builder().id(1L).transferAuditId(99L).build(),
+                HistoryDto.builder().id(2L).transferAuditId(20L).build()));
+
+        final List<HistoryTimelineDto> timeline = service.readTimeline(List.of(1L, 2L));
+
+        assertAll(
+                () -> assertTrue(timeline.get(0).getEntries().isEmpty()),
+                () -> assertEquals(Set.of(AuditSource.TRANSFER), timeline.get(0).getMissing()),
+                () -> assertTrue(timeline.get(0).getUnavailable().isEmpty()),
+                () -> assertEquals(List.of(20L), ids(timeline.get(1))),
+                () -> assertTrue(timeline.get(1).getMissing().isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Зависший сервис занял пул и очередь, хронология отклоняется, негативный сценарий")
+    void readTimelineSaturatedNegativeTest() {
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        final StubClient transfer = new StubClient(AuditSource.TRANSFER, id -> {
+            await();
+            return audit(id);
+        });
+        service = new HistoryTimelineServiceImpl(historyService, properties, List.of(transfer));
+        given(historyService.readAllById(List.of(1L))).willReturn(List.of(
+                HistoryDto.builder().id(1L).transferAuditId(1L).build()));
+
+        assertEquals(Set.of(AuditSource.TRANSFER), service.readTimeline(List.of(1L)).get(0).getUnavailable());
+        assertEquals(Set.of(AuditSource.TRANSFER), service.readTimeline(List.of(1L)).get(0).getUnavailable());
+        assertThrows(RejectedExecutionException.class, () -> service.readTimeline(List.of(1L)));
+    }
+
+    private List<Long> ids(HistoryTimelineDto timeline) {
+        return timeline.getEntries().stream()
+                .map(TimelineEntryDto::getAudit)
+                .map(AuditDto::getId)
+                .toList();
+    }
+
+    private AuditDto audit(Long id) {
+        final AuditDto audit = new AuditDto();
+        audit.setId(id);
+        audit.setCreatedAt(new Timestamp(id));
+        return audit;
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class StubClient implements AuditClient {
+
+        private final AuditSource source;
+        private final Function<Long, AuditDto> audits;
+        private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+
+        StubClient(AuditSource source, Function<Long, AuditDto> audits) {
+            this.source = source;
+            this.audits = audits;
+        }
+
+        @Override
+        public List<AuditDto> readAll(List<Long> ids) {
+            calls.add(new ArrayList<>(ids));
+            return ids.stream().map(audits).filter(Objects::nonNull).toList();
+        }
+
+        @Override
+        public AuditSource source() {
+            return source;
+        }
+    }
+}
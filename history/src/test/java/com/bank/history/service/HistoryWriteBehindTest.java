@@ -0,0 +1,136 @@
+package com.bank.history.service;
+
+import com.bank.history.entity.HistoryEntity;
+import com.bank.history.repository.HistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Модульные тесты для {@link HistoryWriteBehind}
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты HistoryWriteBehind")
+public class HistoryWriteBehindTest {
+
+    @Mock
+    private HistoryRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final HistoryWriteBehindProperties properties = new HistoryWriteBehindProperties();
+    private HistoryWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        properties.setQueueCapacity(2);
+        properties.setBatchSize(2);
+        writeBehind = new HistoryWriteBehind(repository, transactionTemplate, properties, new SimpleMeterRegistry());
+        given(transactionTemplate.execute(ArgumentMatchers.any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Поток записи сохраняет запись и завершает future, позитивный сценарий")
+    void workerFlushPositiveTest() throws Exception {
+        given(repository.saveAll(ArgumentMatchers.<HistoryEntity>anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        final HistoryEntity history = history();
+
+        writeBehind.start();
+        try {
+            assertSame(history, writeBehind.submit(history).get(1, TimeUnit.SECONDS));
+        } finally {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Future завершается только после сброса пачки, позитивный сценарий")
+    void completeAfterFlushPositiveTest() {
+        given(repository.saveAll(ArgumentMatchers.<HistoryEntity>anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        running();
+
+        final CompletableFuture<HistoryEntity> first = writeBehind.submit(history());
+        final CompletableFuture<HistoryEntity> second = writeBehind.submit(history());
+        assertFalse(first.isDone());
+
+        writeBehind.flushAll();
+        assertAll(
+                () -> assertTrue(first.isDone()),
+                () -> assertTrue(second.isDone())
+        );
+        verify(repository).saveAll(ArgumentMatchers.<List<HistoryEntity>>argThat(batch -> batch.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Переполненный буфер пишет в потоке запроса, позитивный сценарий")
+    void overflowWritesInlinePositiveTest() {
+        given(repository.saveAll(ArgumentMatchers.<HistoryEntity>anyList()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        running();
+
+        writeBehind.submit(history());
+        writeBehind.submit(history());
+        final CompletableFuture<HistoryEntity> overflow = writeBehind.submit(history());
+
+        assertTrue(overflow.isDone());
+        verify(repository).saveAll(ArgumentMatchers.<List<HistoryEntity>>argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Ошибка пачки, записи сохраняются по одной, негативный сценарий")
+    void batchFailureNegativeTest() {
+        final HistoryEntity valid = history();
+        final HistoryEntity invalid = history();
+        valid.setId(10L);
+        given(repository.saveAll(ArgumentMatchers.<HistoryEntity>anyList()))
+                .willThrow(new DataIntegrityViolationException("batch"));
+        given(repository.save(valid)).willReturn(valid);
+        given(repository.save(invalid)).willThrow(new DataIntegrityViolationException("row"));
+        running();
+
+        final CompletableFuture<HistoryEntity> validResult = writeBehind.submit(valid);
+        final CompletableFuture<HistoryEntity> invalidResult = writeBehind.submit(invalid);
+        writeBehind.flushAll();
+
+        assertAll(
+                () -> assertSame(valid, validResult.get()),
+                () -> assertNull(valid.getId()),
+                () -> assertThrows(ExecutionException.class, invalidResult::get)
+        );
+    }
+
+    private void running() {
+        ReflectionTestUtils.setField(writeBehind, "running", true);
+    }
+
+    private HistoryEntity history() {
+        return new HistoryEntity(null, 1L, 1L, 1L, 1L, 1L, 1L);
+    }
+}
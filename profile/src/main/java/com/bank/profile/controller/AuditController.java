@@ -10,8 +10,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * Контроллер для {@link AuditEntity}
  */
@@ -32,4 +35,14 @@ public class AuditController {
     public AuditDto read(@PathVariable("id") Long id) {
         return service.findById(id);
     }
+
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return список {@link AuditDto} в порядке ids
+     */
+    @Operation(summary = "Получение аудитов по списку ID")
+    @GetMapping
+    public List<AuditDto> readAll(@RequestParam("id") List<Long> ids) {
+        return service.findAllById(ids);
+    }
 }
@@ -4,6 +4,8 @@ import com.bank.profile.dto.AuditDto;
 import com.bank.profile.entity.AuditEntity;
 import org.mapstruct.Mapper;
 
+import java.util.List;
+
 /**
  * Mapper для {@link AuditEntity} и {@link AuditDto}
  */
@@ -15,4 +17,10 @@ public interface AuditMapper {
      * @return {@link AuditDto}
      */
     AuditDto toDto(AuditEntity audit);
+
+    /**
+     * @param audits список {@link AuditEntity}
+     * @return список {@link AuditDto}
+     */
+    List<AuditDto> toDtoList(List<AuditEntity> audits);
 }
@@ -1,5 +1,6 @@
 package com.bank.profile.service.impl;
 
+import com.bank.common.batch.BatchLookup;
 import com.bank.profile.dto.AuditDto;
 import com.bank.profile.entity.AuditEntity;
 import com.bank.profile.mapper.AuditMapper;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.List;
 
 /**
  * Реализация {@link AuditService}
@@ -16,8 +18,10 @@ import javax.persistence.EntityNotFoundException;
 @Service
 @RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
+
     private final AuditRepository repository;
     private final AuditMapper mapper;
+    private final BatchLookup batchLookup;
 
 
     /**
@@ -33,6 +37,15 @@ public class AuditServiceImpl implements AuditService {
         );
     }
 
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    @Override
+    public List<AuditDto> findAllById(List<Long> ids) {
+        return mapper.toDtoList(batchLookup.findAllFound(repository, AuditEntity::getId, ids));
+    }
+
     private EntityNotFoundException getException(Long id) {
         return new EntityNotFoundException("Не найден аудит с ID  " + id);
     }
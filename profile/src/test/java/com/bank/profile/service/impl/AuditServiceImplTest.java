@@ -1,5 +1,7 @@
 package com.bank.profile.service.impl;
 
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import com.bank.profile.dto.AuditDto;
 import com.bank.profile.entity.AuditEntity;
 import com.bank.profile.mapper.AuditMapper;
@@ -9,12 +11,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
 
 
 import java.sql.Timestamp;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -38,6 +42,9 @@ class AuditServiceImplTest {
     @Mock
     private AuditMapper mapper;
 
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
+
     @InjectMocks
     private AuditServiceImpl service;
 
@@ -80,4 +87,30 @@ class AuditServiceImplTest {
                 assertThrows(EntityNotFoundException.class,
                         () -> service.findById(testId)).getMessage());
     }
+
+    @Test
+    @DisplayName("Поиск по списку id, позитивный сценарий")
+    void findAllByIdPositiveTest() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final AuditEntity second = new AuditEntity();
+        second.setId(2L);
+        final List<AuditDto> dtos = List.of(new AuditDto(), new AuditDto());
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        when(mapper.toDtoList(List.of(second, first))).thenReturn(dtos);
+
+        assertEquals(dtos, service.findAllById(List.of(2L, 1L)));
+    }
+
+    @Test
+    @DisplayName("Поиск по списку id с несуществующим id пропускает его, позитивный сценарий")
+    void findAllByNonExistIdPositiveTest() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final List<AuditDto> dtos = List.of(new AuditDto());
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+        when(mapper.toDtoList(List.of(first))).thenReturn(dtos);
+
+        assertEquals(dtos, service.findAllById(List.of(1L, 2L)));
+    }
 }
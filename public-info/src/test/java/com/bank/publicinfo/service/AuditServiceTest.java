@@ -1,5 +1,7 @@
 package com.bank.publicinfo.service;
 
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import com.bank.publicinfo.dto.AuditDto;
 import com.bank.publicinfo.entity.AuditEntity;
 import com.bank.publicinfo.mapper.AuditMapper;
@@ -10,9 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -30,6 +34,9 @@ class AuditServiceTest {
     private AuditRepository repository;
     @Mock
     private AuditMapper mapper;
+
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
     @InjectMocks
     private AuditServiceImpl service;
 
@@ -54,4 +61,30 @@ class AuditServiceTest {
     void findByNonExistIdNegativeTest() {
         assertThrows(EntityNotFoundException.class, () -> service.findById(1L));
     }
+
+    @Test
+    @DisplayName("Поиск по списку id, позитивный сценарий")
+    void findAllByIdPositiveTest() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final AuditEntity second = new AuditEntity();
+        second.setId(2L);
+        final List<AuditDto> dtos = List.of(new AuditDto(), new AuditDto());
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        when(mapper.toDtoList(List.of(second, first))).thenReturn(dtos);
+
+        assertEquals(dtos, service.findAllById(List.of(2L, 1L)));
+    }
+
+    @Test
+    @DisplayName("Поиск по списку id с несуществующим id пропускает его, позитивный сценарий")
+    void findAllByNonExistIdPositiveTest() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final List<AuditDto> dtos = List.of(new AuditDto());
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+        when(mapper.toDtoList(List.of(first))).thenReturn(dtos);
+
+        assertEquals(dtos, service.findAllById(List.of(1L, 2L)));
+    }
 }
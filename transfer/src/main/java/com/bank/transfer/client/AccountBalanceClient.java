@@ -0,0 +1,44 @@
+package com.bank.transfer.client;
+
+import com.bank.transfer.dto.BalanceDto;
+import com.bank.transfer.dto.BalanceMovementDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+/**
+ * Feign клиент списаний сервиса account-app.
+ * Остаток счёта меняет только account-app, вместе с полосами и проводками.
+ * Списание и его отмена идемпотентны по идентификатору операции в заголовке Idempotency-Key.
+ */
+@FeignClient(name = "account-app", contextId = "accountBalanceClient", path = "/api/account")
+public interface AccountBalanceClient {
+
+    /**
+     * Префикс идентификатора операции в account-app, за ним идет ключ идемпотентности перевода.
+     */
+    String REFERENCE_PREFIX = "transfer:";
+
+    /**
+     * @param id        технический идентификатор банковского счета
+     * @param reference идентификатор операции, повтор с ним не списывает деньги второй раз
+     * @param movement  {@link BalanceMovementDto} с суммой списания
+     * @return {@link BalanceDto} с остатком после списания, 404 если счета нет,
+     * 409 если средств не хватает или операция уже отменена
+     */
+    @PostMapping("/details/{id}/debit")
+    BalanceDto debit(@PathVariable("id") Long id, @RequestHeader("Idempotency-Key") String reference,
+                     @RequestBody BalanceMovementDto movement);
+
+    /**
+     * @param id        технический идентификатор банковского счета
+     * @param reference идентификатор отменяемой операции
+     * @param movement  {@link BalanceMovementDto} с суммой отменяемого списания
+     * @return {@link BalanceDto} с остатком после отмены
+     */
+    @PostMapping("/details/{id}/debit/cancel")
+    BalanceDto cancelDebit(@PathVariable("id") Long id, @RequestHeader("Idempotency-Key") String reference,
+                           @RequestBody BalanceMovementDto movement);
+}
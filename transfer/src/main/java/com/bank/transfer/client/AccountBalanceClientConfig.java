@@ -0,0 +1,12 @@
+package com.bank.transfer.client;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Включает Feign клиенты account-app. Вынесено из TransferApplication, чтобы срезы вроде @WebMvcTest их не поднимали.
+ */
+@Configuration
+@EnableFeignClients(basePackageClasses = AccountBalanceClient.class)
+public class AccountBalanceClientConfig {
+}
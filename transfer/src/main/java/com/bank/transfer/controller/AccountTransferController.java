@@ -1,21 +1,28 @@
 package com.bank.transfer.controller;
 
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.AccountTransferEntity;
+import com.bank.transfer.service.AccountTransferExportService;
 import com.bank.transfer.service.AccountTransferService;
+import com.bank.transfer.service.common.ExportProperties;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 /**
@@ -28,6 +35,8 @@ import java.util.List;
 public class AccountTransferController {
 
     private final AccountTransferService service;
+    private final AccountTransferExportService exportService;
+    private final ExportProperties exportProperties;
 
     /**
      * @param ids список технических идентификаторов {@link AccountTransferEntity}
@@ -39,6 +48,67 @@ public class AccountTransferController {
         return ResponseEntity.ok(service.findAllById(ids));
     }
 
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор из предыдущей страницы, не передается для первой страницы
+     * @param size             размер страницы
+     * @return {@link ResponseEntity} c {@link TransferPageDto} листа {@link AccountTransferDto}
+     */
+    @GetMapping("/read/account-details/{accountDetailsId}")
+    @Operation(summary = "постраничное получение переводов по номеру счета банковского счета")
+    public ResponseEntity<TransferPageDto<AccountTransferDto>> readByAccountDetails(
+            @PathVariable("accountDetailsId") Long accountDetailsId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.findAllByAccountDetailsId(accountDetailsId, cursor, size));
+    }
+
+    /**
+     * @param after технический идентификатор {@link AccountTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return {@link ResponseEntity} c листом {@link AccountTransferDto} по возрастанию id
+     */
+    @GetMapping("/read/range")
+    @Operation(summary = "получение переводов по номеру счета по диапазону id")
+    public ResponseEntity<List<AccountTransferDto>> readRange(@RequestParam long after, @RequestParam long upTo,
+                                                          @RequestParam(defaultValue = "1000") int size) {
+        return ResponseEntity.ok(service.findRange(after, upTo, size));
+    }
+
+    /**
+     * @return {@link ResponseEntity} c наибольшим id перевода по номеру счета или 0, если переводов нет
+     */
+    @GetMapping("/read/last-id")
+    @Operation(summary = "получение наибольшего id перевода по номеру счета")
+    public ResponseEntity<Long> readLastId() {
+        return ResponseEntity.ok(service.findLastId());
+    }
+
+    /**
+     * Выгрузка пишется прямо в ответ в {@link WebAsyncTask} со своим таймаутом transfer.export.timeout,
+     * поэтому долгой выгрузке не нужен общий spring.mvc.async.request-timeout.
+     *
+     * @param fromAccountDetailsId технический идентификатор банковского счета, начало диапазона
+     * @param toAccountDetailsId   технический идентификатор банковского счета, конец диапазона
+     * @param response             ответ, в который построчно пишутся {@link AccountTransferDto} в формате NDJSON
+     * @return {@link WebAsyncTask} выгрузки, {@link ResponseEntity} без тела после ее завершения
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "потоковая выгрузка переводов по номеру счета для диапазона банковских счетов")
+    public WebAsyncTask<ResponseEntity<Void>> export(@RequestParam Long fromAccountDetailsId,
+                                                     @RequestParam Long toAccountDetailsId,
+                                                     HttpServletResponse response) {
+        exportService.validateRange(fromAccountDetailsId, toAccountDetailsId);
+
+        return new WebAsyncTask<>(exportProperties.getTimeout().toMillis(), () -> {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            exportService.export(fromAccountDetailsId, toAccountDetailsId, response.getOutputStream());
+            response.flushBuffer();
+            return ResponseEntity.ok().build();
+        });
+    }
+
     /**
      * @param id технический идентификатор {@link AccountTransferEntity}
      * @return {@link ResponseEntity} {@link AccountTransferDto}
@@ -50,13 +120,20 @@ public class AccountTransferController {
     }
 
     /**
+     * @param idempotencyKey  ключ идемпотентности, повтор с тем же ключом возвращает уже созданный перевод
      * @param accountTransfer {@link AccountTransferDto}
      * @return {@link ResponseEntity } {@link AccountTransferDto}
      */
     @PostMapping("/create")
     @Operation(summary = "создание перевода по номеру счета")
-    public ResponseEntity<AccountTransferDto> create(@RequestBody AccountTransferDto accountTransfer) {
-        return ResponseEntity.ok(service.save(accountTransfer));
+    public ResponseEntity<AccountTransferDto> create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody AccountTransferDto accountTransfer) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(service.save(accountTransfer));
+        }
+
+        return ResponseEntity.ok(service.save(idempotencyKey, accountTransfer));
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.bank.transfer.controller;
 
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.CardTransferEntity;
 import com.bank.transfer.service.CardTransferService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -39,6 +41,43 @@ public class CardTransferController {
         return ResponseEntity.ok(service.findAllById(ids));
     }
 
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор из предыдущей страницы, не передается для первой страницы
+     * @param size             размер страницы
+     * @return {@link ResponseEntity} c {@link TransferPageDto} листа {@link CardTransferDto}
+     */
+    @GetMapping("/read/account-details/{accountDetailsId}")
+    @Operation(summary = "постраничное получение переводов по номеру карты банковского счета")
+    public ResponseEntity<TransferPageDto<CardTransferDto>> readByAccountDetails(
+            @PathVariable("accountDetailsId") Long accountDetailsId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.findAllByAccountDetailsId(accountDetailsId, cursor, size));
+    }
+
+    /**
+     * @param after технический идентификатор {@link CardTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return {@link ResponseEntity} c листом {@link CardTransferDto} по возрастанию id
+     */
+    @GetMapping("/read/range")
+    @Operation(summary = "получение переводов по номеру карты по диапазону id")
+    public ResponseEntity<List<CardTransferDto>> readRange(@RequestParam long after, @RequestParam long upTo,
+                                                          @RequestParam(defaultValue = "1000") int size) {
+        return ResponseEntity.ok(service.findRange(after, upTo, size));
+    }
+
+    /**
+     * @return {@link ResponseEntity} c наибольшим id перевода по номеру карты или 0, если переводов нет
+     */
+    @GetMapping("/read/last-id")
+    @Operation(summary = "получение наибольшего id перевода по номеру карты")
+    public ResponseEntity<Long> readLastId() {
+        return ResponseEntity.ok(service.findLastId());
+    }
+
     /**
      * @param id технический идентификатор {@link CardTransferEntity}
      * @return {@link ResponseEntity} {@link CardTransferDto}
@@ -50,13 +89,20 @@ public class CardTransferController {
     }
 
     /**
-     * @param cardTransfer {@link CardTransferDto}
+     * @param idempotencyKey ключ идемпотентности, повтор с тем же ключом возвращает уже созданный перевод
+     * @param cardTransfer   {@link CardTransferDto}
      * @return {@link ResponseEntity } {@link CardTransferDto}
      */
     @PostMapping("/create")
     @Operation(summary = "создание перевода по номеру карты")
-    public ResponseEntity<CardTransferDto> create(@RequestBody CardTransferDto cardTransfer) {
-        return ResponseEntity.ok(service.save(cardTransfer));
+    public ResponseEntity<CardTransferDto> create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody CardTransferDto cardTransfer) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(service.save(cardTransfer));
+        }
+
+        return ResponseEntity.ok(service.save(idempotencyKey, cardTransfer));
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.bank.transfer.controller;
 
 import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.PhoneTransferEntity;
 import com.bank.transfer.service.PhoneTransferService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -39,6 +41,43 @@ public class PhoneTransferController {
         return ResponseEntity.ok(service.findAllById(ids));
     }
 
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор из предыдущей страницы, не передается для первой страницы
+     * @param size             размер страницы
+     * @return {@link ResponseEntity} c {@link TransferPageDto} листа {@link PhoneTransferDto}
+     */
+    @GetMapping("/read/account-details/{accountDetailsId}")
+    @Operation(summary = "постраничное получение переводов по номеру телефона банковского счета")
+    public ResponseEntity<TransferPageDto<PhoneTransferDto>> readByAccountDetails(
+            @PathVariable("accountDetailsId") Long accountDetailsId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.findAllByAccountDetailsId(accountDetailsId, cursor, size));
+    }
+
+    /**
+     * @param after технический идентификатор {@link PhoneTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return {@link ResponseEntity} c листом {@link PhoneTransferDto} по возрастанию id
+     */
+    @GetMapping("/read/range")
+    @Operation(summary = "получение переводов по номеру телефона по диапазону id")
+    public ResponseEntity<List<PhoneTransferDto>> readRange(@RequestParam long after, @RequestParam long upTo,
+                                                          @RequestParam(defaultValue = "1000") int size) {
+        return ResponseEntity.ok(service.findRange(after, upTo, size));
+    }
+
+    /**
+     * @return {@link ResponseEntity} c наибольшим id перевода по номеру телефона или 0, если переводов нет
+     */
+    @GetMapping("/read/last-id")
+    @Operation(summary = "получение наибольшего id перевода по номеру телефона")
+    public ResponseEntity<Long> readLastId() {
+        return ResponseEntity.ok(service.findLastId());
+    }
+
     /**
      * @param id технический идентификатор {@link PhoneTransferEntity}
      * @return {@link ResponseEntity} {@link PhoneTransferDto}
@@ -50,13 +89,20 @@ public class PhoneTransferController {
     }
 
     /**
-     * @param phoneTransfer {@link PhoneTransferDto}
+     * @param idempotencyKey ключ идемпотентности, повтор с тем же ключом возвращает уже созданный перевод
+     * @param phoneTransfer  {@link PhoneTransferDto}
      * @return {@link ResponseEntity } {@link PhoneTransferDto}
      */
     @PostMapping("/create")
     @Operation(summary = "создание перевода по номеру телефона")
-    public ResponseEntity<PhoneTransferDto> create(@RequestBody PhoneTransferDto phoneTransfer) {
-        return ResponseEntity.ok(service.save(phoneTransfer));
+    public ResponseEntity<PhoneTransferDto> create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody PhoneTransferDto phoneTransfer) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(service.save(phoneTransfer));
+        }
+
+        return ResponseEntity.ok(service.save(idempotencyKey, phoneTransfer));
     }
 
     /**
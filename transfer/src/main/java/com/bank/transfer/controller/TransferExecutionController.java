@@ -0,0 +1,54 @@
+package com.bank.transfer.controller;
+
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.service.TransferExecutionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер проведения переводов со списанием со счета
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/execute")
+@Tag(name = "контроллер проведения переводов")
+public class TransferExecutionController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final TransferExecutionService service;
+
+    /**
+     * @param idempotencyKey ключ идемпотентности, повтор с тем же ключом не списывает деньги второй раз
+     * @param cardTransfer   {@link CardTransferDto}
+     * @return {@link ResponseEntity} {@link CardTransferDto}
+     */
+    @PostMapping("/card")
+    @Operation(summary = "проведение перевода по номеру карты")
+    public ResponseEntity<CardTransferDto> executeCard(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody CardTransferDto cardTransfer) {
+        return ResponseEntity.ok(service.executeCard(idempotencyKey, cardTransfer));
+    }
+
+    /**
+     * @param idempotencyKey ключ идемпотентности, повтор с тем же ключом не списывает деньги второй раз
+     * @param phoneTransfer  {@link PhoneTransferDto}
+     * @return {@link ResponseEntity} {@link PhoneTransferDto}
+     */
+    @PostMapping("/phone")
+    @Operation(summary = "проведение перевода по номеру телефона")
+    public ResponseEntity<PhoneTransferDto> executePhone(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody PhoneTransferDto phoneTransfer) {
+        return ResponseEntity.ok(service.executePhone(idempotencyKey, phoneTransfer));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.transfer.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Страница переводов банковского счета с курсором на следующую страницу
+ *
+ * @param <T> ДТО перевода
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransferPageDto<T> implements Serializable {
+
+    List<T> content;
+
+    /**
+     * курсор следующей страницы, null если страница последняя
+     */
+    String nextCursor;
+}
@@ -0,0 +1,66 @@
+package com.bank.transfer.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы idempotency_key
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "idempotency_key", schema = "transfer")
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key")
+    String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transfer_type")
+    TransferType transferType;
+
+    @Column(name = "fingerprint")
+    String fingerprint;
+
+    @Column(name = "transfer_id")
+    Long transferId;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    Timestamp createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof IdempotencyKeyEntity idempotencyKeyEntity)) {
+            return false;
+        }
+
+        return Objects.equals(getIdempotencyKey(), idempotencyKeyEntity.getIdempotencyKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getIdempotencyKey());
+    }
+}
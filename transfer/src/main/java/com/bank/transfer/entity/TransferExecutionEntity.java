@@ -0,0 +1,74 @@
+package com.bank.transfer.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * Entity для таблицы transfer_execution
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "transfer_execution", schema = "transfer")
+public class TransferExecutionEntity {
+
+    @Id
+    @Column(name = "idempotency_key")
+    String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transfer_type")
+    TransferType transferType;
+
+    @Column(name = "account_details_id")
+    Long accountDetailsId;
+
+    @Column(name = "amount")
+    BigDecimal amount;
+
+    @Column(name = "transfer_id")
+    Long transferId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    TransferExecutionStatus status;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    Timestamp createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof TransferExecutionEntity execution)) {
+            return false;
+        }
+
+        return Objects.equals(getIdempotencyKey(), execution.getIdempotencyKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getIdempotencyKey());
+    }
+}
@@ -0,0 +1,14 @@
+package com.bank.transfer.entity;
+
+/**
+ * Состояние проведения в {@link TransferExecutionEntity}.
+ * PENDING - ключ занят, исход списания еще не известен; COMPLETED - перевод создан;
+ * CANCELLING - списание возвращается; CANCELLED - списание возвращено или не проходило.
+ */
+public enum TransferExecutionStatus {
+
+    PENDING,
+    COMPLETED,
+    CANCELLING,
+    CANCELLED
+}
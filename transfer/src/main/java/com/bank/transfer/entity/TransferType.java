@@ -0,0 +1,11 @@
+package com.bank.transfer.entity;
+
+/**
+ * Тип перевода в {@link TransferExecutionEntity} и {@link IdempotencyKeyEntity}
+ */
+public enum TransferType {
+
+    ACCOUNT,
+    CARD,
+    PHONE
+}
@@ -1,10 +1,65 @@
 package com.bank.transfer.repository;
 
 import com.bank.transfer.entity.AccountTransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * Репозиторий для {@link AccountTransferEntity}
  */
 public interface AccountTransferRepository extends JpaRepository<AccountTransferEntity, Long> {
+
+    /**
+     * число строк, которые драйвер забирает из курсора за один раз при выгрузке
+     */
+    int EXPORT_FETCH_SIZE = 1000;
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param id               технический идентификатор {@link AccountTransferEntity}, после которого читать
+     * @param pageable         ограничение выборки
+     * @return лист {@link AccountTransferEntity} по возрастанию id
+     */
+    List<AccountTransferEntity> findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(
+            Long accountDetailsId, Long id, Pageable pageable);
+
+    /**
+     * @param after    технический идентификатор {@link AccountTransferEntity}, после которого читать
+     * @param upTo     последний технический идентификатор диапазона
+     * @param pageable ограничение выборки
+     * @return лист {@link AccountTransferEntity} с id в (after, upTo] по возрастанию id
+     */
+    List<AccountTransferEntity> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo,
+                                                                              Pageable pageable);
+
+    /**
+     * @return наибольший технический идентификатор {@link AccountTransferEntity} или 0, если переводов нет
+     */
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM AccountTransferEntity t")
+    long findLastId();
+
+    /**
+     * Потоковая выгрузка переводов. Стрим нужно читать внутри транзакции и закрывать после чтения.
+     *
+     * @param fromAccountDetailsId технический идентификатор банковского счета, начало диапазона
+     * @param toAccountDetailsId   технический идентификатор банковского счета, конец диапазона
+     * @return {@link Stream} {@link AccountTransferEntity} по возрастанию account_details_id и id
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    Stream<AccountTransferEntity> streamByAccountDetailsIdBetweenOrderByAccountDetailsIdAscIdAsc(
+            Long fromAccountDetailsId, Long toAccountDetailsId);
 }
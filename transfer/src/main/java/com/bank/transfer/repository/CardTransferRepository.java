@@ -1,10 +1,38 @@
 package com.bank.transfer.repository;
 
 import com.bank.transfer.entity.CardTransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * Репозиторий для {@link CardTransferEntity}
  */
 public interface CardTransferRepository extends JpaRepository<CardTransferEntity, Long> {
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param id               технический идентификатор {@link CardTransferEntity}, после которого читать
+     * @param pageable         ограничение выборки
+     * @return лист {@link CardTransferEntity} по возрастанию id
+     */
+    List<CardTransferEntity> findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(
+            Long accountDetailsId, Long id, Pageable pageable);
+
+    /**
+     * @param after    технический идентификатор {@link CardTransferEntity}, после которого читать
+     * @param upTo     последний технический идентификатор диапазона
+     * @param pageable ограничение выборки
+     * @return лист {@link CardTransferEntity} с id в (after, upTo] по возрастанию id
+     */
+    List<CardTransferEntity> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo,
+                                                                              Pageable pageable);
+
+    /**
+     * @return наибольший технический идентификатор {@link CardTransferEntity} или 0, если переводов нет
+     */
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM CardTransferEntity t")
+    long findLastId();
 }
@@ -0,0 +1,47 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+
+/**
+ * Репозиторий для {@link IdempotencyKeyEntity}
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    /**
+     * Занимает ключ идемпотентности, повтор с тем же ключом ждет коммита первого запроса.
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @param transferType   тип перевода
+     * @param fingerprint    отпечаток запроса
+     * @return 1 если ключ занят этим вызовом, 0 если ключ уже был использован
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transfer.idempotency_key (idempotency_key, transfer_type, fingerprint) " +
+            "VALUES (:idempotencyKey, :transferType, :fingerprint) ON CONFLICT (idempotency_key) DO NOTHING",
+            nativeQuery = true)
+    int claim(@Param("idempotencyKey") String idempotencyKey, @Param("transferType") String transferType,
+              @Param("fingerprint") String fingerprint);
+
+    /**
+     * @param idempotencyKey ключ идемпотентности
+     * @param transferId     технический идентификатор созданного перевода
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyKeyEntity e SET e.transferId = :transferId WHERE e.idempotencyKey = :idempotencyKey")
+    int attach(@Param("idempotencyKey") String idempotencyKey, @Param("transferId") Long transferId);
+
+    /**
+     * @param threshold ключи, созданные раньше этого момента, удаляются
+     * @return количество удаленных ключей
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKeyEntity e WHERE e.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") Timestamp threshold);
+}
@@ -1,10 +1,38 @@
 package com.bank.transfer.repository;
 
 import com.bank.transfer.entity.PhoneTransferEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 /**
  * Репозиторий для {@link PhoneTransferEntity}
  */
 public interface PhoneTransferRepository extends JpaRepository<PhoneTransferEntity, Long> {
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param id               технический идентификатор {@link PhoneTransferEntity}, после которого читать
+     * @param pageable         ограничение выборки
+     * @return лист {@link PhoneTransferEntity} по возрастанию id
+     */
+    List<PhoneTransferEntity> findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(
+            Long accountDetailsId, Long id, Pageable pageable);
+
+    /**
+     * @param after    технический идентификатор {@link PhoneTransferEntity}, после которого читать
+     * @param upTo     последний технический идентификатор диапазона
+     * @param pageable ограничение выборки
+     * @return лист {@link PhoneTransferEntity} с id в (after, upTo] по возрастанию id
+     */
+    List<PhoneTransferEntity> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo,
+                                                                              Pageable pageable);
+
+    /**
+     * @return наибольший технический идентификатор {@link PhoneTransferEntity} или 0, если переводов нет
+     */
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM PhoneTransferEntity t")
+    long findLastId();
 }
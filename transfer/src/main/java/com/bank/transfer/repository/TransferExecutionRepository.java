@@ -0,0 +1,93 @@
+package com.bank.transfer.repository;
+
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferExecutionStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для {@link TransferExecutionEntity}
+ */
+public interface TransferExecutionRepository extends JpaRepository<TransferExecutionEntity, String> {
+
+    /**
+     * Занимает ключ идемпотентности в состоянии PENDING. Транзакция с вставкой коммитится сразу,
+     * до обращения к account-app, поэтому строка ключа не блокируется на время HTTP-вызова.
+     *
+     * @param idempotencyKey   ключ идемпотентности
+     * @param transferType     тип перевода
+     * @param accountDetailsId технический идентификатор списываемого счета
+     * @param amount           сумма перевода
+     * @return 1 если ключ занят этим вызовом, 0 если ключ уже был использован
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transfer.transfer_execution " +
+            "(idempotency_key, transfer_type, account_details_id, amount, status) " +
+            "VALUES (:idempotencyKey, :transferType, :accountDetailsId, :amount, 'PENDING') " +
+            "ON CONFLICT (idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("idempotencyKey") String idempotencyKey, @Param("transferType") String transferType,
+              @Param("accountDetailsId") Long accountDetailsId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Блокирует строку ключа на время короткой локальной транзакции создания перевода.
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @return {@link TransferExecutionEntity}, если ключ занят
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM TransferExecutionEntity e WHERE e.idempotencyKey = :idempotencyKey")
+    Optional<TransferExecutionEntity> lockById(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Освобождает ключ после отказа account-app, чтобы клиент мог повторить запрос с тем же ключом.
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @param status         состояние, в котором ключ можно освободить
+     * @return количество удаленных строк
+     */
+    @Modifying
+    @Query("DELETE FROM TransferExecutionEntity e WHERE e.idempotencyKey = :idempotencyKey AND e.status = :status")
+    int release(@Param("idempotencyKey") String idempotencyKey, @Param("status") TransferExecutionStatus status);
+
+    /**
+     * @param idempotencyKey ключ идемпотентности
+     * @param from           ожидаемое состояние
+     * @param to             новое состояние
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query("UPDATE TransferExecutionEntity e SET e.status = :to " +
+            "WHERE e.idempotencyKey = :idempotencyKey AND e.status = :from")
+    int changeStatus(@Param("idempotencyKey") String idempotencyKey, @Param("from") TransferExecutionStatus from,
+                     @Param("to") TransferExecutionStatus to);
+
+    /**
+     * @param from          ожидаемое состояние
+     * @param to            новое состояние
+     * @param createdBefore ключи, занятые раньше этого времени
+     * @return количество обновленных строк
+     */
+    @Modifying
+    @Query("UPDATE TransferExecutionEntity e SET e.status = :to " +
+            "WHERE e.status = :from AND e.createdAt < :createdBefore")
+    int changeStatusCreatedBefore(@Param("from") TransferExecutionStatus from,
+                                  @Param("to") TransferExecutionStatus to,
+                                  @Param("createdBefore") Timestamp createdBefore);
+
+    /**
+     * @param status   состояние
+     * @param pageable ограничение выборки
+     * @return проведения в этом состоянии
+     */
+    List<TransferExecutionEntity> findAllByStatus(TransferExecutionStatus status, Pageable pageable);
+}
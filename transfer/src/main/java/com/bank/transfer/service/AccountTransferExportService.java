@@ -0,0 +1,32 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.entity.AccountTransferEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Сервис потоковой выгрузки {@link AccountTransferEntity} в NDJSON
+ */
+public interface AccountTransferExportService {
+
+    /**
+     * Проверяется до начала ответа: после первой строки статус ответа уже не изменить.
+     *
+     * @param fromAccountDetailsId технический идентификатор банковского счета, начало диапазона
+     * @param toAccountDetailsId   технический идентификатор банковского счета, конец диапазона
+     */
+    void validateRange(Long fromAccountDetailsId, Long toAccountDetailsId);
+
+    /**
+     * Пишет по одному {@link AccountTransferDto} в строку, не собирая выгрузку в памяти.
+     * Диапазон должен быть заранее проверен {@link #validateRange(Long, Long)}.
+     *
+     * @param fromAccountDetailsId технический идентификатор банковского счета, начало диапазона
+     * @param toAccountDetailsId   технический идентификатор банковского счета, конец диапазона
+     * @param out                  поток ответа
+     * @throws IOException при ошибке записи в поток
+     */
+    void export(Long fromAccountDetailsId, Long toAccountDetailsId, OutputStream out) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.bank.transfer.service;
 
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.AccountTransferEntity;
 
 import java.util.List;
@@ -16,6 +17,27 @@ public interface AccountTransferService {
      */
     List<AccountTransferDto> findAllById(List<Long> ids);
 
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор следующей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @return {@link TransferPageDto} c листом {@link AccountTransferDto}
+     */
+    TransferPageDto<AccountTransferDto> findAllByAccountDetailsId(Long accountDetailsId, String cursor, int size);
+
+    /**
+     * @param after технический идентификатор {@link AccountTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return лист {@link AccountTransferDto} с id в (after, upTo] по возрастанию id
+     */
+    List<AccountTransferDto> findRange(long after, long upTo, int size);
+
+    /**
+     * @return наибольший технический идентификатор {@link AccountTransferEntity} или 0, если переводов нет
+     */
+    long findLastId();
+
     /**
      * @param id технический идентификатор {@link AccountTransferEntity}
      * @return {@link AccountTransferDto}
@@ -28,6 +50,15 @@ public interface AccountTransferService {
      */
     AccountTransferDto save(AccountTransferDto accountTransfer);
 
+    /**
+     * Повтор с тем же ключом возвращает перевод, созданный первым запросом, и не создает новый.
+     *
+     * @param idempotencyKey  ключ идемпотентности
+     * @param accountTransfer {@link AccountTransferDto}
+     * @return {@link AccountTransferDto}
+     */
+    AccountTransferDto save(String idempotencyKey, AccountTransferDto accountTransfer);
+
     /**
      * @param accountTransfer {@link AccountTransferDto}
      * @param id              технический идентификатор {@link AccountTransferEntity}
@@ -3,6 +3,8 @@ package com.bank.transfer.service;
 import com.bank.transfer.dto.AuditDto;
 import com.bank.transfer.entity.AuditEntity;
 
+import java.util.List;
+
 /**
  * Сервис для {@link AuditEntity}
  */
@@ -13,4 +15,10 @@ public interface AuditService {
      * @return {@link AuditDto}
      */
     AuditDto findById(Long id);
+
+    /**
+     * @param ids список технических идентификаторов {@link AuditEntity}
+     * @return найденные {@link AuditDto} в порядке ids, отсутствующие id пропускаются
+     */
+    List<AuditDto> findAllById(List<Long> ids);
 }
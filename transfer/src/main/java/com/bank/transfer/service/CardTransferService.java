@@ -1,6 +1,7 @@
 package com.bank.transfer.service;
 
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.CardTransferEntity;
 
 import java.util.List;
@@ -16,6 +17,27 @@ public interface CardTransferService {
      */
     List<CardTransferDto> findAllById(List<Long> ids);
 
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор следующей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @return {@link TransferPageDto} c листом {@link CardTransferDto}
+     */
+    TransferPageDto<CardTransferDto> findAllByAccountDetailsId(Long accountDetailsId, String cursor, int size);
+
+    /**
+     * @param after технический идентификатор {@link CardTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return лист {@link CardTransferDto} с id в (after, upTo] по возрастанию id
+     */
+    List<CardTransferDto> findRange(long after, long upTo, int size);
+
+    /**
+     * @return наибольший технический идентификатор {@link CardTransferEntity} или 0, если переводов нет
+     */
+    long findLastId();
+
     /**
      * @param id технический идентификатор {@link CardTransferEntity}
      * @return {@link CardTransferDto}
@@ -28,6 +50,15 @@ public interface CardTransferService {
      */
     CardTransferDto save(CardTransferDto cardTransfer);
 
+    /**
+     * Повтор с тем же ключом возвращает перевод, созданный первым запросом, и не создает новый.
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @param cardTransfer   {@link CardTransferDto}
+     * @return {@link CardTransferDto}
+     */
+    CardTransferDto save(String idempotencyKey, CardTransferDto cardTransfer);
+
     /**
      * @param cardTransfer {@link CardTransferDto}
      * @param id           технический идентификатор {@link CardTransferEntity}
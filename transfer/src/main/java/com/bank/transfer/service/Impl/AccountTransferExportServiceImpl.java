@@ -0,0 +1,85 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.entity.AccountTransferEntity;
+import com.bank.transfer.mapper.AccountTransferMapper;
+import com.bank.transfer.repository.AccountTransferRepository;
+import com.bank.transfer.service.AccountTransferExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Реализация {@link AccountTransferExportService}.
+ * Строки читаются курсором порциями по {@link AccountTransferRepository#EXPORT_FETCH_SIZE}
+ * и сразу отсоединяются от persistence context, поэтому память не растет с размером выгрузки.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountTransferExportServiceImpl implements AccountTransferExportService {
+
+    private static final String RANGE_MESSAGE = "Начало диапазона банковских счетов больше конца: ";
+    private static final int NEW_LINE = '\n';
+
+    private final AccountTransferRepository repository;
+    private final AccountTransferMapper mapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param fromAccountDetailsId технический идентификатор банковского счета, начало диапазона
+     * @param toAccountDetailsId   технический идентификатор банковского счета, конец диапазона
+     * @throws ValidationException если начало диапазона больше конца
+     */
+    @Override
+    public void validateRange(Long fromAccountDetailsId, Long toAccountDetailsId) {
+        if (fromAccountDetailsId > toAccountDetailsId) {
+            throw new ValidationException(RANGE_MESSAGE + fromAccountDetailsId + " > " + toAccountDetailsId);
+        }
+    }
+
+    /**
+     * @param fromAccountDetailsId технический идентификатор банковского счета, начало диапазона
+     * @param toAccountDetailsId   технический идентификатор банковского счета, конец диапазона
+     * @param out                  поток ответа
+     * @throws IOException при ошибке записи в поток
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Long fromAccountDetailsId, Long toAccountDetailsId, OutputStream out) throws IOException {
+        final ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+
+        try (Stream<AccountTransferEntity> transfers = repository
+                .streamByAccountDetailsIdBetweenOrderByAccountDetailsIdAscIdAsc(
+                        fromAccountDetailsId, toAccountDetailsId)) {
+            final Iterator<AccountTransferEntity> iterator = transfers.iterator();
+
+            while (iterator.hasNext()) {
+                final AccountTransferEntity transfer = iterator.next();
+                writer.writeValue(out, mapper.toDto(transfer));
+                out.write(NEW_LINE);
+                entityManager.detach(transfer);
+
+                if (++rows % AccountTransferRepository.EXPORT_FETCH_SIZE == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+
+        log.info("Выгружено переводов по номеру счета: {}, счета {}..{}", rows,
+                fromAccountDetailsId, toAccountDetailsId);
+    }
+}
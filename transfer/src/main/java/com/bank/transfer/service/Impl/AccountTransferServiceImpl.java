@@ -1,17 +1,21 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.batch.BatchLookup;
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.AccountTransferEntity;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.mapper.AccountTransferMapper;
 import com.bank.transfer.repository.AccountTransferRepository;
 import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.IdempotencyStore;
+import com.bank.transfer.service.common.KeysetPageReader;
 import com.bank.transfer.service.AccountTransferService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,6 +31,9 @@ public class AccountTransferServiceImpl implements AccountTransferService {
     private final AccountTransferRepository repository;
     private final AccountTransferMapper mapper;
     private final EntityNotFoundReturner notFoundReturner;
+    private final BatchLookup batchLookup;
+    private final KeysetPageReader pageReader;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * @param ids список технических идентификаторов {@link AccountTransferEntity}
@@ -34,13 +41,45 @@ public class AccountTransferServiceImpl implements AccountTransferService {
      */
     @Override
     public List<AccountTransferDto> findAllById(List<Long> ids) {
-        final List<AccountTransferDto> accountTransferDtoList = new ArrayList<>();
+        final List<AccountTransferEntity> transfers = batchLookup.findAllById(
+                repository, AccountTransferEntity::getId, ids, MESSAGE);
 
-        for (Long id : ids) {
-            accountTransferDtoList.add(findById(id));
-        }
+        return mapper.toDtoList(transfers);
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор следующей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @return {@link TransferPageDto} c листом {@link AccountTransferDto}
+     */
+    @Override
+    public TransferPageDto<AccountTransferDto> findAllByAccountDetailsId(Long accountDetailsId, String cursor,
+                                                                         int size) {
+        return pageReader.read(accountDetailsId, cursor, size,
+                (afterId, pageable) -> repository.findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(
+                        accountDetailsId, afterId, pageable),
+                AccountTransferEntity::getId, mapper::toDtoList);
+    }
+
+    /**
+     * @param after технический идентификатор {@link AccountTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return лист {@link AccountTransferDto} с id в (after, upTo] по возрастанию id
+     */
+    @Override
+    public List<AccountTransferDto> findRange(long after, long upTo, int size) {
+        return pageReader.scan(after, upTo, size, repository::findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc,
+                mapper::toDtoList);
+    }
 
-        return accountTransferDtoList;
+    /**
+     * @return наибольший технический идентификатор {@link AccountTransferEntity} или 0, если переводов нет
+     */
+    @Override
+    public long findLastId() {
+        return repository.findLastId();
     }
 
     /**
@@ -68,6 +107,20 @@ public class AccountTransferServiceImpl implements AccountTransferService {
         return mapper.toDto(transfer);
     }
 
+    /**
+     * @param idempotencyKey  ключ идемпотентности
+     * @param accountTransfer {@link AccountTransferDto}
+     * @return {@link AccountTransferDto}
+     */
+    @Override
+    public AccountTransferDto save(String idempotencyKey, AccountTransferDto accountTransfer) {
+        final String fingerprint = IdempotencyStore.fingerprint(accountTransfer.getAccountDetailsId(),
+                accountTransfer.getAccountNumber(), accountTransfer.getAmount());
+
+        return idempotencyStore.execute(idempotencyKey, TransferType.ACCOUNT, fingerprint, AccountTransferDto.class,
+                () -> save(accountTransfer), AccountTransferDto::getId, this::findById);
+    }
+
     /**
      * @param accountTransfer {@link AccountTransferDto}
      * @param id              технический идентификатор {@link AccountTransferEntity}
@@ -1,17 +1,21 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.batch.BatchLookup;
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.mapper.CardTransferMapper;
 import com.bank.transfer.repository.CardTransferRepository;
 import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.IdempotencyStore;
+import com.bank.transfer.service.common.KeysetPageReader;
 import com.bank.transfer.service.CardTransferService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,6 +31,9 @@ public class CardTransferServiceImpl implements CardTransferService {
     private final CardTransferRepository repository;
     private final CardTransferMapper mapper;
     private final EntityNotFoundReturner notFoundReturner;
+    private final BatchLookup batchLookup;
+    private final KeysetPageReader pageReader;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * @param ids список технических идентификаторов {@link CardTransferEntity}
@@ -34,13 +41,44 @@ public class CardTransferServiceImpl implements CardTransferService {
      */
     @Override
     public List<CardTransferDto> findAllById(List<Long> ids) {
-        final List<CardTransferDto> cardTransferDtoList = new ArrayList<>();
+        final List<CardTransferEntity> transfers = batchLookup.findAllById(
+                repository, CardTransferEntity::getId, ids, MESSAGE);
 
-        for (Long id : ids) {
-            cardTransferDtoList.add(findById(id));
-        }
+        return mapper.toDtoList(transfers);
+    }
 
-        return cardTransferDtoList;
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор следующей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @return {@link TransferPageDto} c листом {@link CardTransferDto}
+     */
+    @Override
+    public TransferPageDto<CardTransferDto> findAllByAccountDetailsId(Long accountDetailsId, String cursor, int size) {
+        return pageReader.read(accountDetailsId, cursor, size,
+                (afterId, pageable) -> repository.findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(
+                        accountDetailsId, afterId, pageable),
+                CardTransferEntity::getId, mapper::toDtoList);
+    }
+
+    /**
+     * @param after технический идентификатор {@link CardTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return лист {@link CardTransferDto} с id в (after, upTo] по возрастанию id
+     */
+    @Override
+    public List<CardTransferDto> findRange(long after, long upTo, int size) {
+        return pageReader.scan(after, upTo, size, repository::findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc,
+                mapper::toDtoList);
+    }
+
+    /**
+     * @return наибольший технический идентификатор {@link CardTransferEntity} или 0, если переводов нет
+     */
+    @Override
+    public long findLastId() {
+        return repository.findLastId();
     }
 
     /**
@@ -68,6 +106,20 @@ public class CardTransferServiceImpl implements CardTransferService {
         return mapper.toDto(transfer);
     }
 
+    /**
+     * @param idempotencyKey ключ идемпотентности
+     * @param cardTransfer   {@link CardTransferDto}
+     * @return {@link CardTransferDto}
+     */
+    @Override
+    public CardTransferDto save(String idempotencyKey, CardTransferDto cardTransfer) {
+        final String fingerprint = IdempotencyStore.fingerprint(cardTransfer.getAccountDetailsId(),
+                cardTransfer.getCardNumber(), cardTransfer.getAmount());
+
+        return idempotencyStore.execute(idempotencyKey, TransferType.CARD, fingerprint, CardTransferDto.class,
+                () -> save(cardTransfer), CardTransferDto::getId, this::findById);
+    }
+
     /**
      * @param cardTransfer {@link CardTransferDto}
      * @param id           технический идентификатор {@link CardTransferEntity}
@@ -1,17 +1,21 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.batch.BatchLookup;
 import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.mapper.PhoneTransferMapper;
 import com.bank.transfer.repository.PhoneTransferRepository;
 import com.bank.transfer.entity.PhoneTransferEntity;
+import com.bank.transfer.entity.TransferType;
 import com.bank.transfer.service.PhoneTransferService;
 import com.bank.transfer.service.common.EntityNotFoundReturner;
+import com.bank.transfer.service.common.IdempotencyStore;
+import com.bank.transfer.service.common.KeysetPageReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,6 +31,9 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
     private final PhoneTransferRepository repository;
     private final PhoneTransferMapper mapper;
     private final EntityNotFoundReturner notFoundReturner;
+    private final BatchLookup batchLookup;
+    private final KeysetPageReader pageReader;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * @param ids список технических идентификаторов {@link PhoneTransferEntity}
@@ -34,13 +41,44 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
      */
     @Override
     public List<PhoneTransferDto> findAllById(List<Long> ids) {
-        final List<PhoneTransferDto> phoneTransferDtoList = new ArrayList<>();
+        final List<PhoneTransferEntity> transfers = batchLookup.findAllById(
+                repository, PhoneTransferEntity::getId, ids, MESSAGE);
 
-        for (Long id : ids) {
-            phoneTransferDtoList.add(findById(id));
-        }
+        return mapper.toDtoList(transfers);
+    }
 
-        return phoneTransferDtoList;
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор следующей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @return {@link TransferPageDto} c листом {@link PhoneTransferDto}
+     */
+    @Override
+    public TransferPageDto<PhoneTransferDto> findAllByAccountDetailsId(Long accountDetailsId, String cursor, int size) {
+        return pageReader.read(accountDetailsId, cursor, size,
+                (afterId, pageable) -> repository.findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(
+                        accountDetailsId, afterId, pageable),
+                PhoneTransferEntity::getId, mapper::toDtoList);
+    }
+
+    /**
+     * @param after технический идентификатор {@link PhoneTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return лист {@link PhoneTransferDto} с id в (after, upTo] по возрастанию id
+     */
+    @Override
+    public List<PhoneTransferDto> findRange(long after, long upTo, int size) {
+        return pageReader.scan(after, upTo, size, repository::findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc,
+                mapper::toDtoList);
+    }
+
+    /**
+     * @return наибольший технический идентификатор {@link PhoneTransferEntity} или 0, если переводов нет
+     */
+    @Override
+    public long findLastId() {
+        return repository.findLastId();
     }
 
     /**
@@ -68,6 +106,20 @@ public class PhoneTransferServiceImpl implements PhoneTransferService {
         return mapper.toDto(transfer);
     }
 
+    /**
+     * @param idempotencyKey ключ идемпотентности
+     * @param phoneTransfer  {@link PhoneTransferDto}
+     * @return {@link PhoneTransferDto}
+     */
+    @Override
+    public PhoneTransferDto save(String idempotencyKey, PhoneTransferDto phoneTransfer) {
+        final String fingerprint = IdempotencyStore.fingerprint(phoneTransfer.getAccountDetailsId(),
+                phoneTransfer.getPhoneNumber(), phoneTransfer.getAmount());
+
+        return idempotencyStore.execute(idempotencyKey, TransferType.PHONE, fingerprint, PhoneTransferDto.class,
+                () -> save(phoneTransfer), PhoneTransferDto::getId, this::findById);
+    }
+
     /**
      * @param phoneTransfer {@link PhoneTransferDto}
      * @param id            технический идентификатор {@link PhoneTransferEntity}
@@ -0,0 +1,230 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.client.AccountBalanceClient;
+import com.bank.transfer.dto.BalanceMovementDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferExecutionStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.CardTransferMapper;
+import com.bank.transfer.mapper.PhoneTransferMapper;
+import com.bank.transfer.repository.CardTransferRepository;
+import com.bank.transfer.repository.PhoneTransferRepository;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import com.bank.transfer.service.TransferExecutionService;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Реализация {@link TransferExecutionService}.
+ * Проведение идет в три шага, ни один из которых не держит транзакцию на время HTTP-вызова:
+ * ключ занимается в состоянии PENDING и коммитится, счет списывается через {@link AccountBalanceClient}
+ * с идентификатором операции из ключа, затем в короткой транзакции создается перевод и ключ переходит в COMPLETED.
+ * При явном отказе account-app ключ освобождается. Если исход списания неизвестен, ключ остается PENDING:
+ * повтор с тем же ключом безопасно продолжает перевод, потому что списание идемпотентно,
+ * а без повтора списание вернет {@link com.bank.transfer.service.common.TransferCompensationJob}.
+ */
+@Service
+public class TransferExecutionServiceImpl implements TransferExecutionService {
+
+    private static final String METRIC = "transfer.execution";
+    private static final String RESULT = "result";
+    private static final String KEY_MESSAGE = "Ключ идемпотентности ";
+    private static final String ACCOUNT_MESSAGE = "Не найден банковский счет с ID ";
+    private static final String CARD_MESSAGE = "Не найден перевод по номеру карты с ID ";
+    private static final String PHONE_MESSAGE = "Не найден перевод по номеру телефона с ID ";
+    private static final int KEY_LENGTH = 64;
+    private static final int MONEY_SCALE = 2;
+
+    private final TransferExecutionRepository executionRepository;
+    private final AccountBalanceClient accountClient;
+    private final CardTransferRepository cardRepository;
+    private final PhoneTransferRepository phoneRepository;
+    private final CardTransferMapper cardMapper;
+    private final PhoneTransferMapper phoneMapper;
+    private final EntityNotFoundReturner notFoundReturner;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter rejected;
+    private final Counter unknown;
+
+    public TransferExecutionServiceImpl(TransferExecutionRepository executionRepository,
+                                        AccountBalanceClient accountClient,
+                                        CardTransferRepository cardRepository,
+                                        PhoneTransferRepository phoneRepository,
+                                        CardTransferMapper cardMapper,
+                                        PhoneTransferMapper phoneMapper,
+                                        EntityNotFoundReturner notFoundReturner,
+                                        TransactionTemplate transactionTemplate,
+                                        MeterRegistry registry) {
+        this.executionRepository = executionRepository;
+        this.accountClient = accountClient;
+        this.cardRepository = cardRepository;
+        this.phoneRepository = phoneRepository;
+        this.cardMapper = cardMapper;
+        this.phoneMapper = phoneMapper;
+        this.notFoundReturner = notFoundReturner;
+        this.transactionTemplate = transactionTemplate;
+        this.executed = registry.counter(METRIC, RESULT, "executed");
+        this.replayed = registry.counter(METRIC, RESULT, "replayed");
+        this.rejected = registry.counter(METRIC, RESULT, "rejected");
+        this.unknown = registry.counter(METRIC, RESULT, "unknown");
+    }
+
+    /**
+     * @param idempotencyKey ключ идемпотентности {@link TransferExecutionEntity}
+     * @param cardTransfer   {@link CardTransferDto}
+     * @return проведенный {@link CardTransferDto}
+     */
+    @Override
+    public CardTransferDto executeCard(String idempotencyKey, CardTransferDto cardTransfer) {
+        return execute(idempotencyKey, TransferType.CARD, cardTransfer.getAccountDetailsId(),
+                cardTransfer.getAmount(),
+                () -> cardMapper.toDto(cardRepository.save(cardMapper.toEntity(cardTransfer))),
+                CardTransferDto::getId,
+                id -> cardMapper.toDto(cardRepository.findById(id)
+                        .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, CARD_MESSAGE))));
+    }
+
+    /**
+     * @param idempotencyKey ключ идемпотентности {@link TransferExecutionEntity}
+     * @param phoneTransfer  {@link PhoneTransferDto}
+     * @return проведенный {@link PhoneTransferDto}
+     */
+    @Override
+    public PhoneTransferDto executePhone(String idempotencyKey, PhoneTransferDto phoneTransfer) {
+        return execute(idempotencyKey, TransferType.PHONE, phoneTransfer.getAccountDetailsId(),
+                phoneTransfer.getAmount(),
+                () -> phoneMapper.toDto(phoneRepository.save(phoneMapper.toEntity(phoneTransfer))),
+                PhoneTransferDto::getId,
+                id -> phoneMapper.toDto(phoneRepository.findById(id)
+                        .orElseThrow(() -> notFoundReturner.getEntityNotFoundException(id, PHONE_MESSAGE))));
+    }
+
+    private <T> T execute(String idempotencyKey, TransferType type, Long accountDetailsId, BigDecimal amount,
+                          Supplier<T> create, Function<T, Long> idGetter, Function<Long, T> read) {
+        validate(idempotencyKey, accountDetailsId, amount);
+
+        final TransferExecutionEntity execution = transactionTemplate.execute(status ->
+                claim(idempotencyKey, type, accountDetailsId, amount));
+        if (execution.getStatus() == TransferExecutionStatus.COMPLETED) {
+            replayed.increment();
+            return read.apply(execution.getTransferId());
+        }
+
+        debit(idempotencyKey, accountDetailsId, amount);
+
+        return transactionTemplate.execute(status -> complete(idempotencyKey, create, idGetter, read));
+    }
+
+    /**
+     * Новый ключ возвращается в состоянии PENDING. Уже использованный ключ должен совпадать с запросом:
+     * COMPLETED означает повтор готового перевода, PENDING - продолжение прерванного.
+     */
+    private TransferExecutionEntity claim(String idempotencyKey, TransferType type, Long accountDetailsId,
+                                          BigDecimal amount) {
+        final boolean claimed = executionRepository.claim(idempotencyKey, type.name(), accountDetailsId, amount) == 1;
+        final TransferExecutionEntity execution = executionRepository.findById(idempotencyKey)
+                .orElseThrow(() -> new IllegalStateException(KEY_MESSAGE + idempotencyKey +
+                        " занят другим запросом"));
+        if (claimed) {
+            return execution;
+        }
+
+        if (execution.getTransferType() != type ||
+                !Objects.equals(execution.getAccountDetailsId(), accountDetailsId) ||
+                execution.getAmount().compareTo(amount) != 0) {
+            throw new ValidationException(KEY_MESSAGE + idempotencyKey +
+                    " уже использован для другого перевода");
+        }
+        checkNotCancelled(execution);
+
+        return execution;
+    }
+
+    /**
+     * Списание с идентификатором операции из ключа. При явном отказе account-app списания не было,
+     * ключ освобождается и клиент может повторить запрос. Любой другой ответ оставляет ключ в PENDING.
+     */
+    private void debit(String idempotencyKey, Long accountDetailsId, BigDecimal amount) {
+        try {
+            accountClient.debit(accountDetailsId, AccountBalanceClient.REFERENCE_PREFIX + idempotencyKey,
+                    new BalanceMovementDto(amount));
+        } catch (FeignException.NotFound e) {
+            release(idempotencyKey);
+            throw notFoundReturner.getEntityNotFoundException(accountDetailsId, ACCOUNT_MESSAGE);
+        } catch (FeignException.Conflict e) {
+            release(idempotencyKey);
+            rejected.increment();
+            throw new IllegalStateException("Недостаточно средств на банковском счете с ID " + accountDetailsId);
+        } catch (FeignException.UnprocessableEntity e) {
+            release(idempotencyKey);
+            throw new ValidationException("Списание с банковского счета с ID " + accountDetailsId + " отклонено");
+        } catch (FeignException e) {
+            unknown.increment();
+            throw new RejectedExecutionException("Исход списания неизвестен, повторите запрос с тем же " +
+                    "ключом идемпотентности " + idempotencyKey, e);
+        }
+    }
+
+    /**
+     * Создание перевода под блокировкой строки ключа: параллельный повтор, успевший раньше,
+     * уже перевел ключ в COMPLETED, а компенсация - в CANCELLING.
+     */
+    private <T> T complete(String idempotencyKey, Supplier<T> create, Function<T, Long> idGetter,
+                           Function<Long, T> read) {
+        final TransferExecutionEntity execution = executionRepository.lockById(idempotencyKey)
+                .orElseThrow(() -> new IllegalStateException(KEY_MESSAGE + idempotencyKey + " освобожден"));
+        if (execution.getStatus() == TransferExecutionStatus.COMPLETED) {
+            replayed.increment();
+            return read.apply(execution.getTransferId());
+        }
+        checkNotCancelled(execution);
+
+        final T transfer = create.get();
+        execution.setTransferId(idGetter.apply(transfer));
+        execution.setStatus(TransferExecutionStatus.COMPLETED);
+        executed.increment();
+
+        return transfer;
+    }
+
+    private void checkNotCancelled(TransferExecutionEntity execution) {
+        if (execution.getStatus() == TransferExecutionStatus.CANCELLING ||
+                execution.getStatus() == TransferExecutionStatus.CANCELLED) {
+            throw new IllegalStateException(KEY_MESSAGE + execution.getIdempotencyKey() +
+                    " отменен, списание по нему возвращается на счет");
+        }
+    }
+
+    private void release(String idempotencyKey) {
+        transactionTemplate.executeWithoutResult(status ->
+                executionRepository.release(idempotencyKey, TransferExecutionStatus.PENDING));
+    }
+
+    private void validate(String idempotencyKey, Long accountDetailsId, BigDecimal amount) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > KEY_LENGTH) {
+            throw new ValidationException("Ключ идемпотентности обязателен и не длиннее " + KEY_LENGTH + " символов");
+        }
+        if (accountDetailsId == null) {
+            throw new ValidationException("Не указан банковский счет списания");
+        }
+        if (amount == null || amount.signum() <= 0 || amount.stripTrailingZeros().scale() > MONEY_SCALE) {
+            throw new ValidationException("Сумма перевода должна быть больше нуля и иметь не больше " +
+                    MONEY_SCALE + " знаков после запятой");
+        }
+    }
+}
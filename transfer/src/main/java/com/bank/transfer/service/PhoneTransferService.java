@@ -1,6 +1,7 @@
 package com.bank.transfer.service;
 
 import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.PhoneTransferEntity;
 
 import java.util.List;
@@ -16,6 +17,27 @@ public interface PhoneTransferService {
      */
     List<PhoneTransferDto> findAllById(List<Long> ids);
 
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор следующей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @return {@link TransferPageDto} c листом {@link PhoneTransferDto}
+     */
+    TransferPageDto<PhoneTransferDto> findAllByAccountDetailsId(Long accountDetailsId, String cursor, int size);
+
+    /**
+     * @param after технический идентификатор {@link PhoneTransferEntity}, после которого читать
+     * @param upTo  последний технический идентификатор диапазона
+     * @param size  сколько переводов читать
+     * @return лист {@link PhoneTransferDto} с id в (after, upTo] по возрастанию id
+     */
+    List<PhoneTransferDto> findRange(long after, long upTo, int size);
+
+    /**
+     * @return наибольший технический идентификатор {@link PhoneTransferEntity} или 0, если переводов нет
+     */
+    long findLastId();
+
     /**
      * @param id технический идентификатор {@link PhoneTransferEntity}
      * @return {@link PhoneTransferDto}
@@ -28,6 +50,15 @@ public interface PhoneTransferService {
      */
     PhoneTransferDto save(PhoneTransferDto phoneTransfer);
 
+    /**
+     * Повтор с тем же ключом возвращает перевод, созданный первым запросом, и не создает новый.
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @param phoneTransfer  {@link PhoneTransferDto}
+     * @return {@link PhoneTransferDto}
+     */
+    PhoneTransferDto save(String idempotencyKey, PhoneTransferDto phoneTransfer);
+
     /**
      * @param phoneTransfer {@link PhoneTransferDto}
      * @param id            технический идентификатор {@link PhoneTransferEntity}
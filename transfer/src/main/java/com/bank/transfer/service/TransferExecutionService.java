@@ -0,0 +1,26 @@
+package com.bank.transfer.service;
+
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+
+/**
+ * Сервис проведения переводов: списание со счета в account-app и создание перевода.
+ * Повтор с тем же ключом идемпотентности возвращает уже созданный перевод и не списывает деньги второй раз.
+ */
+public interface TransferExecutionService {
+
+    /**
+     * @param idempotencyKey ключ идемпотентности {@link TransferExecutionEntity}
+     * @param cardTransfer   {@link CardTransferDto}
+     * @return проведенный {@link CardTransferDto}
+     */
+    CardTransferDto executeCard(String idempotencyKey, CardTransferDto cardTransfer);
+
+    /**
+     * @param idempotencyKey ключ идемпотентности {@link TransferExecutionEntity}
+     * @param phoneTransfer  {@link PhoneTransferDto}
+     * @return проведенный {@link PhoneTransferDto}
+     */
+    PhoneTransferDto executePhone(String idempotencyKey, PhoneTransferDto phoneTransfer);
+}
@@ -0,0 +1,24 @@
+package com.bank.transfer.service.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки потоковой выгрузки переводов.
+ * Таймаут задается только выгрузке, остальные асинхронные запросы живут с таймаутом по умолчанию.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "transfer.export")
+public class ExportProperties {
+
+    /**
+     * Сколько может идти одна выгрузка, прежде чем запрос будет прерван.
+     */
+    private Duration timeout = Duration.ofHours(1);
+}
@@ -0,0 +1,28 @@
+package com.bank.transfer.service.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки хранилища ключей идемпотентности {@link IdempotencyStore}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Сколько хранится ключ: в течение этого времени повтор возвращает уже созданный перевод.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Сколько последних ответов держится в памяти, чтобы повтор не ходил в базу.
+     */
+    private long cacheSize = 100_000;
+}
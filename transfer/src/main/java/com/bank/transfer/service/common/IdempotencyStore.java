@@ -0,0 +1,151 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.entity.IdempotencyKeyEntity;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Хранилище ключей идемпотентности для запросов создания переводов.
+ * Ответ на уже обработанный ключ сначала ищется в кэше Caffeine, без обращения к базе.
+ * При промахе ключ занимается в таблице idempotency_key в той же транзакции, что и создание перевода,
+ * поэтому повтор с другого экземпляра сервиса тоже не создаст перевод второй раз.
+ * Вместе с ключом хранится отпечаток запроса: повтор ключа с другим счетом, получателем или суммой отклоняется.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    private static final int KEY_LENGTH = 64;
+    private static final String KEY_MESSAGE = "Ключ идемпотентности ";
+    private static final String SEPARATOR = "|";
+
+    private final IdempotencyKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final Cache<String, StoredResponse> responses;
+
+    public IdempotencyStore(IdempotencyKeyRepository repository, TransactionTemplate transactionTemplate,
+                            IdempotencyProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, responses, "transfer.idempotency");
+    }
+
+    /**
+     * @param idempotencyKey ключ идемпотентности из заголовка запроса
+     * @param type           тип перевода
+     * @param fingerprint    отпечаток запроса из {@link #fingerprint(Long, Long, BigDecimal)}
+     * @param responseType   класс ответа
+     * @param create         создание перевода, вызывается только для нового ключа
+     * @param idGetter       технический идентификатор созданного перевода
+     * @param read           чтение ранее созданного перевода по его id
+     * @param <T>            тип ответа
+     * @return созданный перевод или перевод, созданный ранее по этому ключу
+     */
+    public <T> T execute(String idempotencyKey, TransferType type, String fingerprint, Class<T> responseType,
+                         Supplier<T> create, Function<T, Long> idGetter, Function<Long, T> read) {
+        validate(idempotencyKey);
+
+        final StoredResponse stored = responses.getIfPresent(idempotencyKey);
+        if (stored != null) {
+            return responseType.cast(check(idempotencyKey, type, fingerprint, stored.type(), stored.fingerprint(),
+                    stored.response()));
+        }
+
+        final T response = transactionTemplate.execute(status -> {
+            if (repository.claim(idempotencyKey, type.name(), fingerprint) == 1) {
+                final T created = create.get();
+                repository.attach(idempotencyKey, idGetter.apply(created));
+                return created;
+            }
+            return read.apply(replay(idempotencyKey, type, fingerprint));
+        });
+        responses.put(idempotencyKey, new StoredResponse(type, fingerprint, response));
+
+        return response;
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор списываемого счета
+     * @param number           номер счета, карты или телефона получателя
+     * @param amount           сумма перевода, масштаб суммы не влияет на отпечаток
+     * @return SHA-256 запроса в hex
+     */
+    public static String fingerprint(Long accountDetailsId, Long number, BigDecimal amount) {
+        final String request = accountDetailsId + SEPARATOR + number + SEPARATOR +
+                (amount == null ? null : amount.stripTrailingZeros().toPlainString());
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Удаляет из таблицы ключи старше ttl, период задается idempotency.cleanup-interval.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        final Timestamp threshold = Timestamp.from(Instant.now().minus(properties.getTtl()));
+        final Integer deleted = transactionTemplate.execute(status -> repository.deleteCreatedBefore(threshold));
+        log.debug("Удалено {} просроченных ключей идемпотентности", deleted);
+    }
+
+    private Long replay(String idempotencyKey, TransferType type, String fingerprint) {
+        final IdempotencyKeyEntity stored = repository.findById(idempotencyKey)
+                .orElseThrow(() -> new IllegalStateException(KEY_MESSAGE + idempotencyKey +
+                        " занят другим запросом"));
+
+        return check(idempotencyKey, type, fingerprint, stored.getTransferType(), stored.getFingerprint(),
+                stored.getTransferId());
+    }
+
+    /**
+     * Ключи, занятые до появления отпечатка, сверяются только по типу перевода, пока не истечет ttl.
+     */
+    private <R> R check(String idempotencyKey, TransferType expectedType, String expectedFingerprint,
+                        TransferType actualType, String actualFingerprint, R response) {
+        if (expectedType != actualType ||
+                actualFingerprint != null && !actualFingerprint.equals(expectedFingerprint)) {
+            throw new ValidationException(KEY_MESSAGE + idempotencyKey + " уже использован для другого перевода");
+        }
+
+        return response;
+    }
+
+    private void validate(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > KEY_LENGTH) {
+            throw new ValidationException(KEY_MESSAGE + "не может быть пустым и длиннее " + KEY_LENGTH +
+                    " символов");
+        }
+    }
+
+    private record StoredResponse(TransferType type, String fingerprint, Object response) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.TransferPageDto;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Keyset-пагинация переводов по (account_details_id, id).
+ * Следующая страница читается по условию id > последнего id, поэтому глубокие страницы
+ * стоят столько же, сколько первая. Курсор для клиента непрозрачен.
+ * Для выгрузок по всем счетам, вроде повторной оценки в антифроде, есть чтение по диапазону id.
+ */
+@Component
+public class KeysetPageReader {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SCAN_SIZE = 1_000;
+
+    private static final String SEPARATOR = ":";
+    private static final String CURSOR_MESSAGE = "Некорректный курсор страницы: ";
+    private static final String SIZE_MESSAGE = "Размер страницы должен быть от 1 до " + MAX_PAGE_SIZE;
+    private static final String SCAN_SIZE_MESSAGE = "Размер выборки должен быть от 1 до " + MAX_SCAN_SIZE;
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор из предыдущей страницы, null для первой страницы
+     * @param size             размер страницы
+     * @param query            выборка записей счета с id больше переданного, отсортированных по id
+     * @param idGetter         получение технического идентификатора сущности
+     * @param mapper           маппинг сущностей в ДТО
+     * @return {@link TransferPageDto}
+     * @throws ValidationException при некорректном размере страницы или курсоре
+     */
+    public <E, D> TransferPageDto<D> read(Long accountDetailsId, String cursor, int size,
+                                          BiFunction<Long, Pageable, List<E>> query,
+                                          Function<E, Long> idGetter, Function<List<E>, List<D>> mapper) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException(SIZE_MESSAGE);
+        }
+
+        final List<E> rows = query.apply(decode(accountDetailsId, cursor), PageRequest.of(0, size + 1));
+        final boolean hasNext = rows.size() > size;
+        final List<E> page = hasNext ? rows.subList(0, size) : rows;
+        final String nextCursor = hasNext ? encode(accountDetailsId, idGetter.apply(page.get(size - 1))) : null;
+
+        return new TransferPageDto<>(mapper.apply(page), nextCursor);
+    }
+
+    /**
+     * @param after  id, после которого читать
+     * @param upTo   последний id диапазона
+     * @param size   сколько записей читать
+     * @param query  выборка записей с id в (after, upTo] по возрастанию id
+     * @param mapper маппинг сущностей в ДТО
+     * @return лист ДТО, следующая выборка начинается после id последнего из них
+     * @throws ValidationException при некорректном размере выборки
+     */
+    public <E, D> List<D> scan(long after, long upTo, int size, RangeQuery<E> query,
+                               Function<List<E>, List<D>> mapper) {
+        if (size < 1 || size > MAX_SCAN_SIZE) {
+            throw new ValidationException(SCAN_SIZE_MESSAGE);
+        }
+
+        return mapper.apply(query.find(after, upTo, PageRequest.of(0, size)));
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param lastId           id последнего перевода на странице
+     * @return курсор следующей страницы
+     */
+    String encode(Long accountDetailsId, Long lastId) {
+        final String key = accountDetailsId + SEPARATOR + lastId;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param accountDetailsId технический идентификатор банковского счета
+     * @param cursor           курсор, null или пустой для первой страницы
+     * @return id, после которого начинается страница
+     */
+    long decode(Long accountDetailsId, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+
+        try {
+            final String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR);
+
+            if (key.length != 2 || !accountDetailsId.equals(Long.valueOf(key[0]))) {
+                throw new ValidationException(CURSOR_MESSAGE + cursor);
+            }
+
+            return Long.parseLong(key[1]);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(CURSOR_MESSAGE + cursor);
+        }
+    }
+
+    /**
+     * Выборка записей по диапазону id.
+     *
+     * @param <E> тип сущности
+     */
+    @FunctionalInterface
+    public interface RangeQuery<E> {
+
+        /**
+         * @param after    id, после которого читать
+         * @param upTo     последний id диапазона
+         * @param pageable ограничение выборки
+         * @return лист сущностей по возрастанию id
+         */
+        List<E> find(Long after, Long upTo, Pageable pageable);
+    }
+}
@@ -0,0 +1,80 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.client.AccountBalanceClient;
+import com.bank.transfer.dto.BalanceMovementDto;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferExecutionStatus;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Возвращает списания проведений, которые не дошли до COMPLETED за transfer.execution.pending-timeout.
+ * Ключ сначала переводится в CANCELLING, поэтому опоздавший запрос уже не создаст по нему перевод,
+ * затем account-app отменяет списание и ключ переходит в CANCELLED.
+ * Отмена идемпотентна: ключ, который не удалось отменить, остается в CANCELLING и повторяется
+ * при следующем запуске, а одновременная отмена с нескольких экземпляров возвращает деньги один раз.
+ */
+@Slf4j
+@Component
+public class TransferCompensationJob {
+
+    private final TransferExecutionRepository repository;
+    private final AccountBalanceClient accountClient;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferExecutionProperties properties;
+    private final Counter compensated;
+
+    public TransferCompensationJob(TransferExecutionRepository repository, AccountBalanceClient accountClient,
+                                   TransactionTemplate transactionTemplate, TransferExecutionProperties properties,
+                                   MeterRegistry registry) {
+        this.repository = repository;
+        this.accountClient = accountClient;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.compensated = registry.counter("transfer.execution.compensation");
+    }
+
+    /**
+     * Переводит просроченные PENDING в CANCELLING и отменяет списания по ключам в CANCELLING.
+     */
+    @Scheduled(fixedDelayString = "${transfer.execution.compensation-interval:PT30S}")
+    public void compensate() {
+        final Timestamp threshold = Timestamp.from(Instant.now().minus(properties.getPendingTimeout()));
+        transactionTemplate.executeWithoutResult(status -> repository.changeStatusCreatedBefore(
+                TransferExecutionStatus.PENDING, TransferExecutionStatus.CANCELLING, threshold));
+
+        for (TransferExecutionEntity execution : repository.findAllByStatus(TransferExecutionStatus.CANCELLING,
+                PageRequest.of(0, properties.getBatchSize()))) {
+            try {
+                cancel(execution);
+                compensated.increment();
+            } catch (RuntimeException e) {
+                log.warn("Не удалось вернуть списание по ключу идемпотентности {}", execution.getIdempotencyKey(), e);
+            }
+        }
+    }
+
+    private void cancel(TransferExecutionEntity execution) {
+        try {
+            accountClient.cancelDebit(execution.getAccountDetailsId(),
+                    AccountBalanceClient.REFERENCE_PREFIX + execution.getIdempotencyKey(),
+                    new BalanceMovementDto(execution.getAmount()));
+        } catch (FeignException.NotFound e) {
+            log.info("Банковский счет с ID {} не найден, списания по ключу {} не было",
+                    execution.getAccountDetailsId(), execution.getIdempotencyKey());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> repository.changeStatus(execution.getIdempotencyKey(),
+                TransferExecutionStatus.CANCELLING, TransferExecutionStatus.CANCELLED));
+    }
+}
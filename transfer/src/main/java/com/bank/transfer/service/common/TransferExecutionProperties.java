@@ -0,0 +1,30 @@
+package com.bank.transfer.service.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Настройки компенсации незавершенных проведений {@link TransferCompensationJob}.
+ * Период запуска задается transfer.execution.compensation-interval.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "transfer.execution")
+public class TransferExecutionProperties {
+
+    /**
+     * Сколько ключ может оставаться в PENDING, прежде чем списание по нему будет отменено.
+     * Должно быть больше таймаута вызова account-app.
+     */
+    private Duration pendingTimeout = Duration.ofMinutes(5);
+
+    /**
+     * Сколько отмен выполняется за один запуск.
+     */
+    private int batchSize = 100;
+}
@@ -1,7 +1,11 @@
 package com.bank.transfer.controller;
 
+import com.bank.common.exception.ValidationException;
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
+import com.bank.transfer.service.AccountTransferExportService;
 import com.bank.transfer.service.Impl.AccountTransferServiceImpl;
+import com.bank.transfer.service.common.ExportProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 import org.hamcrest.Matchers;
@@ -11,23 +15,37 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import javax.persistence.EntityNotFoundException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountTransferController.class)
+@Import(ExportProperties.class)
 class AccountTransferControllerTest {
 
     AccountTransferDto dto;
@@ -43,6 +61,9 @@ class AccountTransferControllerTest {
     @MockBean
     private AccountTransferServiceImpl service;
 
+    @MockBean
+    private AccountTransferExportService exportService;
+
     @BeforeEach
     void init() {
         dto = new AccountTransferDto();
@@ -124,6 +145,20 @@ class AccountTransferControllerTest {
                 .andExpect(jsonPath("$.accountDetailsId").value(dto.getAccountDetailsId()));
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("создание перевода с ключом идемпотентности, позитивный сценарий")
+    void createWithIdempotencyKeyPositiveTest() {
+        when(service.save("a1b2c3", dto)).thenReturn(dto);
+
+        mockMvc.perform(post("/account/create")
+                        .header("Idempotency-Key", "a1b2c3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dto.getId()));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("создание пользователя по несуществующему id, негативный сценарий")
@@ -172,5 +207,69 @@ class AccountTransferControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    @SneakyThrows
+    @DisplayName("постраничное чтение по банковскому счету, позитивный сценарий")
+    void readByAccountDetailsPositiveTest() {
+        when(service.findAllByAccountDetailsId(id, "cursor", 2))
+                .thenReturn(new TransferPageDto<>(List.of(dto, dto), "next"));
+
+        mockMvc.perform(get("/account/read/account-details/{accountDetailsId}", id)
+                        .param("cursor", "cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("постраничное чтение с некорректным курсором, негативный сценарий")
+    void readByAccountDetailsInvalidCursorNegativeTest() {
+        when(service.findAllByAccountDetailsId(id, "broken", 20))
+                .thenThrow(new ValidationException("Некорректный курсор страницы: broken"));
+
+        mockMvc.perform(get("/account/read/account-details/{accountDetailsId}", id)
+                        .param("cursor", "broken"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("потоковая выгрузка переводов в NDJSON, позитивный сценарий")
+    void exportPositiveTest() {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(2).write("{\"id\":1}\n{\"id\":2}\n".getBytes());
+            return null;
+        }).when(exportService).export(eq(1L), eq(2L), any());
+
+        MvcResult result = mockMvc.perform(get("/account/export")
+                        .param("fromAccountDetailsId", "1")
+                        .param("toAccountDetailsId", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(new ExportProperties().getTimeout().toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("потоковая выгрузка с перевернутым диапазоном счетов, негативный сценарий")
+    void exportInvalidRangeNegativeTest() {
+        doThrow(new ValidationException("Начало диапазона банковских счетов больше конца: 5 > 1"))
+                .when(exportService).validateRange(5L, 1L);
+
+        mockMvc.perform(get("/account/export")
+                        .param("fromAccountDetailsId", "5")
+                        .param("toAccountDetailsId", "1"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(exportService, never()).export(any(), any(), any());
+    }
+}
@@ -1,6 +1,8 @@
 package com.bank.transfer.controller;
 
+import com.bank.common.exception.ValidationException;
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.service.Impl.CardTransferServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
@@ -80,6 +82,28 @@ class CardTransferControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("чтение по диапазону id, позитивный сценарий")
+    void readRangePositiveTest() {
+        when(service.findRange(0L, 10L, 1000)).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/card/read/range").param("after", "0").param("upTo", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cardNumber").value(dto.getCardNumber()));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("наибольший id перевода, позитивный сценарий")
+    void readLastIdPositiveTest() {
+        when(service.findLastId()).thenReturn(42L);
+
+        mockMvc.perform(get("/card/read/last-id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(42));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("поиск по id, позитивный сценарий")
@@ -123,6 +147,20 @@ class CardTransferControllerTest {
                 .andExpect(jsonPath("$.accountDetailsId").value(dto.getAccountDetailsId()));
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("создание перевода с ключом идемпотентности, позитивный сценарий")
+    void createWithIdempotencyKeyPositiveTest() {
+        when(service.save("a1b2c3", dto)).thenReturn(dto);
+
+        mockMvc.perform(post("/card/create")
+                        .header("Idempotency-Key", "a1b2c3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dto.getId()));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("создание пользователя по несуществующему id, негативный сценарий")
@@ -171,4 +209,31 @@ class CardTransferControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    @DisplayName("постраничное чтение по банковскому счету, позитивный сценарий")
+    void readByAccountDetailsPositiveTest() {
+        when(service.findAllByAccountDetailsId(id, "cursor", 2))
+                .thenReturn(new TransferPageDto<>(List.of(dto, dto), "next"));
+
+        mockMvc.perform(get("/card/read/account-details/{accountDetailsId}", id)
+                        .param("cursor", "cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("постраничное чтение с некорректным курсором, негативный сценарий")
+    void readByAccountDetailsInvalidCursorNegativeTest() {
+        when(service.findAllByAccountDetailsId(id, "broken", 20))
+                .thenThrow(new ValidationException("Некорректный курсор страницы: broken"));
+
+        mockMvc.perform(get("/card/read/account-details/{accountDetailsId}", id)
+                        .param("cursor", "broken"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
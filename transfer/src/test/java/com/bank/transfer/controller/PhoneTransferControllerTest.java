@@ -1,6 +1,8 @@
 package com.bank.transfer.controller;
 
+import com.bank.common.exception.ValidationException;
 import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.service.Impl.PhoneTransferServiceImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
@@ -106,6 +108,20 @@ class PhoneTransferControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @SneakyThrows
+    @DisplayName("создание перевода с ключом идемпотентности, позитивный сценарий")
+    void createWithIdempotencyKeyPositiveTest() {
+        when(service.save("a1b2c3", dto)).thenReturn(dto);
+
+        mockMvc.perform(post("/phone/create")
+                        .header("Idempotency-Key", "a1b2c3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(dto.getId()));
+    }
+
     @Test
     @SneakyThrows
     @DisplayName("создание пользователя, негативный сценарий")
@@ -171,4 +187,31 @@ class PhoneTransferControllerTest {
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    @DisplayName("постраничное чтение по банковскому счету, позитивный сценарий")
+    void readByAccountDetailsPositiveTest() {
+        when(service.findAllByAccountDetailsId(id, "cursor", 2))
+                .thenReturn(new TransferPageDto<>(List.of(dto, dto), "next"));
+
+        mockMvc.perform(get("/phone/read/account-details/{accountDetailsId}", id)
+                        .param("cursor", "cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("постраничное чтение с некорректным курсором, негативный сценарий")
+    void readByAccountDetailsInvalidCursorNegativeTest() {
+        when(service.findAllByAccountDetailsId(id, "broken", 20))
+                .thenThrow(new ValidationException("Некорректный курсор страницы: broken"));
+
+        mockMvc.perform(get("/phone/read/account-details/{accountDetailsId}", id)
+                        .param("cursor", "broken"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
@@ -0,0 +1,82 @@
+package com.bank.transfer.controller;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.service.TransferExecutionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TransferExecutionController.class)
+class TransferExecutionControllerTest {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String KEY = "a1b2c3";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private TransferExecutionService service;
+
+    @Test
+    @SneakyThrows
+    @DisplayName("проведение перевода по карте, позитивный сценарий")
+    void executeCardPositiveTest() {
+        final CardTransferDto dto = new CardTransferDto(null, 1234567890L, BigDecimal.TEN, "Test", 1L);
+        when(service.executeCard(eq(KEY), any())).thenReturn(new CardTransferDto(5L, 1234567890L,
+                BigDecimal.TEN, "Test", 1L));
+
+        mockMvc.perform(post("/execute/card").header(IDEMPOTENCY_KEY, KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5L));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("проведение перевода по телефону при нехватке средств, негативный сценарий")
+    void executePhoneInsufficientFundsNegativeTest() {
+        final PhoneTransferDto dto = new PhoneTransferDto(null, 79990001122L, BigDecimal.TEN, "Test", 1L);
+        when(service.executePhone(eq(KEY), any())).thenThrow(new IllegalStateException("Недостаточно средств"));
+
+        mockMvc.perform(post("/execute/phone").header(IDEMPOTENCY_KEY, KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("проведение перевода без ключа идемпотентности, негативный сценарий")
+    void executeCardWithoutKeyNegativeTest() {
+        final CardTransferDto dto = new CardTransferDto(null, 1234567890L, BigDecimal.TEN, "Test", 1L);
+        when(service.executeCard(isNull(), any())).thenThrow(new ValidationException("Ключ обязателен"));
+
+        mockMvc.perform(post("/execute/card")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
@@ -0,0 +1,105 @@
+package com.bank.transfer.repository;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Регрессионные тесты планов запросов для индексов схемы transfer.
+ * Накатывает changelog на Postgres в контейнере, заполняет таблицы и проверяет, что запросы идут по индексу.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Тесты индексов схемы transfer")
+public class IndexQueryPlanTest {
+
+    private static final String SCHEMA = "transfer";
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+    private static final int ROWS = 100_000;
+    private static final int ACCOUNTS = 1_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+
+        final Database database = DatabaseFactory.getInstance()
+                .findCorrectDatabaseImplementation(new JdbcConnection(connection));
+        database.setDefaultSchemaName(SCHEMA);
+        new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), database).update(new Contexts());
+        connection.setAutoCommit(true);
+
+        seed("account_transfer", "account_number");
+        seed("card_transfer", "card_number");
+        seed("phone_transfer", "phone_number");
+        execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "account_transfer_account_details_id_idx | SELECT * FROM transfer.account_transfer "
+                    + "WHERE account_details_id = 42 AND id > 0 ORDER BY id LIMIT 20",
+            "card_transfer_account_details_id_idx | SELECT * FROM transfer.card_transfer "
+                    + "WHERE account_details_id = 42 AND id > 0 ORDER BY id LIMIT 20",
+            "phone_transfer_account_details_id_idx | SELECT * FROM transfer.phone_transfer "
+                    + "WHERE account_details_id = 42 AND id > 0 ORDER BY id LIMIT 20",
+            "card_transfer_card_number_idx | SELECT * FROM transfer.card_transfer WHERE card_number = 4242",
+            "phone_transfer_phone_number_idx | SELECT * FROM transfer.phone_transfer WHERE phone_number = 4242"
+    })
+    @DisplayName("Запрос выполняется по индексу, позитивный сценарий")
+    void queryUsesIndexTest(String index, String query) throws SQLException {
+        final String plan = explain(query);
+        assertTrue(plan.contains("Index") && plan.contains(index), plan);
+    }
+
+    private static String explain(String query) throws SQLException {
+        final StringJoiner plan = new StringJoiner("\n");
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void seed(String table, String numberColumn) throws SQLException {
+        execute("INSERT INTO " + SCHEMA + "." + table + " (" + numberColumn + ", amount, account_details_id) "
+                + "SELECT g, 1, g % " + ACCOUNTS + " FROM generate_series(1, " + ROWS + ") g");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
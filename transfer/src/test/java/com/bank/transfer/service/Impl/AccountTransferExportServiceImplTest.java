@@ -0,0 +1,82 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.entity.AccountTransferEntity;
+import com.bank.transfer.mapper.AccountTransferMapper;
+import com.bank.transfer.repository.AccountTransferRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountTransferExportServiceImplTest {
+
+    @Mock
+    private AccountTransferRepository repository;
+
+    @Spy
+    private AccountTransferMapper mapper = Mappers.getMapper(AccountTransferMapper.class);
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private AccountTransferExportServiceImpl service;
+
+    @Test
+    @DisplayName("выгрузка по строке NDJSON на перевод, позитивный сценарий")
+    void exportPositiveTest() throws Exception {
+        final int rows = 2500;
+        final AtomicBoolean closed = new AtomicBoolean();
+        final Stream<AccountTransferEntity> transfers = LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> new AccountTransferEntity(id, id, BigDecimal.ONE, "purpose", id % 3))
+                .onClose(() -> closed.set(true));
+        when(repository.streamByAccountDetailsIdBetweenOrderByAccountDetailsIdAscIdAsc(0L, 2L))
+                .thenReturn(transfers);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(0L, 2L, out);
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        final AccountTransferDto last = objectMapper.readValue(lines[rows - 1], AccountTransferDto.class);
+        assertAll(
+                () -> assertEquals(rows, lines.length),
+                () -> assertEquals(rows, last.getId()),
+                () -> assertTrue(closed.get())
+        );
+        verify(entityManager, times(rows)).detach(any(AccountTransferEntity.class));
+    }
+
+    @Test
+    @DisplayName("выгрузка с перевернутым диапазоном счетов, негативный сценарий")
+    void exportInvalidRangeNegativeTest() {
+        assertThrows(ValidationException.class, () -> service.validateRange(5L, 1L));
+    }
+}
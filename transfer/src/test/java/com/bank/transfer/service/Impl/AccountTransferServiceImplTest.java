@@ -1,16 +1,22 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import com.bank.transfer.dto.AccountTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.AccountTransferEntity;
 import com.bank.transfer.mapper.AccountTransferMapper;
 import com.bank.transfer.repository.AccountTransferRepository;
+import com.bank.transfer.service.common.KeysetPageReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
@@ -20,6 +26,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -41,6 +48,12 @@ class AccountTransferServiceImplTest {
     @Mock
     private AccountTransferMapper mapper;
 
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
+
+    @Spy
+    private KeysetPageReader pageReader = new KeysetPageReader();
+
     @InjectMocks
     private AccountTransferServiceImpl service;
 
@@ -64,22 +77,17 @@ class AccountTransferServiceImplTest {
     @Test
     @DisplayName("поиск по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
-        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        List<Long> ids = Arrays.asList(3L, 1L, 2L, 1L);
+        AccountTransferEntity second = new AccountTransferEntity(2L, 1L, BigDecimal.ONE, "second", 1L);
+        AccountTransferEntity third = new AccountTransferEntity(3L, 1L, BigDecimal.TEN, "third", 1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.findById(2L)).thenReturn(Optional.of(entity));
-        when(repository.findById(3L)).thenReturn(Optional.of(entity));
-
-        when(mapper.toDto(entity)).thenReturn(dto);
-        when(mapper.toDto(entity)).thenReturn(dto);
-        when(mapper.toDto(entity)).thenReturn(dto);
+        when(repository.findAllById(List.of(3L, 1L, 2L))).thenReturn(List.of(entity, second, third));
+        when(mapper.toDtoList(List.of(third, entity, second, entity))).thenReturn(List.of(dto, dto, dto, dto));
 
         List<AccountTransferDto> result = service.findAllById(ids);
 
         assertEquals(ids.size(), result.size());
-        assertEquals(dto, result.get(0));
-        assertEquals(dto, result.get(1));
-        assertEquals(dto, result.get(2));
+        verify(repository, never()).findById(anyLong());
     }
 
     @Test
@@ -87,11 +95,13 @@ class AccountTransferServiceImplTest {
     void findAllByNonExistIdNegativeTest() {
         List<Long> ids = List.of(1L, 2L, 3L);
 
-        when(repository.findById(anyLong())).thenThrow(EntityNotFoundException.class);
+        when(repository.findAllById(ids)).thenReturn(List.of(entity));
 
-        assertThrows(javax.persistence.EntityNotFoundException.class, () -> {
-            service.findAllById(ids);
-        });
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> service.findAllById(ids));
+
+        assertTrue(exception.getMessage().endsWith("2, 3"));
+        verify(mapper, never()).toDtoList(any());
     }
 
     @Test
@@ -191,4 +201,20 @@ class AccountTransferServiceImplTest {
         });
         verify(mapper, never()).toDto(any(AccountTransferEntity.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("постраничное чтение по банковскому счету, позитивный сценарий")
+    void findAllByAccountDetailsIdPositiveTest() {
+        AccountTransferEntity second = new AccountTransferEntity(2L, 1L, BigDecimal.ONE, "second", 1L);
+        when(repository.findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(1L, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(entity, second));
+        when(mapper.toDtoList(List.of(entity))).thenReturn(List.of(dto));
+
+        TransferPageDto<AccountTransferDto> page = service.findAllByAccountDetailsId(1L, null, 1);
+
+        assertAll(
+                () -> assertEquals(List.of(dto), page.getContent()),
+                () -> assertNotNull(page.getNextCursor())
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import com.bank.transfer.dto.AuditDto;
 import com.bank.transfer.entity.AuditEntity;
 import com.bank.transfer.mapper.AuditMapper;
@@ -10,10 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.persistence.EntityNotFoundException;
 import java.sql.Timestamp;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
@@ -39,6 +43,9 @@ class AuditServiceImplTest {
     @Mock
     private AuditMapper mapper;
 
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
+
     @InjectMocks
     private AuditServiceImpl service;
 
@@ -100,4 +107,30 @@ class AuditServiceImplTest {
 
         verify(mapper, never()).toDto(any(AuditEntity.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("поиск по списку id, позитивный сценарий")
+    void findAllByIdPositiveTest() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final AuditEntity second = new AuditEntity();
+        second.setId(2L);
+        final List<AuditDto> dtos = List.of(new AuditDto(), new AuditDto());
+        when(repository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first, second));
+        when(mapper.toDtoList(List.of(second, first))).thenReturn(dtos);
+
+        assertEquals(dtos, service.findAllById(List.of(2L, 1L)));
+    }
+
+    @Test
+    @DisplayName("поиск по списку id с несуществующим id пропускает его, позитивный сценарий")
+    void findAllByNonExistIdPositiveTest() {
+        final AuditEntity first = new AuditEntity();
+        first.setId(1L);
+        final List<AuditDto> dtos = List.of(new AuditDto());
+        when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(first));
+        when(mapper.toDtoList(List.of(first))).thenReturn(dtos);
+
+        assertEquals(dtos, service.findAllById(List.of(1L, 2L)));
+    }
+}
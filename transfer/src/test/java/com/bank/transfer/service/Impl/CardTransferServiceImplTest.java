@@ -1,9 +1,13 @@
 package com.bank.transfer.service.Impl;
 
+import com.bank.common.batch.BatchLookup;
+import com.bank.common.batch.BatchLookupProperties;
 import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.TransferPageDto;
 import com.bank.transfer.entity.CardTransferEntity;
 import com.bank.transfer.mapper.CardTransferMapper;
 import com.bank.transfer.repository.CardTransferRepository;
+import com.bank.transfer.service.common.KeysetPageReader;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +15,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import javax.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
@@ -21,6 +27,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -40,6 +47,12 @@ class CardTransferServiceImplTest {
     @Mock
     private CardTransferMapper mapper;
 
+    @Spy
+    private BatchLookup batchLookup = new BatchLookup(new BatchLookupProperties());
+
+    @Spy
+    private KeysetPageReader pageReader = new KeysetPageReader();
+
     @InjectMocks
     private CardTransferServiceImpl service;
 
@@ -67,22 +80,17 @@ class CardTransferServiceImplTest {
     @Test
     @DisplayName("поиск по нескольким id, позитивный сценарий")
     void findAllByIdPositiveTest() {
-        List<Long> ids = Arrays.asList(1L, 2L, 3L);
+        List<Long> ids = Arrays.asList(3L, 1L, 2L, 1L);
+        CardTransferEntity second = new CardTransferEntity(2L, 1L, BigDecimal.ONE, "second", 1L);
+        CardTransferEntity third = new CardTransferEntity(3L, 1L, BigDecimal.TEN, "third", 1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.findById(2L)).thenReturn(Optional.of(entity));
-        when(repository.findById(3L)).thenReturn(Optional.of(entity));
-
-        when(mapper.toDto(entity)).thenReturn(dto);
-        when(mapper.toDto(entity)).thenReturn(dto);
-        when(mapper.toDto(entity)).thenReturn(dto);
+        when(repository.findAllById(List.of(3L, 1L, 2L))).thenReturn(List.of(entity, second, third));
+        when(mapper.toDtoList(List.of(third, entity, second, entity))).thenReturn(List.of(dto, dto, dto, dto));
 
         List<CardTransferDto> result = service.findAllById(ids);
 
-        Assertions.assertEquals(ids.size(), result.size());
-        Assertions.assertEquals(dto, result.get(0));
-        Assertions.assertEquals(dto, result.get(1));
-        Assertions.assertEquals(dto, result.get(2));
+        assertEquals(ids.size(), result.size());
+        verify(repository, never()).findById(anyLong());
     }
 
     @Test
@@ -90,11 +98,13 @@ class CardTransferServiceImplTest {
     void findAllByNonExistIdNegativeTest() {
         List<Long> ids = List.of(1L, 2L, 3L);
 
-        when(repository.findById(anyLong())).thenThrow(EntityNotFoundException.class);
+        when(repository.findAllById(ids)).thenReturn(List.of(entity));
 
-        assertThrows(javax.persistence.EntityNotFoundException.class, () -> {
-            service.findAllById(ids);
-        });
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> service.findAllById(ids));
+
+        assertTrue(exception.getMessage().endsWith("2, 3"));
+        verify(mapper, never()).toDtoList(any());
     }
 
     @Test
@@ -194,4 +204,20 @@ class CardTransferServiceImplTest {
         });
         verify(mapper, never()).toDto(any(CardTransferEntity.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("постраничное чтение по банковскому счету, позитивный сценарий")
+    void findAllByAccountDetailsIdPositiveTest() {
+        CardTransferEntity second = new CardTransferEntity(2L, 1L, BigDecimal.ONE, "second", 1L);
+        when(repository.findByAccountDetailsIdAndIdGreaterThanOrderByIdAsc(1L, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(entity, second));
+        when(mapper.toDtoList(List.of(entity))).thenReturn(List.of(dto));
+
+        TransferPageDto<CardTransferDto> page = service.findAllByAccountDetailsId(1L, null, 1);
+
+        assertAll(
+                () -> assertEquals(List.of(dto), page.getContent()),
+                () -> assertNotNull(page.getNextCursor())
+        );
+    }
+}
@@ -0,0 +1,207 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.transfer.client.AccountBalanceClient;
+import com.bank.transfer.dto.BalanceDto;
+import com.bank.transfer.dto.BalanceMovementDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.mapper.CardTransferMapperImpl;
+import com.bank.transfer.mapper.PhoneTransferMapperImpl;
+import com.bank.transfer.repository.CardTransferRepository;
+import com.bank.transfer.service.TransferExecutionService;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочный тест {@link TransferExecutionServiceImpl} на Postgres: повторы с одним ключом
+ * списывают деньги один раз, параллельные переводы с разных ключей не уводят счет в минус.
+ * account-app заменен счетами в памяти с идемпотентным по идентификатору операции списанием.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TransferExecutionServiceImpl.class, CardTransferMapperImpl.class, PhoneTransferMapperImpl.class,
+        EntityNotFoundReturner.class, SimpleMeterRegistry.class,
+        TransferExecutionConcurrencyTest.InMemoryAccountBalanceClient.class})
+class TransferExecutionConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final AtomicLong ACCOUNT_ID = new AtomicLong();
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine")
+            .withInitScript("db/create-schema.sql");
+
+    @Autowired
+    private TransferExecutionService service;
+
+    @Autowired
+    private InMemoryAccountBalanceClient accountClient;
+
+    @Autowired
+    private CardTransferRepository cardRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    @DisplayName("параллельные повторы с одним ключом списывают один раз, позитивный сценарий")
+    void executeSameKeyConcurrentlyDebitsOncePositiveTest() throws Exception {
+        final Long accountId = account(100);
+        final long transfersBefore = cardRepository.count();
+
+        final List<Long> ids = run(() -> service.executeCard("retry-" + accountId, transfer(accountId)).getId());
+
+        assertAll(
+                () -> assertEquals(1, ids.stream().distinct().count()),
+                () -> assertEquals(transfersBefore + 1, cardRepository.count()),
+                () -> assertEquals(0, new BigDecimal("90.00").compareTo(money(accountId)))
+        );
+    }
+
+    @Test
+    @DisplayName("параллельные переводы не уводят счет в минус, позитивный сценарий")
+    void executeDistinctKeysConcurrentlyNeverOverdrawsPositiveTest() throws Exception {
+        final int funds = THREADS * TRANSFERS_PER_THREAD / 2;
+        final Long accountId = account(funds * 10);
+        final AtomicLong key = new AtomicLong();
+
+        final List<Long> executed = run(() -> {
+            long succeeded = 0;
+            for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                try {
+                    service.executeCard("drain-" + accountId + "-" + key.incrementAndGet(), transfer(accountId));
+                    succeeded++;
+                } catch (IllegalStateException e) {
+                    // средств не хватило, ожидаемый отказ
+                }
+            }
+            return succeeded;
+        });
+
+        assertAll(
+                () -> assertEquals(funds, executed.stream().mapToLong(Long::longValue).sum()),
+                () -> assertEquals(0, BigDecimal.ZERO.compareTo(money(accountId)))
+        );
+    }
+
+    private CardTransferDto transfer(Long accountId) {
+        return new CardTransferDto(null, 4242L, BigDecimal.TEN, "test", accountId);
+    }
+
+    private Long account(long money) {
+        final long id = ACCOUNT_ID.incrementAndGet();
+        accountClient.accounts.put(id, BigDecimal.valueOf(money));
+        return id;
+    }
+
+    private BigDecimal money(Long accountId) {
+        return accountClient.accounts.get(accountId);
+    }
+
+    private List<Long> run(Callable<Long> operations) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Long>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return operations.call();
+                }));
+            }
+            start.countDown();
+
+            final List<Long> values = new ArrayList<>();
+            for (Future<Long> result : results) {
+                values.add(result.get());
+            }
+            return values;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static class InMemoryAccountBalanceClient implements AccountBalanceClient {
+
+        private final Map<Long, BigDecimal> accounts = new ConcurrentHashMap<>();
+        private final Map<String, Boolean> operations = new HashMap<>();
+
+        @Override
+        public synchronized BalanceDto debit(Long id, String reference, BalanceMovementDto movement) {
+            final BigDecimal current = accounts.get(id);
+            if (current == null) {
+                throw error(404);
+            }
+            final Boolean applied = operations.get(reference);
+            if (applied != null) {
+                if (!applied) {
+                    throw error(409);
+                }
+                return new BalanceDto(id, current);
+            }
+            if (current.compareTo(movement.getAmount()) < 0) {
+                throw error(409);
+            }
+
+            operations.put(reference, true);
+            accounts.put(id, current.subtract(movement.getAmount()));
+            return new BalanceDto(id, accounts.get(id));
+        }
+
+        @Override
+        public synchronized BalanceDto cancelDebit(Long id, String reference, BalanceMovementDto movement) {
+            if (Boolean.TRUE.equals(operations.put(reference, false))) {
+                accounts.merge(id, movement.getAmount(), BigDecimal::add);
+            }
+            return new BalanceDto(id, accounts.get(id));
+        }
+
+        private FeignException error(int status) {
+            final Request request = Request.create(Request.HttpMethod.POST, "/api/account/details", Map.of(),
+                    new byte[0], StandardCharsets.UTF_8, null);
+
+            return FeignException.errorStatus("AccountBalanceClient#debit",
+                    Response.builder().status(status).request(request).headers(Map.of()).build());
+        }
+    }
+}
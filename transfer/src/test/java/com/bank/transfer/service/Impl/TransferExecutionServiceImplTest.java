@@ -0,0 +1,246 @@
+package com.bank.transfer.service.Impl;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.client.AccountBalanceClient;
+import com.bank.transfer.dto.BalanceDto;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.entity.CardTransferEntity;
+import com.bank.transfer.entity.PhoneTransferEntity;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferExecutionStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.mapper.CardTransferMapper;
+import com.bank.transfer.mapper.PhoneTransferMapper;
+import com.bank.transfer.repository.CardTransferRepository;
+import com.bank.transfer.repository.PhoneTransferRepository;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import com.bank.transfer.service.common.EntityNotFoundReturner;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferExecutionServiceImplTest {
+
+    private static final String KEY = "a1b2c3";
+    private static final String REFERENCE = "transfer:" + KEY;
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @Mock
+    private TransferExecutionRepository executionRepository;
+
+    @Mock
+    private AccountBalanceClient accountClient;
+
+    @Mock
+    private CardTransferRepository cardRepository;
+
+    @Mock
+    private PhoneTransferRepository phoneRepository;
+
+    @Mock
+    private CardTransferMapper cardMapper;
+
+    @Mock
+    private PhoneTransferMapper phoneMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferExecutionServiceImpl service;
+
+    private CardTransferDto dto;
+
+    private CardTransferEntity entity;
+
+    @BeforeEach
+    void init() {
+        service = new TransferExecutionServiceImpl(executionRepository, accountClient, cardRepository,
+                phoneRepository, cardMapper, phoneMapper, new EntityNotFoundReturner(),
+                new TransactionTemplate(transactionManager), new SimpleMeterRegistry());
+
+        dto = new CardTransferDto(1L, 1234567890L, AMOUNT, "Test transfer", 7L);
+        entity = new CardTransferEntity(1L, 1234567890L, AMOUNT, "Test transfer", 7L);
+    }
+
+    @Test
+    @DisplayName("проведение перевода по карте, позитивный сценарий")
+    void executeCardPositiveTest() {
+        final TransferExecutionEntity execution = execution(AMOUNT, TransferExecutionStatus.PENDING);
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(1);
+        when(executionRepository.findById(KEY)).thenReturn(Optional.of(execution));
+        when(accountClient.debit(eq(7L), eq(REFERENCE), any())).thenReturn(new BalanceDto(7L, new BigDecimal("900")));
+        when(executionRepository.lockById(KEY)).thenReturn(Optional.of(execution));
+        when(cardMapper.toEntity(dto)).thenReturn(entity);
+        when(cardRepository.save(entity)).thenReturn(entity);
+        when(cardMapper.toDto(entity)).thenReturn(dto);
+
+        assertEquals(dto, service.executeCard(KEY, dto));
+
+        verify(accountClient).debit(eq(7L), eq(REFERENCE), argThat(movement -> AMOUNT.equals(movement.getAmount())));
+        assertEquals(TransferExecutionStatus.COMPLETED, execution.getStatus());
+        assertEquals(1L, execution.getTransferId());
+    }
+
+    @Test
+    @DisplayName("повтор с тем же ключом возвращает созданный перевод, позитивный сценарий")
+    void executeCardReplayPositiveTest() {
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(0);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.COMPLETED)));
+        when(cardRepository.findById(1L)).thenReturn(Optional.of(entity));
+        when(cardMapper.toDto(entity)).thenReturn(dto);
+
+        assertEquals(dto, service.executeCard(KEY, dto));
+        verify(accountClient, never()).debit(anyLong(), anyString(), any());
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("повтор прерванного проведения продолжает его тем же списанием, позитивный сценарий")
+    void executeCardResumePendingPositiveTest() {
+        final TransferExecutionEntity execution = execution(AMOUNT, TransferExecutionStatus.PENDING);
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(0);
+        when(executionRepository.findById(KEY)).thenReturn(Optional.of(execution));
+        when(executionRepository.lockById(KEY)).thenReturn(Optional.of(execution));
+        when(cardMapper.toEntity(dto)).thenReturn(entity);
+        when(cardRepository.save(entity)).thenReturn(entity);
+        when(cardMapper.toDto(entity)).thenReturn(dto);
+
+        assertEquals(dto, service.executeCard(KEY, dto));
+        verify(accountClient).debit(eq(7L), eq(REFERENCE), any());
+        assertEquals(TransferExecutionStatus.COMPLETED, execution.getStatus());
+    }
+
+    @Test
+    @DisplayName("повтор с тем же ключом и другой суммой, негативный сценарий")
+    void executeCardReplayWithOtherAmountNegativeTest() {
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(0);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(new BigDecimal("5.00"), TransferExecutionStatus.COMPLETED)));
+
+        assertThrows(ValidationException.class, () -> service.executeCard(KEY, dto));
+        verify(cardRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("повтор отмененного проведения, негативный сценарий")
+    void executeCardCancelledNegativeTest() {
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(0);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.CANCELLING)));
+
+        assertThrows(IllegalStateException.class, () -> service.executeCard(KEY, dto));
+        verify(accountClient, never()).debit(anyLong(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("недостаточно средств на счете освобождает ключ, негативный сценарий")
+    void executeCardInsufficientFundsNegativeTest() {
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(1);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.PENDING)));
+        when(accountClient.debit(eq(7L), eq(REFERENCE), any())).thenThrow(feignException(409));
+
+        assertThrows(IllegalStateException.class, () -> service.executeCard(KEY, dto));
+        verify(executionRepository).release(KEY, TransferExecutionStatus.PENDING);
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("несуществующий счет, негативный сценарий")
+    void executePhoneNonExistAccountNegativeTest() {
+        final PhoneTransferDto phoneTransfer = new PhoneTransferDto(null, 79990001122L, AMOUNT, "Test", 7L);
+        when(executionRepository.claim(KEY, TransferType.PHONE.name(), 7L, AMOUNT)).thenReturn(1);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.PENDING)));
+        when(accountClient.debit(eq(7L), eq(REFERENCE), any())).thenThrow(feignException(404));
+
+        assertThrows(EntityNotFoundException.class, () -> service.executePhone(KEY, phoneTransfer));
+        verify(executionRepository).release(KEY, TransferExecutionStatus.PENDING);
+        verify(phoneRepository, never()).save(any(PhoneTransferEntity.class));
+    }
+
+    @Test
+    @DisplayName("неизвестный исход списания оставляет ключ для компенсации, негативный сценарий")
+    void executeCardUnknownOutcomeNegativeTest() {
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(1);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.PENDING)));
+        when(accountClient.debit(eq(7L), eq(REFERENCE), any())).thenThrow(feignException(503));
+
+        assertThrows(RejectedExecutionException.class, () -> service.executeCard(KEY, dto));
+        verify(executionRepository, never()).release(anyString(), any());
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("компенсация успела раньше создания перевода, негативный сценарий")
+    void executeCardCompensatedBeforeCompletionNegativeTest() {
+        when(executionRepository.claim(KEY, TransferType.CARD.name(), 7L, AMOUNT)).thenReturn(1);
+        when(executionRepository.findById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.PENDING)));
+        when(executionRepository.lockById(KEY))
+                .thenReturn(Optional.of(execution(AMOUNT, TransferExecutionStatus.CANCELLING)));
+
+        assertThrows(IllegalStateException.class, () -> service.executeCard(KEY, dto));
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("перевод без ключа идемпотентности, негативный сценарий")
+    void executeCardWithoutKeyNegativeTest() {
+        assertThrows(ValidationException.class, () -> service.executeCard(" ", dto));
+        verify(executionRepository, never()).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("перевод с неположительной суммой, негативный сценарий")
+    void executeCardNonPositiveAmountNegativeTest() {
+        dto.setAmount(BigDecimal.ZERO);
+
+        assertThrows(ValidationException.class, () -> service.executeCard(KEY, dto));
+        verify(executionRepository, never()).claim(any(), any(), any(), any());
+    }
+
+    private FeignException feignException(int status) {
+        final Request request = Request.create(Request.HttpMethod.POST, "/api/account/details/7/debit", Map.of(),
+                new byte[0], StandardCharsets.UTF_8, null);
+
+        return FeignException.errorStatus("AccountBalanceClient#debit", Response.builder()
+                .status(status).request(request).headers(Map.of()).build());
+    }
+
+    private TransferExecutionEntity execution(BigDecimal amount, TransferExecutionStatus status) {
+        final Long transferId = status == TransferExecutionStatus.COMPLETED ? 1L : null;
+        return new TransferExecutionEntity(KEY, TransferType.CARD, 7L, amount, transferId, status, null);
+    }
+}
@@ -0,0 +1,168 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.CardTransferDto;
+import com.bank.transfer.dto.PhoneTransferDto;
+import com.bank.transfer.entity.IdempotencyKeyEntity;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Тесты IdempotencyStore")
+class IdempotencyStoreTest {
+
+    private static final String KEY = "a1b2c3";
+    private static final String FINGERPRINT = IdempotencyStore.fingerprint(1L, 1234567890L, BigDecimal.TEN);
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyStore store;
+
+    private final CardTransferDto dto = new CardTransferDto(5L, 1234567890L, BigDecimal.TEN, "Test", 1L);
+
+    private final AtomicInteger creations = new AtomicInteger();
+
+    @BeforeEach
+    void init() {
+        store = new IdempotencyStore(repository, new TransactionTemplate(transactionManager),
+                new IdempotencyProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("новый ключ создает перевод и привязывает его к ключу, позитивный сценарий")
+    void executeNewKeyPositiveTest() {
+        when(repository.claim(KEY, TransferType.CARD.name(), FINGERPRINT)).thenReturn(1);
+
+        assertAll(
+                () -> assertSame(dto, execute(TransferType.CARD)),
+                () -> assertEquals(1, creations.get())
+        );
+        verify(repository).attach(KEY, dto.getId());
+    }
+
+    @Test
+    @DisplayName("повтор из кэша не обращается к базе, позитивный сценарий")
+    void executeCachedKeyPositiveTest() {
+        when(repository.claim(KEY, TransferType.CARD.name(), FINGERPRINT)).thenReturn(1);
+        execute(TransferType.CARD);
+
+        assertAll(
+                () -> assertSame(dto, execute(TransferType.CARD)),
+                () -> assertEquals(1, creations.get())
+        );
+        verify(repository, times(1)).claim(anyString(), anyString(), anyString());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("повтор ключа, занятого другим экземпляром, читает созданный перевод, позитивный сценарий")
+    void executeStoredKeyPositiveTest() {
+        when(repository.claim(KEY, TransferType.CARD.name(), FINGERPRINT)).thenReturn(0);
+        when(repository.findById(KEY))
+                .thenReturn(Optional.of(new IdempotencyKeyEntity(KEY, TransferType.CARD, FINGERPRINT, 5L, null)));
+
+        assertAll(
+                () -> assertEquals(dto, execute(TransferType.CARD)),
+                () -> assertEquals(0, creations.get())
+        );
+        verify(repository, never()).attach(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("повтор ключа для другого типа перевода, негативный сценарий")
+    void executeKeyOfOtherTypeNegativeTest() {
+        when(repository.claim(KEY, TransferType.CARD.name(), FINGERPRINT)).thenReturn(1);
+        execute(TransferType.CARD);
+
+        assertThrows(ValidationException.class, () -> store.execute(KEY, TransferType.PHONE, FINGERPRINT,
+                PhoneTransferDto.class, PhoneTransferDto::new, PhoneTransferDto::getId, id -> null));
+    }
+
+    @Test
+    @DisplayName("повтор ключа из кэша с другой суммой, негативный сценарий")
+    void executeCachedKeyOtherAmountNegativeTest() {
+        when(repository.claim(KEY, TransferType.CARD.name(), FINGERPRINT)).thenReturn(1);
+        execute(TransferType.CARD);
+
+        assertThrows(ValidationException.class, () -> execute(TransferType.CARD,
+                IdempotencyStore.fingerprint(1L, 1234567890L, BigDecimal.ONE)));
+        assertEquals(1, creations.get());
+    }
+
+    @Test
+    @DisplayName("повтор ключа, занятого другим экземпляром, с другим получателем, негативный сценарий")
+    void executeStoredKeyOtherNumberNegativeTest() {
+        final String fingerprint = IdempotencyStore.fingerprint(1L, 987654321L, BigDecimal.TEN);
+        when(repository.claim(KEY, TransferType.CARD.name(), fingerprint)).thenReturn(0);
+        when(repository.findById(KEY))
+                .thenReturn(Optional.of(new IdempotencyKeyEntity(KEY, TransferType.CARD, FINGERPRINT, 5L, null)));
+
+        assertThrows(ValidationException.class, () -> execute(TransferType.CARD, fingerprint));
+        assertEquals(0, creations.get());
+    }
+
+    @Test
+    @DisplayName("отпечаток не зависит от масштаба суммы, позитивный сценарий")
+    void fingerprintIgnoresAmountScalePositiveTest() {
+        assertAll(
+                () -> assertEquals(FINGERPRINT, IdempotencyStore.fingerprint(1L, 1234567890L, new BigDecimal("10.00"))),
+                () -> assertEquals(64, FINGERPRINT.length())
+        );
+    }
+
+    @Test
+    @DisplayName("пустой ключ, негативный сценарий")
+    void executeBlankKeyNegativeTest() {
+        assertThrows(ValidationException.class, () -> store.execute(" ", TransferType.CARD, FINGERPRINT,
+                CardTransferDto.class, () -> dto, CardTransferDto::getId, id -> dto));
+        verify(repository, never()).claim(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("удаление просроченных ключей, позитивный сценарий")
+    void deleteExpiredPositiveTest() {
+        store.deleteExpired();
+
+        verify(repository).deleteCreatedBefore(any(Timestamp.class));
+    }
+
+    private CardTransferDto execute(TransferType type) {
+        return execute(type, FINGERPRINT);
+    }
+
+    private CardTransferDto execute(TransferType type, String fingerprint) {
+        return store.execute(KEY, type, fingerprint, CardTransferDto.class, () -> {
+            creations.incrementAndGet();
+            return dto;
+        }, CardTransferDto::getId, id -> new CardTransferDto(id, 1234567890L, BigDecimal.TEN, "Test", 1L));
+    }
+}
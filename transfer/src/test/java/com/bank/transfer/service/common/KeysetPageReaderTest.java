@@ -0,0 +1,116 @@
+package com.bank.transfer.service.common;
+
+import com.bank.common.exception.ValidationException;
+import com.bank.transfer.dto.TransferPageDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Тесты KeysetPageReader")
+class KeysetPageReaderTest {
+
+    private static final Long ACCOUNT_DETAILS_ID = 7L;
+
+    private final KeysetPageReader reader = new KeysetPageReader();
+
+    private final List<Long> rows = LongStream.rangeClosed(1, 5).boxed().toList();
+
+    private final List<Long> afterIds = new ArrayList<>();
+
+    @Test
+    @DisplayName("обход всех страниц по курсору, позитивный сценарий")
+    void readAllPagesPositiveTest() {
+        final TransferPageDto<Long> first = read(null, 2);
+        final TransferPageDto<Long> second = read(first.getNextCursor(), 2);
+        final TransferPageDto<Long> last = read(second.getNextCursor(), 2);
+
+        assertAll(
+                () -> assertEquals(List.of(1L, 2L), first.getContent()),
+                () -> assertEquals(List.of(3L, 4L), second.getContent()),
+                () -> assertEquals(List.of(5L), last.getContent()),
+                () -> assertNull(last.getNextCursor()),
+                () -> assertEquals(List.of(0L, 2L, 4L), afterIds)
+        );
+    }
+
+    @Test
+    @DisplayName("страница ровно до конца выборки не отдает курсор, позитивный сценарий")
+    void readExactPageHasNoCursorPositiveTest() {
+        final TransferPageDto<Long> page = read(null, rows.size());
+
+        assertAll(
+                () -> assertEquals(rows, page.getContent()),
+                () -> assertNull(page.getNextCursor())
+        );
+    }
+
+    @Test
+    @DisplayName("курсор чужого банковского счета, негативный сценарий")
+    void readForeignCursorNegativeTest() {
+        final String cursor = reader.encode(ACCOUNT_DETAILS_ID + 1, 2L);
+
+        assertThrows(ValidationException.class, () -> read(cursor, 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "MTIz", "NzphYmM"})
+    @DisplayName("некорректный курсор, негативный сценарий")
+    void readMalformedCursorNegativeTest(String cursor) {
+        assertThrows(ValidationException.class, () -> read(cursor, 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, KeysetPageReader.MAX_PAGE_SIZE + 1})
+    @DisplayName("некорректный размер страницы, негативный сценарий")
+    void readInvalidSizeNegativeTest(int size) {
+        assertThrows(ValidationException.class, () -> read(null, size));
+    }
+
+    @Test
+    @DisplayName("чтение по диапазону id, позитивный сценарий")
+    void scanRangePositiveTest() {
+        assertAll(
+                () -> assertEquals(List.of(2L, 3L), reader.scan(1L, 4L, 2, this::range, List::copyOf)),
+                () -> assertEquals(List.of(4L), reader.scan(3L, 4L, 2, this::range, List::copyOf))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, KeysetPageReader.MAX_SCAN_SIZE + 1})
+    @DisplayName("некорректный размер выборки по диапазону, негативный сценарий")
+    void scanInvalidSizeNegativeTest(int size) {
+        assertThrows(ValidationException.class, () -> reader.scan(0L, 5L, size, this::range, List::copyOf));
+    }
+
+    private TransferPageDto<Long> read(String cursor, int size) {
+        return reader.read(ACCOUNT_DETAILS_ID, cursor, size, this::query, Function.identity(), List::copyOf);
+    }
+
+    private List<Long> query(Long afterId, Pageable pageable) {
+        afterIds.add(afterId);
+
+        return rows.stream()
+                .filter(id -> id > afterId)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    private List<Long> range(Long after, Long upTo, Pageable pageable) {
+        return rows.stream()
+                .filter(id -> id > after && id <= upTo)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+}
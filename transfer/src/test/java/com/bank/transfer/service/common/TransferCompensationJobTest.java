@@ -0,0 +1,100 @@
+package com.bank.transfer.service.common;
+
+import com.bank.transfer.client.AccountBalanceClient;
+import com.bank.transfer.entity.TransferExecutionEntity;
+import com.bank.transfer.entity.TransferExecutionStatus;
+import com.bank.transfer.entity.TransferType;
+import com.bank.transfer.repository.TransferExecutionRepository;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferCompensationJobTest {
+
+    private static final String KEY = "a1b2c3";
+    private static final BigDecimal AMOUNT = new BigDecimal("100.00");
+
+    @Mock
+    private TransferExecutionRepository repository;
+
+    @Mock
+    private AccountBalanceClient accountClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferCompensationJob job;
+
+    @BeforeEach
+    void init() {
+        job = new TransferCompensationJob(repository, accountClient, new TransactionTemplate(transactionManager),
+                new TransferExecutionProperties(), new SimpleMeterRegistry());
+        when(repository.findAllByStatus(eq(TransferExecutionStatus.CANCELLING), any(Pageable.class)))
+                .thenReturn(List.of(new TransferExecutionEntity(KEY, TransferType.CARD, 7L, AMOUNT, null,
+                        TransferExecutionStatus.CANCELLING, null)));
+    }
+
+    @Test
+    @DisplayName("просроченное проведение отменяется в account-app, позитивный сценарий")
+    void compensatePositiveTest() {
+        job.compensate();
+
+        verify(repository).changeStatusCreatedBefore(eq(TransferExecutionStatus.PENDING),
+                eq(TransferExecutionStatus.CANCELLING), any());
+        verify(accountClient).cancelDebit(eq(7L), eq("transfer:" + KEY),
+                argThat(movement -> AMOUNT.equals(movement.getAmount())));
+        verify(repository).changeStatus(KEY, TransferExecutionStatus.CANCELLING, TransferExecutionStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("счета нет, списания не было, позитивный сценарий")
+    void compensateMissingAccountPositiveTest() {
+        when(accountClient.cancelDebit(eq(7L), anyString(), any())).thenThrow(feignException(404));
+
+        job.compensate();
+
+        verify(repository).changeStatus(KEY, TransferExecutionStatus.CANCELLING, TransferExecutionStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("отмена не удалась, ключ остается для повтора, негативный сценарий")
+    void compensateFailureKeepsCancellingNegativeTest() {
+        when(accountClient.cancelDebit(eq(7L), anyString(), any())).thenThrow(feignException(503));
+
+        job.compensate();
+
+        verify(repository, never()).changeStatus(anyString(), any(), any());
+    }
+
+    private FeignException feignException(int status) {
+        final Request request = Request.create(Request.HttpMethod.POST, "/api/account/details/7/debit/cancel",
+                Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+
+        return FeignException.errorStatus("AccountBalanceClient#cancelDebit", Response.builder()
+                .status(status).request(request).headers(Map.of()).build());
+    }
+}